@@ -0,0 +1,48 @@
+package io.github.lengors.js2pets.benchmarks;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.jsonschema2pojo.DefaultGenerationConfig;
+
+/**
+ * Generation configuration used by the benchmarks. It enables constructors and JSR-303 annotations so that every
+ * js2pets rule and annotator has work to do, and exposes an empty plugin context so that the include no-args
+ * constructor flag is inferred the same way it is within the jsonschema2pojo's plugins.
+ *
+ * @author lengors
+ */
+public final class BenchmarkGenerationConfig extends DefaultGenerationConfig {
+  /**
+   * Whether constructors should be generated or not.
+   */
+  private final boolean includeConstructors;
+
+  /**
+   * Constructs configuration.
+   *
+   * @param includeConstructors Whether constructors should be generated or not.
+   */
+  public BenchmarkGenerationConfig(final boolean includeConstructors) {
+    this.includeConstructors = includeConstructors;
+  }
+
+  @Override
+  public boolean isIncludeConstructors() {
+    return includeConstructors;
+  }
+
+  @Override
+  public boolean isIncludeJsr303Annotations() {
+    return true;
+  }
+
+  /**
+   * Mimics the plugin context of the jsonschema2pojo's plugins.
+   *
+   * @return An empty plugin context.
+   */
+  public Map<String, Object> getPluginContext() {
+    return Collections.emptyMap();
+  }
+}
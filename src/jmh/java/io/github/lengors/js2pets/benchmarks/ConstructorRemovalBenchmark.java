@@ -0,0 +1,119 @@
+package io.github.lengors.js2pets.benchmarks;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections4.IteratorUtils;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+
+import io.github.lengors.js2pets.codemodel.CodeModelUtils;
+
+/**
+ * Benchmarks the per-class cost of removing the no-args constructor, comparing the reflective scan of every
+ * {@link JDefinedClass} field previously used by {@link io.github.lengors.js2pets.rules.ConstructorRule} with the
+ * cached handle used by {@link CodeModelUtils#removeNoArgsConstructors(JDefinedClass)}. Each invocation adds the
+ * no-args constructor back before removing it.
+ *
+ * @author lengors
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+public class ConstructorRemovalBenchmark {
+  /**
+   * Number of fields, and of parameters of the all-args constructor, of the class under benchmark.
+   */
+  private static final int FIELD_COUNT = 32;
+
+  /**
+   * Class the no-args constructor is removed from.
+   */
+  private @MonotonicNonNull JDefinedClass clazz;
+
+  /**
+   * Creates the class under benchmark, with an all-args constructor.
+   *
+   * @throws JClassAlreadyExistsException Never, as the class is created in a new code model.
+   */
+  @Setup
+  public void setUp() throws JClassAlreadyExistsException {
+    final var newClazz = new JCodeModel()._class("io.github.lengors.js2pets.benchmarks.generated.Subject");
+    final var allArgsConstructor = newClazz.constructor(JMod.PUBLIC);
+    for (var index = 0; index < FIELD_COUNT; ++index) {
+      final var field = newClazz.field(JMod.PRIVATE, String.class, "field" + index);
+      allArgsConstructor.param(field.type(), field.name());
+    }
+    clazz = newClazz;
+  }
+
+  /**
+   * Removes the no-args constructor through the cached handle.
+   *
+   * @return The class, to prevent dead code elimination.
+   */
+  @Benchmark
+  public JDefinedClass handle() {
+    final var subject = prepared();
+    CodeModelUtils.removeNoArgsConstructors(subject);
+    return subject;
+  }
+
+  /**
+   * Removes the no-args constructor by scanning every field of the class by reflection.
+   *
+   * @return The class, to prevent dead code elimination.
+   * @throws IllegalAccessException If a field cannot be read.
+   */
+  @Benchmark
+  public JDefinedClass reflectiveScan() throws IllegalAccessException {
+    final var subject = prepared();
+    final var knownConstructors = IteratorUtils.toList(subject.constructors());
+    for (final var field : FieldUtils.getAllFields(subject.getClass())) {
+      if (Modifier.isStatic(field.getModifiers())) {
+        continue;
+      }
+      if (FieldUtils.readField(field, subject, true) instanceof Collection<?> collection) {
+        final var noArgsConstructors = new ArrayList<JMethod>();
+        for (final var element : collection) {
+          if (element instanceof JMethod method
+              && method.listParams().length == 0
+              && knownConstructors.contains(method)) {
+            noArgsConstructors.add(method);
+          }
+        }
+        collection.removeAll(noArgsConstructors);
+      }
+    }
+    return subject;
+  }
+
+  private JDefinedClass prepared() {
+    if (clazz == null) {
+      throw new IllegalStateException("Class not created");
+    }
+    clazz.constructor(JMod.PUBLIC);
+    return clazz;
+  }
+}
@@ -0,0 +1,89 @@
+package io.github.lengors.js2pets.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JType;
+
+/**
+ * Benchmarks the whole generation pipeline, driving {@link SchemaMapper} with each of the compared rule factories over
+ * each of the synthetic schema shapes.
+ *
+ * @author lengors
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class GenerationBenchmark {
+  /**
+   * Name of the root class generated.
+   */
+  private static final String CLASS_NAME = "Root";
+
+  /**
+   * Package where the classes are generated.
+   */
+  private static final String PACKAGE_NAME = "io.github.lengors.js2pets.benchmarks.generated";
+
+  /**
+   * Rule factory under benchmark.
+   */
+  @Param
+  private RuleFactoryKind ruleFactoryKind = RuleFactoryKind.JSONSCHEMA2POJO;
+
+  /**
+   * Shape of the schema to generate code from.
+   */
+  @Param
+  private SchemaShape schemaShape = SchemaShape.WIDE;
+
+  /**
+   * Configuration used for the generation.
+   */
+  private final BenchmarkGenerationConfig generationConfig = new BenchmarkGenerationConfig(true);
+
+  /**
+   * Serialized schema to generate code from.
+   */
+  private String schema = "";
+
+  /**
+   * Prepares the schema to generate code from.
+   */
+  @Setup
+  public void setup() {
+    schema = schemaShape
+        .create()
+        .toString();
+  }
+
+  /**
+   * Generates the code for the schema with a new rule factory and code model.
+   *
+   * @return The generated root type.
+   * @throws IOException Never thrown, as the schema is kept in memory.
+   */
+  @Benchmark
+  public JType generate() throws IOException {
+    final var schemaMapper = new SchemaMapper(ruleFactoryKind.create(generationConfig), new SchemaGenerator());
+    return schemaMapper.generate(new JCodeModel(), CLASS_NAME, PACKAGE_NAME, schema);
+  }
+}
@@ -0,0 +1,108 @@
+package io.github.lengors.js2pets.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+
+import io.github.lengors.js2pets.annotators.NullabilityAnnotator;
+
+/**
+ * Benchmarks {@link NullabilityAnnotator#type(com.sun.codemodel.JType)} over classes of increasing width, so that any
+ * super-linear behaviour on the number of properties shows up.
+ *
+ * @author lengors
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+public class NullabilityAnnotatorBenchmark {
+  /**
+   * Name of the annotated class.
+   */
+  private static final String NODE_NAME = "Subject";
+
+  /**
+   * Package where the classes are generated.
+   */
+  private static final String PACKAGE_NAME = "io.github.lengors.js2pets.benchmarks.generated";
+
+  /**
+   * Number of properties of the annotated class.
+   */
+  @Param({"100", "1000"})
+  private int propertyCount;
+
+  /**
+   * Configuration used for the generation and annotation.
+   */
+  private final BenchmarkGenerationConfig generationConfig = new BenchmarkGenerationConfig(true);
+
+  /**
+   * Annotator under benchmark.
+   */
+  private final NullabilityAnnotator nullabilityAnnotator = new NullabilityAnnotator(generationConfig);
+
+  /**
+   * Location of the object schema the annotated class is generated from.
+   */
+  private URI objectSchemaUri = URI.create("");
+
+  /**
+   * Class generated for each invocation, not yet annotated with nullability annotations.
+   */
+  private JDefinedClass definedClass = new JCodeModel().anonymousClass(Object.class);
+
+  /**
+   * Prepares the schema.
+   *
+   * @throws IOException If the schema could not be written.
+   */
+  @Setup
+  public void setupTrial() throws IOException {
+    objectSchemaUri = SyntheticSchemas.write(SyntheticSchemas.wide(propertyCount));
+  }
+
+  /**
+   * Generates a new class, with jsonschema2pojo alone, for the invocation.
+   */
+  @Setup(Level.Invocation)
+  public void setupInvocation() {
+    final var ruleFactory = RuleFactoryKind.JSONSCHEMA2POJO.create(generationConfig);
+    final var schema = ruleFactory
+        .getSchemaStore()
+        .create(objectSchemaUri, generationConfig.getRefFragmentPathDelimiters());
+    definedClass = (JDefinedClass) ruleFactory
+        .getObjectRule()
+        .apply(NODE_NAME, schema.getContent(), schema.getContent(), new JCodeModel()._package(PACKAGE_NAME), schema);
+  }
+
+  /**
+   * Annotates the class.
+   *
+   * @return The annotated class.
+   */
+  @Benchmark
+  public JDefinedClass type() {
+    nullabilityAnnotator.type(definedClass);
+    return definedClass;
+  }
+}
@@ -0,0 +1,193 @@
+package io.github.lengors.js2pets.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
+
+/**
+ * Benchmarks the object, enum and constructor rules in isolation. Each invocation works on a new rule factory and code
+ * model so that no work is shared between invocations.
+ *
+ * @author lengors
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+public class RuleBenchmark {
+  /**
+   * Name of the node the rules are applied to.
+   */
+  private static final String NODE_NAME = "Subject";
+
+  /**
+   * Package where the classes are generated.
+   */
+  private static final String PACKAGE_NAME = "io.github.lengors.js2pets.benchmarks.generated";
+
+  /**
+   * Number of properties of the object schema.
+   */
+  private static final int PROPERTY_COUNT = 1_024;
+
+  /**
+   * Number of values of the enum schema.
+   */
+  private static final int ENUM_SIZE = 1_024;
+
+  /**
+   * Rule factory under benchmark.
+   */
+  @Param
+  private RuleFactoryKind ruleFactoryKind = RuleFactoryKind.JSONSCHEMA2POJO;
+
+  /**
+   * Configuration used by the rule factory under benchmark.
+   */
+  private final BenchmarkGenerationConfig generationConfig = new BenchmarkGenerationConfig(true);
+
+  /**
+   * Configuration used to prepare classes without constructors.
+   */
+  private final BenchmarkGenerationConfig preparationConfig = new BenchmarkGenerationConfig(false);
+
+  /**
+   * Location of the object schema the object and constructor rules are applied to.
+   */
+  private URI objectSchemaUri = URI.create("");
+
+  /**
+   * Location of the enum schema the enum rule is applied to.
+   */
+  private URI enumSchemaUri = URI.create("");
+
+  /**
+   * Rule factory under benchmark, new for each invocation.
+   */
+  private RuleFactory ruleFactory = ruleFactoryKind.create(generationConfig);
+
+  /**
+   * Package to generate into, new for each invocation.
+   */
+  private JPackage jPackage = new JCodeModel()._package(PACKAGE_NAME);
+
+  /**
+   * Object schema loaded by the rule factory under benchmark, new for each invocation.
+   */
+  private @MonotonicNonNull Schema objectSchema;
+
+  /**
+   * Enum schema loaded by the rule factory under benchmark, new for each invocation.
+   */
+  private @MonotonicNonNull Schema enumSchema;
+
+  /**
+   * Class, without constructors, generated from the object schema for each invocation.
+   */
+  private JDefinedClass definedClass = jPackage
+      .owner()
+      .anonymousClass(Object.class);
+
+  /**
+   * Prepares the schemas.
+   *
+   * @throws IOException If the schemas could not be written.
+   */
+  @Setup
+  public void setupTrial() throws IOException {
+    objectSchemaUri = SyntheticSchemas.write(SyntheticSchemas.wide(PROPERTY_COUNT));
+    enumSchemaUri = SyntheticSchemas.write(SyntheticSchemas.enumeration(ENUM_SIZE));
+  }
+
+  /**
+   * Prepares a new rule factory, code model and class for the invocation.
+   */
+  @Setup(Level.Invocation)
+  public void setupInvocation() {
+    ruleFactory = ruleFactoryKind.create(generationConfig);
+    objectSchema = schema(ruleFactory, objectSchemaUri);
+    enumSchema = schema(ruleFactory, enumSchemaUri);
+    jPackage = new JCodeModel()._package(PACKAGE_NAME);
+    final var preparationFactory = RuleFactoryKind.JSONSCHEMA2POJO.create(preparationConfig);
+    final var schema = schema(preparationFactory, objectSchemaUri);
+    definedClass = (JDefinedClass) preparationFactory
+        .getObjectRule()
+        .apply(NODE_NAME, schema.getContent(), schema.getContent(), jPackage, schema);
+  }
+
+  /**
+   * Applies the object rule.
+   *
+   * @return The generated type.
+   */
+  @Benchmark
+  public JType objectRule() {
+    final var schema = loaded(objectSchema);
+    return ruleFactory
+        .getObjectRule()
+        .apply(NODE_NAME + "Object", schema.getContent(), schema.getContent(), jPackage, schema);
+  }
+
+  /**
+   * Applies the enum rule.
+   *
+   * @return The generated type.
+   */
+  @Benchmark
+  public JType enumRule() {
+    final var schema = loaded(enumSchema);
+    return ruleFactory
+        .getEnumRule()
+        .apply(NODE_NAME + "Enum", schema.getContent(), schema.getContent(), jPackage, schema);
+  }
+
+  /**
+   * Applies the constructor rule.
+   *
+   * @return The class with the generated constructors.
+   */
+  @Benchmark
+  public JDefinedClass constructorRule() {
+    final var schema = loaded(objectSchema);
+    return ruleFactory
+        .getConstructorRule()
+        .apply(NODE_NAME, schema.getContent(), schema.getContent(), definedClass, schema);
+  }
+
+  private Schema schema(final RuleFactory targetRuleFactory, final URI uri) {
+    return targetRuleFactory
+        .getSchemaStore()
+        .create(uri, generationConfig.getRefFragmentPathDelimiters());
+  }
+
+  private static Schema loaded(final @Nullable Schema schema) {
+    if (schema == null) {
+      throw new IllegalStateException("Schema is only loaded on invocation setup");
+    }
+    return schema;
+  }
+}
@@ -0,0 +1,63 @@
+package io.github.lengors.js2pets.benchmarks;
+
+import org.jsonschema2pojo.CompositeAnnotator;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Jackson2Annotator;
+import org.jsonschema2pojo.SchemaStore;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import io.github.lengors.js2pets.annotators.NullabilityAnnotator;
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+
+/**
+ * Rule factories compared by the benchmarks.
+ *
+ * @author lengors
+ */
+public enum RuleFactoryKind {
+  /**
+   * The plain jsonschema2pojo's {@link RuleFactory}, used as baseline.
+   */
+  JSONSCHEMA2POJO,
+
+  /**
+   * The {@link EnhancedRuleFactory}, inferring whether to include the no-args constructor.
+   */
+  ENHANCED,
+
+  /**
+   * The {@link EnhancedRuleFactory.IncludeNoArgsConstructor}.
+   */
+  INCLUDE_NO_ARGS_CONSTRUCTOR,
+
+  /**
+   * The {@link EnhancedRuleFactory.ExcludeNoArgsConstructor}.
+   */
+  EXCLUDE_NO_ARGS_CONSTRUCTOR;
+
+  /**
+   * Creates a new rule factory of this kind, annotating with both the {@link Jackson2Annotator} and the
+   * {@link NullabilityAnnotator}.
+   *
+   * @param generationConfig The generation configuration.
+   * @return The rule factory.
+   */
+  public RuleFactory create(final GenerationConfig generationConfig) {
+    final var annotator = new CompositeAnnotator(
+        new Jackson2Annotator(generationConfig),
+        new NullabilityAnnotator(generationConfig));
+    final var schemaStore = new SchemaStore();
+    return switch (this) {
+      case JSONSCHEMA2POJO -> new RuleFactory(generationConfig, annotator, schemaStore);
+      case ENHANCED -> new EnhancedRuleFactory(generationConfig, annotator, schemaStore);
+      case INCLUDE_NO_ARGS_CONSTRUCTOR -> new EnhancedRuleFactory.IncludeNoArgsConstructor(
+          generationConfig,
+          annotator,
+          schemaStore);
+      case EXCLUDE_NO_ARGS_CONSTRUCTOR -> new EnhancedRuleFactory.ExcludeNoArgsConstructor(
+          generationConfig,
+          annotator,
+          schemaStore);
+    };
+  }
+}
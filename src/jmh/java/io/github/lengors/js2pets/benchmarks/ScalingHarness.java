@@ -0,0 +1,263 @@
+package io.github.lengors.js2pets.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Runs a rule factory over {@link SchemaCorpus seeded corpora} of increasing sizes, reporting the generation time and
+ * the peak heap usage against the number of schemas. Between consecutive sizes it reports the scaling exponent, the
+ * slope of the time against the size in log-log scale: close to one for linear behaviour and close to two for
+ * quadratic behaviour.
+ * <br />
+ * <br />
+ * Options are given as {@code name=value} arguments: {@code sizes} (comma separated), {@code seed}, {@code width},
+ * {@code depth}, {@code fanOut}, {@code enumSize}, {@code requiredRatio}, {@code oneOfRatio}, {@code repetitions},
+ * {@code factory} (a {@link RuleFactoryKind}) and {@code maxExponent}. When {@code maxExponent} is given, the harness
+ * exits with a non-zero status if the exponent between the two largest sizes exceeds it.
+ * <br />
+ * <br />
+ * Example:
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks test-compile exec:exec -Dbenchmark.main=io.github.lengors.js2pets.benchmarks.ScalingHarness \
+ *     -Dbenchmark.arguments="sizes=64,128,256,512 maxExponent=1.5"
+ * </pre>
+ *
+ * @author lengors
+ */
+public final class ScalingHarness {
+  /**
+   * Package where the classes are generated.
+   */
+  private static final String PACKAGE_NAME = "io.github.lengors.js2pets.benchmarks.generated";
+
+  /**
+   * Default corpus sizes.
+   */
+  private static final String DEFAULT_SIZES = "32,64,128,256";
+
+  /**
+   * Default number of properties of each schema.
+   */
+  private static final String DEFAULT_WIDTH = "16";
+
+  /**
+   * Default number of nested object levels of each schema.
+   */
+  private static final String DEFAULT_DEPTH = "3";
+
+  /**
+   * Default number of references of each schema.
+   */
+  private static final String DEFAULT_FAN_OUT = "2";
+
+  /**
+   * Default number of values of each enumeration.
+   */
+  private static final String DEFAULT_ENUM_SIZE = "8";
+
+  /**
+   * Default probability of each property being required.
+   */
+  private static final String DEFAULT_REQUIRED_RATIO = "0.5";
+
+  /**
+   * Default probability of each reference being wrapped in a {@code oneOf} composition.
+   */
+  private static final String DEFAULT_ONE_OF_RATIO = "0.1";
+
+  /**
+   * Default number of measured runs per size, of which the fastest is reported.
+   */
+  private static final String DEFAULT_REPETITIONS = "3";
+
+  /**
+   * Number of bytes per mebibyte.
+   */
+  private static final double BYTES_PER_MEBIBYTE = 1024.0 * 1024.0;
+
+  /**
+   * Number of nanoseconds per millisecond.
+   */
+  private static final double NANOSECONDS_PER_MILLISECOND = 1_000_000.0;
+
+  private ScalingHarness() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Runs the harness.
+   *
+   * @param args The options, as {@code name=value} arguments.
+   * @throws IOException If the corpus could not be written.
+   */
+  public static void main(final String[] args) throws IOException {
+    final var options = new HashMap<String, String>();
+    for (final var arg : args) {
+      final var separator = arg.indexOf('=');
+      if (separator < 0) {
+        throw new IllegalArgumentException("Expected a name=value option: " + arg);
+      }
+      options.put(arg.substring(0, separator), arg.substring(separator + 1));
+    }
+
+    final var parameters = new SchemaCorpus.Parameters(
+        Long.parseLong(options.getOrDefault("seed", "0")),
+        Integer.parseInt(options.getOrDefault("width", DEFAULT_WIDTH)),
+        Integer.parseInt(options.getOrDefault("depth", DEFAULT_DEPTH)),
+        Integer.parseInt(options.getOrDefault("fanOut", DEFAULT_FAN_OUT)),
+        Integer.parseInt(options.getOrDefault("enumSize", DEFAULT_ENUM_SIZE)),
+        Double.parseDouble(options.getOrDefault("requiredRatio", DEFAULT_REQUIRED_RATIO)),
+        Double.parseDouble(options.getOrDefault("oneOfRatio", DEFAULT_ONE_OF_RATIO)));
+    final var sizes = Arrays
+        .stream(options
+            .getOrDefault("sizes", DEFAULT_SIZES)
+            .split(","))
+        .mapToInt(Integer::parseInt)
+        .sorted()
+        .toArray();
+    final var repetitions = Integer.parseInt(options.getOrDefault("repetitions", DEFAULT_REPETITIONS));
+    final var ruleFactoryKind = RuleFactoryKind.valueOf(options.getOrDefault("factory", RuleFactoryKind.ENHANCED
+        .name()));
+    final var maxExponent = Double.parseDouble(options.getOrDefault("maxExponent", "NaN"));
+
+    final var measurements = run(parameters, sizes, repetitions, ruleFactoryKind);
+    System.out.println(String.format(Locale.ROOT, "%10s %10s %12s %12s %10s",
+        "schemas", "types", "time (ms)", "heap (MiB)", "exponent"));
+    for (var index = 0; index < measurements.size(); ++index) {
+      final var measurement = measurements.get(index);
+      System.out.println(String.format(Locale.ROOT, "%10d %10d %12.1f %12.1f %10s",
+          measurement.size(),
+          measurement.typeCount(),
+          measurement.nanoseconds() / NANOSECONDS_PER_MILLISECOND,
+          measurement.peakHeap() / BYTES_PER_MEBIBYTE,
+          index == 0 ? "" : String.format(Locale.ROOT, "%.2f", measurements
+              .get(index - 1)
+              .exponent(measurement))));
+    }
+
+    if (measurements.size() > 1) {
+      final var exponent = measurements
+          .get(measurements.size() - 2)
+          .exponent(measurements.get(measurements.size() - 1));
+      if (exponent > maxExponent) {
+        System.err.println(String.format(Locale.ROOT, "Scaling exponent %.2f exceeds %.2f", exponent, maxExponent));
+        System.exit(1);
+      }
+    }
+  }
+
+  /**
+   * Measures the generation of corpora of the given sizes.
+   *
+   * @param parameters      The parameters of the corpora.
+   * @param sizes           The sizes of the corpora, in ascending order.
+   * @param repetitions     The number of measured runs per size.
+   * @param ruleFactoryKind The rule factory to generate with.
+   * @return The measurements, one per size.
+   * @throws IOException If the corpora could not be written.
+   */
+  public static List<Measurement> run(
+      final SchemaCorpus.Parameters parameters,
+      final int[] sizes,
+      final int repetitions,
+      final RuleFactoryKind ruleFactoryKind) throws IOException {
+    final var measurements = new ArrayList<Measurement>(sizes.length);
+    if (sizes.length == 0) {
+      return measurements;
+    }
+    final var directory = Files.createTempDirectory("js2pets-scaling-harness");
+    try {
+      final var urls = SchemaCorpus.write(directory, parameters, sizes[sizes.length - 1]);
+      final var heapPools = ManagementFactory
+          .getMemoryPoolMXBeans()
+          .stream()
+          .filter(pool -> pool.getType() == MemoryType.HEAP)
+          .toList();
+      generate(urls.subList(0, sizes[0]), ruleFactoryKind);
+      for (final var size : sizes) {
+        var nanoseconds = Long.MAX_VALUE;
+        var peakHeap = 0L;
+        var typeCount = 0;
+        for (var repetition = 0; repetition < Math.max(1, repetitions); ++repetition) {
+          System.gc();
+          heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+          final var start = System.nanoTime();
+          typeCount = generate(urls.subList(0, size), ruleFactoryKind);
+          nanoseconds = Math.min(nanoseconds, System.nanoTime() - start);
+          peakHeap = Math.max(peakHeap, heapPools
+              .stream()
+              .mapToLong(pool -> pool
+                  .getPeakUsage()
+                  .getUsed())
+              .sum());
+        }
+        measurements.add(new Measurement(size, typeCount, nanoseconds, peakHeap));
+      }
+    } finally {
+      try (var paths = Files.walk(directory)) {
+        for (final var path : paths
+            .sorted(Comparator.reverseOrder())
+            .toList()) {
+          Files.delete(path);
+        }
+      }
+    }
+    return measurements;
+  }
+
+  private static int generate(final List<URL> urls, final RuleFactoryKind ruleFactoryKind) throws IOException {
+    final var codeModel = new JCodeModel();
+    final var schemaMapper = new SchemaMapper(
+        ruleFactoryKind.create(new BenchmarkGenerationConfig(true)),
+        new SchemaGenerator());
+    for (var index = 0; index < urls.size(); ++index) {
+      schemaMapper.generate(codeModel, SchemaCorpus.className(index), PACKAGE_NAME, urls.get(index));
+    }
+    var typeCount = 0;
+    for (final var packageIterator = codeModel.packages(); packageIterator.hasNext();) {
+      for (final var classIterator = packageIterator
+          .next()
+          .classes(); classIterator.hasNext(); classIterator.next()) {
+        ++typeCount;
+      }
+    }
+    return typeCount;
+  }
+
+  /**
+   * Measurement of the generation of a corpus.
+   *
+   * @param size        The number of schemas of the corpus.
+   * @param typeCount   The number of top-level types generated.
+   * @param nanoseconds The fastest generation time, in nanoseconds.
+   * @param peakHeap    The highest peak heap usage, in bytes.
+   * @author lengors
+   */
+  public record Measurement(int size, int typeCount, long nanoseconds, long peakHeap) {
+    /**
+     * Computes the scaling exponent from this measurement to a larger one.
+     *
+     * @param next The measurement of a larger corpus.
+     * @return The slope of the time against the size in log-log scale.
+     */
+    public double exponent(final Measurement next) {
+      return Math.log((double) next.nanoseconds() / nanoseconds) / Math.log((double) next.size() / size);
+    }
+  }
+}
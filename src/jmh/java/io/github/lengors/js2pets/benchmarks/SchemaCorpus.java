@@ -0,0 +1,226 @@
+package io.github.lengors.js2pets.benchmarks;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Builds seeded corpora of synthetic JSON schemas, resembling the bundles generated in real-world builds. Each schema
+ * of a corpus is an object holding {@link Parameters#width()} properties and a chain of nested objects
+ * {@link Parameters#depth()} levels deep. Properties reference previous schemas of the corpus through {@code $ref},
+ * hold enumerations or, occasionally, {@code oneOf} compositions.
+ * <br />
+ * <br />
+ * Schemas only reference previous schemas, and each schema is built from its own seeded random source, so a corpus is
+ * always a prefix of any larger corpus created with the same parameters. This keeps measurements taken at increasing
+ * sizes comparable.
+ *
+ * @author lengors
+ */
+public final class SchemaCorpus {
+  /**
+   * Node factory used to build the schemas.
+   */
+  private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+  /**
+   * Scalar types of the properties that are neither references nor enumerations.
+   */
+  private static final String[] SCALAR_TYPES = {
+      "string", "integer", "number", "boolean"
+  };
+
+  /**
+   * Prefix of the names of the schema files.
+   */
+  private static final String FILE_PREFIX = "schema";
+
+  /**
+   * Suffix of the names of the schema files.
+   */
+  private static final String FILE_SUFFIX = ".json";
+
+  /**
+   * Multiplier mixing the corpus seed with the index of each schema.
+   */
+  private static final long SEED_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  private SchemaCorpus() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Creates the schemas of a corpus.
+   *
+   * @param parameters  The parameters of the corpus.
+   * @param schemaCount The number of schemas.
+   * @return The schemas, in order.
+   */
+  public static List<ObjectNode> create(final Parameters parameters, final int schemaCount) {
+    final var schemas = new ArrayList<ObjectNode>(schemaCount);
+    for (var index = 0; index < schemaCount; ++index) {
+      schemas.add(schema(parameters, index));
+    }
+    return schemas;
+  }
+
+  /**
+   * Writes the schemas of a corpus to the given directory, one file per schema, so that their references can be
+   * resolved.
+   *
+   * @param directory   The directory to write the schemas to.
+   * @param parameters  The parameters of the corpus.
+   * @param schemaCount The number of schemas.
+   * @return The URLs of the written schemas, in order.
+   * @throws IOException If the schemas could not be written.
+   */
+  public static List<URL> write(final Path directory, final Parameters parameters, final int schemaCount)
+      throws IOException {
+    Files.createDirectories(directory);
+    final var urls = new ArrayList<URL>(schemaCount);
+    final var schemas = create(parameters, schemaCount);
+    for (var index = 0; index < schemaCount; ++index) {
+      final var path = directory.resolve(fileName(index));
+      Files.writeString(path, schemas
+          .get(index)
+          .toString());
+      urls.add(path
+          .toUri()
+          .toURL());
+    }
+    return urls;
+  }
+
+  /**
+   * Returns the name of the class generated for the schema with the given index.
+   *
+   * @param index The index of the schema.
+   * @return The class name.
+   */
+  public static String className(final int index) {
+    return "Schema" + index;
+  }
+
+  private static String fileName(final int index) {
+    return FILE_PREFIX + index + FILE_SUFFIX;
+  }
+
+  private static ObjectNode schema(final Parameters parameters, final int index) {
+    final var random = new Random(parameters.seed() ^ (index + 1) * SEED_MULTIPLIER);
+    final var schema = object();
+    schema.put("title", className(index));
+    var level = schema;
+    for (var depth = 0; depth <= parameters.depth(); ++depth) {
+      final var properties = level.putObject("properties");
+      final var required = level.putArray("required");
+      final var width = depth == 0 ? parameters.width() : Math.max(1, parameters.width() >> depth);
+      for (var propertyIndex = 0; propertyIndex < width; ++propertyIndex) {
+        final var propertyName = "property" + propertyIndex;
+        final var fanOut = depth == 0 && propertyIndex < parameters.referenceFanOut();
+        properties.set(propertyName, property(parameters, random, index, fanOut));
+        if (random.nextDouble() < parameters.requiredRatio()) {
+          required.add(propertyName);
+        }
+      }
+      if (depth < parameters.depth()) {
+        final var child = object();
+        properties.set("level" + (depth + 1), child);
+        required.add("level" + (depth + 1));
+        level = child;
+      }
+    }
+    return schema;
+  }
+
+  private static ObjectNode property(
+      final Parameters parameters,
+      final Random random,
+      final int index,
+      final boolean fanOut) {
+    if (fanOut && index > 0) {
+      final var reference = reference(random, index);
+      if (random.nextDouble() < parameters.oneOfRatio()) {
+        final var schema = NODE_FACTORY.objectNode();
+        final var alternatives = schema.putArray("oneOf");
+        alternatives.add(reference);
+        alternatives.add(scalar(SCALAR_TYPES[0]));
+        return schema;
+      }
+      return reference;
+    }
+    if (parameters.enumSize() > 0 && random.nextInt(SCALAR_TYPES.length + 1) == 0) {
+      final var schema = scalar(SCALAR_TYPES[0]);
+      final var values = schema.putArray("enum");
+      for (var valueIndex = 0; valueIndex < parameters.enumSize(); ++valueIndex) {
+        values.add("value-" + valueIndex);
+      }
+      return schema;
+    }
+    return scalar(SCALAR_TYPES[random.nextInt(SCALAR_TYPES.length)]);
+  }
+
+  private static ObjectNode reference(final Random random, final int index) {
+    final var schema = NODE_FACTORY.objectNode();
+    schema.put("$ref", fileName(random.nextInt(index)));
+    return schema;
+  }
+
+  private static ObjectNode object() {
+    final var schema = NODE_FACTORY.objectNode();
+    schema.put("type", "object");
+    return schema;
+  }
+
+  private static ObjectNode scalar(final String type) {
+    final var schema = NODE_FACTORY.objectNode();
+    schema.put("type", type);
+    return schema;
+  }
+
+  /**
+   * Parameters of a corpus.
+   *
+   * @param seed            The seed of the random source.
+   * @param width           The number of properties of each schema. Each nested level holds half the properties of
+   *                        its parent, and at least one.
+   * @param depth           The number of nested object levels of each schema.
+   * @param referenceFanOut The number of properties of each schema referencing previous schemas.
+   * @param enumSize        The number of values of each enumeration, or zero for no enumerations.
+   * @param requiredRatio   The probability of each property being required.
+   * @param oneOfRatio      The probability of each reference being wrapped in a {@code oneOf} composition.
+   * @author lengors
+   */
+  public record Parameters(
+      long seed,
+      int width,
+      int depth,
+      int referenceFanOut,
+      int enumSize,
+      double requiredRatio,
+      double oneOfRatio) {
+    /**
+     * Validates the parameters.
+     *
+     * @throws IllegalArgumentException If any count is negative, the fan-out exceeds the width, or any probability is
+     *                                  outside {@code [0, 1]}.
+     */
+    public Parameters {
+      if (width < 0 || depth < 0 || referenceFanOut < 0 || enumSize < 0) {
+        throw new IllegalArgumentException("Corpus counts must not be negative");
+      }
+      if (referenceFanOut > width) {
+        throw new IllegalArgumentException("Reference fan-out must not exceed the width");
+      }
+      if (requiredRatio < 0 || requiredRatio > 1 || oneOfRatio < 0 || oneOfRatio > 1) {
+        throw new IllegalArgumentException("Corpus ratios must be between 0 and 1");
+      }
+    }
+  }
+}
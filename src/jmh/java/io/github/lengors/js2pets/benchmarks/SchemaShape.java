@@ -0,0 +1,42 @@
+package io.github.lengors.js2pets.benchmarks;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Shapes of synthetic schemas the benchmarks generate code from.
+ *
+ * @author lengors
+ */
+public enum SchemaShape {
+  /**
+   * A single object with over a thousand properties.
+   */
+  WIDE,
+
+  /**
+   * An object nested over twenty levels deep.
+   */
+  DEEP;
+
+  /**
+   * Number of properties of the wide schema.
+   */
+  private static final int WIDTH = 1_024;
+
+  /**
+   * Nesting levels of the deep schema.
+   */
+  private static final int DEPTH = 24;
+
+  /**
+   * Creates the schema with this shape.
+   *
+   * @return The schema.
+   */
+  public ObjectNode create() {
+    return switch (this) {
+      case WIDE -> SyntheticSchemas.wide(WIDTH);
+      case DEEP -> SyntheticSchemas.deep(DEPTH);
+    };
+  }
+}
@@ -0,0 +1,149 @@
+package io.github.lengors.js2pets.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.lengors.js2pets.cds.ClassDataSharing;
+import io.github.lengors.js2pets.cds.TrainingGeneration;
+
+/**
+ * Benchmarks the start-up of a forked generator process, running the {@link TrainingGeneration} with and without a
+ * class-data sharing archive of its classpath. As the JVM only archives classes loaded from JAR files, the directories
+ * of the benchmark classpath are packed into temporary JAR files first.
+ *
+ * @author lengors
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(1)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+public class StartupBenchmark {
+  /**
+   * Whether the forked process maps the archive or not.
+   */
+  @Param({"false", "true"})
+  private boolean archived;
+
+  /**
+   * Directory with the packed classpath and the archive.
+   */
+  private Path directory = Path.of("");
+
+  /**
+   * Classpath of the forked process.
+   */
+  private String classpath = "";
+
+  /**
+   * Packs the classpath and, if the forked process maps the archive, creates it.
+   *
+   * @throws IOException          If the classpath can't be packed or the archive can't be created.
+   * @throws InterruptedException If interrupted while creating the archive.
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException, InterruptedException {
+    directory = Files.createTempDirectory("js2pets-startup-benchmark");
+    final var entries = new ArrayList<String>();
+    for (final var entry : System
+        .getProperty("java.class.path")
+        .split(File.pathSeparator)) {
+      final var path = Path.of(entry);
+      entries.add(Files.isDirectory(path)
+          ? pack(path, directory.resolve("classpath-" + entries.size() + ".jar")).toString()
+          : entry);
+    }
+    classpath = String.join(File.pathSeparator, entries);
+
+    final var archive = directory.resolve("generator.jsa");
+    System.setProperty(ClassDataSharing.ARCHIVE_PROPERTY, archive.toString());
+    if (archived) {
+      ClassDataSharing.createArchive(archive, classpath);
+    }
+  }
+
+  /**
+   * Removes the packed classpath and the archive.
+   *
+   * @throws IOException If they can't be removed.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    System
+        .getProperties()
+        .remove(ClassDataSharing.ARCHIVE_PROPERTY);
+    try (var paths = Files.walk(directory)) {
+      paths
+          .sorted(Comparator.reverseOrder())
+          .forEach(StartupBenchmark::delete);
+    }
+  }
+
+  /**
+   * Forks a generator process running the training generation and waits for it to exit.
+   *
+   * @return The exit value of the process.
+   * @throws IOException          If the process can't be started.
+   * @throws InterruptedException If interrupted while waiting for the process.
+   */
+  @Benchmark
+  public int generate() throws IOException, InterruptedException {
+    return ClassDataSharing
+        .fork(classpath, TrainingGeneration.class.getName(), List.of())
+        .redirectOutput(Redirect.DISCARD)
+        .redirectError(Redirect.DISCARD)
+        .start()
+        .waitFor();
+  }
+
+  private static Path pack(final Path classesDirectory, final Path jar) throws IOException {
+    try (var fileOutputStream = Files.newOutputStream(jar);
+        var outputStream = new JarOutputStream(fileOutputStream);
+        var paths = Files.walk(classesDirectory)) {
+      for (final var path : paths
+          .filter(Files::isRegularFile)
+          .toList()) {
+        outputStream.putNextEntry(new JarEntry(classesDirectory
+            .relativize(path)
+            .toString()
+            .replace(File.separatorChar, '/')));
+        Files.copy(path, outputStream);
+        outputStream.closeEntry();
+      }
+    }
+    return jar;
+  }
+
+  private static void delete(final Path path) {
+    try {
+      Files.delete(path);
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+}
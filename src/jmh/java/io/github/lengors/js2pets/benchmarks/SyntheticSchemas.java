@@ -0,0 +1,152 @@
+package io.github.lengors.js2pets.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Builds synthetic JSON schemas used to stress the generation pipeline.
+ *
+ * @author lengors
+ */
+public final class SyntheticSchemas {
+  /**
+   * Node factory used to build the schemas.
+   */
+  private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+  /**
+   * Property types cycled through by wide schemas.
+   */
+  private static final String[] PROPERTY_TYPES = {
+      "string", "integer", "number", "boolean", "array", "enum", "object"
+  };
+
+  /**
+   * Number of values of the enumerations embedded in wide schemas.
+   */
+  private static final int EMBEDDED_ENUM_SIZE = 3;
+
+  private SyntheticSchemas() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Creates an object schema with the given number of properties, cycling through all supported property types and
+   * marking every other property as required.
+   *
+   * @param propertyCount The number of properties.
+   * @return The object schema.
+   */
+  public static ObjectNode wide(final int propertyCount) {
+    final var schema = object();
+    final var properties = schema.putObject("properties");
+    final var required = schema.putArray("required");
+    for (var index = 0; index < propertyCount; ++index) {
+      final var propertyName = "property" + index;
+      properties.set(propertyName, property(PROPERTY_TYPES[index % PROPERTY_TYPES.length], index));
+      if (index % 2 == 0) {
+        required.add(propertyName);
+      }
+    }
+    return schema;
+  }
+
+  /**
+   * Creates an object schema nested to the given depth, each level holding a couple of scalar properties and a
+   * required child object.
+   *
+   * @param depth The nesting depth.
+   * @return The object schema.
+   */
+  public static ObjectNode deep(final int depth) {
+    var schema = level(null);
+    for (var index = 1; index < depth; ++index) {
+      schema = level(schema);
+    }
+    return schema;
+  }
+
+  /**
+   * Creates a string enumeration schema with the given number of values.
+   *
+   * @param valueCount The number of values.
+   * @return The enumeration schema.
+   */
+  public static ObjectNode enumeration(final int valueCount) {
+    final var schema = NODE_FACTORY.objectNode();
+    schema.put("type", "string");
+    final var values = schema.putArray("enum");
+    for (var index = 0; index < valueCount; ++index) {
+      values.add("value-" + index);
+    }
+    return schema;
+  }
+
+  /**
+   * Writes the given schema to a temporary file, deleted on exit, so that it can be loaded through a
+   * {@link org.jsonschema2pojo.SchemaStore}.
+   *
+   * @param schema The schema to write.
+   * @return The URI of the written schema.
+   * @throws IOException If the schema could not be written.
+   */
+  public static URI write(final ObjectNode schema) throws IOException {
+    final var path = Files.createTempFile("js2pets-benchmark-", ".json");
+    path
+        .toFile()
+        .deleteOnExit();
+    Files.writeString(path, schema.toString());
+    return path.toUri();
+  }
+
+  private static ObjectNode level(final @Nullable ObjectNode child) {
+    final var schema = object();
+    final var properties = schema.putObject("properties");
+    final var required = schema.putArray("required");
+    properties.set("name", scalar("string"));
+    properties.set("value", scalar("integer"));
+    required.add("name");
+    if (child != null) {
+      properties.set("child", child);
+      required.add("child");
+    }
+    return schema;
+  }
+
+  private static ObjectNode object() {
+    final var schema = NODE_FACTORY.objectNode();
+    schema.put("type", "object");
+    return schema;
+  }
+
+  private static ObjectNode property(final String type, final int index) {
+    return switch (type) {
+      case "array" -> {
+        final var schema = scalar("array");
+        schema.set("items", scalar("string"));
+        yield schema;
+      }
+      case "enum" -> enumeration(EMBEDDED_ENUM_SIZE);
+      case "object" -> {
+        final var schema = object();
+        final var properties = schema.putObject("properties");
+        properties.set("name" + index, scalar("string"));
+        properties.set("value" + index, scalar("integer"));
+        yield schema;
+      }
+      default -> scalar(type);
+    };
+  }
+
+  private static ObjectNode scalar(final String type) {
+    final var schema = NODE_FACTORY.objectNode();
+    schema.put("type", type);
+    return schema;
+  }
+}
@@ -0,0 +1,11 @@
+/**
+ * This package contains the JMH benchmarks for the js2pets generation pipeline.
+ * <br />
+ * <br />
+ * The benchmarks drive jsonschema2pojo with both the plain {@link org.jsonschema2pojo.rules.RuleFactory} and the
+ * js2pets factories over synthetic schemas, so that the cost added on top of jsonschema2pojo can be tracked. They are
+ * only compiled with the {@code benchmarks} profile enabled.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.benchmarks;
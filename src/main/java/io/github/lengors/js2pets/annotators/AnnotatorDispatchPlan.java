@@ -0,0 +1,146 @@
+package io.github.lengors.js2pets.annotators;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.Annotator;
+
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JType;
+
+import io.github.lengors.js2pets.jfr.AnnotatorPassEvent;
+
+/**
+ * Precompiled list of the {@link EnhancedAnnotator} leaves of an annotator tree, used to dispatch the enhanced
+ * callbacks without traversing the tree, or reflecting into {@link org.jsonschema2pojo.CompositeAnnotator}, on every
+ * call. Leaves wrapping other annotators, such as to instrument them, are only kept if the annotator they wrap is
+ * itself enhanced, and are named after it in the emitted events.
+ *
+ * @author lengors
+ */
+public final class AnnotatorDispatchPlan {
+  /**
+   * Dispatch plan without any annotator.
+   */
+  public static final AnnotatorDispatchPlan EMPTY = new AnnotatorDispatchPlan(
+      new EnhancedAnnotator[0],
+      new Annotator[0]);
+
+  /**
+   * The enhanced annotators to dispatch to, in the order they appear in the annotator tree.
+   */
+  private final EnhancedAnnotator[] annotators;
+
+  /**
+   * The unwrapped annotators the events are named after, in the same order as the annotators to dispatch to.
+   */
+  private final Annotator[] unwrappedAnnotators;
+
+  private AnnotatorDispatchPlan(final EnhancedAnnotator[] annotators, final Annotator[] unwrappedAnnotators) {
+    this.annotators = annotators;
+    this.unwrappedAnnotators = unwrappedAnnotators;
+  }
+
+  /**
+   * Compiles the dispatch plan for the given annotator, by flattening it if it's a composite annotator and keeping only
+   * the enhanced annotators.
+   *
+   * @param annotator The source annotator.
+   * @return The compiled dispatch plan.
+   */
+  public static AnnotatorDispatchPlan compile(final Annotator annotator) {
+    final var enhancedAnnotators = AnnotatorUtils
+        .streamAnnotators(annotator)
+        .filter(leafAnnotator -> leafAnnotator instanceof EnhancedAnnotator
+            && AnnotatorUtils.unwrap(leafAnnotator) instanceof EnhancedAnnotator)
+        .map(EnhancedAnnotator.class::cast)
+        .toArray(EnhancedAnnotator[]::new);
+    if (enhancedAnnotators.length == 0) {
+      return EMPTY;
+    }
+    final var unwrappedAnnotators = new Annotator[enhancedAnnotators.length];
+    for (var index = 0; index < enhancedAnnotators.length; ++index) {
+      unwrappedAnnotators[index] = AnnotatorUtils.unwrap(enhancedAnnotators[index]);
+    }
+    return new AnnotatorDispatchPlan(enhancedAnnotators, unwrappedAnnotators);
+  }
+
+  /**
+   * Checks whether there is no enhanced annotator to dispatch to.
+   *
+   * @return True if there is no enhanced annotator.
+   */
+  public boolean isEmpty() {
+    return annotators.length == 0;
+  }
+
+  /**
+   * Gets the annotation types of all the enhanced annotators' type callbacks.
+   *
+   * @return The annotation types, or null if unknown for any of the enhanced annotators.
+   */
+  public @Nullable Set<Class<? extends Annotation>> getAnnotationTypes() {
+    final var annotationTypes = new LinkedHashSet<Class<? extends Annotation>>();
+    for (final var annotator : annotators) {
+      final var types = annotator.getAnnotationTypes();
+      if (types == null) {
+        return null;
+      }
+      annotationTypes.addAll(types);
+    }
+    return Collections.unmodifiableSet(annotationTypes);
+  }
+
+  /**
+   * Invokes the constructor callback of every enhanced annotator.
+   *
+   * @param constructor The generated constructor to notify of.
+   */
+  public void constructor(final JMethod constructor) {
+    for (final var annotator : annotators) {
+      annotator.constructor(constructor);
+    }
+  }
+
+  /**
+   * Invokes the type callback of every enhanced annotator, emitting an {@link AnnotatorPassEvent} for each while a
+   * Flight Recorder recording enables them.
+   *
+   * @param type The generated type to notify of.
+   */
+  public void type(final JType type) {
+    if (!AnnotatorPassEvent.isRecording()) {
+      for (final var annotator : annotators) {
+        annotator.type(type);
+      }
+      return;
+    }
+    for (var index = 0; index < annotators.length; ++index) {
+      final var event = new AnnotatorPassEvent();
+      event.begin();
+      try {
+        annotators[index].type(type);
+      } finally {
+        event.finish(unwrappedAnnotators[index], type);
+      }
+    }
+  }
+
+  /**
+   * Provider of a cached {@link AnnotatorDispatchPlan}, typically implemented by rule factories so that the plan is
+   * compiled once and only recompiled when the annotator changes.
+   *
+   * @author lengors
+   */
+  public interface Provider {
+    /**
+     * Gets the dispatch plan for the provider's current annotator.
+     *
+     * @return The dispatch plan.
+     */
+    AnnotatorDispatchPlan getAnnotatorDispatchPlan();
+  }
+}
@@ -1,11 +1,11 @@
 package io.github.lengors.js2pets.annotators;
 
-import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.jsonschema2pojo.Annotator;
 import org.jsonschema2pojo.CompositeAnnotator;
+import org.jsonschema2pojo.rules.RuleFactory;
 
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JType;
@@ -27,16 +27,23 @@ public final class AnnotatorUtils {
    * @param constructor The generated constructor to notify of.
    */
   public static void constructor(final Annotator annotator, final JMethod constructor) {
-    dispatch(annotator, constructor, EnhancedAnnotator::constructor);
+    AnnotatorDispatchPlan
+        .compile(annotator)
+        .constructor(constructor);
   }
 
-  private static <T> void dispatch(
-      final Annotator annotator,
-      final T value,
-      final BiConsumer<EnhancedAnnotator, T> action) {
-    streamAnnotators(annotator)
-        .filter(EnhancedAnnotator.class::isInstance)
-        .forEach(leafAnnotator -> action.accept((EnhancedAnnotator) leafAnnotator, value));
+  /**
+   * Gets the dispatch plan for the annotator of the given rule factory. If the rule factory provides with a cached
+   * plan, that plan is returned, otherwise a new one is compiled from its annotator.
+   *
+   * @param ruleFactory The rule factory from where to get the annotator.
+   * @return The dispatch plan.
+   */
+  public static AnnotatorDispatchPlan dispatchPlan(final RuleFactory ruleFactory) {
+    if (ruleFactory instanceof AnnotatorDispatchPlan.Provider provider) {
+      return provider.getAnnotatorDispatchPlan();
+    }
+    return AnnotatorDispatchPlan.compile(ruleFactory.getAnnotator());
   }
 
   /**
@@ -65,6 +72,20 @@ public final class AnnotatorUtils {
     }
   }
 
+  /**
+   * Unwraps the given annotator, if it wraps another one, such as to instrument it.
+   *
+   * @param annotator The annotator to unwrap.
+   * @return The innermost wrapped annotator, or the given annotator if it doesn't wrap any.
+   */
+  public static Annotator unwrap(final Annotator annotator) {
+    var currentAnnotator = annotator;
+    while (currentAnnotator instanceof Wrapper wrapper) {
+      currentAnnotator = wrapper.getWrappedAnnotator();
+    }
+    return currentAnnotator;
+  }
+
   /**
    * Invokes the type callback if applicable to the annotator.
    *
@@ -72,6 +93,22 @@ public final class AnnotatorUtils {
    * @param type      The generated type to notify of.
    */
   public static void type(final Annotator annotator, final JType type) {
-    dispatch(annotator, type, EnhancedAnnotator::type);
+    AnnotatorDispatchPlan
+        .compile(annotator)
+        .type(type);
+  }
+
+  /**
+   * Annotator wrapping another one, such as to instrument it, which the wrapper's callbacks are forwarded to.
+   *
+   * @author lengors
+   */
+  public interface Wrapper {
+    /**
+     * Gets the wrapped annotator.
+     *
+     * @return The wrapped annotator.
+     */
+    Annotator getWrappedAnnotator();
   }
 }
@@ -1,5 +1,7 @@
 package io.github.lengors.js2pets.annotators;
 
+import java.lang.annotation.Annotation;
+import java.util.Collection;
 import java.util.stream.Collectors;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -20,6 +22,15 @@ import io.github.lengors.js2pets.codemodel.CodeModelUtils;
  */
 @Deprecated(since = "1.2.0", forRemoval = true)
 public class CheckerableAnnotator extends NoopAnnotator implements EnhancedAnnotator {
+  /**
+   * Gets the annotation types the type callback annotates with, which is only Checkerframework's {@link Nullable}.
+   *
+   * @return The annotation types.
+   */
+  @Override
+  public Collection<Class<? extends Annotation>> getAnnotationTypes() {
+    return AnnotationUtils.CHECKERFRAMEWORK_NULLABLE_ANNOTATION;
+  }
 
   /**
    * Annotator callback that annotates equals methods' parameter with Checkerframework's {@link Nullable} as well as any
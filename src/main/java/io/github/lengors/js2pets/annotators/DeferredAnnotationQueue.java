@@ -0,0 +1,278 @@
+package io.github.lengors.js2pets.annotators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JType;
+
+/**
+ * Queue of the enhanced annotator callbacks deferred until the generated types are finished, so that annotator passes
+ * aren't interleaved with the schema traversal and only see types every rule is done adding members to. The object,
+ * enum and constructor rule wrappers enqueue their types and constructors instead of dispatching them, and
+ * {@link #flush(AnnotatorDispatchPlan)} then runs every constructor pass followed by every type pass, each in the
+ * order they were enqueued, with a single dispatch plan.
+ * <br />
+ * <br />
+ * The queue is flushed once the outermost object rule is done, or once a top-level enum is enqueued, unless it's held
+ * with {@link #hold()}. Generation drivers, such as {@link io.github.lengors.js2pets.generation.ParallelGenerator},
+ * hold it to flush all the types of a code model at once before building it.
+ * <br />
+ * <br />
+ * A queue created with a {@link ForkJoinPool} runs the type passes with the {@link ParallelAnnotationStage}.
+ *
+ * @author lengors
+ */
+public final class DeferredAnnotationQueue {
+  /**
+   * Constructors whose callbacks are deferred, in enqueueing order.
+   */
+  private final List<JMethod> constructors = new ArrayList<>();
+
+  /**
+   * Types whose callbacks are deferred, in enqueueing order.
+   */
+  private final List<JType> types = new ArrayList<>();
+
+  /**
+   * Pool to run the type passes within, or null to run them sequentially.
+   */
+  private final @Nullable ForkJoinPool pool;
+
+  /**
+   * Number of object rules currently being applied.
+   */
+  private int depth;
+
+  /**
+   * Whether the queue is held until explicitly flushed.
+   */
+  private boolean held;
+
+  /**
+   * Creates a queue running the type passes sequentially.
+   */
+  public DeferredAnnotationQueue() {
+    this(null);
+  }
+
+  /**
+   * Creates a queue running the type passes within the given pool.
+   *
+   * @param pool The pool to run the type passes within, or null to run them sequentially.
+   */
+  public DeferredAnnotationQueue(final @Nullable ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Enqueues the type callback for the given type.
+   *
+   * @param type The generated type.
+   */
+  public void enqueue(final JType type) {
+    types.add(type);
+  }
+
+  /**
+   * Enqueues the constructor callbacks for the current constructors of the given class.
+   *
+   * @param clazz The class whose constructors to enqueue.
+   */
+  public void enqueueConstructors(final JDefinedClass clazz) {
+    clazz
+        .constructors()
+        .forEachRemaining(constructors::add);
+  }
+
+  /**
+   * Marks an object rule as being applied.
+   */
+  public void open() {
+    ++depth;
+  }
+
+  /**
+   * Marks an object rule as done.
+   */
+  public void close() {
+    --depth;
+  }
+
+  /**
+   * Holds the queue, so that it's only flushed explicitly.
+   */
+  public void hold() {
+    held = true;
+  }
+
+  /**
+   * Checks whether flushing the queue must wait, because it's held or an object rule is still being applied.
+   *
+   * @return True if flushing must wait.
+   */
+  public boolean isPending() {
+    return held || depth > 0;
+  }
+
+  /**
+   * Gets the number of deferred callbacks.
+   *
+   * @return The number of deferred callbacks.
+   */
+  public int size() {
+    return constructors.size() + types.size();
+  }
+
+  /**
+   * Runs the deferred callbacks, constructors first, and releases the queue if held.
+   *
+   * @param annotatorDispatchPlan The dispatch plan to run the callbacks with.
+   */
+  public void flush(final AnnotatorDispatchPlan annotatorDispatchPlan) {
+    held = false;
+    final var pendingConstructors = List.copyOf(constructors);
+    final var pendingTypes = List.copyOf(types);
+    constructors.clear();
+    types.clear();
+    for (final var constructor : pendingConstructors) {
+      annotatorDispatchPlan.constructor(constructor);
+    }
+    if (pool != null) {
+      ParallelAnnotationStage.type(annotatorDispatchPlan, pendingTypes, pool);
+      return;
+    }
+    for (final var type : pendingTypes) {
+      annotatorDispatchPlan.type(type);
+    }
+  }
+
+  /**
+   * Enqueues the type callback for the given type in the queue of the given rule factory, if it provides one, flushing
+   * it unless pending.
+   *
+   * @param ruleFactory The rule factory to get the queue from.
+   * @param type        The generated type.
+   * @return True if the queue took the callback, false if the caller must dispatch it.
+   */
+  public static boolean enqueue(final RuleFactory ruleFactory, final JType type) {
+    final var queue = get(ruleFactory);
+    if (queue == null) {
+      return false;
+    }
+    queue.enqueue(type);
+    flushUnlessPending(ruleFactory, queue);
+    return true;
+  }
+
+  /**
+   * Enqueues the constructor callbacks for the current constructors of the given class in the queue of the given rule
+   * factory, if it provides one, flushing it unless pending.
+   *
+   * @param ruleFactory The rule factory to get the queue from.
+   * @param clazz       The class whose constructors to enqueue.
+   * @return True if the queue took the callbacks, false if the caller must dispatch them.
+   */
+  public static boolean enqueueConstructors(final RuleFactory ruleFactory, final JDefinedClass clazz) {
+    final var queue = get(ruleFactory);
+    if (queue == null) {
+      return false;
+    }
+    queue.enqueueConstructors(clazz);
+    flushUnlessPending(ruleFactory, queue);
+    return true;
+  }
+
+  /**
+   * Marks an object rule as being applied, if the given rule factory provides a queue.
+   *
+   * @param ruleFactory The rule factory to get the queue from.
+   */
+  public static void open(final RuleFactory ruleFactory) {
+    final var queue = get(ruleFactory);
+    if (queue != null) {
+      queue.open();
+    }
+  }
+
+  /**
+   * Marks an object rule as done, if the given rule factory provides a queue, flushing it unless pending.
+   *
+   * @param ruleFactory The rule factory to get the queue from.
+   */
+  public static void close(final RuleFactory ruleFactory) {
+    final var queue = get(ruleFactory);
+    if (queue != null) {
+      queue.close();
+      flushUnlessPending(ruleFactory, queue);
+    }
+  }
+
+  /**
+   * Marks an object rule as failed, if the given rule factory provides a queue, without flushing it, so that no
+   * callbacks run for the types left incomplete by the failure.
+   *
+   * @param ruleFactory The rule factory to get the queue from.
+   */
+  public static void abort(final RuleFactory ruleFactory) {
+    final var queue = get(ruleFactory);
+    if (queue != null) {
+      queue.close();
+    }
+  }
+
+  /**
+   * Holds the queue of the given rule factory, if it provides one, until {@link #flush(RuleFactory)} is called.
+   *
+   * @param ruleFactory The rule factory to get the queue from.
+   */
+  public static void hold(final RuleFactory ruleFactory) {
+    final var queue = get(ruleFactory);
+    if (queue != null) {
+      queue.hold();
+    }
+  }
+
+  /**
+   * Runs the deferred callbacks of the queue of the given rule factory, if it provides one, with the rule factory's
+   * dispatch plan.
+   *
+   * @param ruleFactory The rule factory to get the queue from.
+   */
+  public static void flush(final RuleFactory ruleFactory) {
+    final var queue = get(ruleFactory);
+    if (queue != null) {
+      queue.flush(AnnotatorUtils.dispatchPlan(ruleFactory));
+    }
+  }
+
+  private static void flushUnlessPending(final RuleFactory ruleFactory, final DeferredAnnotationQueue queue) {
+    if (!queue.isPending()) {
+      queue.flush(AnnotatorUtils.dispatchPlan(ruleFactory));
+    }
+  }
+
+  private static @Nullable DeferredAnnotationQueue get(final RuleFactory ruleFactory) {
+    return ruleFactory instanceof Provider provider ? provider.getDeferredAnnotationQueue() : null;
+  }
+
+  /**
+   * Interface for rule factories deferring the enhanced annotator callbacks.
+   *
+   * @author lengors
+   */
+  public interface Provider {
+    /**
+     * Gets the queue to defer the enhanced annotator callbacks to.
+     *
+     * @return The queue, or null if the callbacks aren't deferred.
+     */
+    @Nullable
+    DeferredAnnotationQueue getDeferredAnnotationQueue();
+  }
+}
@@ -1,7 +1,11 @@
 package io.github.lengors.js2pets.annotators;
 
+import java.lang.annotation.Annotation;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jsonschema2pojo.Annotator;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -20,6 +24,21 @@ import io.github.lengors.js2pets.streams.StreamUtils;
  * @author lengors
  */
 public interface EnhancedAnnotator extends Annotator {
+  /**
+   * Annotation types the default type callback annotates with.
+   */
+  List<Class<? extends Annotation>> DEFAULT_ANNOTATION_TYPES = List.of(JsonCreator.class, JsonProperty.class);
+
+  /**
+   * Gets the annotation types the type callback may annotate with. Type callbacks for different top-level classes only
+   * share the code model's references to these types, so listing them allows them to be resolved up front and the
+   * callbacks to run concurrently, see {@link ParallelAnnotationStage}.
+   *
+   * @return The annotation types, or null if unknown, in which case type callbacks are always run sequentially.
+   */
+  default @Nullable Collection<Class<? extends Annotation>> getAnnotationTypes() {
+    return null;
+  }
 
   /**
    * Listener to constructor generation for annotations.
@@ -61,6 +80,7 @@ public interface EnhancedAnnotator extends Annotator {
               parameter
                   .annotate(JsonProperty.class)
                   .param("value", propertyName);
+              CodeModelUtils.setJsonPropertyValue(parameter, propertyName);
             }
           }
         });
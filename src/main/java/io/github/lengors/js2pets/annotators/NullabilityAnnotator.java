@@ -1,12 +1,12 @@
 package io.github.lengors.js2pets.annotators;
 
-import java.util.Collections;
-import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
-import org.checkerframework.checker.nullness.qual.NonNull;
 import org.jsonschema2pojo.AbstractAnnotator;
 import org.jsonschema2pojo.GenerationConfig;
 
@@ -14,6 +14,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JType;
 
+import io.github.lengors.js2pets.codemodel.AnnotationIndex;
 import io.github.lengors.js2pets.codemodel.CodeModelUtils;
 
 /**
@@ -27,6 +28,21 @@ public class NullabilityAnnotator extends AbstractAnnotator implements EnhancedA
    */
   private static final String GETTER_PREFIX = "get";
 
+  /**
+   * Nullable annotations for the generation configuration, computed once per annotator.
+   */
+  private final List<Class<? extends Annotation>> nullableAnnotations;
+
+  /**
+   * Non-nullable annotations for the generation configuration, computed once per annotator.
+   */
+  private final List<Class<? extends Annotation>> nonNullableAnnotations;
+
+  /**
+   * Annotation types the type callback annotates with.
+   */
+  private final List<Class<? extends Annotation>> annotationTypes;
+
   /**
    * Instantiates annotator with generation configuration.
    *
@@ -34,11 +50,34 @@ public class NullabilityAnnotator extends AbstractAnnotator implements EnhancedA
    */
   public NullabilityAnnotator(final GenerationConfig generationConfig) {
     super(generationConfig);
+    this.nullableAnnotations = AnnotationUtils.getNullableAnnotations(generationConfig);
+    this.nonNullableAnnotations = AnnotationUtils.getNonNullableAnnotations(generationConfig);
+    this.annotationTypes = Stream
+        .of(DEFAULT_ANNOTATION_TYPES, nullableAnnotations, nonNullableAnnotations)
+        .flatMap(List::stream)
+        .distinct()
+        .toList();
+  }
+
+  /**
+   * Gets the annotation types the type callback annotates with: those of the default type callback and the nullable
+   * and non-nullable annotations for the generation configuration.
+   *
+   * @return The annotation types.
+   */
+  @Override
+  public Collection<Class<? extends Annotation>> getAnnotationTypes() {
+    return annotationTypes;
   }
 
   /**
    * Annotator callback that annotates equals methods' parameter with proper nullable types as well as any properties,
    * return types and parameters for constructors and setters for the respective fields.
+   * <br />
+   * <br />
+   * The class is annotated in a single pass: its fields are annotated while building a map from property to
+   * nullability, and each invokable of the class structure is then visited once, matching getters by name and
+   * parameters by property.
    *
    * @param type The generated class to apply the annotation to.
    */
@@ -50,62 +89,59 @@ public class NullabilityAnnotator extends AbstractAnnotator implements EnhancedA
       return;
     }
 
-    final var nullableAnnotations = AnnotationUtils.getNullableAnnotations(getGenerationConfig());
-    final var nonNullableAnnotations = AnnotationUtils.getNonNullableAnnotations(getGenerationConfig());
-
-    final var classStructure = CodeModelUtils.listClassStructure(clazz);
-    final var invokables = CodeModelUtils.listInvokables(classStructure);
-
-    final var fieldsByNullabilityType = clazz
+    final var annotationIndex = new AnnotationIndex();
+    final var nullabilityTypesByProperty = new HashMap<String, NullabilityType>();
+    final var nullabilityTypesByCapitalizedProperty = new HashMap<String, NullabilityType>();
+    for (final var field : clazz
         .fields()
-        .values()
-        .stream()
-        .filter(field -> CodeModelUtils.containsAnnotation(field, JsonProperty.class))
-        .collect(Collectors.groupingBy(field -> AnnotationUtils.NON_NULLABLE_ANNOTATIONS
-            .stream()
-            .anyMatch(annotation -> CodeModelUtils.containsAnnotation(field, annotation))
-                ? NullabilityType.NON_NULLABLE
-                : NullabilityType.NULLABLE));
-
-    for (final var nullabilityType : NullabilityType.values()) {
-      final var annotations = switch (nullabilityType) {
-        case NullabilityType.NON_NULLABLE -> nonNullableAnnotations;
-        case NullabilityType.NULLABLE -> nullableAnnotations;
-      };
-      final var fields = fieldsByNullabilityType.getOrDefault(nullabilityType, Collections.emptyList());
-      final var properties = (Set<@NonNull String>) fields
+        .values()) {
+      if (!annotationIndex.contains(field, JsonProperty.class)) {
+        continue;
+      }
+      final var nullabilityType = AnnotationUtils.NON_NULLABLE_ANNOTATIONS
           .stream()
-          .map(field -> {
-            CodeModelUtils.safeAnnotate(field, annotations);
-            return field;
-          })
-          .map(CodeModelUtils::getPropertyName)
-          .filter(Objects::nonNull)
-          .collect(Collectors.toUnmodifiableSet());
-
-      CodeModelUtils.annotateInvokablesParameters(invokables.stream(), properties, annotations, true);
+          .anyMatch(annotation -> annotationIndex.contains(field, annotation))
+              ? NullabilityType.NON_NULLABLE
+              : NullabilityType.NULLABLE;
+      CodeModelUtils.safeAnnotate(annotationIndex, field, getAnnotations(nullabilityType));
+      final var property = CodeModelUtils.getPropertyName(field);
+      if (property != null) {
+        nullabilityTypesByProperty.put(property, nullabilityType);
+        nullabilityTypesByCapitalizedProperty.put(StringUtils.capitalize(property), nullabilityType);
+      }
+    }
 
-      final var capitalizedProperties = properties
-          .stream()
-          .map(StringUtils::capitalize)
-          .collect(Collectors.toUnmodifiableSet());
-      invokables
-          .stream()
-          .filter(method -> {
-            if (!method.params().isEmpty()) {
-              return false;
+    CodeModelUtils
+        .streamInvokables(CodeModelUtils.listClassStructure(clazz))
+        .forEach(invokable -> {
+          final var params = invokable.params();
+          if (params.isEmpty()) {
+            final var invokableName = invokable.name();
+            if (invokableName.startsWith(GETTER_PREFIX)) {
+              final var nullabilityType = nullabilityTypesByCapitalizedProperty.get(StringUtils.capitalize(
+                  invokableName.substring(GETTER_PREFIX.length())));
+              if (nullabilityType != null) {
+                CodeModelUtils.safeAnnotate(annotationIndex, invokable, getAnnotations(nullabilityType));
+              }
             }
-
-            final var methodName = method.name();
-            if (!methodName.startsWith(GETTER_PREFIX)) {
-              return false;
+            return;
+          }
+          for (final var param : params) {
+            final var property = CodeModelUtils.getPropertyName(param);
+            final var nullabilityType = property != null ? nullabilityTypesByProperty.get(property) : null;
+            if (nullabilityType != null) {
+              CodeModelUtils.safeAnnotate(annotationIndex, param, getAnnotations(nullabilityType));
             }
+          }
+        });
 
-            return capitalizedProperties.contains(StringUtils.capitalize(methodName.replaceFirst(GETTER_PREFIX, "")));
-          })
-          .forEach(method -> CodeModelUtils.safeAnnotate(method, annotations));
-    }
+    CodeModelUtils.annotateEqualsMethod(annotationIndex, clazz);
+  }
 
-    CodeModelUtils.annotateEqualsMethod(clazz);
+  private List<Class<? extends Annotation>> getAnnotations(final NullabilityType nullabilityType) {
+    return switch (nullabilityType) {
+      case NullabilityType.NON_NULLABLE -> nonNullableAnnotations;
+      case NullabilityType.NULLABLE -> nullableAnnotations;
+    };
   }
 }
@@ -0,0 +1,92 @@
+package io.github.lengors.js2pets.annotators;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JType;
+
+/**
+ * Runs the type callbacks of a dispatch plan for many finished types concurrently. The types are grouped by their
+ * top-level class, since a type callback may walk the whole class structure of its type, and each group is run
+ * sequentially, in the given order, within a {@link ForkJoinPool}. Groups only share the code model's references to
+ * the annotation types, so these are resolved up front, along with {@link Object}, which the callbacks reference to
+ * find the {@code equals} methods. The rendered output is therefore the same as running every callback sequentially.
+ * <br />
+ * <br />
+ * If any enhanced annotator doesn't list its annotation types, see {@link EnhancedAnnotator#getAnnotationTypes()}, or
+ * there's a single group, the callbacks are run sequentially.
+ *
+ * @author lengors
+ */
+public final class ParallelAnnotationStage {
+  private ParallelAnnotationStage() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Runs the type callbacks of the given dispatch plan for the given types.
+   *
+   * @param annotatorDispatchPlan The dispatch plan to run the callbacks with.
+   * @param types                 The finished types, in the order their callbacks would run sequentially.
+   * @param pool                  The pool to run the groups of types within.
+   */
+  public static void type(
+      final AnnotatorDispatchPlan annotatorDispatchPlan,
+      final List<JType> types,
+      final ForkJoinPool pool) {
+    final var annotationTypes = annotatorDispatchPlan.getAnnotationTypes();
+    final var groups = group(types);
+    if (annotationTypes == null || annotatorDispatchPlan.isEmpty() || groups.size() < 2) {
+      types.forEach(annotatorDispatchPlan::type);
+      return;
+    }
+
+    final var codeModels = new IdentityHashMap<JCodeModel, Boolean>();
+    for (final var type : types) {
+      if (codeModels.put(type.owner(), Boolean.TRUE) == null) {
+        resolve(type.owner(), annotationTypes);
+      }
+    }
+
+    final var tasks = new ArrayList<ForkJoinTask<?>>(groups.size());
+    for (final var group : groups) {
+      tasks.add(ForkJoinTask.adapt(() -> group.forEach(annotatorDispatchPlan::type)));
+    }
+    pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+  }
+
+  private static Collection<List<JType>> group(final List<JType> types) {
+    final var groups = new LinkedHashMap<JType, List<JType>>();
+    for (final var type : types) {
+      groups
+          .computeIfAbsent(topLevel(type), key -> new ArrayList<>())
+          .add(type);
+    }
+    return groups.values();
+  }
+
+  private static void resolve(final JCodeModel codeModel, final Collection<? extends Class<?>> classes) {
+    codeModel.ref(Object.class);
+    for (final var clazz : classes) {
+      codeModel.ref(clazz);
+    }
+  }
+
+  private static JType topLevel(final JType type) {
+    if (!(type instanceof JDefinedClass definedClass)) {
+      return type;
+    }
+    var topLevelClass = definedClass;
+    while (topLevelClass.parentContainer() instanceof JDefinedClass outerClass) {
+      topLevelClass = outerClass;
+    }
+    return topLevelClass;
+  }
+}
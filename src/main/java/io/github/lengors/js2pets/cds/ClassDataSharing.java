@@ -0,0 +1,205 @@
+package io.github.lengors.js2pets.cds;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.lengors.js2pets.files.Digests;
+import io.github.lengors.js2pets.files.PrivateFiles;
+
+/**
+ * Utilities to create an application class-data sharing archive of the generator's classpath, by recording the classes
+ * loaded by a {@link TrainingGeneration} with {@code -XX:ArchiveClassesAtExit}, and to fork generator processes that
+ * map it with {@code -XX:SharedArchiveFile} once it exists.
+ * <br />
+ * <br />
+ * The archive is only valid for the exact classpath and JVM it was created with, so its default path is derived from
+ * both. The JVM refuses mismatching archives and starts without them, so a stale archive costs nothing but its
+ * benefit. Only classes loaded from JAR files are archived.
+ * <br />
+ * <br />
+ * The archive's directory is created only accessible by its owner. Archives are neither created in, nor mapped from,
+ * a directory owned by another user or writable by anyone else, and archives that aren't private to the current user
+ * aren't mapped either, since a JVM mapping an archive loads the classes it holds.
+ * <br />
+ * <br />
+ * Example:
+ *
+ * <pre>
+ * java -cp ... io.github.lengors.js2pets.cds.ClassDataSharing [archive-file]
+ * </pre>
+ *
+ * @author lengors
+ */
+public final class ClassDataSharing {
+  /**
+   * System property selecting the path of the archive, instead of the default path derived from the classpath.
+   */
+  public static final String ARCHIVE_PROPERTY = "js2pets.cdsArchive";
+
+  /**
+   * Option making the JVM record the loaded classes into the given archive when exiting.
+   */
+  private static final String ARCHIVE_CLASSES_AT_EXIT_OPTION = "-XX:ArchiveClassesAtExit=";
+
+  /**
+   * Option making the JVM map the given archive.
+   */
+  private static final String SHARED_ARCHIVE_FILE_OPTION = "-XX:SharedArchiveFile=";
+
+  /**
+   * Option setting the classpath of the forked JVM.
+   */
+  private static final String CLASSPATH_OPTION = "-cp";
+
+  /**
+   * Number of hexadecimal digits of the classpath and JVM hash used in the default archive name.
+   */
+  private static final int ARCHIVE_HASH_LENGTH = 16;
+
+  private ClassDataSharing() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Creates the archive for the classpath of the current JVM, at the path given as the first argument or selected by
+   * {@link #getArchivePath(String)}.
+   *
+   * @param args The optional path of the archive.
+   * @throws IOException          If the training generation fails or doesn't create the archive.
+   * @throws InterruptedException If interrupted while waiting for the training generation.
+   */
+  public static void main(final String[] args) throws IOException, InterruptedException {
+    final var classpath = System.getProperty("java.class.path");
+    createArchive(args.length > 0 ? Path.of(args[0]) : getArchivePath(classpath), classpath);
+  }
+
+  /**
+   * Gets the path of the archive for the given classpath, selected by the {@value #ARCHIVE_PROPERTY} system property
+   * or, if unset, within a directory of the temporary directory specific to the current user and named after a hash of
+   * the classpath and the current JVM.
+   *
+   * @param classpath The classpath of the forked JVMs.
+   * @return The path of the archive.
+   */
+  public static Path getArchivePath(final String classpath) {
+    final var archive = System.getProperty(ARCHIVE_PROPERTY);
+    if (archive != null && !archive.isBlank()) {
+      return Path.of(archive);
+    }
+    return PrivateFiles
+        .getUserDirectory()
+        .resolve("js2pets-"
+            + hash(classpath, System.getProperty("java.home"), System.getProperty("java.vm.version"))
+            + ".jsa");
+  }
+
+  /**
+   * Gets the JVM options mapping the given archive, if it exists and, along with its directory, is private to the
+   * current user.
+   *
+   * @param archive The path of the archive.
+   * @return The options mapping the archive, or no options if it doesn't exist or isn't private to the current user.
+   */
+  public static List<String> getJvmOptions(final Path archive) {
+    return Files.isRegularFile(archive) && isPrivate(archive)
+        ? List.of(SHARED_ARCHIVE_FILE_OPTION + archive)
+        : List.of();
+  }
+
+  /**
+   * Creates the archive for the given classpath, at the path selected by {@link #getArchivePath(String)}.
+   *
+   * @param classpath The classpath of the forked JVMs.
+   * @return The path of the created archive.
+   * @throws IOException          If the training generation fails or doesn't create the archive.
+   * @throws InterruptedException If interrupted while waiting for the training generation.
+   */
+  public static Path createArchive(final String classpath) throws IOException, InterruptedException {
+    return createArchive(getArchivePath(classpath), classpath);
+  }
+
+  /**
+   * Creates the archive for the given classpath by running a {@link TrainingGeneration} in a forked JVM recording the
+   * classes it loads. An existing archive is replaced.
+   *
+   * @param archive   The path of the archive.
+   * @param classpath The classpath of the forked JVMs, which must contain js2pets and its dependencies.
+   * @return The path of the created archive.
+   * @throws IOException          If the archive's directory isn't private to the current user, or if the training
+   *                              generation fails or doesn't create the archive.
+   * @throws InterruptedException If interrupted while waiting for the training generation.
+   */
+  public static Path createArchive(final Path archive, final String classpath)
+      throws IOException, InterruptedException {
+    final var absoluteArchive = archive.toAbsolutePath();
+    final var directory = absoluteArchive.getParent();
+    if (directory != null) {
+      PrivateFiles.createDirectory(directory);
+    }
+    Files.deleteIfExists(absoluteArchive);
+
+    final var process = new ProcessBuilder(
+        getJavaExecutable(),
+        ARCHIVE_CLASSES_AT_EXIT_OPTION + absoluteArchive,
+        CLASSPATH_OPTION,
+        classpath,
+        TrainingGeneration.class.getName())
+        .redirectErrorStream(true)
+        .start();
+    final String output;
+    try (var inputStream = process.getInputStream()) {
+      output = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    final var exitValue = process.waitFor();
+    if (exitValue != 0) {
+      throw new IOException("Training generation failed with exit value " + exitValue + ":\n" + output);
+    }
+    if (!Files.isRegularFile(absoluteArchive)) {
+      throw new IOException("Training generation didn't create the class-data sharing archive:\n" + output);
+    }
+    return absoluteArchive;
+  }
+
+  /**
+   * Creates a process builder running the given main class in a forked JVM with the given classpath, mapping its
+   * archive if it exists.
+   *
+   * @param classpath The classpath of the forked JVM.
+   * @param mainClass The name of the main class to run.
+   * @param args      The arguments to pass to the main class.
+   * @return The process builder.
+   */
+  public static ProcessBuilder fork(final String classpath, final String mainClass, final List<String> args) {
+    final var command = new ArrayList<String>();
+    command.add(getJavaExecutable());
+    command.addAll(getJvmOptions(getArchivePath(classpath)));
+    command.add(CLASSPATH_OPTION);
+    command.add(classpath);
+    command.add(mainClass);
+    command.addAll(args);
+    return new ProcessBuilder(command);
+  }
+
+  private static boolean isPrivate(final Path archive) {
+    final var directory = archive
+        .toAbsolutePath()
+        .getParent();
+    return (directory == null || PrivateFiles.isPrivate(directory)) && PrivateFiles.isPrivate(archive);
+  }
+
+  private static String getJavaExecutable() {
+    return Path
+        .of(System.getProperty("java.home"), "bin", "java")
+        .toString();
+  }
+
+  private static String hash(final String... values) {
+    return Digests
+        .sha256(values)
+        .substring(0, ARCHIVE_HASH_LENGTH);
+  }
+}
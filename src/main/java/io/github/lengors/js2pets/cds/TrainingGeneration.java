@@ -0,0 +1,177 @@
+package io.github.lengors.js2pets.cds;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import io.github.lengors.js2pets.annotators.NullabilityAnnotator;
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+
+/**
+ * Training generation run while recording a class-data sharing archive. It generates a small set of schemas covering
+ * objects, references, definitions, arrays, enumerations, formats and required properties with
+ * {@link EnhancedRuleFactory} and {@link NullabilityAnnotator}, so the archive holds the classes every generation
+ * loads.
+ *
+ * @author lengors
+ */
+public final class TrainingGeneration {
+  /**
+   * Package of the generated classes.
+   */
+  private static final String PACKAGE_NAME = "io.github.lengors.js2pets.training";
+
+  private TrainingGeneration() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Runs the training generation within a temporary directory, which is removed afterwards.
+   *
+   * @param args Ignored.
+   * @throws IOException If the temporary directory can't be created, written or removed.
+   */
+  public static void main(final String[] args) throws IOException {
+    final var directory = Files.createTempDirectory("js2pets-training");
+    try {
+      generate(directory);
+    } finally {
+      try (var paths = Files.walk(directory)) {
+        paths
+            .sorted(Comparator.reverseOrder())
+            .forEach(TrainingGeneration::delete);
+      }
+    }
+  }
+
+  /**
+   * Writes the training schemas into the given directory and generates their code into it.
+   *
+   * @param directory The directory to write the schemas and generated code into.
+   * @return The directory with the generated code.
+   * @throws IOException If the schemas or code can't be written.
+   */
+  public static Path generate(final Path directory) throws IOException {
+    final var sources = Files.createDirectories(directory.resolve("schemas"));
+    final var target = directory.resolve("generated");
+    Files.writeString(sources.resolve("address.json"), """
+        {
+          "type": "object",
+          "properties": {
+            "street": {"type": "string"},
+            "postalCode": {"type": "string", "pattern": "^[0-9]{4}-[0-9]{3}$"},
+            "country": {"$ref": "#/definitions/country"}
+          },
+          "required": ["street"],
+          "definitions": {
+            "country": {"type": "string", "enum": ["PT", "ES", "FR"]}
+          }
+        }
+        """);
+    Files.writeString(sources.resolve("customer.json"), """
+        {
+          "type": "object",
+          "properties": {
+            "id": {"type": "integer"},
+            "name": {"type": "string", "minLength": 1},
+            "email": {"type": "string", "format": "email"},
+            "createdAt": {"type": "string", "format": "date-time"},
+            "balance": {"type": "number"},
+            "active": {"type": "boolean", "default": true},
+            "tags": {"type": "array", "items": {"type": "string"}, "uniqueItems": true},
+            "addresses": {"type": "array", "items": {"$ref": "address.json"}},
+            "metadata": {"type": "object", "additionalProperties": {"type": "string"}}
+          },
+          "required": ["id", "name"]
+        }
+        """);
+    Jsonschema2Pojo.generate(new TrainingGenerationConfig(sources, target), new NoopRuleLogger());
+    return target;
+  }
+
+  private static void delete(final Path path) {
+    try {
+      Files.delete(path);
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  /**
+   * Configuration of the training generation, enabling constructors and JSR-303 annotations so every js2pets rule and
+   * annotator is loaded.
+   *
+   * @author lengors
+   */
+  private static final class TrainingGenerationConfig extends DefaultGenerationConfig {
+    /**
+     * Directory with the schemas to generate.
+     */
+    private final Path sources;
+
+    /**
+     * Directory to generate the code to.
+     */
+    private final Path target;
+
+    TrainingGenerationConfig(final Path sources, final Path target) {
+      this.sources = sources;
+      this.target = target;
+    }
+
+    @Override
+    public Class<? extends Annotator> getCustomAnnotator() {
+      return NullabilityAnnotator.class;
+    }
+
+    @Override
+    public Class<? extends RuleFactory> getCustomRuleFactory() {
+      return EnhancedRuleFactory.IncludeNoArgsConstructor.class;
+    }
+
+    @Override
+    public Iterator<URL> getSource() {
+      try {
+        return List
+            .of(sources
+                .toUri()
+                .toURL())
+            .iterator();
+      } catch (final IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+    }
+
+    @Override
+    public File getTargetDirectory() {
+      return target.toFile();
+    }
+
+    @Override
+    public String getTargetPackage() {
+      return PACKAGE_NAME;
+    }
+
+    @Override
+    public boolean isIncludeConstructors() {
+      return true;
+    }
+
+    @Override
+    public boolean isIncludeJsr303Annotations() {
+      return true;
+    }
+  }
+}
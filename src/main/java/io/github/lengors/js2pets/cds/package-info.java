@@ -0,0 +1,8 @@
+/**
+ * This package contains the utilities to create and use an application class-data sharing archive of the generator's
+ * classpath, so forked generator processes start with the jsonschema2pojo, codemodel, Jackson and js2pets classes
+ * already loaded and verified.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.cds;
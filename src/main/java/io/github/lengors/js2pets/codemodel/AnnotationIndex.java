@@ -0,0 +1,71 @@
+package io.github.lengors.js2pets.codemodel;
+
+import java.lang.annotation.Annotation;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.sun.codemodel.JAnnotatable;
+import com.sun.codemodel.JAnnotationUse;
+
+/**
+ * Index of the annotations present on {@link JAnnotatable} elements, allowing constant time membership checks.
+ * <br />
+ * <br />
+ * Each element's annotation names are collected the first time the element is queried and are kept up to date as long
+ * as further annotations are added through {@link #annotate(JAnnotatable, Class)}. An index is meant to be used for a
+ * single annotation pass over a type, during which no annotations are added by other means.
+ *
+ * @author lengors
+ */
+public final class AnnotationIndex {
+  /**
+   * Fully qualified annotation names for each indexed element.
+   */
+  private final Map<JAnnotatable, Set<String>> annotationNames = new IdentityHashMap<>();
+
+  /**
+   * Creates an empty index, filled with the annotations of each annotatable as it's first looked up.
+   */
+  public AnnotationIndex() {
+  }
+
+  /**
+   * Determines if the given annotatable contains the given annotation.
+   *
+   * @param annotatable The annotatable to check for annotation.
+   * @param annotation  The annotation type to check for.
+   * @return True if the annotatable contains the given annotation. False, otherwise.
+   */
+  public boolean contains(final JAnnotatable annotatable, final Class<? extends Annotation> annotation) {
+    return getAnnotationNames(annotatable).contains(annotation.getName());
+  }
+
+  /**
+   * Annotates the given annotatable with the given annotation, keeping the index up to date.
+   *
+   * @param annotatable The annotatable to annotate.
+   * @param annotation  The annotation type to annotate with.
+   * @return The annotation usage created.
+   */
+  public JAnnotationUse annotate(final JAnnotatable annotatable, final Class<? extends Annotation> annotation) {
+    final var annotationUse = annotatable.annotate(annotation);
+    getAnnotationNames(annotatable).add(annotation.getName());
+    return annotationUse;
+  }
+
+  private Set<String> getAnnotationNames(final JAnnotatable annotatable) {
+    var names = annotationNames.get(annotatable);
+    if (names == null) {
+      names = new HashSet<>();
+      for (final var annotationUse : annotatable.annotations()) {
+        names.add(annotationUse
+            .getAnnotationClass()
+            .fullName());
+      }
+      annotationNames.put(annotatable, names);
+    }
+    return names;
+  }
+}
@@ -3,12 +3,18 @@ package io.github.lengors.js2pets.codemodel;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Modifier;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.SequencedCollection;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.stream.Stream;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -16,10 +22,13 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.sun.codemodel.JAnnotatable;
 import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JFormatter;
 import com.sun.codemodel.JJavaName;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
 import com.sun.codemodel.JType;
 import com.sun.codemodel.JVar;
 
@@ -32,6 +41,25 @@ import io.github.lengors.js2pets.streams.StreamUtils;
  * @author lengors
  */
 public final class CodeModelUtils {
+  /**
+   * Side tables with the JSON property names of the variables generated by js2pets' rules and annotators, one per code
+   * model, so that concurrent generations neither share nor contend on a single table. Code models and variables are
+   * both weakly keyed by identity, so a table is dropped along with its code model and doesn't keep variables alive.
+   */
+  private static final Map<JCodeModel, Map<JVar, String>> JSON_PROPERTY_VALUES = Collections.synchronizedMap(
+      new WeakHashMap<>());
+
+  /**
+   * Name of {@link JDefinedClass}' field backing its constructors.
+   */
+  private static final String CONSTRUCTORS_FIELD_NAME = "constructors";
+
+  /**
+   * Handle to {@link JDefinedClass}' backing list of constructors, or null if the code model version in use does not
+   * back them with a mutable list.
+   */
+  private static final @Nullable VarHandle CONSTRUCTORS_HANDLE = resolveConstructorsHandle();
+
   private CodeModelUtils() {
     throw new UnsupportedOperationException();
   }
@@ -42,6 +70,16 @@ public final class CodeModelUtils {
    * @param clazz The given class.
    */
   public static void annotateEqualsMethod(final JDefinedClass clazz) {
+    annotateEqualsMethod(new AnnotationIndex(), clazz);
+  }
+
+  /**
+   * Safely annotates equals method for the given class, using the given index to check for existing annotations.
+   *
+   * @param annotationIndex The annotation index of the current annotation pass.
+   * @param clazz           The given class.
+   */
+  public static void annotateEqualsMethod(final AnnotationIndex annotationIndex, final JDefinedClass clazz) {
     final var objectRef = clazz
         .owner()
         ._ref(Object.class);
@@ -52,7 +90,10 @@ public final class CodeModelUtils {
         }))
         .map(JMethod::params)
         .map(SequencedCollection::getFirst)
-        .ifPresent(parameter -> safeAnnotate(parameter, AnnotationUtils.CHECKERFRAMEWORK_NULLABLE_ANNOTATION));
+        .ifPresent(parameter -> safeAnnotate(
+            annotationIndex,
+            parameter,
+            AnnotationUtils.CHECKERFRAMEWORK_NULLABLE_ANNOTATION));
   }
 
   /**
@@ -70,6 +111,26 @@ public final class CodeModelUtils {
       final Set<String> fieldNames,
       final Collection<Class<? extends Annotation>> annotations,
       final boolean usePropertyName) {
+    annotateInvokablesParameters(new AnnotationIndex(), invokables, fieldNames, annotations, usePropertyName);
+  }
+
+  /**
+   * Safely annotates the parameters for all the invokables in the given stream with the given list of annotations for
+   * the matching fields, using the given index to check for existing annotations.
+   *
+   * @param annotationIndex The annotation index of the current annotation pass.
+   * @param invokables      The invokables to annotate.
+   * @param fieldNames      The set of field names to match the parameters with.
+   * @param annotations     The list of annotations to annotate with.
+   * @param usePropertyName Uses {@link JsonProperty}'s value as parameter name if {@code true}, uses parameter's
+   *                        identifier otherwise.
+   */
+  public static void annotateInvokablesParameters(
+      final AnnotationIndex annotationIndex,
+      final Stream<JMethod> invokables,
+      final Set<String> fieldNames,
+      final Collection<Class<? extends Annotation>> annotations,
+      final boolean usePropertyName) {
     invokables
         .map(JMethod::params)
         .flatMap(List::stream)
@@ -77,7 +138,7 @@ public final class CodeModelUtils {
           final var paramName = usePropertyName ? getPropertyName(param) : param.name();
           return paramName != null && fieldNames.contains(paramName);
         })
-        .forEach(param -> safeAnnotate(param, annotations));
+        .forEach(param -> safeAnnotate(annotationIndex, param, annotations));
   }
 
   /**
@@ -116,34 +177,20 @@ public final class CodeModelUtils {
   }
 
   /**
-   * Retrieves {@link JsonProperty} value associated with given variable.
+   * Retrieves {@link JsonProperty} value associated with given variable. The value is looked up from the values
+   * recorded with {@link #setJsonPropertyValue(JVar, String)}, falling back to rendering the annotation's value for
+   * variables not generated by js2pets.
    *
    * @param variable The given variable.
    * @return The json property value.
    */
   public static @Nullable String getJsonPropertyValue(final JVar variable) {
-    return getAnnotationUsages(variable, JsonProperty.class)
-        .map(annotation -> {
-          final var annotationValue = annotation
-              .getAnnotationMembers()
-              .get("value");
-
-          if (annotationValue == null) {
-            return null;
-          }
-
-          try (var writer = new StringWriter()) {
-            final var formatter = new JFormatter(writer);
-            annotationValue.generate(formatter);
-            final var stringifiedPropertyValue = writer.toString();
-            return stringifiedPropertyValue.substring(1, stringifiedPropertyValue.length() - 1);
-          } catch (final IOException exception) {
-            return null;
-          }
-        })
-        .filter(Objects::nonNull)
-        .findFirst()
-        .orElse(null);
+    final var jsonPropertyValues = JSON_PROPERTY_VALUES.get(getOwner(variable));
+    final var jsonPropertyValue = jsonPropertyValues != null ? jsonPropertyValues.get(variable) : null;
+    if (jsonPropertyValue != null) {
+      return jsonPropertyValue;
+    }
+    return renderJsonPropertyValue(variable);
   }
 
   /**
@@ -181,6 +228,24 @@ public final class CodeModelUtils {
     return streamInvokables(classStructure).toList();
   }
 
+  /**
+   * Removes the no-args constructors of the given class by directly modifying its backing list of constructors.
+   *
+   * @param clazz The class to remove the no-args constructors from.
+   * @return True if the removal is supported by the code model version in use, false otherwise, in which case the class
+   *         is left untouched.
+   */
+  public static boolean removeNoArgsConstructors(final JDefinedClass clazz) {
+    if (CONSTRUCTORS_HANDLE == null) {
+      return false;
+    }
+    final var constructors = (List<?>) CONSTRUCTORS_HANDLE.get(clazz);
+    constructors.removeIf(constructor -> constructor instanceof JMethod method && method
+        .params()
+        .isEmpty());
+    return true;
+  }
+
   /**
    * Creates {@link Stream} with class structure of given outer class.
    *
@@ -222,6 +287,21 @@ public final class CodeModelUtils {
   public static void safeAnnotate(
       final JAnnotatable annotatable,
       final Collection<Class<? extends Annotation>> annotations) {
+    safeAnnotate(new AnnotationIndex(), annotatable, annotations);
+  }
+
+  /**
+   * Safely annotates the given annotatable with the given list of annotations, using the given index to check for, and
+   * keep track of, existing annotations.
+   *
+   * @param annotationIndex The annotation index of the current annotation pass.
+   * @param annotatable     The annotatable to annotate.
+   * @param annotations     The list of annotations to annotate with.
+   */
+  public static void safeAnnotate(
+      final AnnotationIndex annotationIndex,
+      final JAnnotatable annotatable,
+      final Collection<Class<? extends Annotation>> annotations) {
     final var annotatableType = switch (annotatable) {
       case JMethod method -> method.type();
       case JVar jVar -> jVar.type();
@@ -234,12 +314,92 @@ public final class CodeModelUtils {
         .orElse(null);
     final var annotationStream = annotations
         .stream()
-        .filter(annotation -> !CodeModelUtils.containsAnnotation(annotatable, annotation));
+        .filter(annotation -> !annotationIndex.contains(annotatable, annotation));
     final var postProcessedAnnotationStream = type != null
         ? annotationStream.filter(annotation -> !type
             .parentContainer()
             .isClass() || !AnnotationUtils.CHECKERFRAMEWORK_NULLABILITY_ANNOTATIONS.contains(annotation.getName()))
         : annotationStream;
-    postProcessedAnnotationStream.forEach(annotatable::annotate);
+    postProcessedAnnotationStream.forEach(annotation -> annotationIndex.annotate(annotatable, annotation));
+  }
+
+  /**
+   * Records the {@link JsonProperty} value of the given variable in the side table of its code model, so that it can be
+   * retrieved with {@link #getJsonPropertyValue(JVar)} without rendering the annotation. Must match the value the
+   * variable is annotated with.
+   *
+   * @param variable          The annotated variable.
+   * @param jsonPropertyValue The json property value.
+   */
+  public static void setJsonPropertyValue(final JVar variable, final String jsonPropertyValue) {
+    JSON_PROPERTY_VALUES
+        .computeIfAbsent(getOwner(variable), codeModel -> Collections.synchronizedMap(new WeakHashMap<>()))
+        .put(variable, jsonPropertyValue);
+  }
+
+  private static JCodeModel getOwner(final JVar variable) {
+    return variable
+        .type()
+        .owner();
+  }
+
+  private static @Nullable String renderJsonPropertyValue(final JVar variable) {
+    return getAnnotationUsages(variable, JsonProperty.class)
+        .map(annotation -> {
+          final var annotationValue = annotation
+              .getAnnotationMembers()
+              .get("value");
+
+          if (annotationValue == null) {
+            return null;
+          }
+
+          try (var writer = new StringWriter()) {
+            final var formatter = new JFormatter(writer);
+            annotationValue.generate(formatter);
+            final var stringifiedPropertyValue = writer.toString();
+            return stringifiedPropertyValue.substring(1, stringifiedPropertyValue.length() - 1);
+          } catch (final IOException exception) {
+            return null;
+          }
+        })
+        .filter(Objects::nonNull)
+        .findFirst()
+        .orElse(null);
+  }
+
+  /**
+   * Resolves the handle to {@link JDefinedClass}' backing list of constructors and checks, on a probe class, that
+   * removing a constructor through it is reflected by {@link JDefinedClass#constructors()}.
+   *
+   * @return The handle, or null if the code model version in use is not supported.
+   */
+  private static @Nullable VarHandle resolveConstructorsHandle() {
+    final VarHandle handle;
+    try {
+      final var field = JDefinedClass.class.getDeclaredField(CONSTRUCTORS_FIELD_NAME);
+      if (Modifier.isStatic(field.getModifiers()) || !List.class.isAssignableFrom(field.getType())) {
+        return null;
+      }
+      handle = MethodHandles
+          .privateLookupIn(JDefinedClass.class, MethodHandles.lookup())
+          .unreflectVarHandle(field);
+    } catch (final NoSuchFieldException | IllegalAccessException | SecurityException exception) {
+      return null;
+    }
+
+    try {
+      final var probe = new JCodeModel()._class(CodeModelUtils.class.getName() + "Probe");
+      final var constructor = probe.constructor(JMod.PUBLIC);
+      final var constructors = (List<?>) handle.get(probe);
+      if (!constructors.remove(constructor) || probe
+          .constructors()
+          .hasNext()) {
+        return null;
+      }
+    } catch (final JClassAlreadyExistsException | ClassCastException | UnsupportedOperationException exception) {
+      return null;
+    }
+    return handle;
   }
 }
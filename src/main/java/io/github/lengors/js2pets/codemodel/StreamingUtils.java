@@ -0,0 +1,185 @@
+package io.github.lengors.js2pets.codemodel;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JDocComment;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JFormatter;
+import com.sun.codemodel.JMethod;
+
+/**
+ * Utilities for writing top-level classes as soon as they're complete and releasing what isn't needed to reference them
+ * afterwards, so that a code model doesn't keep every generated class in full until it's built.
+ * <br />
+ * <br />
+ * Code model doesn't expose a way of writing a single class, so the package-private formatter method used by
+ * {@link com.sun.codemodel.JCodeModel#build(CodeWriter)} is looked up instead. Method bodies and JavaDoc are dropped
+ * through setters of their private fields, as code model has no way of removing them either.
+ *
+ * @author lengors
+ */
+public final class StreamingUtils {
+  /**
+   * Name of the formatter method writing a top-level class.
+   */
+  private static final String WRITE_METHOD_NAME = "write";
+
+  /**
+   * Suffix of the Java source files.
+   */
+  private static final String JAVA_FILE_SUFFIX = ".java";
+
+  /**
+   * Handle to the formatter method writing a top-level class, or null if the code model version in use is not
+   * supported.
+   */
+  private static final @Nullable MethodHandle WRITE_HANDLE = resolveWriteHandle();
+
+  /**
+   * Handle clearing the body of methods.
+   */
+  private static final @Nullable MethodHandle METHOD_BODY_HANDLE = resolveFieldHandle(
+      JMethod.class,
+      "body",
+      JBlock.class);
+
+  /**
+   * Handle clearing the JavaDoc of methods.
+   */
+  private static final @Nullable MethodHandle METHOD_JDOC_HANDLE = resolveFieldHandle(
+      JMethod.class,
+      "jdoc",
+      JDocComment.class);
+
+  /**
+   * Handle clearing the JavaDoc of fields.
+   */
+  private static final @Nullable MethodHandle FIELD_JDOC_HANDLE = resolveFieldHandle(
+      JFieldVar.class,
+      "jdoc",
+      JDocComment.class);
+
+  /**
+   * Handle clearing the JavaDoc of classes.
+   */
+  private static final @Nullable MethodHandle CLASS_JDOC_HANDLE = resolveFieldHandle(
+      JDefinedClass.class,
+      "jdoc",
+      JDocComment.class);
+
+  private StreamingUtils() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Checks whether classes can be written individually with the code model version in use.
+   *
+   * @return Whether classes can be written individually.
+   */
+  public static boolean isSupported() {
+    return WRITE_HANDLE != null;
+  }
+
+  /**
+   * Hides the given class, so that it isn't written again when its code model is built, and drops the JavaDoc and the
+   * method bodies of its class structure. Its fields, method signatures and annotations are kept, as they might still
+   * be inspected when generating the classes referencing it.
+   *
+   * @param clazz The class to release.
+   */
+  public static void release(final JDefinedClass clazz) {
+    clazz.hide();
+    for (final var definedClass : CodeModelUtils.listClassStructure(clazz)) {
+      clear(CLASS_JDOC_HANDLE, definedClass);
+      for (final var field : definedClass
+          .fields()
+          .values()) {
+        clear(FIELD_JDOC_HANDLE, field);
+      }
+    }
+    for (final var method : CodeModelUtils.listInvokables(CodeModelUtils.listClassStructure(clazz))) {
+      clear(METHOD_BODY_HANDLE, method);
+      clear(METHOD_JDOC_HANDLE, method);
+    }
+  }
+
+  /**
+   * Writes the given top-level class with the given code writer, the same way its code model would when built.
+   *
+   * @param clazz      The class to write.
+   * @param codeWriter The code writer to write the class with.
+   * @return Whether the class was written, which it isn't if it's nested, hidden or if the code model version in use is
+   *         not supported.
+   * @throws IOException If the class can't be written.
+   */
+  public static boolean write(final JDefinedClass clazz, final CodeWriter codeWriter) throws IOException {
+    final var writeHandle = WRITE_HANDLE;
+    if (writeHandle == null || clazz.outer() != null || clazz.isHidden()) {
+      return false;
+    }
+    try (var printWriter = new PrintWriter(new BufferedWriter(codeWriter.openSource(
+        clazz._package(),
+        clazz.name() + JAVA_FILE_SUFFIX)))) {
+      writeHandle.invokeExact(new JFormatter(printWriter), clazz);
+    } catch (final IOException | RuntimeException | Error exception) {
+      throw exception;
+    } catch (final Throwable throwable) {
+      throw new IllegalStateException(throwable);
+    }
+    return true;
+  }
+
+  private static void clear(final @Nullable MethodHandle handle, final Object target) {
+    if (handle == null) {
+      return;
+    }
+    try {
+      handle.invoke(target);
+    } catch (final RuntimeException | Error exception) {
+      throw exception;
+    } catch (final Throwable throwable) {
+      throw new IllegalStateException(throwable);
+    }
+  }
+
+  private static @Nullable MethodHandle resolveFieldHandle(
+      final Class<?> declaringClass,
+      final String name,
+      final Class<?> type) {
+    try {
+      final var field = declaringClass.getDeclaredField(name);
+      if (Modifier.isStatic(field.getModifiers()) || !field
+          .getType()
+          .equals(type)) {
+        return null;
+      }
+      final var setter = MethodHandles
+          .privateLookupIn(declaringClass, MethodHandles.lookup())
+          .unreflectSetter(field);
+      return MethodHandles.collectArguments(setter, 1, MethodHandles.zero(type));
+    } catch (final NoSuchFieldException | IllegalAccessException | SecurityException exception) {
+      return null;
+    }
+  }
+
+  private static @Nullable MethodHandle resolveWriteHandle() {
+    try {
+      return MethodHandles
+          .privateLookupIn(JFormatter.class, MethodHandles.lookup())
+          .findVirtual(JFormatter.class, WRITE_METHOD_NAME, MethodType.methodType(void.class, JDefinedClass.class));
+    } catch (final NoSuchMethodException | IllegalAccessException | SecurityException exception) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package io.github.lengors.js2pets.daemon;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.lengors.js2pets.files.PrivateFiles;
+
+/**
+ * Client sending generation requests to a {@link GenerationDaemon} of the current machine, found through its
+ * descriptor file.
+ *
+ * @author lengors
+ */
+public final class GenerationClient {
+  /**
+   * Mapper reading the descriptor and results and writing the requests.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private GenerationClient() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Sends the given request to the daemon described by the {@linkplain GenerationDaemon#getDefaultDescriptorPath()
+   * default descriptor file}, waiting for its result.
+   *
+   * @param request The request to send.
+   * @return The result of the request.
+   * @throws IOException If the descriptor file can't be read or the daemon can't be reached.
+   */
+  public static GenerationResult generate(final GenerationRequest request) throws IOException {
+    return generate(GenerationDaemon.getDefaultDescriptorPath(), request);
+  }
+
+  /**
+   * Sends the given request to the daemon described by the given descriptor file, waiting for its result.
+   *
+   * @param descriptorPath The path of the daemon's descriptor file.
+   * @param request        The request to send.
+   * @return The result of the request.
+   * @throws IOException If the descriptor file or its directory isn't private to the current user, if the descriptor
+   *                     file can't be read or if the daemon can't be reached.
+   */
+  public static GenerationResult generate(final Path descriptorPath, final GenerationRequest request)
+      throws IOException {
+    final var directory = descriptorPath
+        .toAbsolutePath()
+        .getParent();
+    if (directory != null) {
+      PrivateFiles.check(directory);
+    }
+    PrivateFiles.check(descriptorPath);
+    final var descriptor = OBJECT_MAPPER.readTree(descriptorPath.toFile());
+    final var port = descriptor.path(GenerationDaemon.PORT_FIELD);
+    final var token = descriptor.path(GenerationDaemon.TOKEN_FIELD);
+    if (!port.canConvertToInt() || !token.isTextual()) {
+      throw new IOException("Invalid daemon descriptor file: " + descriptorPath);
+    }
+    return generate(port.asInt(), token.asText(), request);
+  }
+
+  /**
+   * Sends the given request, with the given token, to the daemon listening on the given port of the loopback address,
+   * waiting for its result.
+   *
+   * @param port    The port the daemon listens on.
+   * @param token   The token to send with the request.
+   * @param request The request to send.
+   * @return The result of the request.
+   * @throws IOException If the daemon can't be reached or closes the connection without answering.
+   */
+  static GenerationResult generate(final int port, final String token, final GenerationRequest request)
+      throws IOException {
+    final var message = request
+        .toJson()
+        .put(GenerationDaemon.TOKEN_FIELD, token);
+    try (var socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        var writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+      writer.write(OBJECT_MAPPER.writeValueAsString(message));
+      writer.newLine();
+      writer.flush();
+      final var line = reader.readLine();
+      if (line == null) {
+        throw new IOException("Daemon closed the connection without answering");
+      }
+      return GenerationResult.fromJson(OBJECT_MAPPER.readTree(line));
+    }
+  }
+}
@@ -0,0 +1,356 @@
+package io.github.lengors.js2pets.daemon;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.checkerframework.checker.calledmethods.qual.EnsuresCalledMethods;
+import org.checkerframework.checker.mustcall.qual.Owning;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+import io.github.lengors.js2pets.files.PrivateFiles;
+
+/**
+ * Local socket daemon exposing a {@link GenerationService} to other processes, such as Maven builds, so they don't pay
+ * for loading and compiling the generator on every build.
+ * <br />
+ * <br />
+ * The daemon only listens on the loopback address. Once listening, it writes its port and a random token to a
+ * descriptor file only readable by its owner, and only handles requests carrying that token. The descriptor's
+ * directory is created only accessible by its owner, and the daemon refuses to write to, as clients refuse to read
+ * from, a directory or descriptor owned by another user or writable by anyone else. Each connection carries a
+ * single request, as a line with a JSON object holding the token and the {@link GenerationRequest}, and is answered
+ * with a line with the JSON object of the {@link GenerationResult}. Connections are handled on virtual threads, and the
+ * service's cached schema files are evicted once the daemon has been idle for its idle timeout.
+ * <br />
+ * <br />
+ * Example:
+ *
+ * <pre>
+ * java -cp ... io.github.lengors.js2pets.daemon.GenerationDaemon [descriptor-file]
+ * </pre>
+ *
+ * @author lengors
+ */
+public final class GenerationDaemon implements Closeable {
+  /**
+   * Name of the default descriptor file.
+   */
+  public static final String DESCRIPTOR_FILE_NAME = "js2pets-daemon.json";
+
+  /**
+   * System property selecting the time, in seconds, the daemon must be idle for before its cached schema files are
+   * evicted.
+   */
+  public static final String IDLE_TIMEOUT_PROPERTY = "js2pets.daemonIdleTimeoutSeconds";
+
+  /**
+   * Default time the daemon must be idle for before its cached schema files are evicted.
+   */
+  public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+  /**
+   * Name of the descriptor member holding the port.
+   */
+  static final String PORT_FIELD = "port";
+
+  /**
+   * Name of the descriptor and request member holding the token.
+   */
+  static final String TOKEN_FIELD = "token";
+
+  /**
+   * Suffix of the temporary file the descriptor is written to before being moved into place.
+   */
+  private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+  /**
+   * Number of random bytes of the token.
+   */
+  private static final int TOKEN_BYTES = 32;
+
+  /**
+   * Time to wait for a client to send its request, in milliseconds.
+   */
+  private static final int REQUEST_TIMEOUT_MILLIS = 30_000;
+
+  /**
+   * Minimum period between checks for idleness, in milliseconds.
+   */
+  private static final long MINIMUM_EVICTION_PERIOD_MILLIS = 100;
+
+  /**
+   * Mapper reading the requests and writing the results and descriptor.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /**
+   * Service handling the requests.
+   */
+  private final GenerationService service;
+
+  /**
+   * Socket accepting the connections.
+   */
+  private final @Owning ServerSocket serverSocket;
+
+  /**
+   * Token every request must carry.
+   */
+  private final String token;
+
+  /**
+   * Path of the descriptor file.
+   */
+  private final Path descriptorPath;
+
+  /**
+   * Executor accepting and handling the connections, on virtual threads.
+   */
+  private final ExecutorService connectionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+  /**
+   * Executor checking for idleness.
+   */
+  private final ScheduledExecutorService evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    final var thread = new Thread(runnable, "js2pets-daemon-eviction");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Latch released once the daemon is closed.
+   */
+  private final CountDownLatch closed = new CountDownLatch(1);
+
+  private GenerationDaemon(
+      final GenerationService service,
+      final @Owning ServerSocket serverSocket,
+      final String token,
+      final Path descriptorPath) {
+    this.service = service;
+    this.serverSocket = serverSocket;
+    this.token = token;
+    this.descriptorPath = descriptorPath.toAbsolutePath();
+  }
+
+  /**
+   * Starts a daemon handling the requests with the given service, listening on an ephemeral port of the loopback
+   * address.
+   *
+   * @param service        The service to handle the requests with.
+   * @param descriptorPath The path to write the descriptor file to.
+   * @param idleTimeout    The time the daemon must be idle for before its cached schema files are evicted.
+   * @return The started daemon.
+   * @throws IOException If the socket can't be bound or the descriptor file can't be written.
+   */
+  public static GenerationDaemon start(
+      final GenerationService service,
+      final Path descriptorPath,
+      final Duration idleTimeout) throws IOException {
+    final var tokenBytes = new byte[TOKEN_BYTES];
+    new SecureRandom().nextBytes(tokenBytes);
+    final var daemon = new GenerationDaemon(
+        service,
+        new ServerSocket(0, 0, InetAddress.getLoopbackAddress()),
+        HexFormat
+            .of()
+            .formatHex(tokenBytes),
+        descriptorPath);
+    try {
+      daemon.writeDescriptor();
+    } catch (final IOException | RuntimeException exception) {
+      daemon.close();
+      throw exception;
+    }
+    daemon.acceptNext();
+    final var evictionPeriod = Math.max(idleTimeout.toMillis() / 2, MINIMUM_EVICTION_PERIOD_MILLIS);
+    daemon.evictionExecutor.scheduleAtFixedRate(
+        () -> daemon.service.evictIfIdle(idleTimeout),
+        evictionPeriod,
+        evictionPeriod,
+        TimeUnit.MILLISECONDS);
+    return daemon;
+  }
+
+  /**
+   * Starts a daemon with the {@linkplain GenerationService#getShared() shared service}, writing its descriptor to the
+   * path given as the first argument or to the {@linkplain #getDefaultDescriptorPath() default path}, and handles
+   * requests until the process is terminated. Unless the {@value EnhancedRuleFactory#SHARED_SCHEMA_STORE_PROPERTY}
+   * system property is set, the rule factories use shared schema stores.
+   *
+   * @param args The optional path of the descriptor file.
+   * @throws IOException          If the socket can't be bound or the descriptor file can't be written.
+   * @throws InterruptedException If interrupted while handling requests.
+   */
+  public static void main(final String[] args) throws IOException, InterruptedException {
+    if (System.getProperty(EnhancedRuleFactory.SHARED_SCHEMA_STORE_PROPERTY) == null) {
+      System.setProperty(EnhancedRuleFactory.SHARED_SCHEMA_STORE_PROPERTY, Boolean.TRUE.toString());
+    }
+    final var descriptorPath = args.length > 0 ? Path.of(args[0]) : getDefaultDescriptorPath();
+    final var idleTimeout = Duration.ofSeconds(Long.getLong(IDLE_TIMEOUT_PROPERTY, DEFAULT_IDLE_TIMEOUT.toSeconds()));
+    try (var daemon = start(GenerationService.getShared(), descriptorPath, idleTimeout)) {
+      Runtime
+          .getRuntime()
+          .addShutdownHook(new Thread(daemon::close));
+      daemon.awaitClose();
+    }
+  }
+
+  /**
+   * Gets the default path of the descriptor file, within a directory of the temporary directory specific to the
+   * current user.
+   *
+   * @return The default path of the descriptor file.
+   */
+  public static Path getDefaultDescriptorPath() {
+    return PrivateFiles
+        .getUserDirectory()
+        .resolve(DESCRIPTOR_FILE_NAME);
+  }
+
+  /**
+   * Gets the port the daemon listens on.
+   *
+   * @return The port the daemon listens on.
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Gets the path of the descriptor file.
+   *
+   * @return The path of the descriptor file.
+   */
+  public Path getDescriptorPath() {
+    return descriptorPath;
+  }
+
+  /**
+   * Waits until the daemon is closed.
+   *
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public void awaitClose() throws InterruptedException {
+    closed.await();
+  }
+
+  /**
+   * Stops accepting connections, stops checking for idleness and removes the descriptor file. Requests being handled
+   * are interrupted.
+   */
+  @Override
+  @EnsuresCalledMethods(value = "this.serverSocket", methods = "close")
+  public void close() {
+    try {
+      serverSocket.close();
+    } catch (final IOException exception) {
+      // The socket no longer accepts connections either way.
+    }
+    connectionExecutor.shutdownNow();
+    evictionExecutor.shutdownNow();
+    try {
+      Files.deleteIfExists(descriptorPath);
+    } catch (final IOException exception) {
+      // A stale descriptor is rejected by clients when they fail to connect.
+    }
+    closed.countDown();
+  }
+
+  private void accept() {
+    try (var socket = serverSocket.accept()) {
+      acceptNext();
+      handle(socket);
+    } catch (final IOException exception) {
+      if (!serverSocket.isClosed()) {
+        acceptNext();
+      }
+    }
+  }
+
+  private void acceptNext() {
+    try {
+      connectionExecutor.execute(this::accept);
+    } catch (final RejectedExecutionException exception) {
+      // The daemon was closed, so no more connections are accepted.
+    }
+  }
+
+  private void handle(final Socket socket) {
+    try (var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        var writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+      socket.setSoTimeout(REQUEST_TIMEOUT_MILLIS);
+      final var line = reader.readLine();
+      writer.write(OBJECT_MAPPER.writeValueAsString(respond(line == null ? "" : line)));
+      writer.newLine();
+      writer.flush();
+    } catch (final IOException exception) {
+      // The client disconnected, so there's nobody to report the failure to.
+    }
+  }
+
+  private JsonNode respond(final String line) {
+    try {
+      final var message = OBJECT_MAPPER.readTree(line);
+      final var messageToken = message.path(TOKEN_FIELD);
+      if (!messageToken.isTextual() || !MessageDigest.isEqual(
+          messageToken
+              .asText()
+              .getBytes(StandardCharsets.UTF_8),
+          token.getBytes(StandardCharsets.UTF_8))) {
+        return new GenerationResult(false, "Invalid token", List.of()).toJson();
+      }
+      return service
+          .generate(GenerationRequest.fromJson(message))
+          .toJson();
+    } catch (final JsonProcessingException | IllegalArgumentException exception) {
+      return new GenerationResult(false, exception.toString(), List.of()).toJson();
+    }
+  }
+
+  private void writeDescriptor() throws IOException {
+    final var directory = descriptorPath.getParent();
+    if (directory == null) {
+      throw new IOException("Descriptor file has no parent directory: " + descriptorPath);
+    }
+    PrivateFiles.createDirectory(directory);
+    final var descriptor = JsonNodeFactory.instance
+        .objectNode()
+        .put(PORT_FIELD, getPort())
+        .put(TOKEN_FIELD, token);
+    final var temporaryPath = PrivateFiles.createTempFile(directory, DESCRIPTOR_FILE_NAME, TEMPORARY_FILE_SUFFIX);
+    try {
+      Files.writeString(temporaryPath, OBJECT_MAPPER.writeValueAsString(descriptor));
+      Files.move(temporaryPath, descriptorPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporaryPath);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package io.github.lengors.js2pets.daemon;
+
+import java.util.Locale;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.github.lengors.js2pets.generation.OutputMode;
+
+/**
+ * Request to generate code, handled by a {@link GenerationService}.
+ *
+ * @param configuration The generation configuration, as a JSON object whose members are named after the
+ *                      {@link org.jsonschema2pojo.GenerationConfig} getters without their {@code get} or {@code is}
+ *                      prefix.
+ * @param outputMode    The mode to write the generated code with.
+ * @param incremental   Whether to only regenerate the sources that changed since the previous generation.
+ * @author lengors
+ */
+public record GenerationRequest(JsonNode configuration, OutputMode outputMode, boolean incremental) {
+  /**
+   * Name of the member holding the generation configuration.
+   */
+  static final String CONFIGURATION_FIELD = "configuration";
+
+  /**
+   * Name of the member holding the output mode.
+   */
+  static final String OUTPUT_MODE_FIELD = "outputMode";
+
+  /**
+   * Name of the member holding whether to generate incrementally.
+   */
+  static final String INCREMENTAL_FIELD = "incremental";
+
+  /**
+   * Constructs a request to generate code with the given configuration, writing every generated file.
+   *
+   * @param configuration The generation configuration.
+   */
+  public GenerationRequest(final JsonNode configuration) {
+    this(configuration, OutputMode.OVERWRITE, false);
+  }
+
+  /**
+   * Reads a request from the given JSON object. The output mode defaults to {@link OutputMode#OVERWRITE} and the
+   * generation to non-incremental.
+   *
+   * @param request The JSON object to read the request from.
+   * @return The request.
+   * @throws IllegalArgumentException If the request isn't an object, has no configuration object or names an unknown
+   *                                  output mode.
+   */
+  public static GenerationRequest fromJson(final JsonNode request) {
+    final var configuration = request.get(CONFIGURATION_FIELD);
+    if (!request.isObject() || configuration == null || !configuration.isObject()) {
+      throw new IllegalArgumentException("Generation request must be an object with a configuration object");
+    }
+    final var outputMode = request.path(OUTPUT_MODE_FIELD);
+    return new GenerationRequest(
+        configuration,
+        outputMode.isTextual()
+            ? OutputMode.valueOf(outputMode
+                .asText()
+                .trim()
+                .toUpperCase(Locale.ROOT))
+            : OutputMode.OVERWRITE,
+        request
+            .path(INCREMENTAL_FIELD)
+            .asBoolean(false));
+  }
+
+  /**
+   * Writes this request to a JSON object, as read by {@link #fromJson(JsonNode)}.
+   *
+   * @return The JSON object.
+   */
+  public ObjectNode toJson() {
+    final var request = JsonNodeFactory.instance.objectNode();
+    request.set(CONFIGURATION_FIELD, configuration.deepCopy());
+    request.put(OUTPUT_MODE_FIELD, outputMode.name());
+    request.put(INCREMENTAL_FIELD, incremental);
+    return request;
+  }
+}
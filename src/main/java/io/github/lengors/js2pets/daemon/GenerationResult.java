@@ -0,0 +1,113 @@
+package io.github.lengors.js2pets.daemon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Result of a {@link GenerationRequest}, handled by a {@link GenerationService}.
+ *
+ * @param successful Whether the code was generated.
+ * @param error      The reason the code wasn't generated, or {@code null} if it was.
+ * @param messages   The messages logged while generating, in logging order.
+ * @author lengors
+ */
+public record GenerationResult(boolean successful, @Nullable String error, List<Message> messages) {
+  /**
+   * Name of the member holding whether the code was generated.
+   */
+  private static final String SUCCESSFUL_FIELD = "successful";
+
+  /**
+   * Name of the member holding the reason the code wasn't generated.
+   */
+  private static final String ERROR_FIELD = "error";
+
+  /**
+   * Name of the member holding the logged messages.
+   */
+  private static final String MESSAGES_FIELD = "messages";
+
+  /**
+   * Name of the member holding a message's level.
+   */
+  private static final String LEVEL_FIELD = "level";
+
+  /**
+   * Name of the member holding a message's text.
+   */
+  private static final String TEXT_FIELD = "text";
+
+  /**
+   * Constructs a generation result, copying the given messages.
+   *
+   * @param successful Whether the code was generated.
+   * @param error      The reason the code wasn't generated, or {@code null} if it was.
+   * @param messages   The messages logged while generating, in logging order.
+   */
+  public GenerationResult {
+    messages = List.copyOf(messages);
+  }
+
+  /**
+   * Reads a result from the given JSON object.
+   *
+   * @param result The JSON object to read the result from.
+   * @return The result.
+   */
+  public static GenerationResult fromJson(final JsonNode result) {
+    final var messages = new ArrayList<Message>();
+    for (final var message : result.path(MESSAGES_FIELD)) {
+      messages.add(new Message(
+          message
+              .path(LEVEL_FIELD)
+              .asText(),
+          message
+              .path(TEXT_FIELD)
+              .asText()));
+    }
+    final var error = result.get(ERROR_FIELD);
+    return new GenerationResult(
+        result
+            .path(SUCCESSFUL_FIELD)
+            .asBoolean(false),
+        error != null && error.isTextual() ? error.asText() : null,
+        messages);
+  }
+
+  /**
+   * Writes this result to a JSON object, as read by {@link #fromJson(JsonNode)}.
+   *
+   * @return The JSON object.
+   */
+  public ObjectNode toJson() {
+    final var result = JsonNodeFactory.instance.objectNode();
+    result.put(SUCCESSFUL_FIELD, successful);
+    if (error != null) {
+      result.put(ERROR_FIELD, error);
+    }
+    final var messageArray = result.putArray(MESSAGES_FIELD);
+    for (final var message : messages) {
+      messageArray
+          .addObject()
+          .put(LEVEL_FIELD, message.level())
+          .put(TEXT_FIELD, message.text());
+    }
+    return result;
+  }
+
+  /**
+   * Message logged while generating.
+   *
+   * @param level The level the message was logged at, such as {@code INFO} or {@code WARN}.
+   * @param text  The message's text.
+   * @author lengors
+   */
+  public record Message(String level, String text) {
+  }
+}
@@ -0,0 +1,213 @@
+package io.github.lengors.js2pets.daemon;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.lengors.js2pets.generation.IncrementalGenerator;
+import io.github.lengors.js2pets.generation.ParallelGenerator;
+import io.github.lengors.js2pets.schemas.SchemaContentCache;
+
+/**
+ * Long-lived generation service, handling generation requests within the current process so consecutive requests
+ * reuse its loaded and compiled classes and its cached schema files.
+ * <br />
+ * <br />
+ * Each request is generated with its own configuration, rule factories, schema stores and code models, and its messages
+ * are recorded in its own result, so requests don't see each other's state. Concurrent requests with the same target
+ * directory are generated one after the other, waiting on a {@link ReentrantLock} rather than a monitor so that
+ * requests handled by virtual threads don't pin their carriers while waiting. Once the service has been idle for long
+ * enough, the schema files it cached and the locks of the target directories no request is using are evicted by
+ * {@link #evictIfIdle(Duration)}.
+ * <br />
+ * <br />
+ * The service is meant to be used by a {@link GenerationDaemon} or, within a Gradle worker daemon, by a work action
+ * calling {@link #getShared()}.
+ *
+ * @author lengors
+ */
+public final class GenerationService {
+  /**
+   * Mapper converting the configuration values of the requests.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /**
+   * Pool to generate the partitions of each request within.
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * Cache of the schema files, evicted once the service is idle.
+   */
+  private final SchemaContentCache schemaContentCache;
+
+  /**
+   * Locks of the target directories, by absolute path.
+   */
+  private final Map<String, TargetLock> targetLocks = new HashMap<>();
+
+  /**
+   * Lock guarding the locks of the target directories and their number of users.
+   */
+  private final ReentrantLock targetLocksLock = new ReentrantLock();
+
+  /**
+   * Number of requests being generated.
+   */
+  private final AtomicInteger activeRequests = new AtomicInteger();
+
+  /**
+   * Value of {@link System#nanoTime()} when the last request finished or the service was created.
+   */
+  private final AtomicLong lastUsedNanos = new AtomicLong(System.nanoTime());
+
+  /**
+   * Constructs a generation service using the common {@link ForkJoinPool} and the shared schema content cache.
+   */
+  public GenerationService() {
+    this(ForkJoinPool.commonPool(), SchemaContentCache.getShared());
+  }
+
+  /**
+   * Constructs a generation service using the given pool and schema content cache.
+   *
+   * @param pool               The pool to generate the partitions of each request within.
+   * @param schemaContentCache The cache of the schema files, evicted once the service is idle.
+   */
+  public GenerationService(final ForkJoinPool pool, final SchemaContentCache schemaContentCache) {
+    this.pool = pool;
+    this.schemaContentCache = schemaContentCache;
+  }
+
+  /**
+   * Gets the generation service shared by the whole process.
+   *
+   * @return The shared generation service.
+   */
+  public static GenerationService getShared() {
+    return Shared.INSTANCE;
+  }
+
+  /**
+   * Generates the code for the given request. Failures are reported in the result instead of being thrown.
+   *
+   * @param request The request to generate the code for.
+   * @return The result of the generation.
+   */
+  public GenerationResult generate(final GenerationRequest request) {
+    final var logger = new RecordingRuleLogger();
+    activeRequests.incrementAndGet();
+    try {
+      final var generationConfig = JsonGenerationConfig.create(OBJECT_MAPPER, request.configuration());
+      final var targetDirectory = generationConfig
+          .getTargetDirectory()
+          .getAbsolutePath();
+      final var targetLock = acquireTargetLock(targetDirectory);
+      targetLock.lock.lock();
+      try {
+        if (request.incremental()) {
+          IncrementalGenerator.generate(generationConfig, logger, pool, request.outputMode());
+        } else {
+          ParallelGenerator.generate(generationConfig, logger, pool, request.outputMode());
+        }
+      } finally {
+        targetLock.lock.unlock();
+        releaseTargetLock(targetLock);
+      }
+      return new GenerationResult(true, null, logger.getMessages());
+    } catch (final IOException | RuntimeException exception) {
+      return new GenerationResult(false, exception.toString(), logger.getMessages());
+    } finally {
+      lastUsedNanos.set(System.nanoTime());
+      activeRequests.decrementAndGet();
+    }
+  }
+
+  /**
+   * Evicts the cached schema files, and the locks of the target directories no request is using, if no request is being
+   * generated and none finished within the given timeout.
+   *
+   * @param idleTimeout The time the service must have been idle for.
+   * @return Whether the cached schema files were evicted.
+   */
+  public boolean evictIfIdle(final Duration idleTimeout) {
+    if (activeRequests.get() > 0 || getIdleTime().compareTo(idleTimeout) < 0) {
+      return false;
+    }
+    schemaContentCache.clear();
+    targetLocksLock.lock();
+    try {
+      targetLocks
+          .values()
+          .removeIf(targetLock -> targetLock.users == 0);
+    } finally {
+      targetLocksLock.unlock();
+    }
+    return true;
+  }
+
+  /**
+   * Gets the time since the last request finished or, if none did, since the service was created.
+   *
+   * @return The time the service has been idle for.
+   */
+  public Duration getIdleTime() {
+    return Duration.ofNanos(System.nanoTime() - lastUsedNanos.get());
+  }
+
+  private TargetLock acquireTargetLock(final String targetDirectory) {
+    targetLocksLock.lock();
+    try {
+      final var targetLock = targetLocks.computeIfAbsent(targetDirectory, key -> new TargetLock());
+      ++targetLock.users;
+      return targetLock;
+    } finally {
+      targetLocksLock.unlock();
+    }
+  }
+
+  private void releaseTargetLock(final TargetLock targetLock) {
+    targetLocksLock.lock();
+    try {
+      --targetLock.users;
+    } finally {
+      targetLocksLock.unlock();
+    }
+  }
+
+  /**
+   * Lock of a target directory, along with the number of requests using it. The number of users is only updated while
+   * holding the lock of the map, so a lock is never evicted while a request is about to wait on it.
+   *
+   * @author lengors
+   */
+  private static final class TargetLock {
+    /**
+     * Lock held while generating into the target directory.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Number of requests holding or waiting on the lock.
+     */
+    private int users;
+  }
+
+  /**
+   * Holder of the process-wide service, created when first used.
+   */
+  private static final class Shared {
+    /**
+     * The process-wide service.
+     */
+    private static final GenerationService INSTANCE = new GenerationService();
+  }
+}
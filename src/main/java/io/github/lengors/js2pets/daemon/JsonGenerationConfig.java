@@ -0,0 +1,166 @@
+package io.github.lengors.js2pets.daemon;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.GenerationConfig;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Generation configuration read from a JSON object, whose members are named after the {@link GenerationConfig} getters
+ * without their {@code get} or {@code is} prefix, such as {@code targetDirectory} or {@code includeConstructors}.
+ * Getters without a member return jsonschema2pojo's default value.
+ * <br />
+ * <br />
+ * Values are converted to the getter's return type by Jackson, so files, URLs and classes are given as strings, and
+ * iterators, such as the source, as arrays.
+ *
+ * @author lengors
+ */
+final class JsonGenerationConfig implements InvocationHandler {
+  /**
+   * Prefixes of the getters.
+   */
+  private static final List<String> GETTER_PREFIXES = List.of("get", "is");
+
+  /**
+   * Configuration providing the default values.
+   */
+  private static final GenerationConfig DEFAULT_GENERATION_CONFIG = new DefaultGenerationConfig();
+
+  /**
+   * Converted values, by getter name. Iterators are kept as lists, so a new iterator is returned on every call.
+   */
+  private final Map<String, Object> values;
+
+  /**
+   * The JSON object the configuration was read from.
+   */
+  private final JsonNode configuration;
+
+  private JsonGenerationConfig(final Map<String, Object> values, final JsonNode configuration) {
+    this.values = values;
+    this.configuration = configuration;
+  }
+
+  /**
+   * Reads a generation configuration from the given JSON object.
+   *
+   * @param objectMapper  The mapper to convert the values with.
+   * @param configuration The JSON object to read the configuration from.
+   * @return The generation configuration.
+   * @throws IllegalArgumentException If the configuration isn't an object, has members not matching any getter or has
+   *                                  values that can't be converted.
+   */
+  static GenerationConfig create(final ObjectMapper objectMapper, final JsonNode configuration) {
+    if (!configuration.isObject()) {
+      throw new IllegalArgumentException("Generation configuration must be an object");
+    }
+
+    final var getters = new HashMap<String, Method>();
+    for (final var method : GenerationConfig.class.getMethods()) {
+      final var propertyName = getPropertyName(method);
+      if (propertyName != null) {
+        getters.put(propertyName, method);
+      }
+    }
+
+    final var values = new HashMap<String, Object>();
+    final var fields = configuration.fields();
+    while (fields.hasNext()) {
+      final var field = fields.next();
+      final var getter = getters.get(field.getKey());
+      if (getter == null) {
+        throw new IllegalArgumentException("Unknown generation configuration property: " + field.getKey());
+      }
+      if (field
+          .getValue()
+          .isNull()) {
+        continue;
+      }
+      values.put(getter.getName(), convert(objectMapper, field.getKey(), field.getValue(), getter));
+    }
+
+    return (GenerationConfig) Proxy.newProxyInstance(
+        JsonGenerationConfig.class.getClassLoader(),
+        new Class<?>[] {GenerationConfig.class},
+        new JsonGenerationConfig(values, configuration));
+  }
+
+  // Getters without a member return the default value, which is null for options jsonschema2pojo leaves unset, and
+  // getters without parameters are invoked with null arguments.
+  @Override
+  @SuppressWarnings({"override.return", "override.param"})
+  public @Nullable Object invoke(final Object proxy, final Method method, final @Nullable Object @Nullable [] args)
+      throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      return switch (method.getName()) {
+        case "equals" -> args != null && args.length == 1 && proxy == args[0];
+        case "hashCode" -> System.identityHashCode(proxy);
+        default -> "JsonGenerationConfig" + configuration;
+      };
+    }
+
+    final var value = values.get(method.getName());
+    if (value == null) {
+      try {
+        return method.invoke(DEFAULT_GENERATION_CONFIG);
+      } catch (final InvocationTargetException exception) {
+        final var cause = exception.getCause();
+        throw cause == null ? exception : cause;
+      }
+    }
+    return value instanceof Collection<?> collection && method.getReturnType() == Iterator.class
+        ? collection.iterator()
+        : value;
+  }
+
+  private static Object convert(
+      final ObjectMapper objectMapper,
+      final String propertyName,
+      final JsonNode value,
+      final Method getter) {
+    final var typeFactory = objectMapper.getTypeFactory();
+    final var returnType = getter.getGenericReturnType();
+    try {
+      if (getter.getReturnType() == Iterator.class) {
+        final var elementType = returnType instanceof ParameterizedType parameterizedType
+            ? typeFactory.constructType(parameterizedType.getActualTypeArguments()[0])
+            : typeFactory.constructType(Object.class);
+        return objectMapper.convertValue(value, typeFactory.constructCollectionType(List.class, elementType));
+      }
+      return objectMapper.convertValue(value, typeFactory.constructType(returnType));
+    } catch (final IllegalArgumentException exception) {
+      throw new IllegalArgumentException("Invalid value for generation configuration property " + propertyName + ": "
+          + exception.getMessage(), exception);
+    }
+  }
+
+  private static @Nullable String getPropertyName(final Method method) {
+    if (method.getParameterCount() != 0) {
+      return null;
+    }
+    final var name = method.getName();
+    for (final var prefix : GETTER_PREFIXES) {
+      if (name.length() > prefix.length() && name.startsWith(prefix)) {
+        return name
+            .substring(prefix.length(), prefix.length() + 1)
+            .toLowerCase(Locale.ROOT) + name.substring(prefix.length() + 1);
+      }
+    }
+    return null;
+  }
+}
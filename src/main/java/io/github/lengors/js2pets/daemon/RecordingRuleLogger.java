@@ -0,0 +1,83 @@
+package io.github.lengors.js2pets.daemon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.AbstractRuleLogger;
+
+/**
+ * Rule logger recording the messages logged at {@code INFO} level or above, so they're returned to the client that
+ * requested the generation instead of being logged by the service.
+ *
+ * @author lengors
+ */
+final class RecordingRuleLogger extends AbstractRuleLogger {
+  /**
+   * Recorded messages, in logging order.
+   */
+  private final List<GenerationResult.Message> messages = new ArrayList<>();
+
+  /**
+   * Gets a copy of the recorded messages.
+   *
+   * @return The recorded messages, in logging order.
+   */
+  synchronized List<GenerationResult.Message> getMessages() {
+    return List.copyOf(messages);
+  }
+
+  @Override
+  public boolean isDebugEnabled() {
+    return false;
+  }
+
+  @Override
+  public boolean isErrorEnabled() {
+    return true;
+  }
+
+  @Override
+  public boolean isInfoEnabled() {
+    return true;
+  }
+
+  @Override
+  public boolean isTraceEnabled() {
+    return false;
+  }
+
+  @Override
+  public boolean isWarnEnabled() {
+    return true;
+  }
+
+  @Override
+  protected void doDebug(final String msg) {
+    // Debug messages aren't recorded.
+  }
+
+  @Override
+  protected void doError(final String msg, final @Nullable Throwable e) {
+    record("ERROR", msg, e);
+  }
+
+  @Override
+  protected void doInfo(final String msg) {
+    record("INFO", msg, null);
+  }
+
+  @Override
+  protected void doTrace(final String msg) {
+    // Trace messages aren't recorded.
+  }
+
+  @Override
+  protected void doWarn(final String msg, final @Nullable Throwable e) {
+    record("WARN", msg, e);
+  }
+
+  private synchronized void record(final String level, final String msg, final @Nullable Throwable e) {
+    messages.add(new GenerationResult.Message(level, e == null ? msg : msg + ": " + e));
+  }
+}
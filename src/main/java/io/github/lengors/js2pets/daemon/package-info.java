@@ -0,0 +1,12 @@
+/**
+ * This package contains a long-lived generation service, which keeps the generator's classes loaded and compiled and
+ * the parsed schema files cached between generation requests, along with a local socket daemon and client exposing it
+ * to other processes.
+ * <br />
+ * <br />
+ * Each request carries its own generation configuration, and is generated with its own rule factories, schema stores
+ * and code models, so nothing but the process-wide schema content cache is shared between requests.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.daemon;
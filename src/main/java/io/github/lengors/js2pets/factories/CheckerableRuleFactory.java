@@ -114,13 +114,14 @@ public class CheckerableRuleFactory extends EnhancedRuleFactory {
   }
 
   /**
-   * Returns a custom {@code NotRequiredRule} that annotates getters and fields with {@link Nullable} annotation.
+   * Returns a custom {@code NotRequiredRule} that annotates getters and fields with {@link Nullable} annotation. The
+   * required property names are looked up from the factory's {@link #getRequiredPropertiesCache()}.
    *
    * @return A {@link CheckerableNotRequiredRule} configured according to the factory settings.
    */
   @Override
   public Rule<JDocCommentable, JDocCommentable> getNotRequiredRule() {
-    return new CheckerableNotRequiredRule(super.getNotRequiredRule());
+    return new CheckerableNotRequiredRule(getRequiredPropertiesCache(), super.getNotRequiredRule());
   }
 
   /**
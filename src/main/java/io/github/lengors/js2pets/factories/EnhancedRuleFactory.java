@@ -5,19 +5,44 @@ import org.jsonschema2pojo.Annotator;
 import org.jsonschema2pojo.DefaultGenerationConfig;
 import org.jsonschema2pojo.GenerationConfig;
 import org.jsonschema2pojo.Jackson2Annotator;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.jsonschema2pojo.RuleLogger;
 import org.jsonschema2pojo.SchemaStore;
 import org.jsonschema2pojo.rules.Rule;
 import org.jsonschema2pojo.rules.RuleFactory;
 
+import com.sun.codemodel.JClass;
 import com.sun.codemodel.JClassContainer;
 import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JDocComment;
+import com.sun.codemodel.JDocCommentable;
+import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JPackage;
 import com.sun.codemodel.JType;
 
+import io.github.lengors.js2pets.annotators.AnnotatorDispatchPlan;
+import io.github.lengors.js2pets.annotators.DeferredAnnotationQueue;
+import io.github.lengors.js2pets.codemodel.StreamingUtils;
+import io.github.lengors.js2pets.generation.StreamingTypeEmitter;
+import io.github.lengors.js2pets.instrumentation.InstrumentationRecorder;
+import io.github.lengors.js2pets.instrumentation.InstrumentedAnnotator;
+import io.github.lengors.js2pets.instrumentation.InstrumentedRule;
+import io.github.lengors.js2pets.jfr.RecordedRule;
 import io.github.lengors.js2pets.rules.ConstructorRule;
 import io.github.lengors.js2pets.rules.EnumRule;
 import io.github.lengors.js2pets.rules.ObjectRule;
+import io.github.lengors.js2pets.rules.PropertyRule;
+import io.github.lengors.js2pets.rules.CompletedTypeSet;
+import io.github.lengors.js2pets.rules.RequiredPropertiesCache;
+import io.github.lengors.js2pets.rules.StructuralTypeRegistry;
+import io.github.lengors.js2pets.schemas.IndexedSchemaStore;
+import io.github.lengors.js2pets.schemas.LazySchemaStore;
+import io.github.lengors.js2pets.schemas.SharedSchemaStore;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -30,10 +55,49 @@ import java.util.function.Supplier;
  * <br />
  * This factory can be configured to either include or exclude no-args constructors through various constructors.
  * Additionally, it offers nested factory classes for predefined configurations.
+ * <br />
+ * <br />
+ * Setting the {@value #INSTRUMENTATION_PROPERTY} system property to {@code true} enables the instrumentation mode, in
+ * which every rule returned and every annotator used is wrapped to record its invocation count, elapsed time and
+ * allocated bytes. The report is written as JSON to {@value #INSTRUMENTATION_REPORT_FILE_NAME} under the
+ * {@code target} directory containing the generation's target directory. The js2pets generation entry points, such as
+ * {@link io.github.lengors.js2pets.generation.ParallelGenerator}, instead aggregate the invocations recorded by every
+ * factory of the run and write the report once, after any deferred annotator callbacks are run. Regardless of the
+ * instrumentation mode, rules are also wrapped to emit Flight Recorder events while a recording enables them, see
+ * {@link io.github.lengors.js2pets.jfr}.
+ * <br />
+ * <br />
+ * Setting the {@value #STREAMING_PROPERTY} system property to {@code true} enables the streaming mode, in which each
+ * top-level type is written to the target directory as soon as it's complete and then released, so the code model
+ * doesn't hold every generated class until it's built. See {@link StreamingTypeEmitter}.
+ * <br />
+ * <br />
+ * Constructing the factory with a {@link SharedSchemaStore}, such as one from {@link #SHARED_SCHEMA_STORE_SUPPLIER},
+ * or setting the {@value #SHARED_SCHEMA_STORE_PROPERTY} system property to {@code true}, makes the factory keep using a
+ * shared schema store whenever jsonschema2pojo sets a new one, so local schema files are parsed once per process while
+ * unchanged. Likewise, a {@link LazySchemaStore}, such as one from {@link #LAZY_SCHEMA_STORE_SUPPLIER}, or the
+ * {@value #LAZY_SCHEMA_STORE_PROPERTY} system property make the factory keep memory-mapping large schema files and only
+ * parsing the definitions that are reached. Otherwise, plain jsonschema2pojo schema stores set on the factory, such as
+ * the one jsonschema2pojo sets before generating, are replaced by an {@link IndexedSchemaStore} with the same content
+ * resolver, so that fragment references are resolved through pointer indexes.
+ * <br />
+ * <br />
+ * Setting the {@value #STRUCTURAL_DEDUPLICATION_PROPERTY} system property to {@code true} enables the structural
+ * deduplication mode, in which inline object and enum schemas structurally identical to one already generated reuse
+ * its type. See {@link StructuralTypeRegistry}.
+ * <br />
+ * <br />
+ * Setting the {@value #DEFERRED_ANNOTATION_PROPERTY} system property to {@code true} enables the deferred annotation
+ * mode, in which the enhanced annotator callbacks are queued and run in a single stage once the generated types are
+ * finished. See {@link DeferredAnnotationQueue}. Setting the {@value #PARALLEL_ANNOTATION_PROPERTY} system property to
+ * {@code true} also runs the type callbacks for different top-level classes concurrently, within the common
+ * {@link ForkJoinPool}. See {@link io.github.lengors.js2pets.annotators.ParallelAnnotationStage}.
  *
  * @author lengors
  */
-public class EnhancedRuleFactory extends RuleFactory {
+public class EnhancedRuleFactory extends RuleFactory
+    implements AnnotatorDispatchPlan.Provider, CompletedTypeSet.Provider, DeferredAnnotationQueue.Provider,
+    RequiredPropertiesCache.Provider, StreamingTypeEmitter.Provider, StructuralTypeRegistry.Provider {
   /**
    * Default value indicating that whether to include no-argument constructors or not is infer from the
    * jsonschema2pojo's plugin configuration.
@@ -41,9 +105,19 @@ public class EnhancedRuleFactory extends RuleFactory {
   public static final @Nullable Boolean DEFAULT_INCLUDE_NO_ARGS_CONSTRUCTOR = null;
 
   /**
-   * Supplier to supply with a default schema store.
+   * Supplier to supply with a default schema store, resolving fragments through pointer indexes.
+   */
+  public static final Supplier<SchemaStore> DEFAULT_SCHEMA_STORE_SUPPLIER = IndexedSchemaStore::new;
+
+  /**
+   * Supplier to supply with a schema store sharing parsed schema files across generation runs.
+   */
+  public static final Supplier<SchemaStore> SHARED_SCHEMA_STORE_SUPPLIER = SharedSchemaStore::new;
+
+  /**
+   * Supplier to supply with a schema store only parsing the referenced definitions of large schema files.
    */
-  public static final Supplier<SchemaStore> DEFAULT_SCHEMA_STORE_SUPPLIER = SchemaStore::new;
+  public static final Supplier<SchemaStore> LAZY_SCHEMA_STORE_SUPPLIER = LazySchemaStore::new;
 
   /**
    * Supplier to supply with a default generation config.
@@ -55,12 +129,138 @@ public class EnhancedRuleFactory extends RuleFactory {
    */
   public static final Function<GenerationConfig, Annotator> DEFAULT_ANNOTATOR_FUNCTION = Jackson2Annotator::new;
 
+  /**
+   * System property enabling the instrumentation mode when set to {@code true}.
+   */
+  public static final String INSTRUMENTATION_PROPERTY = "js2pets.instrumentation";
+
+  /**
+   * File name of the instrumentation report.
+   */
+  public static final String INSTRUMENTATION_REPORT_FILE_NAME = "js2pets-instrumentation.json";
+
+  /**
+   * System property enabling the streaming mode when set to {@code true}.
+   */
+  public static final String STREAMING_PROPERTY = "js2pets.streaming";
+
+  /**
+   * System property enabling the shared schema store when set to {@code true}.
+   */
+  public static final String SHARED_SCHEMA_STORE_PROPERTY = "js2pets.sharedSchemaStore";
+
+  /**
+   * System property enabling the lazy schema store when set to {@code true}.
+   */
+  public static final String LAZY_SCHEMA_STORE_PROPERTY = "js2pets.lazySchemaStore";
+
+  /**
+   * System property enabling the structural deduplication mode when set to {@code true}.
+   */
+  public static final String STRUCTURAL_DEDUPLICATION_PROPERTY = "js2pets.structuralDeduplication";
+
+  /**
+   * System property enabling the deferred annotation mode when set to {@code true}.
+   */
+  public static final String DEFERRED_ANNOTATION_PROPERTY = "js2pets.deferredAnnotation";
+
+  /**
+   * System property enabling the parallel annotation mode, which implies the deferred annotation mode, when set to
+   * {@code true}.
+   */
+  public static final String PARALLEL_ANNOTATION_PROPERTY = "js2pets.parallelAnnotation";
+
+  /**
+   * Name of the build output directory under which the instrumentation report is written.
+   */
+  private static final String BUILD_DIRECTORY_NAME = "target";
+
   /**
    * Flag determining whether the no-args constructor should be included in the resulting classes. If null, the
    * configuration is determined from jsonschema2pojo's plugin configuration.
    */
   private final @Nullable Boolean includeNoArgsConstructor;
 
+  /**
+   * Recorder of the rules' and annotators' invocations, or null if the instrumentation mode is disabled.
+   */
+  private final @Nullable InstrumentationRecorder instrumentationRecorder;
+
+  /**
+   * Whether the instrumentation report is written every time an outermost rule invocation completes.
+   */
+  private volatile boolean writingInstrumentationReportOnCompletion = true;
+
+  /**
+   * Whether schema stores set on the factory are replaced by a shared schema store.
+   */
+  private final boolean sharingSchemaStore;
+
+  /**
+   * Whether schema stores set on the factory are replaced by a lazy schema store.
+   */
+  private final boolean loadingSchemasLazily;
+
+  /**
+   * Whether the streaming mode is enabled.
+   */
+  private final boolean streaming = Boolean.getBoolean(STREAMING_PROPERTY);
+
+  /**
+   * Emitter streaming the generated types, or null if not created yet.
+   */
+  private @Nullable StreamingTypeEmitter streamingTypeEmitter;
+
+  /**
+   * Whether the structural deduplication mode is enabled.
+   */
+  private final boolean deduplicatingStructurally = Boolean.getBoolean(STRUCTURAL_DEDUPLICATION_PROPERTY);
+
+  /**
+   * Registry of the types generated for inline schemas, or null if not created yet.
+   */
+  private @Nullable StructuralTypeRegistry structuralTypeRegistry;
+
+  /**
+   * Dispatch plan compiled from the current annotator, or null if not compiled yet.
+   */
+  private @Nullable AnnotatorDispatchPlan annotatorDispatchPlan;
+
+  /**
+   * Cache of the required property names of the schemas currently being processed.
+   */
+  private final RequiredPropertiesCache requiredPropertiesCache = new RequiredPropertiesCache();
+
+  /**
+   * Set of the types already notified to the annotator.
+   */
+  private final CompletedTypeSet completedTypeSet = new CompletedTypeSet();
+
+  /**
+   * Queue of the deferred annotator callbacks, or null if the deferred annotation mode is disabled.
+   */
+  private final @Nullable DeferredAnnotationQueue deferredAnnotationQueue = createDeferredAnnotationQueue();
+
+  /**
+   * Memoized constructor rule, or null if not created yet. Keeps the resolved include no-args constructor flag.
+   */
+  private @Nullable Rule<JDefinedClass, JDefinedClass> constructorRule;
+
+  /**
+   * Memoized enum rule, or null if not created yet.
+   */
+  private @Nullable Rule<JClassContainer, JType> enumRule;
+
+  /**
+   * Memoized object rule, or null if not created yet.
+   */
+  private @Nullable Rule<JPackage, JType> objectRule;
+
+  /**
+   * Memoized property rule, or null if not created yet.
+   */
+  private @Nullable Rule<JDefinedClass, JDefinedClass> propertyRule;
+
   /**
    * Constructs an {@link EnhancedRuleFactory} with the specified configuration, annotator, schema store, and no-args
    * constructor inclusion setting.
@@ -75,8 +275,21 @@ public class EnhancedRuleFactory extends RuleFactory {
       final Annotator annotator,
       final SchemaStore schemaStore,
       final @Nullable Boolean includeNoArgsConstructor) {
-    super(generationConfig, annotator, schemaStore);
+    this(generationConfig, annotator, schemaStore, includeNoArgsConstructor, createInstrumentationRecorder());
+  }
+
+  private EnhancedRuleFactory(
+      final GenerationConfig generationConfig,
+      final Annotator annotator,
+      final SchemaStore schemaStore,
+      final @Nullable Boolean includeNoArgsConstructor,
+      final @Nullable InstrumentationRecorder instrumentationRecorder) {
+    super(generationConfig, instrument(instrumentationRecorder, annotator), adapt(generationConfig,
+        new NoopRuleLogger(), schemaStore, isSharing(schemaStore), isLoadingLazily(schemaStore)));
     this.includeNoArgsConstructor = includeNoArgsConstructor;
+    this.instrumentationRecorder = instrumentationRecorder;
+    this.sharingSchemaStore = isSharing(schemaStore);
+    this.loadingSchemasLazily = isLoadingLazily(schemaStore);
   }
 
   /**
@@ -142,6 +355,10 @@ public class EnhancedRuleFactory extends RuleFactory {
    * Returns a custom {@code ConstructorRule} that controls the inclusion of no-argument constructors. This rule extends
    * the base constructor rule with the ability to optionally remove no-args constructors based on the factory's
    * configuration.
+   * <br />
+   * <br />
+   * The rule is created once and reused until the factory's configuration, annotator or schema store change, so the
+   * include no-args constructor flag is only inferred from the plugin's configuration once.
    *
    * @return A {@link ConstructorRule} configured according to the factory settings.
    * @throws IllegalArgumentException                                                         Thrown if the include
@@ -156,27 +373,587 @@ public class EnhancedRuleFactory extends RuleFactory {
    */
   @Override
   public Rule<JDefinedClass, JDefinedClass> getConstructorRule() {
-    return new ConstructorRule(this, includeNoArgsConstructor, super.getConstructorRule());
+    var currentConstructorRule = constructorRule;
+    if (currentConstructorRule == null) {
+      currentConstructorRule = instrument(
+          new ConstructorRule(this, includeNoArgsConstructor, instrument(super.getConstructorRule())));
+      constructorRule = currentConstructorRule;
+    }
+    return currentConstructorRule;
   }
 
   /**
-   * Returns a custom {@code EnumRule} that notifies the annotator when applicable.
+   * Returns a custom {@code EnumRule} that notifies the annotator when applicable. The rule is created once and reused
+   * until the factory's configuration, annotator or schema store change.
    *
    * @return A {@link EnumRule} configured according to the factory settings.
    */
   @Override
   public Rule<JClassContainer, JType> getEnumRule() {
-    return new EnumRule(this, super.getEnumRule());
+    var currentEnumRule = enumRule;
+    if (currentEnumRule == null) {
+      currentEnumRule = instrument(new EnumRule(this, instrument(super.getEnumRule())));
+      enumRule = currentEnumRule;
+    }
+    return currentEnumRule;
   }
 
   /**
-   * Returns a custom {@code ObjectRule} that notifies the annotator when applicable.
+   * Returns a custom {@code ObjectRule} that notifies the annotator when applicable. The rule is created once and
+   * reused until the factory's configuration, annotator or schema store change.
    *
    * @return A {@link ObjectRule} configured according to the factory settings.
    */
   @Override
   public Rule<JPackage, JType> getObjectRule() {
-    return new ObjectRule(this, super.getObjectRule());
+    var currentObjectRule = objectRule;
+    if (currentObjectRule == null) {
+      currentObjectRule = instrument(new ObjectRule(this, instrument(super.getObjectRule())));
+      objectRule = currentObjectRule;
+    }
+    return currentObjectRule;
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code ArrayRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return An {@code ArrayRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JPackage, JClass> getArrayRule() {
+    return instrument(super.getArrayRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code DescriptionRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code DescriptionRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDocCommentable, JDocComment> getDescriptionRule() {
+    return instrument(super.getDescriptionRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code CommentRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code CommentRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDocCommentable, JDocComment> getCommentRule() {
+    return instrument(super.getCommentRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code FormatRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code FormatRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JType, JType> getFormatRule() {
+    return instrument(super.getFormatRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code RequiredArrayRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code RequiredArrayRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDefinedClass, JDefinedClass> getRequiredArrayRule() {
+    return instrument(super.getRequiredArrayRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code PropertiesRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code PropertiesRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDefinedClass, JDefinedClass> getPropertiesRule() {
+    return instrument(super.getPropertiesRule());
+  }
+
+  /**
+   * Returns a custom {@code PropertyRule} that records the JSON property name of each generated field. The rule is
+   * created once and reused until the factory's configuration, annotator or schema store change.
+   *
+   * @return A {@link PropertyRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDefinedClass, JDefinedClass> getPropertyRule() {
+    var currentPropertyRule = propertyRule;
+    if (currentPropertyRule == null) {
+      currentPropertyRule = instrument(new PropertyRule(this, instrument(super.getPropertyRule())));
+      propertyRule = currentPropertyRule;
+    }
+    return currentPropertyRule;
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code RequiredRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code RequiredRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDocCommentable, JDocCommentable> getRequiredRule() {
+    return instrument(super.getRequiredRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code NotRequiredRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code NotRequiredRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDocCommentable, JDocCommentable> getNotRequiredRule() {
+    return instrument(super.getNotRequiredRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code TypeRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code TypeRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JClassContainer, JType> getTypeRule() {
+    return instrument(super.getTypeRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code AdditionalPropertiesRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return An {@code AdditionalPropertiesRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDefinedClass, JDefinedClass> getAdditionalPropertiesRule() {
+    return instrument(super.getAdditionalPropertiesRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code TitleRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code TitleRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDocCommentable, JDocComment> getTitleRule() {
+    return instrument(super.getTitleRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code SchemaRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code SchemaRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JClassContainer, JType> getSchemaRule() {
+    return instrument(super.getSchemaRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code DefaultRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code DefaultRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JFieldVar, JFieldVar> getDefaultRule() {
+    return instrument(super.getDefaultRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code MinimumMaximumRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code MinimumMaximumRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JFieldVar, JFieldVar> getMinimumMaximumRule() {
+    return instrument(super.getMinimumMaximumRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code MinItemsMaxItemsRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code MinItemsMaxItemsRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JFieldVar, JFieldVar> getMinItemsMaxItemsRule() {
+    return instrument(super.getMinItemsMaxItemsRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code MinLengthMaxLengthRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code MinLengthMaxLengthRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JFieldVar, JFieldVar> getMinLengthMaxLengthRule() {
+    return instrument(super.getMinLengthMaxLengthRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code DigitsRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code DigitsRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JFieldVar, JFieldVar> getDigitsRule() {
+    return instrument(super.getDigitsRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code PatternRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code PatternRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JFieldVar, JFieldVar> getPatternRule() {
+    return instrument(super.getPatternRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code ValidRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code ValidRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JFieldVar, JFieldVar> getValidRule() {
+    return instrument(super.getValidRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code MediaRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code MediaRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JType, JType> getMediaRule() {
+    return instrument(super.getMediaRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code DynamicPropertiesRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code DynamicPropertiesRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDefinedClass, JDefinedClass> getDynamicPropertiesRule() {
+    return instrument(super.getDynamicPropertiesRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code BuilderRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code BuilderRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDefinedClass, JDefinedClass> getBuilderRule() {
+    return instrument(super.getBuilderRule());
+  }
+
+  /**
+   * Returns jsonschema2pojo's {@code JavaNameRule}, instrumented if the instrumentation mode is enabled.
+   *
+   * @return A {@code JavaNameRule} configured according to the factory settings.
+   */
+  @Override
+  public Rule<JDocCommentable, JDocComment> getJavaNameRule() {
+    return instrument(super.getJavaNameRule());
+  }
+
+  /**
+   * Sets annotator to be used by factory, instrumenting it if the instrumentation mode is enabled, and recompiles the
+   * annotator dispatch plan, discarding the memoized rules.
+   *
+   * @param annotator The annotator to set to.
+   */
+  @Override
+  public void setAnnotator(final Annotator annotator) {
+    super.setAnnotator(instrument(instrumentationRecorder, annotator));
+    annotatorDispatchPlan = AnnotatorDispatchPlan.compile(getAnnotator());
+    invalidateRules();
+  }
+
+  /**
+   * Sets generation configuration to be used by factory, discarding the memoized rules, streaming emitter and
+   * structural type registry.
+   *
+   * @param generationConfig The generation configuration to set to.
+   */
+  @Override
+  public void setGenerationConfig(final GenerationConfig generationConfig) {
+    super.setGenerationConfig(generationConfig);
+    invalidateRules();
+    streamingTypeEmitter = null;
+    structuralTypeRegistry = null;
+  }
+
+  /**
+   * Sets schema store to be used by factory, discarding the memoized rules. If the factory shares schema stores or
+   * loads schemas lazily and the given store doesn't, a {@link SharedSchemaStore} or {@link LazySchemaStore} for the
+   * current configuration and logger is set instead. Likewise, a plain jsonschema2pojo schema store without schemas is
+   * replaced by an {@link IndexedSchemaStore} built from its content resolver and logger.
+   *
+   * @param schemaStore The schema store to set to.
+   */
+  @Override
+  public void setSchemaStore(final SchemaStore schemaStore) {
+    super.setSchemaStore(adapt(getGenerationConfig(), getLogger(), IndexedSchemaStore.of(schemaStore),
+        sharingSchemaStore, loadingSchemasLazily));
+    invalidateRules();
+  }
+
+  /**
+   * Checks whether the factory replaces the schema stores set on it by a {@link SharedSchemaStore}.
+   *
+   * @return Whether schema stores are shared.
+   */
+  public boolean isSharingSchemaStore() {
+    return sharingSchemaStore;
+  }
+
+  /**
+   * Checks whether the factory replaces the schema stores set on it by a {@link LazySchemaStore}.
+   *
+   * @return Whether large schema files are loaded lazily.
+   */
+  public boolean isLoadingSchemasLazily() {
+    return loadingSchemasLazily;
+  }
+
+  /**
+   * Gets the dispatch plan for the current annotator. The plan is compiled once and only recompiled when the annotator
+   * is set.
+   *
+   * @return The dispatch plan.
+   */
+  @Override
+  public AnnotatorDispatchPlan getAnnotatorDispatchPlan() {
+    var currentAnnotatorDispatchPlan = annotatorDispatchPlan;
+    if (currentAnnotatorDispatchPlan == null) {
+      currentAnnotatorDispatchPlan = AnnotatorDispatchPlan.compile(getAnnotator());
+      annotatorDispatchPlan = currentAnnotatorDispatchPlan;
+    }
+    return currentAnnotatorDispatchPlan;
+  }
+
+  /**
+   * Gets the set of the types already notified to the annotator, so that each type is annotated once per factory.
+   *
+   * @return The completed type set.
+   */
+  @Override
+  public CompletedTypeSet getCompletedTypeSet() {
+    return completedTypeSet;
+  }
+
+  /**
+   * Gets the queue the annotator callbacks are deferred to. Streaming writes each type as soon as it's complete, so the
+   * callbacks are never deferred while streaming.
+   *
+   * @return The deferred annotation queue, or null if the deferred annotation mode is disabled or streaming is enabled.
+   */
+  @Override
+  public @Nullable DeferredAnnotationQueue getDeferredAnnotationQueue() {
+    return getStreamingTypeEmitter() == null ? deferredAnnotationQueue : null;
+  }
+
+  /**
+   * Gets the cache of the required property names of the schemas currently being processed. Each schema's entry is
+   * evicted once its object type is done generating.
+   *
+   * @return The required properties cache.
+   */
+  @Override
+  public RequiredPropertiesCache getRequiredPropertiesCache() {
+    return requiredPropertiesCache;
+  }
+
+  /**
+   * Gets the registry of the types generated for inline schemas. The registry is created once and only recreated when
+   * the generation configuration is set.
+   *
+   * @return The structural type registry, or null if the structural deduplication mode is disabled.
+   */
+  @Override
+  public @Nullable StructuralTypeRegistry getStructuralTypeRegistry() {
+    if (!deduplicatingStructurally) {
+      return null;
+    }
+    var currentStructuralTypeRegistry = structuralTypeRegistry;
+    if (currentStructuralTypeRegistry == null) {
+      currentStructuralTypeRegistry = new StructuralTypeRegistry(getGenerationConfig().isUseTitleAsClassname());
+      structuralTypeRegistry = currentStructuralTypeRegistry;
+    }
+    return currentStructuralTypeRegistry;
+  }
+
+  /**
+   * Gets the emitter streaming the generated types to the target directory. The emitter is created once and only
+   * recreated when the generation configuration is set.
+   *
+   * @return The streaming emitter, or null if the streaming mode is disabled or not supported by the code model version
+   *         in use.
+   */
+  @Override
+  public @Nullable StreamingTypeEmitter getStreamingTypeEmitter() {
+    if (!streaming || !StreamingUtils.isSupported()) {
+      return null;
+    }
+    var currentStreamingTypeEmitter = streamingTypeEmitter;
+    if (currentStreamingTypeEmitter == null) {
+      currentStreamingTypeEmitter = new StreamingTypeEmitter(getGenerationConfig(), getLogger());
+      streamingTypeEmitter = currentStreamingTypeEmitter;
+    }
+    return currentStreamingTypeEmitter;
+  }
+
+  /**
+   * Gets the recorder of the rules' and annotators' invocations.
+   *
+   * @return The instrumentation recorder, or null if the instrumentation mode is disabled.
+   */
+  public @Nullable InstrumentationRecorder getInstrumentationRecorder() {
+    return instrumentationRecorder;
+  }
+
+  /**
+   * Gets the path the instrumentation report is written to. This is the {@value #INSTRUMENTATION_REPORT_FILE_NAME} file
+   * under the closest {@code target} directory containing the generation's target directory, or under the
+   * {@code target} directory of the working directory if there is none.
+   *
+   * @return The path of the instrumentation report.
+   */
+  public Path getInstrumentationReportPath() {
+    return getInstrumentationReportPath(getGenerationConfig());
+  }
+
+  /**
+   * Gets the path the instrumentation report of a generation with the given configuration is written to. This is the
+   * {@value #INSTRUMENTATION_REPORT_FILE_NAME} file under the closest {@code target} directory containing the
+   * generation's target directory, or under the {@code target} directory of the working directory if there is none.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @return The path of the instrumentation report.
+   */
+  public static Path getInstrumentationReportPath(final GenerationConfig generationConfig) {
+    final var targetDirectory = generationConfig.getTargetDirectory();
+    for (var directory = targetDirectory == null ? null : targetDirectory.getAbsoluteFile();
+        directory != null;
+        directory = directory.getParentFile()) {
+      if (BUILD_DIRECTORY_NAME.equals(directory.getName())) {
+        return directory
+            .toPath()
+            .resolve(INSTRUMENTATION_REPORT_FILE_NAME);
+      }
+    }
+    return new File(BUILD_DIRECTORY_NAME, INSTRUMENTATION_REPORT_FILE_NAME).toPath();
+  }
+
+  /**
+   * Sets whether the instrumentation report is written every time an outermost rule invocation completes, which it is
+   * by default. Callers aggregating the invocations of several factories disable it and write the aggregated report
+   * themselves.
+   *
+   * @param writing Whether the report is written every time an outermost rule invocation completes.
+   */
+  public void setWritingInstrumentationReportOnCompletion(final boolean writing) {
+    this.writingInstrumentationReportOnCompletion = writing;
+  }
+
+  /**
+   * Writes the instrumentation report, if the instrumentation mode is enabled. Unless disabled by
+   * {@link #setWritingInstrumentationReportOnCompletion(boolean)}, this is done automatically every time an outermost
+   * rule invocation completes, so the report is up to date by the end of the generation run.
+   */
+  public void writeInstrumentationReport() {
+    if (instrumentationRecorder == null) {
+      return;
+    }
+    final var reportPath = getInstrumentationReportPath();
+    try {
+      instrumentationRecorder.writeReport(reportPath);
+    } catch (final IOException exception) {
+      getLogger().warn("Unable to write instrumentation report to " + reportPath, exception);
+    }
+  }
+
+  /**
+   * Instruments the given rule if the instrumentation mode is enabled, and wraps it to emit
+   * {@link io.github.lengors.js2pets.jfr.RuleApplicationEvent}s if a Flight Recorder recording enables them.
+   *
+   * @param <T>  The type of the generatable being processed.
+   * @param <R>  The type of the result of the rule.
+   * @param rule The rule to instrument.
+   * @return The instrumented rule, or the given rule if neither the instrumentation mode nor a recording are enabled.
+   */
+  protected <T, R> Rule<T, R> instrument(final Rule<T, R> rule) {
+    if (instrumentationRecorder == null) {
+      return RecordedRule.record(rule);
+    }
+    return RecordedRule.record(
+        new InstrumentedRule<>(instrumentationRecorder, rule, this::completeOutermostInvocation),
+        rule);
+  }
+
+  private void completeOutermostInvocation() {
+    if (writingInstrumentationReportOnCompletion) {
+      writeInstrumentationReport();
+    }
+  }
+
+  private void invalidateRules() {
+    constructorRule = null;
+    enumRule = null;
+    objectRule = null;
+    propertyRule = null;
+  }
+
+  private static Annotator instrument(
+      final @Nullable InstrumentationRecorder instrumentationRecorder,
+      final Annotator annotator) {
+    return instrumentationRecorder == null
+        ? annotator
+        : InstrumentedAnnotator.instrument(instrumentationRecorder, annotator);
+  }
+
+  private static boolean isSharing(final SchemaStore schemaStore) {
+    return schemaStore instanceof SharedSchemaStore
+        || schemaStore instanceof LazySchemaStore lazySchemaStore && lazySchemaStore.isSharing()
+        || Boolean.getBoolean(SHARED_SCHEMA_STORE_PROPERTY);
+  }
+
+  private static boolean isLoadingLazily(final SchemaStore schemaStore) {
+    return schemaStore instanceof LazySchemaStore || Boolean.getBoolean(LAZY_SCHEMA_STORE_PROPERTY);
+  }
+
+  private static SchemaStore adapt(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final SchemaStore schemaStore,
+      final boolean sharing,
+      final boolean loadingLazily) {
+    if (loadingLazily) {
+      return schemaStore instanceof LazySchemaStore
+          ? schemaStore
+          : LazySchemaStore.create(generationConfig, logger, sharing);
+    }
+    if (sharing) {
+      return schemaStore instanceof SharedSchemaStore
+          ? schemaStore
+          : SharedSchemaStore.create(generationConfig, logger);
+    }
+    return schemaStore;
+  }
+
+  private static @Nullable InstrumentationRecorder createInstrumentationRecorder() {
+    return Boolean.getBoolean(INSTRUMENTATION_PROPERTY) ? new InstrumentationRecorder() : null;
+  }
+
+  private static @Nullable DeferredAnnotationQueue createDeferredAnnotationQueue() {
+    if (Boolean.getBoolean(PARALLEL_ANNOTATION_PROPERTY)) {
+      return new DeferredAnnotationQueue(ForkJoinPool.commonPool());
+    }
+    return Boolean.getBoolean(DEFERRED_ANNOTATION_PROPERTY) ? new DeferredAnnotationQueue() : null;
   }
 
   /**
@@ -0,0 +1,81 @@
+package io.github.lengors.js2pets.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utilities for computing content hashes.
+ *
+ * @author lengors
+ */
+public final class Digests {
+  /**
+   * Name of the digest algorithm used.
+   */
+  private static final String ALGORITHM = "SHA-256";
+
+  /**
+   * Size of the buffer used to read streams.
+   */
+  private static final int BUFFER_SIZE = 8192;
+
+  private Digests() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Computes the SHA-256 hash of the given content.
+   *
+   * @param content The content to hash.
+   * @return The hash.
+   */
+  public static byte[] sha256(final byte[] content) {
+    return createDigest().digest(content);
+  }
+
+  /**
+   * Computes the SHA-256 hash of the remaining content of the given stream.
+   *
+   * @param inputStream The stream to hash.
+   * @return The hash.
+   * @throws IOException If the stream can't be read.
+   */
+  public static byte[] sha256(final InputStream inputStream) throws IOException {
+    final var digest = createDigest();
+    final var buffer = new byte[BUFFER_SIZE];
+    for (var read = inputStream.read(buffer); read >= 0; read = inputStream.read(buffer)) {
+      digest.update(buffer, 0, read);
+    }
+    return digest.digest();
+  }
+
+  /**
+   * Computes the hexadecimal SHA-256 hash of the given values, each terminated by a null character so that different
+   * splits of the same text hash differently.
+   *
+   * @param values The values to hash.
+   * @return The hexadecimal hash.
+   */
+  public static String sha256(final String... values) {
+    final var digest = createDigest();
+    for (final var value : values) {
+      digest.update(value.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+    }
+    return HexFormat
+        .of()
+        .formatHex(digest.digest());
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance(ALGORITHM);
+    } catch (final NoSuchAlgorithmException exception) {
+      throw new IllegalStateException(ALGORITHM + " is not supported", exception);
+    }
+  }
+}
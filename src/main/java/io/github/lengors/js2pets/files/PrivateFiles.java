@@ -0,0 +1,143 @@
+package io.github.lengors.js2pets.files;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+
+/**
+ * Utilities for files and directories private to the current user, that is, owned by them, not symbolic links and not
+ * writable by anyone else. Directories are created only accessible by their owner and files only readable and writable
+ * by theirs, and existing ones are refused unless private. On file systems without POSIX permissions, such as on
+ * Windows, where the temporary directory is already specific to each user, nothing is checked.
+ *
+ * @author lengors
+ */
+public final class PrivateFiles {
+  /**
+   * Name of the file attribute view supporting POSIX permissions and owners.
+   */
+  private static final String POSIX_FILE_ATTRIBUTE_VIEW = "posix";
+
+  /**
+   * Permissions of the created directories.
+   */
+  private static final String DIRECTORY_PERMISSIONS = "rwx------";
+
+  /**
+   * Permissions of the created files.
+   */
+  private static final String FILE_PERMISSIONS = "rw-------";
+
+  private PrivateFiles() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Gets the directory of the temporary directory specific to the current user, which js2pets keeps its files in by
+   * default. The directory isn't created.
+   *
+   * @return The path of the directory.
+   */
+  public static Path getUserDirectory() {
+    return Path.of(System.getProperty("java.io.tmpdir"), "js2pets-" + System.getProperty("user.name"));
+  }
+
+  /**
+   * Creates the given directory, if missing, only accessible by the current user, along with its missing parents, and
+   * checks that it's private to the current user.
+   *
+   * @param directory The path of the directory.
+   * @throws IOException If the directory can't be created or isn't private to the current user.
+   */
+  public static void createDirectory(final Path directory) throws IOException {
+    if (!isPosix()) {
+      Files.createDirectories(directory);
+      return;
+    }
+    final var parent = directory.getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    try {
+      Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions
+          .fromString(DIRECTORY_PERMISSIONS)));
+    } catch (final FileAlreadyExistsException exception) {
+      // The existing directory is only used if private, as checked below.
+    }
+    check(directory);
+  }
+
+  /**
+   * Creates a new empty file in the given directory, only readable and writable by the current user.
+   *
+   * @param directory The directory to create the file in.
+   * @param prefix    The prefix of the file's name.
+   * @param suffix    The suffix of the file's name.
+   * @return The path of the created file.
+   * @throws IOException If the file can't be created.
+   */
+  public static Path createTempFile(final Path directory, final String prefix, final String suffix)
+      throws IOException {
+    return isPosix()
+        ? Files.createTempFile(directory, prefix, suffix, PosixFilePermissions.asFileAttribute(PosixFilePermissions
+            .fromString(FILE_PERMISSIONS)))
+        : Files.createTempFile(directory, prefix, suffix);
+  }
+
+  /**
+   * Checks that the given file or directory is private to the current user.
+   *
+   * @param path The path of the file or directory.
+   * @throws IOException If the path isn't private to the current user or its attributes can't be read.
+   */
+  public static void check(final Path path) throws IOException {
+    if (!isPosix()) {
+      return;
+    }
+    final var attributes = Files.readAttributes(path, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+    final var user = path
+        .getFileSystem()
+        .getUserPrincipalLookupService()
+        .lookupPrincipalByName(System.getProperty("user.name"));
+    if (attributes.isSymbolicLink()
+        || !attributes
+            .owner()
+            .equals(user)
+        || attributes
+            .permissions()
+            .contains(PosixFilePermission.GROUP_WRITE)
+        || attributes
+            .permissions()
+            .contains(PosixFilePermission.OTHERS_WRITE)) {
+      throw new IOException("Refusing to use " + path + ", which isn't private to " + user.getName());
+    }
+  }
+
+  /**
+   * Checks whether the given file or directory is private to the current user.
+   *
+   * @param path The path of the file or directory.
+   * @return True if private, false if not or if its attributes can't be read.
+   */
+  public static boolean isPrivate(final Path path) {
+    try {
+      check(path);
+      return true;
+    } catch (final IOException exception) {
+      return false;
+    }
+  }
+
+  private static boolean isPosix() {
+    return FileSystems
+        .getDefault()
+        .supportedFileAttributeViews()
+        .contains(POSIX_FILE_ATTRIBUTE_VIEW);
+  }
+}
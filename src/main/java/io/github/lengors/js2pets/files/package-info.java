@@ -0,0 +1,7 @@
+/**
+ * This package contains file and content utilities shared across js2pets, such as the per-user directory its entry
+ * points keep their files in, the checks that it's private to its owner, and content hashes.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.files;
@@ -0,0 +1,183 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Runs file writes on virtual threads, with at most a given number of them in flight. Submitting blocks while that
+ * many writes are pending, which also bounds the rendered content held in memory: nothing is kept of a write once it's
+ * done, other than its failure, if any.
+ * <br />
+ * <br />
+ * Writes to the same path run in submission order, so the last submitted content is the one left, as if written
+ * sequentially. Every file is forced to the storage device once written, and {@link #await()} only returns once all
+ * submitted writes are done, so callers can rely on the files being complete and durable from then on.
+ *
+ * @author lengors
+ */
+final class ConcurrentFileWriter {
+  /**
+   * Maximum number of writes in flight.
+   */
+  private final int maxOpenFiles;
+
+  /**
+   * Permits for the writes in flight, each held until its write is done.
+   */
+  private final Semaphore permits;
+
+  /**
+   * Completion latch of the last write submitted for each path, while that write is in flight.
+   */
+  private final Map<Path, CountDownLatch> lastWrites = new ConcurrentHashMap<>();
+
+  /**
+   * First failure of the submitted writes, with the following ones suppressed, or null if none failed.
+   */
+  private @Nullable IOException failure;
+
+  /**
+   * Creates a writer.
+   *
+   * @param maxOpenFiles The maximum number of writes in flight.
+   * @throws IllegalArgumentException If the maximum number of writes isn't positive.
+   */
+  ConcurrentFileWriter(final int maxOpenFiles) {
+    if (maxOpenFiles < 1) {
+      throw new IllegalArgumentException("Maximum number of open files must be positive: " + maxOpenFiles);
+    }
+    this.maxOpenFiles = maxOpenFiles;
+    this.permits = new Semaphore(maxOpenFiles);
+  }
+
+  /**
+   * Submits a write to the given path, waiting for a permit if too many writes are in flight.
+   *
+   * @param path  The path written by the task.
+   * @param write The task writing the path.
+   * @throws InterruptedIOException If interrupted while waiting for a permit.
+   */
+  void submit(final Path path, final Write write) throws InterruptedIOException {
+    try {
+      permits.acquire();
+    } catch (final InterruptedException exception) {
+      Thread
+          .currentThread()
+          .interrupt();
+      throw new InterruptedIOException("Interrupted while waiting to write " + path);
+    }
+    final var done = new CountDownLatch(1);
+    final var previousWrite = lastWrites.put(path, done);
+    Thread
+        .ofVirtual()
+        .name("js2pets-writer")
+        .start(() -> run(path, previousWrite, done, write));
+  }
+
+  /**
+   * Waits for all the submitted writes to finish.
+   *
+   * @throws IOException If any of the writes failed, or if interrupted while waiting.
+   */
+  void await() throws IOException {
+    try {
+      permits.acquire(maxOpenFiles);
+    } catch (final InterruptedException exception) {
+      Thread
+          .currentThread()
+          .interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the files to be written");
+    }
+    permits.release(maxOpenFiles);
+    synchronized (this) {
+      final var currentFailure = failure;
+      failure = null;
+      if (currentFailure != null) {
+        throw currentFailure;
+      }
+    }
+  }
+
+  /**
+   * Writes the given content to the given file, creating its parent directories, and forces it to the storage device.
+   *
+   * @param path    The path of the file.
+   * @param content The content to write.
+   * @throws IOException If the file can't be written.
+   */
+  static void writeDurably(final Path path, final byte[] content) throws IOException {
+    final var parent = path.getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    try (var channel = FileChannel.open(
+        path,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE)) {
+      final var buffer = ByteBuffer.wrap(content);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+  }
+
+  private void run(
+      final Path path,
+      final @Nullable CountDownLatch previousWrite,
+      final CountDownLatch done,
+      final Write write) {
+    try {
+      if (previousWrite != null) {
+        previousWrite.await();
+      }
+      write.run();
+    } catch (final IOException exception) {
+      fail(exception);
+    } catch (final InterruptedException exception) {
+      fail(new InterruptedIOException("Interrupted while waiting for a previous write"));
+    } catch (final RuntimeException exception) {
+      fail(new IOException("Could not write " + path, exception));
+    } finally {
+      lastWrites.remove(path, done);
+      done.countDown();
+      permits.release();
+    }
+  }
+
+  private synchronized void fail(final IOException exception) {
+    final var currentFailure = failure;
+    if (currentFailure == null) {
+      failure = exception;
+    } else {
+      currentFailure.addSuppressed(exception);
+    }
+  }
+
+  /**
+   * Write run by a {@link ConcurrentFileWriter}.
+   *
+   * @author lengors
+   */
+  @FunctionalInterface
+  interface Write {
+    /**
+     * Runs the write.
+     *
+     * @throws IOException If the write fails.
+     */
+    void run() throws IOException;
+  }
+}
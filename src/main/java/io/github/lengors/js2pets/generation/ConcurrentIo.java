@@ -0,0 +1,49 @@
+package io.github.lengors.js2pets.generation;
+
+/**
+ * Settings of the concurrent I/O mode of the js2pets generation entry points. When enabled by the {@value #PROPERTY}
+ * system property, the transitive {@code $ref} closure of the sources is read ahead of generation with a
+ * {@link PrefetchingContentResolver}, and the generated files are written with a {@link ConcurrentFileWriter}, both on
+ * virtual threads and with at most {@value #MAX_OPEN_FILES_PROPERTY} files open at once.
+ *
+ * @author lengors
+ */
+public final class ConcurrentIo {
+  /**
+   * System property enabling the concurrent I/O mode when set to {@code true}.
+   */
+  public static final String PROPERTY = "js2pets.concurrentIo";
+
+  /**
+   * System property setting the maximum number of files read or written at once in the concurrent I/O mode.
+   */
+  public static final String MAX_OPEN_FILES_PROPERTY = "js2pets.maxOpenFiles";
+
+  /**
+   * Default maximum number of files read or written at once in the concurrent I/O mode.
+   */
+  public static final int DEFAULT_MAX_OPEN_FILES = 64;
+
+  private ConcurrentIo() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Checks whether the concurrent I/O mode is enabled by the {@value #PROPERTY} system property.
+   *
+   * @return True if the concurrent I/O mode is enabled.
+   */
+  public static boolean isEnabled() {
+    return Boolean.getBoolean(PROPERTY);
+  }
+
+  /**
+   * Gets the maximum number of files read or written at once, set by the {@value #MAX_OPEN_FILES_PROPERTY} system
+   * property, or {@value #DEFAULT_MAX_OPEN_FILES} if not set.
+   *
+   * @return The maximum number of open files, at least one.
+   */
+  public static int getMaxOpenFiles() {
+    return Math.max(1, Integer.getInteger(MAX_OPEN_FILES_PROPERTY, DEFAULT_MAX_OPEN_FILES));
+  }
+}
@@ -0,0 +1,234 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Manifest of an incremental generation run, persisted between builds. Each entry maps the key of a partition of
+ * schema sources, which covers the js2pets version, the generation configuration and the content of every document in
+ * the partition's transitive {@code $ref} closure, to the files generated from it.
+ *
+ * @author lengors
+ */
+public final class GenerationManifest {
+  /**
+   * Mapper used to read and write manifests.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /**
+   * Version of js2pets that generated the files.
+   */
+  private final String version;
+
+  /**
+   * Hash of the generation configuration the files were generated with.
+   */
+  private final String configurationHash;
+
+  /**
+   * Entries by key, in insertion order.
+   */
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+  /**
+   * Instantiates an empty manifest.
+   *
+   * @param version           The version of js2pets generating the files.
+   * @param configurationHash The hash of the generation configuration the files are generated with.
+   */
+  public GenerationManifest(final String version, final String configurationHash) {
+    this.version = version;
+    this.configurationHash = configurationHash;
+  }
+
+  /**
+   * Reads the manifest at the given path. Missing or malformed manifests are read as empty manifests, which makes the
+   * next run regenerate everything.
+   *
+   * @param path The path of the manifest.
+   * @return The manifest read.
+   */
+  public static GenerationManifest read(final Path path) {
+    if (!Files.isRegularFile(path)) {
+      return new GenerationManifest("", "");
+    }
+    try {
+      final var root = OBJECT_MAPPER.readTree(path.toFile());
+      final var manifest = new GenerationManifest(
+          root
+              .path("version")
+              .asText(),
+          root
+              .path("configurationHash")
+              .asText());
+      for (final var entryNode : root.path("entries")) {
+        final var key = entryNode
+            .path("key")
+            .asText();
+        if (!key.isEmpty()) {
+          manifest.putEntry(new Entry(
+              key,
+              readTexts(entryNode.path("sources"), new ArrayList<>()),
+              readDocuments(entryNode.path("documents")),
+              readTexts(entryNode.path("outputs"), new TreeSet<>())));
+        }
+      }
+      return manifest;
+    } catch (final IOException exception) {
+      return new GenerationManifest("", "");
+    }
+  }
+
+  /**
+   * Gets the hash of the generation configuration the files were generated with.
+   *
+   * @return The configuration hash.
+   */
+  public String getConfigurationHash() {
+    return configurationHash;
+  }
+
+  /**
+   * Gets the entry with the given key.
+   *
+   * @param key The key of the entry.
+   * @return The entry, or null if there isn't one.
+   */
+  public @Nullable Entry getEntry(final String key) {
+    return entries.get(key);
+  }
+
+  /**
+   * Gets the entries of the manifest.
+   *
+   * @return The entries, in insertion order.
+   */
+  public Collection<Entry> getEntries() {
+    return Collections.unmodifiableCollection(entries.values());
+  }
+
+  /**
+   * Gets the files generated by all entries.
+   *
+   * @return The paths of the generated files, relative to the target directory.
+   */
+  public Set<String> getOutputs() {
+    final var outputs = new TreeSet<String>();
+    for (final var entry : entries.values()) {
+      outputs.addAll(entry.outputs());
+    }
+    return outputs;
+  }
+
+  /**
+   * Gets the version of js2pets that generated the files.
+   *
+   * @return The version.
+   */
+  public String getVersion() {
+    return version;
+  }
+
+  /**
+   * Checks whether the manifest has no entries.
+   *
+   * @return Whether the manifest is empty.
+   */
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  /**
+   * Adds an entry, replacing any existing entry with the same key.
+   *
+   * @param entry The entry to add.
+   */
+  public void putEntry(final Entry entry) {
+    entries.put(entry.key(), entry);
+  }
+
+  /**
+   * Writes the manifest to the given path.
+   *
+   * @param path The path to write the manifest to.
+   * @throws IOException If the manifest can't be written.
+   */
+  public void write(final Path path) throws IOException {
+    final var root = OBJECT_MAPPER.createObjectNode();
+    root.put("version", version);
+    root.put("configurationHash", configurationHash);
+    final var entriesNode = root.putArray("entries");
+    for (final var entry : entries.values()) {
+      final var entryNode = entriesNode.addObject();
+      entryNode.put("key", entry.key());
+      final var sourcesNode = entryNode.putArray("sources");
+      entry
+          .sources()
+          .forEach(sourcesNode::add);
+      final var documentsNode = entryNode.putObject("documents");
+      entry
+          .documents()
+          .forEach(documentsNode::put);
+      final var outputsNode = entryNode.putArray("outputs");
+      entry
+          .outputs()
+          .forEach(outputsNode::add);
+    }
+
+    final var parent = path
+        .toAbsolutePath()
+        .getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    OBJECT_MAPPER
+        .writerWithDefaultPrettyPrinter()
+        .writeValue(path.toFile(), root);
+  }
+
+  private static SortedMap<String, String> readDocuments(final JsonNode node) {
+    final var documents = new TreeMap<String, String>();
+    node
+        .fields()
+        .forEachRemaining(field -> documents.put(field.getKey(), field
+            .getValue()
+            .asText()));
+    return documents;
+  }
+
+  private static <T extends Collection<String>> T readTexts(final JsonNode node, final T texts) {
+    for (final var element : node) {
+      texts.add(element.asText());
+    }
+    return texts;
+  }
+
+  /**
+   * Entry of the manifest.
+   *
+   * @param key       The key of the partition the files were generated from.
+   * @param sources   The URLs of the partition's sources.
+   * @param documents The content hash of each document of the partition, by the document's URI.
+   * @param outputs   The paths of the generated files, relative to the target directory.
+   * @author lengors
+   */
+  public record Entry(String key, List<String> sources, SortedMap<String, String> documents, Set<String> outputs) {
+  }
+}
@@ -0,0 +1,423 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.MethodUtils;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.RuleLogger;
+
+import io.github.lengors.js2pets.files.Digests;
+
+/**
+ * Incremental counterpart of {@link ParallelGenerator}, which only regenerates the partitions of schema sources that
+ * changed since the previous run.
+ * <br />
+ * <br />
+ * A {@link GenerationManifest} is kept under the build directory, mapping the key of each partition to the files it
+ * generated. The key covers the js2pets version, the generation configuration, the {@code js2pets.*} system
+ * properties, the configuration of the Maven plugin, such as {@code includeNoArgsConstructor}, and the content of every
+ * document in the partition's transitive {@code $ref} closure, so a change to a referenced schema invalidates every
+ * source depending on it. Partitions whose key is unchanged and whose files still exist are skipped, the others are
+ * generated in parallel, and files generated by the previous run that no partition generated anymore are removed.
+ * <br />
+ * <br />
+ * As with {@link ParallelGenerator}, if the regenerated partitions collide with each other or with the reused files,
+ * every source is regenerated sequentially. When writing with {@link OutputMode#OVERWRITE}, old output is only removed,
+ * when configured, if there's no manifest yet, since the manifest takes care of removing stale files afterwards.
+ *
+ * @author lengors
+ */
+public final class IncrementalGenerator {
+  /**
+   * Name of the build directory the manifest is written to.
+   */
+  public static final String BUILD_DIRECTORY_NAME = "target";
+
+  /**
+   * Name of the manifest file.
+   */
+  public static final String MANIFEST_FILE_NAME = "js2pets-manifest.json";
+
+  /**
+   * Version used when js2pets isn't running from its packaged jar.
+   */
+  private static final String UNKNOWN_VERSION = "unknown";
+
+  /**
+   * Name of the {@link GenerationConfig} method returning the sources, which are covered by the partition keys instead.
+   */
+  private static final String SOURCE_METHOD_NAME = "getSource";
+
+  /**
+   * Prefix of the system properties configuring js2pets, which are covered by the configuration hash.
+   */
+  private static final String PROPERTY_PREFIX = "js2pets.";
+
+  /**
+   * Name of the method of the Maven plugin's configuration returning its plugin context.
+   */
+  private static final String PLUGIN_CONTEXT_METHOD_NAME = "getPluginContext";
+
+  /**
+   * Key of the plugin descriptor within the Maven plugin context.
+   */
+  private static final String PLUGIN_DESCRIPTOR_KEY = "pluginDescriptor";
+
+  /**
+   * Suffix of the generated Java source files.
+   */
+  private static final String JAVA_FILE_SUFFIX = ".java";
+
+  private IncrementalGenerator() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Incrementally generates the code for the sources of the given configuration using the common {@link ForkJoinPool}.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param logger           The logger to report generation progress to.
+   * @throws IOException If any of the sources can't be read or the code or manifest can't be written.
+   */
+  public static void generate(final GenerationConfig generationConfig, final RuleLogger logger) throws IOException {
+    generate(generationConfig, logger, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Incrementally generates the code for the sources of the given configuration using the given {@link ForkJoinPool},
+   * writing it according to the {@link OutputMode} selected by the {@value OutputMode#PROPERTY} system property.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param logger           The logger to report generation progress to.
+   * @param pool             The pool to generate the partitions within.
+   * @throws IOException If any of the sources can't be read or the code or manifest can't be written.
+   */
+  public static void generate(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final ForkJoinPool pool) throws IOException {
+    generate(generationConfig, logger, pool, OutputMode.fromSystemProperties());
+  }
+
+  /**
+   * Incrementally generates the code for the sources of the given configuration using the given {@link ForkJoinPool},
+   * writing it according to the given {@link OutputMode}.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param logger           The logger to report generation progress to.
+   * @param pool             The pool to generate the partitions within.
+   * @param outputMode       The mode to write the generated code with.
+   * @throws IOException If any of the sources can't be read or the code or manifest can't be written.
+   */
+  public static void generate(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final ForkJoinPool pool,
+      final OutputMode outputMode) throws IOException {
+    final var targetDirectory = generationConfig.getTargetDirectory();
+    final var manifestPath = getManifestPath(generationConfig);
+    final var previousManifest = GenerationManifest.read(manifestPath);
+    final var removesOrphans = generationConfig.isRemoveOldOutput() && outputMode == OutputMode.CHANGED;
+    if (previousManifest.isEmpty() && generationConfig.isRemoveOldOutput() && outputMode == OutputMode.OVERWRITE) {
+      ParallelGenerator.removeOldOutput(targetDirectory);
+    }
+
+    final var instrumentationRecorder = ParallelGenerator.createInstrumentationRecorder();
+    final var version = getVersion();
+    final var configurationHash = hashConfiguration(generationConfig);
+    final var manifest = new GenerationManifest(version, configurationHash);
+    final var sources = SchemaSource.collect(generationConfig);
+    final var partitioner = new SchemaPartitioner(ParallelGenerator.createContentResolver(generationConfig),
+        generationConfig.getSourceType());
+
+    List<List<SchemaSource>> partitions;
+    try {
+      partitions = partitioner.partition(sources);
+    } catch (final RuntimeException exception) {
+      logger.debug("Unable to partition schema sources, generating without a manifest: " + exception.getMessage());
+      ParallelGenerator.removeStaleFiles(targetDirectory, previousManifest.getOutputs(), Set.of());
+      Files.deleteIfExists(manifestPath);
+      final var outputs = ParallelGenerator.write(generationConfig, outputMode,
+          List.of(ParallelGenerator.generate(generationConfig, logger, sources, instrumentationRecorder)));
+      ParallelGenerator.writeInstrumentationReport(generationConfig, logger, instrumentationRecorder);
+      if (removesOrphans) {
+        ParallelGenerator.removeOrphans(targetDirectory, outputs.get(0));
+      }
+      return;
+    }
+
+    final var keys = new ArrayList<String>(partitions.size());
+    for (final var partition : partitions) {
+      keys.add(createKey(version, configurationHash, partition, partitioner.getDocumentHashes(partition)));
+    }
+    final var combinedKey = Digests.sha256(keys.toArray(String[]::new));
+
+    final var combinedEntry = previousManifest.getEntry(combinedKey);
+    if (combinedEntry != null && exist(targetDirectory, combinedEntry.outputs())) {
+      logger.info("Schema sources are unchanged, skipping generation");
+      manifest.putEntry(combinedEntry);
+      finish(targetDirectory, removesOrphans, manifestPath, previousManifest, manifest);
+      return;
+    }
+
+    final var reservedClassNames = new HashSet<String>();
+    final var pendingPartitions = new ArrayList<List<SchemaSource>>();
+    final var pendingKeys = new ArrayList<String>();
+    for (var index = 0; index < partitions.size(); index++) {
+      final var entry = previousManifest.getEntry(keys.get(index));
+      if (entry != null && exist(targetDirectory, entry.outputs())) {
+        manifest.putEntry(entry);
+        reservedClassNames.addAll(toClassNames(entry.outputs()));
+      } else {
+        pendingPartitions.add(partitions.get(index));
+        pendingKeys.add(keys.get(index));
+      }
+    }
+    logger.info("Reusing " + (partitions.size() - pendingPartitions.size()) + " and generating "
+        + pendingPartitions.size() + " of " + partitions.size() + " schema partitions");
+
+    final var codeModels = ParallelGenerator.generate(generationConfig, logger, pool, pendingPartitions,
+        instrumentationRecorder);
+    if (ParallelGenerator.hasCollisions(codeModels, reservedClassNames)) {
+      logger.info("Generated partitions collide with each other, generating sequentially");
+      final var outputs = ParallelGenerator.write(generationConfig, outputMode,
+          List.of(ParallelGenerator.generate(generationConfig, logger, sources, instrumentationRecorder)));
+      ParallelGenerator.writeInstrumentationReport(generationConfig, logger, instrumentationRecorder);
+      ParallelGenerator.removeStaleFiles(targetDirectory, ParallelGenerator.listStreamedFiles(codeModels),
+          outputs.get(0));
+      final var combinedManifest = new GenerationManifest(version, configurationHash);
+      combinedManifest.putEntry(createEntry(combinedKey, sources, collectDocumentHashes(partitioner, partitions),
+          outputs.get(0)));
+      finish(targetDirectory, removesOrphans, manifestPath, previousManifest, combinedManifest);
+      return;
+    }
+
+    ParallelGenerator.writeInstrumentationReport(generationConfig, logger, instrumentationRecorder);
+    final var outputs = ParallelGenerator.write(generationConfig, outputMode, codeModels);
+    for (var index = 0; index < pendingPartitions.size(); index++) {
+      final var partition = pendingPartitions.get(index);
+      manifest.putEntry(createEntry(pendingKeys.get(index), partition, partitioner.getDocumentHashes(partition),
+          outputs.get(index)));
+    }
+    finish(targetDirectory, removesOrphans, manifestPath, previousManifest, manifest);
+  }
+
+  /**
+   * Gets the path of the manifest for the given configuration. The manifest is kept within the nearest ancestor of the
+   * target directory named {@value #BUILD_DIRECTORY_NAME}, or within {@value #BUILD_DIRECTORY_NAME} in the working
+   * directory if there isn't one.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @return The path of the manifest.
+   */
+  public static Path getManifestPath(final GenerationConfig generationConfig) {
+    final var targetDirectory = generationConfig.getTargetDirectory();
+    for (var directory = targetDirectory == null ? null : targetDirectory.getAbsoluteFile();
+        directory != null;
+        directory = directory.getParentFile()) {
+      if (BUILD_DIRECTORY_NAME.equals(directory.getName())) {
+        return directory
+            .toPath()
+            .resolve(MANIFEST_FILE_NAME);
+      }
+    }
+    return new File(BUILD_DIRECTORY_NAME, MANIFEST_FILE_NAME).toPath();
+  }
+
+  private static SortedMap<URI, String> collectDocumentHashes(
+      final SchemaPartitioner partitioner,
+      final List<List<SchemaSource>> partitions) {
+    final var documentHashes = new TreeMap<URI, String>();
+    for (final var partition : partitions) {
+      documentHashes.putAll(partitioner.getDocumentHashes(partition));
+    }
+    return documentHashes;
+  }
+
+  private static GenerationManifest.Entry createEntry(
+      final String key,
+      final List<SchemaSource> partition,
+      final SortedMap<URI, String> documentHashes,
+      final Set<String> outputs) {
+    final var documents = new TreeMap<String, String>();
+    documentHashes.forEach((document, hash) -> documents.put(document.toString(), hash));
+    return new GenerationManifest.Entry(
+        key,
+        partition
+            .stream()
+            .map(source -> source
+                .url()
+                .toString())
+            .toList(),
+        documents,
+        outputs);
+  }
+
+  private static String createKey(
+      final String version,
+      final String configurationHash,
+      final List<SchemaSource> partition,
+      final SortedMap<URI, String> documentHashes) {
+    final var values = new ArrayList<String>();
+    values.add(version);
+    values.add(configurationHash);
+    for (final var source : partition) {
+      values.add(source
+          .url()
+          .toString());
+      values.add(source.nodeName());
+      values.add(source.packageName());
+      values.add(Boolean.toString(source.clearsSchemaCache()));
+    }
+    documentHashes.forEach((document, hash) -> {
+      values.add(document.toString());
+      values.add(hash);
+    });
+    return Digests.sha256(values.toArray(String[]::new));
+  }
+
+  private static boolean exist(final File targetDirectory, final Set<String> outputs) {
+    return outputs
+        .stream()
+        .allMatch(output -> new File(targetDirectory, output).isFile());
+  }
+
+  private static void finish(
+      final File targetDirectory,
+      final boolean removesOrphans,
+      final Path manifestPath,
+      final GenerationManifest previousManifest,
+      final GenerationManifest manifest) throws IOException {
+    ParallelGenerator.removeStaleFiles(targetDirectory, previousManifest.getOutputs(), manifest.getOutputs());
+    if (removesOrphans) {
+      ParallelGenerator.removeOrphans(targetDirectory, manifest.getOutputs());
+    }
+    manifest.write(manifestPath);
+  }
+
+  private static String getVersion() {
+    final var pkg = IncrementalGenerator.class.getPackage();
+    final var version = pkg == null ? null : pkg.getImplementationVersion();
+    return version == null ? UNKNOWN_VERSION : version;
+  }
+
+  private static String hashConfiguration(final GenerationConfig generationConfig) {
+    final var values = new ArrayList<String>();
+    final var methods = Arrays
+        .stream(GenerationConfig.class.getMethods())
+        .filter(method -> method.getParameterCount() == 0 && !SOURCE_METHOD_NAME.equals(method.getName()))
+        .sorted(Comparator.comparing(Method::getName))
+        .toList();
+    for (final var method : methods) {
+      values.add(method.getName());
+      try {
+        values.add(describe(method.invoke(generationConfig)));
+      } catch (final IllegalAccessException | InvocationTargetException exception) {
+        values.add(exception
+            .getClass()
+            .getName());
+      }
+    }
+    System
+        .getProperties()
+        .stringPropertyNames()
+        .stream()
+        .filter(name -> name.startsWith(PROPERTY_PREFIX))
+        .sorted()
+        .forEach(name -> {
+          values.add(name);
+          values.add(String.valueOf(System.getProperty(name)));
+        });
+    values.add(describePluginConfiguration(generationConfig));
+    return Digests.sha256(values.toArray(String[]::new));
+  }
+
+  private static String describePluginConfiguration(final GenerationConfig generationConfig) {
+    final var method = MethodUtils.getAccessibleMethod(generationConfig.getClass(), PLUGIN_CONTEXT_METHOD_NAME);
+    if (method == null) {
+      return describe(null);
+    }
+    final Object pluginContext;
+    try {
+      pluginContext = method.invoke(generationConfig);
+    } catch (final IllegalAccessException | InvocationTargetException exception) {
+      return exception
+          .getClass()
+          .getName();
+    }
+    if (!(pluginContext instanceof Map<?, ?> map)
+        || !(map.get(PLUGIN_DESCRIPTOR_KEY) instanceof PluginDescriptor pluginDescriptor)
+        || pluginDescriptor.getPlugin() == null) {
+      return describe(null);
+    }
+    final var plugin = pluginDescriptor.getPlugin();
+    final var configurations = new ArrayList<String>();
+    configurations.add(String.valueOf(plugin.getConfiguration()));
+    for (final var execution : plugin.getExecutions()) {
+      configurations.add(execution.getId() + '=' + execution.getConfiguration());
+    }
+    return configurations.toString();
+  }
+
+  private static String describe(final @Nullable Object value) {
+    if (value == null) {
+      return "null";
+    }
+    if (value instanceof Class<?> clazz) {
+      return clazz.getName();
+    }
+    if (value instanceof File file) {
+      return file.getAbsolutePath();
+    }
+    if (value instanceof Object[] array) {
+      return Arrays
+          .stream(array)
+          .map(IncrementalGenerator::describe)
+          .toList()
+          .toString();
+    }
+    if (value instanceof char[] array) {
+      return String.valueOf(array);
+    }
+    if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+        || value instanceof Character || value instanceof Enum<?> || value instanceof Iterable<?>
+        || value instanceof Map<?, ?>) {
+      return value.toString();
+    }
+    return value
+        .getClass()
+        .getName();
+  }
+
+  private static Set<String> toClassNames(final Set<String> outputs) {
+    final var classNames = new TreeSet<String>();
+    for (final var output : outputs) {
+      if (output.endsWith(JAVA_FILE_SUFFIX)) {
+        classNames.add(StringUtils
+            .removeEnd(output, JAVA_FILE_SUFFIX)
+            .replace('/', '.'));
+      }
+    }
+    return classNames;
+  }
+}
@@ -0,0 +1,43 @@
+package io.github.lengors.js2pets.generation;
+
+import java.util.Locale;
+
+/**
+ * Mode in which the js2pets generation entry points write the generated code.
+ *
+ * @author lengors
+ */
+public enum OutputMode {
+  /**
+   * Every generated file is written, as jsonschema2pojo does. Old output is removed before generating, if configured.
+   */
+  OVERWRITE,
+
+  /**
+   * Each generated file is rendered in memory and only written if its size or hash differ from the existing file, so
+   * the modification time of unchanged files is kept. If configured to remove old output, files that weren't generated
+   * are removed after writing, instead of emptying the target directory before generating.
+   */
+  CHANGED;
+
+  /**
+   * System property selecting the output mode, by its case-insensitive name.
+   */
+  public static final String PROPERTY = "js2pets.outputMode";
+
+  /**
+   * Gets the output mode selected by the {@value #PROPERTY} system property, defaulting to {@link #OVERWRITE}.
+   *
+   * @return The selected output mode.
+   * @throws IllegalArgumentException If the system property doesn't name an output mode.
+   */
+  public static OutputMode fromSystemProperties() {
+    final var name = System.getProperty(PROPERTY);
+    if (name == null || name.isBlank()) {
+      return OVERWRITE;
+    }
+    return valueOf(name
+        .trim()
+        .toUpperCase(Locale.ROOT));
+  }
+}
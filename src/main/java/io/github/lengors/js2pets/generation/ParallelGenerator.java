@@ -0,0 +1,612 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.AnnotatorFactory;
+import org.jsonschema2pojo.ContentResolver;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.RuleLogger;
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import com.sun.codemodel.JCodeModel;
+
+import io.github.lengors.js2pets.annotators.DeferredAnnotationQueue;
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+import io.github.lengors.js2pets.instrumentation.InstrumentationRecorder;
+import io.github.lengors.js2pets.schemas.IndexedSchemaStore;
+import io.github.lengors.js2pets.schemas.JsonFactoryUtils;
+import io.github.lengors.js2pets.streams.StreamUtils;
+
+/**
+ * Parallel counterpart of {@link org.jsonschema2pojo.Jsonschema2Pojo#generate(GenerationConfig, RuleLogger)}.
+ * <br />
+ * <br />
+ * The schema sources are split by {@link SchemaPartitioner} and each partition is generated within a
+ * {@link ForkJoinPool}, by a worker owning its rule factory, schema store and code model. Before anything is written,
+ * the defined classes of all code models are compared: if two partitions define the same class, or share a package in
+ * which a class shadows a {@code java.lang} class, the sequential generation would have named or imported things
+ * differently, so the sources are generated again sequentially. Otherwise, the code models are written one after the
+ * other, producing the same files as the sequential generation.
+ * <br />
+ * <br />
+ * In the {@link ConcurrentIo concurrent I/O mode}, the sources and the documents they reference are read ahead by a
+ * {@link PrefetchingContentResolver} shared by the partitioner and every schema store, and the files are written by a
+ * {@link ConcurrentFileWriter}, all of them being written before returning.
+ * <br />
+ * <br />
+ * In the instrumentation mode of {@link EnhancedRuleFactory}, the invocations recorded by the rule factories of every
+ * partition are aggregated, once their deferred annotator callbacks are run, and written as a single report by the
+ * end of the run.
+ *
+ * @author lengors
+ */
+public final class ParallelGenerator {
+  /**
+   * Name of the {@code java.lang} package.
+   */
+  private static final String JAVA_LANG_PACKAGE_NAME = "java.lang";
+
+  /**
+   * Suffix of the Java source files.
+   */
+  private static final String JAVA_FILE_SUFFIX = ".java";
+
+  private ParallelGenerator() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Generates the code for the sources of the given configuration using the common {@link ForkJoinPool}.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param logger           The logger to report generation progress to.
+   * @throws IOException If any of the sources can't be read or the code can't be written.
+   */
+  public static void generate(final GenerationConfig generationConfig, final RuleLogger logger) throws IOException {
+    generate(generationConfig, logger, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Generates the code for the sources of the given configuration using the given {@link ForkJoinPool}, writing it
+   * according to the {@link OutputMode} selected by the {@value OutputMode#PROPERTY} system property.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param logger           The logger to report generation progress to.
+   * @param pool             The pool to generate the partitions within.
+   * @throws IOException If any of the sources can't be read or the code can't be written.
+   */
+  public static void generate(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final ForkJoinPool pool) throws IOException {
+    generate(generationConfig, logger, pool, OutputMode.fromSystemProperties());
+  }
+
+  /**
+   * Generates the code for the sources of the given configuration using the given {@link ForkJoinPool}, writing it
+   * according to the given {@link OutputMode}.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param logger           The logger to report generation progress to.
+   * @param pool             The pool to generate the partitions within.
+   * @param outputMode       The mode to write the generated code with.
+   * @throws IOException If any of the sources can't be read or the code can't be written.
+   */
+  public static void generate(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final ForkJoinPool pool,
+      final OutputMode outputMode) throws IOException {
+    final var targetDirectory = generationConfig.getTargetDirectory();
+    if (generationConfig.isRemoveOldOutput() && outputMode == OutputMode.OVERWRITE) {
+      removeOldOutput(targetDirectory);
+    }
+
+    final var sources = SchemaSource.collect(generationConfig);
+    final var contentResolver = createContentResolver(generationConfig, sources);
+    final var partitions = partition(generationConfig, logger, sources, contentResolver);
+    final var instrumentationRecorder = createInstrumentationRecorder();
+    List<JCodeModel> codeModels;
+    Set<String> streamedFiles = Set.of();
+    if (partitions.size() > 1) {
+      codeModels = generate(generationConfig, logger, pool, partitions, contentResolver, instrumentationRecorder);
+      if (hasCollisions(codeModels, Set.of())) {
+        logger.info("Generated partitions collide with each other, generating sequentially");
+        streamedFiles = listStreamedFiles(codeModels);
+        codeModels = List.of(generate(generationConfig, logger, sources, contentResolver, instrumentationRecorder));
+      }
+    } else {
+      codeModels = List.of(generate(generationConfig, logger, sources, contentResolver, instrumentationRecorder));
+    }
+    writeInstrumentationReport(generationConfig, logger, instrumentationRecorder);
+
+    final var outputs = write(generationConfig, outputMode, codeModels);
+    if (!streamedFiles.isEmpty()) {
+      removeStaleFiles(targetDirectory, streamedFiles, outputs.get(0));
+    }
+    if (generationConfig.isRemoveOldOutput() && outputMode == OutputMode.CHANGED) {
+      removeOrphans(targetDirectory, outputs
+          .stream()
+          .flatMap(Set::stream)
+          .collect(Collectors.toSet()));
+    }
+  }
+
+  /**
+   * Generates the code for the given sources in a single code model, using a new rule factory and schema store. If
+   * the rule factory defers the annotator callbacks, they're all run once every source is generated, and its
+   * instrumentation report, if any, is written afterwards.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param logger           The logger to report generation progress to.
+   * @param sources          The sources to generate, in generation order.
+   * @return The code model with the generated code.
+   * @throws IOException If any of the sources can't be read.
+   */
+  public static JCodeModel generate(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final List<SchemaSource> sources) throws IOException {
+    return generate(generationConfig, logger, sources, createContentResolver(generationConfig), null);
+  }
+
+  /**
+   * Generates the code for the given sources in a single code model, using a new rule factory and schema store, and
+   * adds the invocations recorded by the rule factory to the given recorder.
+   *
+   * @param generationConfig        The generation configuration settings.
+   * @param logger                  The logger to report generation progress to.
+   * @param sources                 The sources to generate, in generation order.
+   * @param instrumentationRecorder The recorder of the run, or null if the instrumentation mode is disabled.
+   * @return The code model with the generated code.
+   * @throws IOException If any of the sources can't be read.
+   */
+  static JCodeModel generate(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final List<SchemaSource> sources,
+      final @Nullable InstrumentationRecorder instrumentationRecorder) throws IOException {
+    return generate(generationConfig, logger, sources, createContentResolver(generationConfig),
+        instrumentationRecorder);
+  }
+
+  private static JCodeModel generate(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final List<SchemaSource> sources,
+      final ContentResolver contentResolver,
+      final @Nullable InstrumentationRecorder instrumentationRecorder) throws IOException {
+    final var ruleFactory = createRuleFactory(generationConfig);
+    ruleFactory.setAnnotator(createAnnotator(generationConfig));
+    ruleFactory.setGenerationConfig(generationConfig);
+    ruleFactory.setLogger(logger);
+    ruleFactory.setSchemaStore(new IndexedSchemaStore(contentResolver, logger));
+    if (instrumentationRecorder != null && ruleFactory instanceof EnhancedRuleFactory enhancedRuleFactory) {
+      enhancedRuleFactory.setWritingInstrumentationReportOnCompletion(false);
+    }
+
+    final var schemaMapper = new SchemaMapper(ruleFactory, createSchemaGenerator(generationConfig));
+    final var codeModel = new JCodeModel();
+    DeferredAnnotationQueue.hold(ruleFactory);
+    for (final var source : sources) {
+      if (source.clearsSchemaCache()) {
+        ruleFactory
+            .getSchemaStore()
+            .clearCache();
+      }
+      schemaMapper.generate(codeModel, source.nodeName(), source.packageName(), source.url());
+    }
+    DeferredAnnotationQueue.flush(ruleFactory);
+    if (ruleFactory instanceof EnhancedRuleFactory enhancedRuleFactory) {
+      final var ruleFactoryRecorder = enhancedRuleFactory.getInstrumentationRecorder();
+      if (instrumentationRecorder == null) {
+        enhancedRuleFactory.writeInstrumentationReport();
+      } else if (ruleFactoryRecorder != null) {
+        instrumentationRecorder.merge(ruleFactoryRecorder);
+      }
+    }
+    return codeModel;
+  }
+
+  /**
+   * Generates each of the given partitions within the given pool, using a new rule factory, schema store and code model
+   * for each, and adds the invocations recorded by the rule factories to the given recorder.
+   *
+   * @param generationConfig        The generation configuration settings.
+   * @param logger                  The logger to report generation progress to.
+   * @param pool                    The pool to generate the partitions within.
+   * @param partitions              The partitions to generate.
+   * @param instrumentationRecorder The recorder of the run, or null if the instrumentation mode is disabled.
+   * @return The code models with the generated code, in the same order as the partitions.
+   * @throws IOException If any of the sources can't be read.
+   */
+  static List<JCodeModel> generate(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final ForkJoinPool pool,
+      final List<List<SchemaSource>> partitions,
+      final @Nullable InstrumentationRecorder instrumentationRecorder) throws IOException {
+    return generate(generationConfig, logger, pool, partitions, createContentResolver(generationConfig),
+        instrumentationRecorder);
+  }
+
+  private static List<JCodeModel> generate(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final ForkJoinPool pool,
+      final List<List<SchemaSource>> partitions,
+      final ContentResolver contentResolver,
+      final @Nullable InstrumentationRecorder instrumentationRecorder) throws IOException {
+    final var tasks = new ArrayList<ForkJoinTask<JCodeModel>>(partitions.size());
+    for (final var partition : partitions) {
+      tasks.add(pool.submit(() -> {
+        try {
+          return generate(generationConfig, logger, partition, contentResolver, instrumentationRecorder);
+        } catch (final IOException exception) {
+          throw new UncheckedIOException(exception);
+        }
+      }));
+    }
+
+    final var codeModels = new ArrayList<JCodeModel>(tasks.size());
+    try {
+      for (final var task : tasks) {
+        codeModels.add(task.join());
+      }
+    } catch (final UncheckedIOException exception) {
+      throw exception.getCause();
+    }
+    return codeModels;
+  }
+
+  private static List<List<SchemaSource>> partition(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final List<SchemaSource> sources,
+      final ContentResolver contentResolver) {
+    try {
+      return new SchemaPartitioner(contentResolver, generationConfig.getSourceType())
+          .partition(sources);
+    } catch (final RuntimeException exception) {
+      logger.debug("Unable to partition schema sources, generating sequentially: " + exception.getMessage());
+      return List.of(sources);
+    }
+  }
+
+  /**
+   * Checks whether writing the given code models one after the other could produce different files than generating
+   * their sources within a single code model. This happens when two code models define the same class, or share a
+   * package in which a class shadows a {@code java.lang} class and thus changes the imports of the others.
+   *
+   * @param codeModels         The code models to check.
+   * @param reservedClassNames The fully qualified names of classes already written by other means.
+   * @return Whether the code models collide with each other or with the reserved classes.
+   */
+  static boolean hasCollisions(final List<JCodeModel> codeModels, final Set<String> reservedClassNames) {
+    final var classOwners = new HashMap<String, Integer>();
+    final var packageOwners = new HashMap<String, Set<Integer>>();
+    final var shadowingPackages = new HashSet<String>();
+    for (final var className : reservedClassNames) {
+      final var packageName = StringUtils.substringBeforeLast(className, ".");
+      classOwners.put(className, -1);
+      packageOwners
+          .computeIfAbsent(packageName, name -> new HashSet<>())
+          .add(-1);
+      if (isJavaLangClass(StringUtils.substringAfterLast(className, "."))) {
+        shadowingPackages.add(packageName);
+      }
+    }
+    for (var index = 0; index < codeModels.size(); index++) {
+      for (final var pkg : StreamUtils
+          .stream(codeModels
+              .get(index)
+              .packages())
+          .toList()) {
+        for (final var definedClass : StreamUtils
+            .stream(pkg.classes())
+            .toList()) {
+          if (classOwners.put(definedClass.fullName(), index) != null) {
+            return true;
+          }
+          packageOwners
+              .computeIfAbsent(pkg.name(), name -> new HashSet<>())
+              .add(index);
+          if (isJavaLangClass(definedClass.name())) {
+            shadowingPackages.add(pkg.name());
+          }
+        }
+      }
+    }
+    return shadowingPackages
+        .stream()
+        .map(packageOwners::get)
+        .anyMatch(owners -> owners != null && owners.size() > 1);
+  }
+
+  /**
+   * Writes the given code models to the target directory, one after the other. In the {@link ConcurrentIo concurrent
+   * I/O mode}, the files are written concurrently, and all of them are written before returning.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param outputMode       The mode to write the code models with.
+   * @param codeModels       The code models to write.
+   * @return The paths of the files written by each code model, relative to the target directory and using {@code /}
+   *         as separator, in the same order as the code models.
+   * @throws IOException If the target directory can't be created or the code can't be written.
+   */
+  static List<Set<String>> write(
+      final GenerationConfig generationConfig,
+      final OutputMode outputMode,
+      final List<JCodeModel> codeModels) throws IOException {
+    final var targetDirectory = generationConfig.getTargetDirectory();
+    if (!targetDirectory.exists() && !targetDirectory.mkdirs()) {
+      throw new GenerationException("Could not create or access target directory " + targetDirectory
+          .getAbsolutePath());
+    }
+    final var outputEncoding = generationConfig.getOutputEncoding();
+    final var outputs = new ArrayList<Set<String>>(codeModels.size());
+    final var concurrentFileWriter = ConcurrentIo.isEnabled()
+        ? new ConcurrentFileWriter(ConcurrentIo.getMaxOpenFiles())
+        : null;
+    try {
+      for (final var codeModel : codeModels) {
+        final var files = new TreeSet<String>(listStreamedFiles(List.of(codeModel)));
+        codeModel.build(
+            new RecordingCodeWriter(targetDirectory, outputEncoding, outputMode, files, concurrentFileWriter),
+            new RecordingCodeWriter(targetDirectory, outputEncoding, outputMode, files, concurrentFileWriter));
+        outputs.add(Collections.unmodifiableSet(files));
+      }
+    } finally {
+      if (concurrentFileWriter != null) {
+        concurrentFileWriter.await();
+      }
+    }
+    return outputs;
+  }
+
+  /**
+   * Lists the files already written for the given code models by a {@link StreamingTypeEmitter}, which are the files of
+   * their hidden top-level classes.
+   *
+   * @param codeModels The code models to list the streamed files of.
+   * @return The paths of the streamed files, relative to the target directory and using {@code /} as separator.
+   */
+  static Set<String> listStreamedFiles(final List<JCodeModel> codeModels) {
+    final var files = new TreeSet<String>();
+    for (final var codeModel : codeModels) {
+      for (final var pkg : StreamUtils
+          .stream(codeModel.packages())
+          .toList()) {
+        for (final var definedClass : StreamUtils
+            .stream(pkg.classes())
+            .toList()) {
+          if (definedClass.isHidden()) {
+            files.add(RecordingCodeWriter.toPath(pkg, definedClass.name() + JAVA_FILE_SUFFIX));
+          }
+        }
+      }
+    }
+    return files;
+  }
+
+  /**
+   * Creates the recorder aggregating the invocations recorded by the rule factories of a generation run.
+   *
+   * @return The recorder, or null if the instrumentation mode is disabled.
+   */
+  static @Nullable InstrumentationRecorder createInstrumentationRecorder() {
+    return Boolean.getBoolean(EnhancedRuleFactory.INSTRUMENTATION_PROPERTY) ? new InstrumentationRecorder() : null;
+  }
+
+  /**
+   * Writes the report of the invocations aggregated by the given recorder, if it recorded any, to the path of the
+   * instrumentation report of the given configuration.
+   *
+   * @param generationConfig        The generation configuration settings.
+   * @param logger                  The logger to report a failure to write the report to.
+   * @param instrumentationRecorder The recorder of the run, or null if the instrumentation mode is disabled.
+   */
+  static void writeInstrumentationReport(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final @Nullable InstrumentationRecorder instrumentationRecorder) {
+    if (instrumentationRecorder == null || instrumentationRecorder.isEmpty()) {
+      return;
+    }
+    final var reportPath = EnhancedRuleFactory.getInstrumentationReportPath(generationConfig);
+    try {
+      instrumentationRecorder.writeReport(reportPath);
+    } catch (final IOException exception) {
+      logger.warn("Unable to write instrumentation report to " + reportPath, exception);
+    }
+  }
+
+  private static Annotator createAnnotator(final GenerationConfig generationConfig) {
+    final var annotatorFactory = new AnnotatorFactory(generationConfig);
+    return annotatorFactory.getAnnotator(
+        annotatorFactory.getAnnotator(generationConfig.getAnnotationStyle()),
+        annotatorFactory.getAnnotator(generationConfig.getCustomAnnotator()));
+  }
+
+  /**
+   * Creates a content resolver parsing documents in the format of the sources of the given configuration.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @return The content resolver.
+   */
+  static ContentResolver createContentResolver(final GenerationConfig generationConfig) {
+    return new ContentResolver(JsonFactoryUtils.createJsonFactory(generationConfig));
+  }
+
+  private static ContentResolver createContentResolver(
+      final GenerationConfig generationConfig,
+      final List<SchemaSource> sources) {
+    if (!ConcurrentIo.isEnabled()) {
+      return createContentResolver(generationConfig);
+    }
+    final var contentResolver = new PrefetchingContentResolver(
+        JsonFactoryUtils.createJsonFactory(generationConfig),
+        generationConfig.getSourceType(),
+        ConcurrentIo.getMaxOpenFiles());
+    contentResolver.prefetch(sources
+        .stream()
+        .map(source -> SchemaPartitioner.toDocument(source
+            .url()
+            .toString()))
+        .toList());
+    return contentResolver;
+  }
+
+  private static RuleFactory createRuleFactory(final GenerationConfig generationConfig) {
+    final var ruleFactoryClass = generationConfig.getCustomRuleFactory();
+    if (!RuleFactory.class.isAssignableFrom(ruleFactoryClass)) {
+      throw new IllegalArgumentException("The class name given as a rule factory (" + ruleFactoryClass.getName()
+          + ") does not refer to a class that implements " + RuleFactory.class.getName());
+    }
+    try {
+      return (RuleFactory) ruleFactoryClass
+          .getConstructor()
+          .newInstance();
+    } catch (final ReflectiveOperationException exception) {
+      throw new IllegalArgumentException("Failed to create a rule factory from the given class", exception);
+    }
+  }
+
+  private static SchemaGenerator createSchemaGenerator(final GenerationConfig generationConfig) {
+    return new SchemaGenerator(JsonFactoryUtils.createJsonFactory(generationConfig));
+  }
+
+  /**
+   * Checks whether the given simple name is the name of a {@code java.lang} class, which a generated class with the
+   * same name shadows.
+   *
+   * @param name The simple name to check.
+   * @return Whether there is a {@code java.lang} class with the given name.
+   */
+  static boolean isJavaLangClass(final String name) {
+    try {
+      Class.forName(JAVA_LANG_PACKAGE_NAME + "." + name, false, ParallelGenerator.class.getClassLoader());
+      return true;
+    } catch (final ClassNotFoundException exception) {
+      return false;
+    }
+  }
+
+  /**
+   * Removes every file within the given directory that isn't one of the given files, along with the directories left
+   * empty.
+   *
+   * @param directory The directory to remove the orphaned files from.
+   * @param files     The paths of the files to keep, relative to the directory and using {@code /} as separator.
+   * @throws IOException If the directory can't be walked or a file can't be removed.
+   */
+  static void removeOrphans(final File directory, final Set<String> files) throws IOException {
+    final var root = directory
+        .getAbsoluteFile()
+        .toPath();
+    if (!Files.isDirectory(root)) {
+      return;
+    }
+    final List<Path> paths;
+    try (var walkedPaths = Files.walk(root)) {
+      paths = walkedPaths
+          .sorted(Comparator.reverseOrder())
+          .toList();
+    }
+    for (final var path : paths) {
+      if (path.equals(root)) {
+        continue;
+      }
+      if (Files.isDirectory(path)) {
+        try (var children = Files.list(path)) {
+          if (children
+              .findAny()
+              .isEmpty()) {
+            Files.delete(path);
+          }
+        }
+      } else if (!files.contains(root
+          .relativize(path)
+          .toString()
+          .replace(File.separatorChar, '/'))) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  /**
+   * Removes the given previously written files that weren't written again, along with the directories left empty.
+   *
+   * @param targetDirectory The directory the files were written to.
+   * @param previousFiles   The paths of the previously written files, relative to the target directory and using
+   *                        {@code /} as separator.
+   * @param files           The paths of the files written again, which are kept.
+   * @throws IOException If a file or directory can't be removed.
+   */
+  static void removeStaleFiles(
+      final File targetDirectory,
+      final Set<String> previousFiles,
+      final Set<String> files) throws IOException {
+    final var targetPath = targetDirectory
+        .getAbsoluteFile()
+        .toPath();
+    for (final var file : previousFiles) {
+      if (files.contains(file)) {
+        continue;
+      }
+      var path = targetPath.resolve(file);
+      Files.deleteIfExists(path);
+      for (path = path.getParent(); path != null && !path.equals(targetPath) && path.startsWith(targetPath);
+          path = path.getParent()) {
+        try (var children = Files.list(path)) {
+          if (children
+              .findAny()
+              .isPresent()) {
+            break;
+          }
+        }
+        Files.delete(path);
+      }
+    }
+  }
+
+  /**
+   * Removes every file and directory within the given directory, as jsonschema2pojo does when configured to remove old
+   * output.
+   *
+   * @param directory The directory to empty.
+   */
+  static void removeOldOutput(final File directory) {
+    final var files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (final var file : files) {
+      removeOldOutput(file);
+      if (!file.delete()) {
+        file.deleteOnExit();
+      }
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package io.github.lengors.js2pets.generation;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsonschema2pojo.ContentResolver;
+import org.jsonschema2pojo.SourceType;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Content resolver reading documents ahead of generation. {@link #prefetch(Collection)} reads the given documents and,
+ * for schema sources, the transitive closure of the documents they reference through {@code $ref}, each on its own
+ * virtual thread and with at most a given number of them being read at once. The schema stores and the
+ * {@link SchemaPartitioner} resolving through this resolver then get the documents from memory instead of reading them
+ * one after the other.
+ * <br />
+ * <br />
+ * Documents that can't be prefetched, and those that weren't, are resolved by jsonschema2pojo's
+ * {@link ContentResolver} when requested, which reports any failure as it would without prefetching. Every resolved
+ * document is a copy of the prefetched one, so the schemas created from it can't change what's shared.
+ *
+ * @author lengors
+ */
+public final class PrefetchingContentResolver extends ContentResolver {
+  /**
+   * Name of the keyword referencing other schemas.
+   */
+  private static final String REF_KEYWORD = "$ref";
+
+  /**
+   * Prefetched documents, by URI.
+   */
+  private final Map<URI, JsonNode> documents = new ConcurrentHashMap<>();
+
+  /**
+   * Whether the references of the prefetched documents are followed.
+   */
+  private final boolean followingReferences;
+
+  /**
+   * Maximum number of documents read at once.
+   */
+  private final int maxOpenFiles;
+
+  /**
+   * Creates a resolver.
+   *
+   * @param jsonFactory  The factory to parse the documents with.
+   * @param sourceType   The source type of the documents, whose references are only followed for schema sources.
+   * @param maxOpenFiles The maximum number of documents read at once.
+   * @throws IllegalArgumentException If the maximum number of documents isn't positive.
+   */
+  public PrefetchingContentResolver(
+      final JsonFactory jsonFactory,
+      final SourceType sourceType,
+      final int maxOpenFiles) {
+    super(jsonFactory);
+    if (maxOpenFiles < 1) {
+      throw new IllegalArgumentException("Maximum number of open files must be positive: " + maxOpenFiles);
+    }
+    this.followingReferences = sourceType != SourceType.JSON && sourceType != SourceType.YAML;
+    this.maxOpenFiles = maxOpenFiles;
+  }
+
+  /**
+   * Reads the given documents and the documents they reference, returning once all of them are read.
+   *
+   * @param roots The URIs of the documents to read.
+   * @throws IllegalStateException If interrupted while waiting for the documents to be read.
+   */
+  public void prefetch(final Collection<URI> roots) {
+    final var prefetch = new Prefetch();
+    for (final var root : roots) {
+      prefetch.fetch(SchemaPartitioner.toDocument(root.toString()));
+    }
+    prefetch.await();
+  }
+
+  /**
+   * Gets the number of prefetched documents.
+   *
+   * @return The number of prefetched documents.
+   */
+  public int size() {
+    return documents.size();
+  }
+
+  /**
+   * Resolves the document at the given URI, from memory if it was prefetched.
+   *
+   * @param uri The URI of the document.
+   * @return The parsed document.
+   */
+  @Override
+  public JsonNode resolve(final URI uri) {
+    final var document = uri.getFragment() == null ? documents.get(uri.normalize()) : null;
+    return document == null ? super.resolve(uri) : document.deepCopy();
+  }
+
+  /**
+   * State of a single {@link #prefetch(Collection)} call.
+   *
+   * @author lengors
+   */
+  private final class Prefetch {
+    /**
+     * Documents already being read, or read, by this call.
+     */
+    private final Set<URI> visitedDocuments = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Permits for the documents being read.
+     */
+    private final Semaphore permits = new Semaphore(maxOpenFiles);
+
+    /**
+     * Number of documents not read yet, plus one until the caller awaits.
+     */
+    private final AtomicInteger pendingDocuments = new AtomicInteger(1);
+
+    /**
+     * Latch released once every document is read.
+     */
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    void fetch(final URI document) {
+      if (!visitedDocuments.add(document)) {
+        return;
+      }
+      pendingDocuments.incrementAndGet();
+      Thread
+          .ofVirtual()
+          .name("js2pets-prefetcher")
+          .start(() -> {
+            try {
+              read(document);
+            } catch (final InterruptedException exception) {
+              Thread
+                  .currentThread()
+                  .interrupt();
+            } catch (final RuntimeException exception) {
+              // Left to be resolved, and reported, when requested
+            } finally {
+              arrive();
+            }
+          });
+    }
+
+    void await() {
+      arrive();
+      try {
+        done.await();
+      } catch (final InterruptedException exception) {
+        Thread
+            .currentThread()
+            .interrupt();
+        throw new IllegalStateException("Interrupted while prefetching documents", exception);
+      }
+    }
+
+    private void read(final URI document) throws InterruptedException {
+      final JsonNode content;
+      permits.acquire();
+      try {
+        content = PrefetchingContentResolver.super.resolve(document);
+      } finally {
+        permits.release();
+      }
+      documents.put(document, content);
+      if (followingReferences) {
+        followReferences(document, content);
+      }
+    }
+
+    private void followReferences(final URI document, final JsonNode node) {
+      if (node.isObject()) {
+        final var ref = node.get(REF_KEYWORD);
+        if (ref != null && ref.isTextual()) {
+          final var referencedDocument = SchemaPartitioner.resolveReference(document, ref.asText());
+          if (referencedDocument != null) {
+            fetch(referencedDocument);
+          }
+        }
+      }
+      node
+          .elements()
+          .forEachRemaining(child -> followReferences(document, child));
+    }
+
+    private void arrive() {
+      if (pendingDocuments.decrementAndGet() == 0) {
+        done.countDown();
+      }
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Set;
+
+import org.checkerframework.checker.mustcall.qual.MustCallAlias;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.FileCodeWriterWithEncoding;
+
+import com.sun.codemodel.JPackage;
+
+import io.github.lengors.js2pets.files.Digests;
+import io.github.lengors.js2pets.jfr.OutputFileEvent;
+
+/**
+ * File code writer recording the path of every file it writes, relative to its target directory. With
+ * {@link OutputMode#CHANGED}, files are rendered in memory and only written if their content differs from the existing
+ * files. With a {@link ConcurrentFileWriter}, files are rendered in memory and written by it, in either mode.
+ *
+ * @author lengors
+ */
+final class RecordingCodeWriter extends FileCodeWriterWithEncoding {
+  /**
+   * Directory the files are written to.
+   */
+  private final File targetDirectory;
+
+  /**
+   * Mode the files are written with.
+   */
+  private final OutputMode outputMode;
+
+  /**
+   * Paths of the files written, using {@code /} as separator.
+   */
+  private final Set<String> files;
+
+  /**
+   * Writer the files are submitted to, or null to write them on the calling thread.
+   */
+  private final @Nullable ConcurrentFileWriter concurrentFileWriter;
+
+  /**
+   * Instantiates the writer.
+   *
+   * @param targetDirectory The directory to write the files to.
+   * @param encoding        The encoding of the written files.
+   * @param outputMode      The mode to write the files with.
+   * @param files           The set to record the paths of the written files in.
+   * @throws IOException If the target directory isn't writable.
+   */
+  RecordingCodeWriter(
+      final File targetDirectory,
+      final String encoding,
+      final OutputMode outputMode,
+      final Set<String> files) throws IOException {
+    this(targetDirectory, encoding, outputMode, files, null);
+  }
+
+  /**
+   * Instantiates the writer.
+   *
+   * @param targetDirectory      The directory to write the files to.
+   * @param encoding             The encoding of the written files.
+   * @param outputMode           The mode to write the files with.
+   * @param files                The set to record the paths of the written files in.
+   * @param concurrentFileWriter The writer to submit the files to, or null to write them on the calling thread.
+   * @throws IOException If the target directory isn't writable.
+   */
+  RecordingCodeWriter(
+      final File targetDirectory,
+      final String encoding,
+      final OutputMode outputMode,
+      final Set<String> files,
+      final @Nullable ConcurrentFileWriter concurrentFileWriter) throws IOException {
+    super(targetDirectory, encoding);
+    this.targetDirectory = targetDirectory;
+    this.outputMode = outputMode;
+    this.files = files;
+    this.concurrentFileWriter = concurrentFileWriter;
+  }
+
+  @Override
+  public OutputStream openBinary(final JPackage pkg, final String fileName) throws IOException {
+    final var path = toPath(pkg, fileName);
+    files.add(path);
+    final var event = new OutputFileEvent();
+    final var currentConcurrentFileWriter = concurrentFileWriter;
+    if (currentConcurrentFileWriter != null) {
+      return submittingOutputStream(currentConcurrentFileWriter, event, path);
+    }
+    if (outputMode == OutputMode.OVERWRITE) {
+      if (!event.isEnabled()) {
+        return super.openBinary(pkg, fileName);
+      }
+      event.begin();
+      return new RecordedOutputStream(super.openBinary(pkg, fileName), event, path);
+    }
+
+    final var file = new File(targetDirectory, path);
+    event.begin();
+    return new ByteArrayOutputStream() {
+      @Override
+      public void close() throws IOException {
+        super.close();
+        final var content = toByteArray();
+        final var changed = !hasContent(file, content);
+        if (changed) {
+          try (var outputStream = openFile(pkg, fileName)) {
+            outputStream.write(content);
+          }
+        }
+        event.finish(path, content.length, changed);
+      }
+    };
+  }
+
+  /**
+   * Gets the path of the given file within the given package, relative to the target directory.
+   *
+   * @param pkg      The package of the file.
+   * @param fileName The name of the file.
+   * @return The path of the file, using {@code /} as separator.
+   */
+  static String toPath(final JPackage pkg, final String fileName) {
+    final var packagePath = pkg
+        .name()
+        .replace('.', '/');
+    return packagePath.isEmpty() ? fileName : packagePath + "/" + fileName;
+  }
+
+  private OutputStream submittingOutputStream(
+      final ConcurrentFileWriter currentConcurrentFileWriter,
+      final OutputFileEvent event,
+      final String path) {
+    final var file = new File(targetDirectory, path);
+    event.begin();
+    return new ByteArrayOutputStream() {
+      @Override
+      public void close() throws IOException {
+        super.close();
+        final var content = toByteArray();
+        currentConcurrentFileWriter.submit(file.toPath(), () -> {
+          final var changed = outputMode == OutputMode.OVERWRITE || !hasContent(file, content);
+          if (changed) {
+            ConcurrentFileWriter.writeDurably(file.toPath(), content);
+          }
+          event.finish(path, content.length, changed);
+        });
+      }
+    };
+  }
+
+  private OutputStream openFile(final JPackage pkg, final String fileName) throws IOException {
+    return super.openBinary(pkg, fileName);
+  }
+
+  private static boolean hasContent(final File file, final byte[] content) throws IOException {
+    if (!file.isFile() || file.length() != content.length) {
+      return false;
+    }
+    try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+      return Arrays.equals(Digests.sha256(inputStream), Digests.sha256(content));
+    }
+  }
+
+  /**
+   * Output stream counting the bytes written to the wrapped stream, and finishing an {@link OutputFileEvent} once
+   * closed.
+   *
+   * @author lengors
+   */
+  private static final class RecordedOutputStream extends FilterOutputStream {
+    /**
+     * The event to finish once closed.
+     */
+    private final OutputFileEvent event;
+
+    /**
+     * Path of the file, relative to the target directory.
+     */
+    private final String path;
+
+    /**
+     * Number of bytes written.
+     */
+    private long size;
+
+    @MustCallAlias
+    RecordedOutputStream(
+        final @MustCallAlias OutputStream outputStream,
+        final OutputFileEvent event,
+        final String path) {
+      super(outputStream);
+      this.event = event;
+      this.path = path;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      out.write(b);
+      size++;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      out.write(b, off, len);
+      size += len;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        event.finish(path, size, true);
+      }
+    }
+  }
+}
@@ -0,0 +1,216 @@
+package io.github.lengors.js2pets.generation;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.ContentResolver;
+import org.jsonschema2pojo.SourceType;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.github.lengors.js2pets.files.Digests;
+
+/**
+ * Partitions schema sources into groups that can be generated independently from each other. Two sources end up in the
+ * same group whenever they reference, directly or transitively, a common document, which makes sure every referenced
+ * document is generated once and by a single schema store, as it is within the sequential generation.
+ *
+ * @author lengors
+ */
+public final class SchemaPartitioner {
+  /**
+   * Name of the keyword referencing other schemas.
+   */
+  private static final String REF_KEYWORD = "$ref";
+
+  /**
+   * Resolver used to read the referenced documents.
+   */
+  private final ContentResolver contentResolver;
+
+  /**
+   * Source type of the schema sources.
+   */
+  private final SourceType sourceType;
+
+  /**
+   * Parent of each document within the union-find forest.
+   */
+  private final Map<URI, URI> parents = new HashMap<>();
+
+  /**
+   * Content hash of each document whose references were already followed.
+   */
+  private final Map<URI, String> documentHashes = new HashMap<>();
+
+  /**
+   * Content hashes of the documents of each partition, by the partition's root document, built on first use.
+   */
+  private @Nullable Map<URI, SortedMap<URI, String>> partitionDocumentHashes;
+
+  /**
+   * Instantiates a partitioner.
+   *
+   * @param contentResolver The resolver used to read the referenced documents.
+   * @param sourceType      The source type of the schema sources.
+   */
+  public SchemaPartitioner(final ContentResolver contentResolver, final SourceType sourceType) {
+    this.contentResolver = contentResolver;
+    this.sourceType = sourceType;
+  }
+
+  /**
+   * Partitions the given sources. Partitions are ordered by their first source and keep the relative order of their
+   * sources.
+   *
+   * @param sources The sources in generation order.
+   * @return The partitions.
+   * @throws IllegalArgumentException If any of the sources or the documents they reference can't be read or resolved.
+   */
+  public List<List<SchemaSource>> partition(final List<SchemaSource> sources) {
+    partitionDocumentHashes = null;
+    if (sourceType == SourceType.JSON || sourceType == SourceType.YAML) {
+      for (final var source : sources) {
+        final var document = toDocument(source
+            .url()
+            .toString());
+        find(document);
+        documentHashes.put(document, Digests.sha256(contentResolver
+            .resolve(document)
+            .toString()));
+      }
+      return sources
+          .stream()
+          .map(List::of)
+          .toList();
+    }
+
+    final var documents = new ArrayList<URI>(sources.size());
+    for (final var source : sources) {
+      final var document = toDocument(source
+          .url()
+          .toString());
+      documents.add(document);
+      follow(document);
+    }
+
+    final var partitions = new LinkedHashMap<URI, List<SchemaSource>>();
+    for (var index = 0; index < sources.size(); index++) {
+      partitions
+          .computeIfAbsent(find(documents.get(index)), root -> new ArrayList<>())
+          .add(sources.get(index));
+    }
+    return List.copyOf(partitions.values());
+  }
+
+  /**
+   * Gets the content hashes of the documents of the given partition, that is, of its sources and of every document they
+   * reference, directly or transitively. The partition must have been returned by {@link #partition(List)}.
+   *
+   * @param partition The partition whose documents to get.
+   * @return The content hash of each document, sorted by the document's URI.
+   */
+  public SortedMap<URI, String> getDocumentHashes(final List<SchemaSource> partition) {
+    if (partition.isEmpty()) {
+      return Collections.emptySortedMap();
+    }
+    var currentPartitionDocumentHashes = partitionDocumentHashes;
+    if (currentPartitionDocumentHashes == null) {
+      currentPartitionDocumentHashes = new HashMap<>();
+      for (final var entry : documentHashes.entrySet()) {
+        currentPartitionDocumentHashes
+            .computeIfAbsent(find(entry.getKey()), root -> new TreeMap<>())
+            .put(entry.getKey(), entry.getValue());
+      }
+      partitionDocumentHashes = currentPartitionDocumentHashes;
+    }
+    final var documentHashesOfPartition = currentPartitionDocumentHashes.get(find(toDocument(partition
+        .get(0)
+        .url()
+        .toString())));
+    return documentHashesOfPartition == null
+        ? Collections.emptySortedMap()
+        : Collections.unmodifiableSortedMap(documentHashesOfPartition);
+  }
+
+  private void follow(final URI document) {
+    final var pendingDocuments = new ArrayDeque<URI>();
+    pendingDocuments.add(document);
+    while (!pendingDocuments.isEmpty()) {
+      final var currentDocument = pendingDocuments.remove();
+      if (documentHashes.containsKey(currentDocument)) {
+        continue;
+      }
+      find(currentDocument);
+      final var content = contentResolver.resolve(currentDocument);
+      documentHashes.put(currentDocument, Digests.sha256(content.toString()));
+      collectReferences(currentDocument, content, pendingDocuments);
+    }
+  }
+
+  private void collectReferences(final URI document, final JsonNode node, final ArrayDeque<URI> pendingDocuments) {
+    if (node.isObject()) {
+      final var ref = node.get(REF_KEYWORD);
+      if (ref != null && ref.isTextual()) {
+        final var referencedDocument = resolveReference(document, ref.asText());
+        if (referencedDocument != null) {
+          union(document, referencedDocument);
+          pendingDocuments.add(referencedDocument);
+        }
+      }
+    }
+    node
+        .elements()
+        .forEachRemaining(child -> collectReferences(document, child, pendingDocuments));
+  }
+
+  private URI find(final URI document) {
+    var root = document;
+    var parent = parents.putIfAbsent(root, root);
+    while (parent != null && !parent.equals(root)) {
+      root = parent;
+      parent = parents.get(root);
+    }
+    var current = document;
+    while (!current.equals(root)) {
+      final var next = parents.put(current, root);
+      current = next == null ? root : next;
+    }
+    return root;
+  }
+
+  private void union(final URI document, final URI otherDocument) {
+    final var root = find(document);
+    final var otherRoot = find(otherDocument);
+    if (!root.equals(otherRoot)) {
+      parents.put(otherRoot, root);
+    }
+  }
+
+  static @Nullable URI resolveReference(final URI document, final String ref) {
+    final var path = "#".equals(ref) ? ref : StringUtils.stripEnd(ref, "#?&/");
+    final var documentPath = StringUtils.substringBefore(path, "#");
+    if (documentPath.isEmpty()) {
+      return null;
+    }
+    return toDocument(document
+        .resolve(documentPath)
+        .toString());
+  }
+
+  static URI toDocument(final String uri) {
+    return URI
+        .create(StringUtils.substringBefore(uri, "#"))
+        .normalize();
+  }
+}
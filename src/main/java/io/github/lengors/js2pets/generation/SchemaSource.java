@@ -0,0 +1,88 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.jsonschema2pojo.SourceType;
+import org.jsonschema2pojo.URLProtocol;
+import org.jsonschema2pojo.util.URLUtil;
+
+/**
+ * Schema source to generate code from, along with the node and package names it's generated with.
+ *
+ * @param url                 The URL of the schema source.
+ * @param nodeName            The name of the node the root type is generated from.
+ * @param packageName         The package the root type is generated in.
+ * @param clearsSchemaCache   Whether the schema store's cache must be cleared before generating this source.
+ * @author lengors
+ */
+public record SchemaSource(URL url, String nodeName, String packageName, boolean clearsSchemaCache) {
+  /**
+   * Collects the schema sources of the given configuration, in the same order and with the same node and package names
+   * as {@link Jsonschema2Pojo#generate(GenerationConfig, org.jsonschema2pojo.RuleLogger)} generates them.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @return The schema sources in generation order.
+   * @throws IOException If a source file's URL can't be created.
+   */
+  public static List<SchemaSource> collect(final GenerationConfig generationConfig) throws IOException {
+    final var sources = new ArrayList<SchemaSource>();
+    final var packageName = StringUtils.defaultString(generationConfig.getTargetPackage());
+    final var urls = generationConfig.getSource();
+    while (urls.hasNext()) {
+      final var url = urls.next();
+      if (URLUtil.parseProtocol(url.toString()) == URLProtocol.FILE && URLUtil
+          .getFileFromURL(url)
+          .isDirectory()) {
+        collect(generationConfig, packageName, listFiles(generationConfig, URLUtil.getFileFromURL(url)), sources);
+      } else {
+        sources.add(new SchemaSource(url, Jsonschema2Pojo.getNodeName(url, generationConfig), packageName, false));
+      }
+    }
+    return sources;
+  }
+
+  private static void collect(
+      final GenerationConfig generationConfig,
+      final String packageName,
+      final List<File> files,
+      final List<SchemaSource> sources) throws IOException {
+    files.sort(generationConfig
+        .getSourceSortOrder()
+        .getComparator());
+    final var sourceType = generationConfig.getSourceType();
+    final var clearsSchemaCache = sourceType == SourceType.JSON || sourceType == SourceType.YAML;
+    for (final var file : files) {
+      if (file.isFile()) {
+        final var url = file
+            .toURI()
+            .toURL();
+        sources.add(new SchemaSource(
+            url,
+            Jsonschema2Pojo.getNodeName(url, generationConfig),
+            packageName,
+            clearsSchemaCache));
+      } else {
+        collect(generationConfig, childPackageName(packageName, file.getName()), listFiles(generationConfig, file),
+            sources);
+      }
+    }
+  }
+
+  private static String childPackageName(final String packageName, final String directoryName) {
+    final var childName = directoryName.replaceAll("[^0-9a-zA-Z_$]", "_");
+    return StringUtils.isEmpty(packageName) ? childName : packageName + "." + childName;
+  }
+
+  private static List<File> listFiles(final GenerationConfig generationConfig, final File directory) {
+    final var files = directory.listFiles(generationConfig.getFileFilter());
+    return files == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(files));
+  }
+}
@@ -0,0 +1,232 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.RuleLogger;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JType;
+
+import io.github.lengors.js2pets.codemodel.StreamingUtils;
+
+/**
+ * Writes top-level types to the target directory as soon as their rule and all of their annotator passes are done,
+ * then releases them with {@link StreamingUtils#release(JDefinedClass)}. Only a hidden, lightweight version of each
+ * type stays in the code model, so that later {@code $ref}s still resolve to it and its name stays taken, but the
+ * code model doesn't hold every generated body and JavaDoc until it's built.
+ * <br />
+ * <br />
+ * Types are completed by the object and enum rule wrappers. A type still being generated by an enclosing object rule,
+ * which happens with recursive schemas, is left for the code model to write when built.
+ *
+ * @author lengors
+ */
+public final class StreamingTypeEmitter {
+  /**
+   * Directory the types are written to.
+   */
+  private final File targetDirectory;
+
+  /**
+   * Encoding of the written files.
+   */
+  private final String outputEncoding;
+
+  /**
+   * Mode the types are written with.
+   */
+  private final OutputMode outputMode;
+
+  /**
+   * Logger to report ambiguous imports to.
+   */
+  private final RuleLogger logger;
+
+  /**
+   * Paths of the files written, relative to the target directory and using {@code /} as separator.
+   */
+  private final Set<String> files = new TreeSet<>();
+
+  /**
+   * Names of the packages with types written.
+   */
+  private final Set<String> packageNames = new HashSet<>();
+
+  /**
+   * Schemas whose object rule is still being applied, innermost first.
+   */
+  private final Deque<Schema> openSchemas = new ArrayDeque<>();
+
+  /**
+   * Code writer used to write the types, or null if not created yet.
+   */
+  private @Nullable RecordingCodeWriter codeWriter;
+
+  /**
+   * Creates an emitter writing to the target directory of the given configuration, with the output mode selected by
+   * the {@value OutputMode#PROPERTY} system property.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param logger           The logger to report ambiguous imports to.
+   */
+  public StreamingTypeEmitter(final GenerationConfig generationConfig, final RuleLogger logger) {
+    this.targetDirectory = generationConfig.getTargetDirectory();
+    this.outputEncoding = generationConfig.getOutputEncoding();
+    this.outputMode = OutputMode.fromSystemProperties();
+    this.logger = logger;
+  }
+
+  /**
+   * Marks the given schema as being generated by an object rule, so that its type isn't written until the rule is
+   * done.
+   *
+   * @param schema The schema being generated.
+   */
+  public void open(final Schema schema) {
+    openSchemas.push(schema);
+  }
+
+  /**
+   * Marks the given schema as no longer being generated by an object rule.
+   *
+   * @param schema The schema done generating.
+   */
+  public void close(final Schema schema) {
+    openSchemas.removeFirstOccurrence(schema);
+  }
+
+  /**
+   * Writes and releases the given type, if it's a top-level class that isn't still being generated by an enclosing
+   * object rule and hasn't been written yet.
+   *
+   * @param type The completed type.
+   * @return Whether the type was written.
+   * @throws GenerationException If the type can't be written.
+   */
+  public boolean complete(final JType type) {
+    if (!(type instanceof JDefinedClass definedClass) || definedClass.outer() != null || definedClass.isHidden()
+        || isOpen(definedClass)) {
+      return false;
+    }
+
+    final var packageName = definedClass
+        ._package()
+        .name();
+    if (ParallelGenerator.isJavaLangClass(definedClass.name()) && packageNames.contains(packageName)) {
+      logger.warn("Class " + definedClass.fullName() + " shadows a java.lang class after other classes of its package "
+          + "were streamed, which might be referencing the java.lang class ambiguously");
+    }
+
+    try {
+      if (!StreamingUtils.write(definedClass, getCodeWriter())) {
+        return false;
+      }
+    } catch (final IOException exception) {
+      throw new GenerationException("Could not write class " + definedClass.fullName(), exception);
+    }
+    packageNames.add(packageName);
+    StreamingUtils.release(definedClass);
+    return true;
+  }
+
+  /**
+   * Gets the paths of the files written so far.
+   *
+   * @return The paths of the files written, relative to the target directory and using {@code /} as separator.
+   */
+  public Set<String> getFiles() {
+    return files;
+  }
+
+  /**
+   * Marks the given schema as being generated by an object rule, if the given rule factory provides an emitter.
+   *
+   * @param ruleFactory The rule factory to get the emitter from.
+   * @param schema      The schema being generated.
+   */
+  public static void open(final RuleFactory ruleFactory, final Schema schema) {
+    final var emitter = get(ruleFactory);
+    if (emitter != null) {
+      emitter.open(schema);
+    }
+  }
+
+  /**
+   * Marks the given schema as no longer being generated by an object rule, if the given rule factory provides an
+   * emitter.
+   *
+   * @param ruleFactory The rule factory to get the emitter from.
+   * @param schema      The schema done generating.
+   */
+  public static void close(final RuleFactory ruleFactory, final Schema schema) {
+    final var emitter = get(ruleFactory);
+    if (emitter != null) {
+      emitter.close(schema);
+    }
+  }
+
+  /**
+   * Writes and releases the given type, if the given rule factory provides an emitter.
+   *
+   * @param ruleFactory The rule factory to get the emitter from.
+   * @param type        The completed type.
+   * @throws GenerationException If the type can't be written.
+   */
+  public static void complete(final RuleFactory ruleFactory, final JType type) {
+    final var emitter = get(ruleFactory);
+    if (emitter != null) {
+      emitter.complete(type);
+    }
+  }
+
+  private static @Nullable StreamingTypeEmitter get(final RuleFactory ruleFactory) {
+    return ruleFactory instanceof Provider provider ? provider.getStreamingTypeEmitter() : null;
+  }
+
+  private RecordingCodeWriter getCodeWriter() throws IOException {
+    var currentCodeWriter = codeWriter;
+    if (currentCodeWriter == null) {
+      if (!targetDirectory.exists() && !targetDirectory.mkdirs()) {
+        throw new IOException("Could not create or access target directory " + targetDirectory.getAbsolutePath());
+      }
+      currentCodeWriter = new RecordingCodeWriter(targetDirectory, outputEncoding, outputMode, files);
+      codeWriter = currentCodeWriter;
+    }
+    return currentCodeWriter;
+  }
+
+  private boolean isOpen(final JDefinedClass definedClass) {
+    for (final var schema : openSchemas) {
+      if (schema.getJavaType() == definedClass) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Interface for rule factories streaming the types they generate.
+   *
+   * @author lengors
+   */
+  public interface Provider {
+    /**
+     * Gets the emitter to stream the generated types with.
+     *
+     * @return The emitter, or null if streaming is disabled.
+     */
+    @Nullable
+    StreamingTypeEmitter getStreamingTypeEmitter();
+  }
+}
@@ -0,0 +1,11 @@
+/**
+ * This package contains an alternative generation entry point that spreads the schema files across several threads.
+ * <br />
+ * <br />
+ * Schema files are partitioned by the documents they reference, so that every referenced document is generated once
+ * and by a single worker. Each worker owns its rule factory, schema store and code model, and the resulting code models
+ * are only written once it's known they produce the same output as the sequential jsonschema2pojo generation.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.generation;
@@ -0,0 +1,267 @@
+package io.github.lengors.js2pets.instrumentation;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Records invocation statistics of instrumented rules and annotators and writes them as a JSON report.
+ * <br />
+ * <br />
+ * Besides the inclusive elapsed time, each invocation also records its self time, which excludes the time spent in
+ * nested instrumented invocations on the same thread. This allows telling apart the time spent by jsonschema2pojo's
+ * rules from the time spent by the js2pets' rule wrappers and the annotator callbacks they trigger.
+ * <br />
+ * <br />
+ * Recorders of several rule factories, such as those of the partitions of a single generation run, can be aggregated
+ * into one by {@link #merge(InstrumentationRecorder)}. Reports are written to a temporary file first and then moved in
+ * place, so concurrent writers never interleave and readers never see a partial report.
+ *
+ * @author lengors
+ */
+public final class InstrumentationRecorder {
+  /**
+   * Extended thread MX bean used to measure allocated bytes, or null if not supported by the running JVM.
+   */
+  private static final com.sun.management.@Nullable ThreadMXBean THREAD_MX_BEAN = resolveThreadMxBean();
+
+  /**
+   * Object mapper used to write the report.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /**
+   * Suffix of the temporary files the reports are written to before being moved in place.
+   */
+  private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+  /**
+   * Statistics for each instrumented rule, by name.
+   */
+  private final Map<String, InvocationStatistics> rules = new ConcurrentHashMap<>();
+
+  /**
+   * Statistics for each instrumented annotator callback, by name.
+   */
+  private final Map<String, InvocationStatistics> annotators = new ConcurrentHashMap<>();
+
+  /**
+   * Stack of the instrumented invocations currently executing on each thread.
+   */
+  private final ThreadLocal<@Nullable Deque<Frame>> threadFrames = new ThreadLocal<>();
+
+  /**
+   * Creates a recorder without any recorded invocations.
+   */
+  public InstrumentationRecorder() {
+  }
+
+  /**
+   * Gets the statistics recorded for rules, by name.
+   *
+   * @return An unmodifiable view of the rule statistics.
+   */
+  public Map<String, InvocationStatistics> getRules() {
+    return Collections.unmodifiableMap(rules);
+  }
+
+  /**
+   * Gets the statistics recorded for annotator callbacks, by name.
+   *
+   * @return An unmodifiable view of the annotator statistics.
+   */
+  public Map<String, InvocationStatistics> getAnnotators() {
+    return Collections.unmodifiableMap(annotators);
+  }
+
+  /**
+   * Checks whether no invocation has been recorded.
+   *
+   * @return True if no rule or annotator callback invocation has been recorded.
+   */
+  public boolean isEmpty() {
+    return rules.isEmpty() && annotators.isEmpty();
+  }
+
+  /**
+   * Adds the invocations recorded by the given recorder to this one.
+   *
+   * @param recorder The recorder whose invocations to add.
+   */
+  public void merge(final InstrumentationRecorder recorder) {
+    merge(rules, recorder.rules);
+    merge(annotators, recorder.annotators);
+  }
+
+  /**
+   * Checks whether no instrumented invocation is currently executing on the calling thread.
+   *
+   * @return True if the calling thread is outside any instrumented invocation.
+   */
+  public boolean isIdle() {
+    final var frames = threadFrames.get();
+    return frames == null || frames.isEmpty();
+  }
+
+  /**
+   * Measures the invocation of a rule.
+   *
+   * @param <T>        The type of the rule's result.
+   * @param name       The name of the rule.
+   * @param invocation The rule invocation.
+   * @return The result of the invocation.
+   */
+  public <T> T measureRule(final String name, final Supplier<T> invocation) {
+    return measure(rules, name, invocation);
+  }
+
+  /**
+   * Measures the invocation of an annotator callback.
+   *
+   * @param name       The name of the annotator callback.
+   * @param invocation The annotator callback invocation.
+   */
+  public void measureAnnotator(final String name, final Runnable invocation) {
+    measure(annotators, name, () -> {
+      invocation.run();
+      return name;
+    });
+  }
+
+  /**
+   * Writes the recorded statistics to the given path as JSON, creating its parent directories if needed. The report is
+   * written to a temporary file within the same directory and then atomically moved to the given path, where supported.
+   *
+   * @param path The path of the report.
+   * @throws IOException If the report cannot be written, or the path is a root directory.
+   */
+  public void writeReport(final Path path) throws IOException {
+    final var report = OBJECT_MAPPER.createObjectNode();
+    report.put("timestamp", System.currentTimeMillis());
+    writeStatistics(report.putObject("rules"), rules);
+    writeStatistics(report.putObject("annotators"), annotators);
+
+    final var absolutePath = path.toAbsolutePath();
+    final var parent = absolutePath.getParent();
+    if (parent == null) {
+      throw new IOException("Not a file path: " + path);
+    }
+    Files.createDirectories(parent);
+    final var temporaryPath = Files.createTempFile(
+        parent,
+        String.valueOf(absolutePath.getFileName()),
+        TEMPORARY_FILE_SUFFIX);
+    try {
+      OBJECT_MAPPER
+          .writerWithDefaultPrettyPrinter()
+          .writeValue(temporaryPath.toFile(), report);
+      try {
+        Files.move(temporaryPath, absolutePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (final AtomicMoveNotSupportedException exception) {
+        Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporaryPath);
+    }
+  }
+
+  private static void merge(
+      final Map<String, InvocationStatistics> statistics,
+      final Map<String, InvocationStatistics> otherStatistics) {
+    otherStatistics.forEach((name, value) -> statistics
+        .computeIfAbsent(name, key -> new InvocationStatistics())
+        .merge(value));
+  }
+
+  private <T> T measure(
+      final Map<String, InvocationStatistics> statistics,
+      final String name,
+      final Supplier<T> invocation) {
+    final var stack = currentFrames();
+    final var frame = new Frame();
+    stack.push(frame);
+
+    final var startBytes = currentThreadAllocatedBytes();
+    final var startNanos = System.nanoTime();
+    try {
+      return invocation.get();
+    } finally {
+      final var elapsedNanos = System.nanoTime() - startNanos;
+      final var bytes = Math.max(0, currentThreadAllocatedBytes() - startBytes);
+      stack.pop();
+
+      final var parentFrame = stack.peek();
+      if (parentFrame != null) {
+        parentFrame.childNanos += elapsedNanos;
+      }
+
+      statistics
+          .computeIfAbsent(name, key -> new InvocationStatistics())
+          .record(elapsedNanos, elapsedNanos - frame.childNanos, bytes);
+    }
+  }
+
+  private Deque<Frame> currentFrames() {
+    var frames = threadFrames.get();
+    if (frames == null) {
+      frames = new ArrayDeque<>();
+      threadFrames.set(frames);
+    }
+    return frames;
+  }
+
+  private static long currentThreadAllocatedBytes() {
+    return THREAD_MX_BEAN == null
+        ? 0
+        : Math.max(0, THREAD_MX_BEAN.getCurrentThreadAllocatedBytes());
+  }
+
+  private static com.sun.management.@Nullable ThreadMXBean resolveThreadMxBean() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMxBean
+        && threadMxBean.isThreadAllocatedMemorySupported()) {
+      threadMxBean.setThreadAllocatedMemoryEnabled(true);
+      return threadMxBean;
+    }
+    return null;
+  }
+
+  private static void writeStatistics(final ObjectNode node, final Map<String, InvocationStatistics> statistics) {
+    for (final var entry : new TreeMap<>(statistics).entrySet()) {
+      final var value = entry.getValue();
+      node
+          .putObject(entry.getKey())
+          .put("count", value.getCount())
+          .put("totalNanos", value.getTotalNanos())
+          .put("selfNanos", value.getSelfNanos())
+          .put("maxNanos", value.getMaxNanos())
+          .put("allocatedBytes", value.getAllocatedBytes());
+    }
+  }
+
+  /**
+   * An instrumented invocation currently executing.
+   *
+   * @author lengors
+   */
+  private static final class Frame {
+    /**
+     * Elapsed nanoseconds of the nested instrumented invocations that already completed.
+     */
+    private long childNanos;
+  }
+}
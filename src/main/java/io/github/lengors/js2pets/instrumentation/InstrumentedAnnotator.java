@@ -0,0 +1,220 @@
+package io.github.lengors.js2pets.instrumentation;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.CompositeAnnotator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JEnumConstant;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JType;
+
+import io.github.lengors.js2pets.annotators.AnnotatorUtils;
+import io.github.lengors.js2pets.annotators.EnhancedAnnotator;
+
+/**
+ * Annotator wrapper recording the invocations of every callback of the wrapped annotator.
+ * <br />
+ * <br />
+ * The {@link EnhancedAnnotator} callbacks are only forwarded, and recorded, if the wrapped annotator is itself an
+ * {@link EnhancedAnnotator}.
+ *
+ * @author lengors
+ */
+public final class InstrumentedAnnotator implements EnhancedAnnotator, AnnotatorUtils.Wrapper {
+  /**
+   * The recorder to record invocations to.
+   */
+  private final InstrumentationRecorder recorder;
+
+  /**
+   * The annotator being instrumented.
+   */
+  private final Annotator annotator;
+
+  /**
+   * The name of the annotator being instrumented, used as prefix for each callback name.
+   */
+  private final String name;
+
+  /**
+   * Constructs an instrumented annotator.
+   *
+   * @param recorder  The recorder to record invocations to.
+   * @param annotator The annotator to instrument.
+   */
+  public InstrumentedAnnotator(final InstrumentationRecorder recorder, final Annotator annotator) {
+    this.recorder = recorder;
+    this.annotator = annotator;
+    this.name = annotator
+        .getClass()
+        .getName();
+  }
+
+  /**
+   * Instruments the given annotator. If it's a composite annotator, each of its leaf annotators is instrumented
+   * individually instead.
+   *
+   * @param recorder  The recorder to record invocations to.
+   * @param annotator The annotator to instrument.
+   * @return The instrumented annotator.
+   */
+  public static Annotator instrument(final InstrumentationRecorder recorder, final Annotator annotator) {
+    if (annotator instanceof CompositeAnnotator) {
+      return new CompositeAnnotator(AnnotatorUtils
+          .streamAnnotators(annotator)
+          .map(leafAnnotator -> instrument(recorder, leafAnnotator))
+          .toArray(Annotator[]::new));
+    }
+    if (annotator instanceof InstrumentedAnnotator) {
+      return annotator;
+    }
+    return new InstrumentedAnnotator(recorder, annotator);
+  }
+
+  /**
+   * Gets the instrumented annotator.
+   *
+   * @return The instrumented annotator.
+   */
+  @Override
+  public Annotator getWrappedAnnotator() {
+    return annotator;
+  }
+
+  /**
+   * Forwards the constructor callback if the wrapped annotator supports it.
+   *
+   * @param constructor The generated constructor.
+   */
+  @Override
+  public void constructor(final JMethod constructor) {
+    if (annotator instanceof EnhancedAnnotator enhancedAnnotator) {
+      recorder.measureAnnotator(name + "#constructor", () -> enhancedAnnotator.constructor(constructor));
+    }
+  }
+
+  /**
+   * Gets the annotation types of the wrapped annotator's type callback.
+   *
+   * @return The annotation types, none if the wrapped annotator isn't an {@link EnhancedAnnotator}, or null if unknown.
+   */
+  @Override
+  public @Nullable Collection<Class<? extends Annotation>> getAnnotationTypes() {
+    if (annotator instanceof EnhancedAnnotator enhancedAnnotator) {
+      return enhancedAnnotator.getAnnotationTypes();
+    }
+    return List.of();
+  }
+
+  /**
+   * Forwards the type callback if the wrapped annotator supports it.
+   *
+   * @param type The generated type.
+   */
+  @Override
+  public void type(final JType type) {
+    if (annotator instanceof EnhancedAnnotator enhancedAnnotator) {
+      recorder.measureAnnotator(name + "#type", () -> enhancedAnnotator.type(type));
+    }
+  }
+
+  @Override
+  public void typeInfo(final JDefinedClass clazz, final JsonNode schema) {
+    recorder.measureAnnotator(name + "#typeInfo", () -> annotator.typeInfo(clazz, schema));
+  }
+
+  @Override
+  public void propertyOrder(final JDefinedClass clazz, final JsonNode propertiesNode) {
+    recorder.measureAnnotator(name + "#propertyOrder", () -> annotator.propertyOrder(clazz, propertiesNode));
+  }
+
+  @Override
+  public void propertyInclusion(final JDefinedClass clazz, final JsonNode schema) {
+    recorder.measureAnnotator(name + "#propertyInclusion", () -> annotator.propertyInclusion(clazz, schema));
+  }
+
+  @Override
+  public void propertyField(
+      final JFieldVar field,
+      final JDefinedClass clazz,
+      final String propertyName,
+      final JsonNode propertyNode) {
+    recorder.measureAnnotator(
+        name + "#propertyField",
+        () -> annotator.propertyField(field, clazz, propertyName, propertyNode));
+  }
+
+  @Override
+  public void propertyGetter(final JMethod getter, final JDefinedClass clazz, final String propertyName) {
+    recorder.measureAnnotator(name + "#propertyGetter", () -> annotator.propertyGetter(getter, clazz, propertyName));
+  }
+
+  @Override
+  public void propertySetter(final JMethod setter, final JDefinedClass clazz, final String propertyName) {
+    recorder.measureAnnotator(name + "#propertySetter", () -> annotator.propertySetter(setter, clazz, propertyName));
+  }
+
+  @Override
+  public void anyGetter(final JMethod getter, final JDefinedClass clazz) {
+    recorder.measureAnnotator(name + "#anyGetter", () -> annotator.anyGetter(getter, clazz));
+  }
+
+  @Override
+  public void anySetter(final JMethod setter, final JDefinedClass clazz) {
+    recorder.measureAnnotator(name + "#anySetter", () -> annotator.anySetter(setter, clazz));
+  }
+
+  @Override
+  public void enumCreatorMethod(final JDefinedClass clazz, final JMethod creatorMethod) {
+    recorder.measureAnnotator(name + "#enumCreatorMethod", () -> annotator.enumCreatorMethod(clazz, creatorMethod));
+  }
+
+  @Override
+  public void enumValueMethod(final JDefinedClass clazz, final JMethod valueMethod) {
+    recorder.measureAnnotator(name + "#enumValueMethod", () -> annotator.enumValueMethod(clazz, valueMethod));
+  }
+
+  @Override
+  public void enumConstant(final JDefinedClass clazz, final JEnumConstant constant, final String value) {
+    recorder.measureAnnotator(name + "#enumConstant", () -> annotator.enumConstant(clazz, constant, value));
+  }
+
+  @Override
+  public boolean isAdditionalPropertiesSupported() {
+    return annotator.isAdditionalPropertiesSupported();
+  }
+
+  @Override
+  public void additionalPropertiesField(final JFieldVar field, final JDefinedClass clazz, final String propertyName) {
+    recorder.measureAnnotator(
+        name + "#additionalPropertiesField",
+        () -> annotator.additionalPropertiesField(field, clazz, propertyName));
+  }
+
+  @Override
+  public boolean isPolymorphicDeserializationSupported(final JsonNode node) {
+    return annotator.isPolymorphicDeserializationSupported(node);
+  }
+
+  @Override
+  public void dateTimeField(final JFieldVar field, final JDefinedClass clazz, final JsonNode propertyNode) {
+    recorder.measureAnnotator(name + "#dateTimeField", () -> annotator.dateTimeField(field, clazz, propertyNode));
+  }
+
+  @Override
+  public void dateField(final JFieldVar field, final JDefinedClass clazz, final JsonNode propertyNode) {
+    recorder.measureAnnotator(name + "#dateField", () -> annotator.dateField(field, clazz, propertyNode));
+  }
+
+  @Override
+  public void timeField(final JFieldVar field, final JDefinedClass clazz, final JsonNode propertyNode) {
+    recorder.measureAnnotator(name + "#timeField", () -> annotator.timeField(field, clazz, propertyNode));
+  }
+}
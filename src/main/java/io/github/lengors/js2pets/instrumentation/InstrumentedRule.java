@@ -0,0 +1,74 @@
+package io.github.lengors.js2pets.instrumentation;
+
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.rules.Rule;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Rule wrapper recording the invocations of the wrapped rule.
+ *
+ * @param <T> The type of the generatable being processed.
+ * @param <R> The type of the result of the rule.
+ * @author lengors
+ */
+public class InstrumentedRule<T, R> implements Rule<T, R> {
+  /**
+   * The recorder to record invocations to.
+   */
+  private final InstrumentationRecorder recorder;
+
+  /**
+   * The rule being instrumented.
+   */
+  private final Rule<T, R> rule;
+
+  /**
+   * Listener notified whenever an invocation completes outside any other instrumented invocation.
+   */
+  private final Runnable completionListener;
+
+  /**
+   * Constructs an instrumented rule.
+   *
+   * @param recorder           The recorder to record invocations to.
+   * @param rule               The rule to instrument.
+   * @param completionListener The listener to notify when an outermost invocation completes.
+   */
+  public InstrumentedRule(
+      final InstrumentationRecorder recorder,
+      final Rule<T, R> rule,
+      final Runnable completionListener) {
+    this.recorder = recorder;
+    this.rule = rule;
+    this.completionListener = completionListener;
+  }
+
+  /**
+   * Applies the wrapped rule, recording the invocation.
+   *
+   * @param nodeName        The name of the JSON node being processed.
+   * @param node            The JSON node to which the rule is being applied.
+   * @param parent          The parent JSON node, or null if there isn't one.
+   * @param generatableType The generatable the rule is applied to.
+   * @param currentSchema   The current schema being processed.
+   * @return The result of the wrapped rule.
+   */
+  @Override
+  public R apply(
+      final String nodeName,
+      final JsonNode node,
+      final JsonNode parent,
+      final T generatableType,
+      final Schema currentSchema) {
+    final var result = recorder.measureRule(
+        rule
+            .getClass()
+            .getName(),
+        () -> rule.apply(nodeName, node, parent, generatableType, currentSchema));
+    if (recorder.isIdle()) {
+      completionListener.run();
+    }
+    return result;
+  }
+}
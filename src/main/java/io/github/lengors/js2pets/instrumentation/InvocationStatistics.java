@@ -0,0 +1,126 @@
+package io.github.lengors.js2pets.instrumentation;
+
+/**
+ * Accumulated statistics for all invocations of a single instrumented rule or annotator callback.
+ *
+ * @author lengors
+ */
+public final class InvocationStatistics {
+  /**
+   * Number of recorded invocations.
+   */
+  private long count;
+
+  /**
+   * Sum of the elapsed nanoseconds of all invocations, including nested invocations.
+   */
+  private long totalNanos;
+
+  /**
+   * Sum of the elapsed nanoseconds of all invocations, excluding nested instrumented invocations.
+   */
+  private long selfNanos;
+
+  /**
+   * Largest elapsed nanoseconds of a single invocation.
+   */
+  private long maxNanos;
+
+  /**
+   * Sum of the bytes allocated by the invoking thread during all invocations, including nested invocations.
+   */
+  private long allocatedBytes;
+
+  /**
+   * Creates statistics without any recorded invocations.
+   */
+  public InvocationStatistics() {
+  }
+
+  /**
+   * Records a single invocation.
+   *
+   * @param elapsedNanos The elapsed nanoseconds of the invocation.
+   * @param ownNanos     The elapsed nanoseconds of the invocation, excluding nested instrumented invocations.
+   * @param bytes        The bytes allocated during the invocation.
+   */
+  synchronized void record(final long elapsedNanos, final long ownNanos, final long bytes) {
+    count++;
+    totalNanos += elapsedNanos;
+    selfNanos += ownNanos;
+    maxNanos = Math.max(maxNanos, elapsedNanos);
+    allocatedBytes += bytes;
+  }
+
+  /**
+   * Adds the invocations recorded by the given statistics to these.
+   *
+   * @param statistics The statistics to add.
+   */
+  void merge(final InvocationStatistics statistics) {
+    final long otherCount;
+    final long otherTotalNanos;
+    final long otherSelfNanos;
+    final long otherMaxNanos;
+    final long otherAllocatedBytes;
+    synchronized (statistics) {
+      otherCount = statistics.count;
+      otherTotalNanos = statistics.totalNanos;
+      otherSelfNanos = statistics.selfNanos;
+      otherMaxNanos = statistics.maxNanos;
+      otherAllocatedBytes = statistics.allocatedBytes;
+    }
+    synchronized (this) {
+      count += otherCount;
+      totalNanos += otherTotalNanos;
+      selfNanos += otherSelfNanos;
+      maxNanos = Math.max(maxNanos, otherMaxNanos);
+      allocatedBytes += otherAllocatedBytes;
+    }
+  }
+
+  /**
+   * Gets the number of recorded invocations.
+   *
+   * @return The number of invocations.
+   */
+  public synchronized long getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the total elapsed nanoseconds, including nested invocations.
+   *
+   * @return The total elapsed nanoseconds.
+   */
+  public synchronized long getTotalNanos() {
+    return totalNanos;
+  }
+
+  /**
+   * Gets the total elapsed nanoseconds, excluding nested instrumented invocations.
+   *
+   * @return The self elapsed nanoseconds.
+   */
+  public synchronized long getSelfNanos() {
+    return selfNanos;
+  }
+
+  /**
+   * Gets the largest elapsed nanoseconds of a single invocation.
+   *
+   * @return The maximum elapsed nanoseconds.
+   */
+  public synchronized long getMaxNanos() {
+    return maxNanos;
+  }
+
+  /**
+   * Gets the total bytes allocated during the invocations, or zero if the JVM does not support measuring it.
+   *
+   * @return The allocated bytes.
+   */
+  public synchronized long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+}
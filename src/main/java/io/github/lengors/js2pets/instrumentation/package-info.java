@@ -0,0 +1,10 @@
+/**
+ * This package contains the opt-in instrumentation used to measure where code generation time is spent.
+ * <br />
+ * <br />
+ * When enabled on an {@link io.github.lengors.js2pets.factories.EnhancedRuleFactory}, every rule and annotator is
+ * wrapped so that its invocation count, elapsed time and allocated bytes are recorded and written to a JSON report.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.instrumentation;
@@ -0,0 +1,90 @@
+package io.github.lengors.js2pets.jfr;
+
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JType;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event recording the pass of an enhanced annotator over a generated type, once the type is done.
+ *
+ * @author lengors
+ */
+@Category({"js2pets", "Generation"})
+@Description("Pass of an enhanced annotator over a generated type")
+@Label("Annotator Pass")
+@Name("io.github.lengors.js2pets.AnnotatorPass")
+@StackTrace(false)
+public final class AnnotatorPassEvent extends Event {
+  /**
+   * Class name of the annotator.
+   */
+  @Label("Annotator")
+  private String annotator = "";
+
+  /**
+   * Full name of the annotated type.
+   */
+  @Label("Type")
+  private String type = "";
+
+  /**
+   * Number of fields of the annotated type.
+   */
+  @Label("Field Count")
+  private int fieldCount;
+
+  /**
+   * Number of methods and constructors of the annotated type.
+   */
+  @Label("Method Count")
+  private int methodCount;
+
+  /**
+   * Creates an event, to be begun right before an annotator passes over a type.
+   */
+  public AnnotatorPassEvent() {
+  }
+
+  /**
+   * Checks whether a recording currently enables this event.
+   *
+   * @return Whether this event is enabled.
+   */
+  public static boolean isRecording() {
+    return new AnnotatorPassEvent().isEnabled();
+  }
+
+  /**
+   * Ends the event and commits it with the given details, if it should be committed.
+   *
+   * @param passingAnnotator The annotator that passed over the type.
+   * @param annotatedType    The annotated type.
+   */
+  public void finish(final Object passingAnnotator, final JType annotatedType) {
+    end();
+    if (shouldCommit()) {
+      annotator = passingAnnotator
+          .getClass()
+          .getName();
+      type = annotatedType.fullName();
+      if (annotatedType instanceof JDefinedClass definedClass) {
+        fieldCount = definedClass
+            .fields()
+            .size();
+        methodCount = definedClass
+            .methods()
+            .size();
+        definedClass
+            .constructors()
+            .forEachRemaining(constructor -> methodCount++);
+      }
+      commit();
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package io.github.lengors.js2pets.jfr;
+
+import com.sun.codemodel.JDefinedClass;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event recording the removal of the no-args constructors of a generated class.
+ *
+ * @author lengors
+ */
+@Category({"js2pets", "Generation"})
+@Description("Removal of the no-args constructors of a generated class")
+@Label("Constructor Removal")
+@Name("io.github.lengors.js2pets.ConstructorRemoval")
+@StackTrace(false)
+public final class ConstructorRemovalEvent extends Event {
+  /**
+   * Full name of the class.
+   */
+  @Label("Type")
+  private String type = "";
+
+  /**
+   * Number of constructors removed.
+   */
+  @Label("Removed Count")
+  private int removedCount;
+
+  /**
+   * Creates an event, to be begun right before removing the no-args constructors of a class.
+   */
+  public ConstructorRemovalEvent() {
+  }
+
+  /**
+   * Ends the event and commits it with the given details, if it should be committed.
+   *
+   * @param clazz          The class whose no-args constructors were removed.
+   * @param previousCount The number of constructors of the class before the removal.
+   */
+  public void finish(final JDefinedClass clazz, final int previousCount) {
+    end();
+    if (shouldCommit()) {
+      type = clazz.fullName();
+      removedCount = previousCount;
+      clazz
+          .constructors()
+          .forEachRemaining(constructor -> removedCount--);
+      commit();
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package io.github.lengors.js2pets.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event recording the rendering and writing of a generated file, from opening it until closing it.
+ *
+ * @author lengors
+ */
+@Category({"js2pets", "Generation"})
+@Description("Rendering and writing of a generated file")
+@Label("Output File")
+@Name("io.github.lengors.js2pets.OutputFile")
+@StackTrace(false)
+public final class OutputFileEvent extends Event {
+  /**
+   * Path of the file, relative to the target directory.
+   */
+  @Label("Path")
+  private String path = "";
+
+  /**
+   * Number of bytes rendered.
+   */
+  @DataAmount
+  @Label("Size")
+  private long size;
+
+  /**
+   * Whether the file was written, which it isn't if its content didn't change.
+   */
+  @Label("Written")
+  private boolean written;
+
+  /**
+   * Creates an event, to be begun right before rendering a file.
+   */
+  public OutputFileEvent() {
+  }
+
+  /**
+   * Ends the event and commits it with the given details, if it should be committed.
+   *
+   * @param filePath    The path of the file, relative to the target directory.
+   * @param fileSize    The number of bytes rendered.
+   * @param fileWritten Whether the file was written.
+   */
+  public void finish(final String filePath, final long fileSize, final boolean fileWritten) {
+    end();
+    if (shouldCommit()) {
+      path = filePath;
+      size = fileSize;
+      written = fileWritten;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package io.github.lengors.js2pets.jfr;
+
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.rules.Rule;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Rule wrapper emitting a {@link RuleApplicationEvent} for every application of the wrapped rule while a recording
+ * enables it. Events are named after the wrapped rule or, if it wraps another rule itself, such as to instrument it,
+ * after the rule given as naming rule.
+ *
+ * @param <T> The type of the generatable being processed.
+ * @param <R> The type of the result of the rule.
+ * @author lengors
+ */
+public class RecordedRule<T, R> implements Rule<T, R> {
+  /**
+   * The rule being recorded.
+   */
+  private final Rule<T, R> rule;
+
+  /**
+   * The rule the events are named after.
+   */
+  private final Rule<?, ?> namingRule;
+
+  /**
+   * Constructs a recorded rule named after the given rule.
+   *
+   * @param rule The rule to record.
+   */
+  public RecordedRule(final Rule<T, R> rule) {
+    this(rule, rule);
+  }
+
+  /**
+   * Constructs a recorded rule named after the given naming rule.
+   *
+   * @param rule       The rule to record.
+   * @param namingRule The rule the events are named after, typically the one wrapped by the rule to record.
+   */
+  public RecordedRule(final Rule<T, R> rule, final Rule<?, ?> namingRule) {
+    this.rule = rule;
+    this.namingRule = namingRule;
+  }
+
+  /**
+   * Wraps the given rule if a recording currently enables {@link RuleApplicationEvent}s.
+   *
+   * @param <T>  The type of the generatable being processed.
+   * @param <R>  The type of the result of the rule.
+   * @param rule The rule to record.
+   * @return The recorded rule, or the given rule if no recording enables the events.
+   */
+  public static <T, R> Rule<T, R> record(final Rule<T, R> rule) {
+    return record(rule, rule);
+  }
+
+  /**
+   * Wraps the given rule, named after the given naming rule, if a recording currently enables
+   * {@link RuleApplicationEvent}s.
+   *
+   * @param <T>        The type of the generatable being processed.
+   * @param <R>        The type of the result of the rule.
+   * @param rule       The rule to record.
+   * @param namingRule The rule the events are named after, typically the one wrapped by the rule to record.
+   * @return The recorded rule, or the given rule if no recording enables the events.
+   */
+  public static <T, R> Rule<T, R> record(final Rule<T, R> rule, final Rule<?, ?> namingRule) {
+    return RuleApplicationEvent.isRecording() ? new RecordedRule<>(rule, namingRule) : rule;
+  }
+
+  /**
+   * Applies the wrapped rule, emitting an event.
+   *
+   * @param nodeName        The name of the JSON node being processed.
+   * @param node            The JSON node to which the rule is being applied.
+   * @param parent          The parent JSON node, or null if there isn't one.
+   * @param generatableType The generatable the rule is applied to.
+   * @param currentSchema   The current schema being processed.
+   * @return The result of the wrapped rule.
+   */
+  @Override
+  public R apply(
+      final String nodeName,
+      final JsonNode node,
+      final JsonNode parent,
+      final T generatableType,
+      final Schema currentSchema) {
+    final var event = new RuleApplicationEvent();
+    if (!event.isEnabled()) {
+      return rule.apply(nodeName, node, parent, generatableType, currentSchema);
+    }
+    event.begin();
+    try {
+      return rule.apply(nodeName, node, parent, generatableType, currentSchema);
+    } finally {
+      event.finish(namingRule, nodeName, currentSchema.getId());
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package io.github.lengors.js2pets.jfr;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event recording the application of a rule to a schema node.
+ *
+ * @author lengors
+ */
+@Category({"js2pets", "Generation"})
+@Description("Application of a rule to a schema node")
+@Label("Rule Application")
+@Name("io.github.lengors.js2pets.RuleApplication")
+@StackTrace(false)
+public final class RuleApplicationEvent extends Event {
+  /**
+   * Class name of the applied rule.
+   */
+  @Label("Rule")
+  private String rule = "";
+
+  /**
+   * Name of the schema node the rule was applied to.
+   */
+  @Label("Node Name")
+  private String nodeName = "";
+
+  /**
+   * URI of the schema being processed.
+   */
+  @Label("Schema URI")
+  private String schemaUri = "";
+
+  /**
+   * Creates an event, to be begun right before applying a rule.
+   */
+  public RuleApplicationEvent() {
+  }
+
+  /**
+   * Checks whether a recording currently enables this event.
+   *
+   * @return Whether this event is enabled.
+   */
+  public static boolean isRecording() {
+    return new RuleApplicationEvent().isEnabled();
+  }
+
+  /**
+   * Ends the event and commits it with the given details, if it should be committed.
+   *
+   * @param appliedRule The applied rule.
+   * @param name        The name of the schema node the rule was applied to.
+   * @param uri         The URI of the schema being processed, or null if it has none.
+   */
+  public void finish(final Object appliedRule, final String name, final @Nullable Object uri) {
+    end();
+    if (shouldCommit()) {
+      rule = appliedRule
+          .getClass()
+          .getName();
+      nodeName = name;
+      schemaUri = String.valueOf(uri);
+      commit();
+    }
+  }
+}
@@ -0,0 +1,13 @@
+/**
+ * This package contains the Java Flight Recorder events emitted while generating, so a recording shows the rule
+ * applications, annotator passes, constructor removals and output files behind each schema, for instance in JDK Mission
+ * Control.
+ * <br />
+ * <br />
+ * Events are only created and committed while a recording enables them. Rules are only wrapped to emit
+ * {@link io.github.lengors.js2pets.jfr.RuleApplicationEvent}s when a recording enables them as the rule factory creates
+ * its rules.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.jfr;
@@ -0,0 +1,81 @@
+package io.github.lengors.js2pets.rules;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import com.sun.codemodel.JType;
+
+/**
+ * Set of the types whose enhanced annotators have already been notified, so that {@link ObjectRule} and
+ * {@link EnumRule} annotate each type, and the class structure the annotators walk from it, once per rule factory even
+ * when the same type is returned again, for instance for a heavily referenced schema. Code model types don't override
+ * {@link Object#equals(Object)}, so the set is keyed by identity, and it's weakly keyed, so that it doesn't keep types
+ * alive once they're released from the code model.
+ *
+ * @author lengors
+ */
+public final class CompletedTypeSet {
+  /**
+   * Types already completed.
+   */
+  private final Set<JType> completedTypes = Collections.synchronizedSet(Collections.newSetFromMap(
+      new WeakHashMap<>()));
+
+  /**
+   * Creates a set without any completed types.
+   */
+  public CompletedTypeSet() {
+  }
+
+  /**
+   * Marks the given type as completed.
+   *
+   * @param type The type to mark.
+   * @return True if the type was not completed yet, false otherwise.
+   */
+  public boolean complete(final JType type) {
+    return completedTypes.add(type);
+  }
+
+  /**
+   * Checks whether the given type is completed.
+   *
+   * @param type The type to check.
+   * @return True if the type is completed.
+   */
+  public boolean isCompleted(final JType type) {
+    return completedTypes.contains(type);
+  }
+
+  /**
+   * Marks the given type as completed in the completed type set of the given rule factory, if it provides one.
+   *
+   * @param ruleFactory The rule factory.
+   * @param type        The type to mark.
+   * @return True if the type was not completed yet, or the rule factory doesn't provide a completed type set, false
+   *         otherwise.
+   */
+  public static boolean complete(final RuleFactory ruleFactory, final JType type) {
+    return !(ruleFactory instanceof Provider provider) || provider
+        .getCompletedTypeSet()
+        .complete(type);
+  }
+
+  /**
+   * Provider of a {@link CompletedTypeSet}, typically implemented by rule factories so that the set is shared by the
+   * rules they create.
+   *
+   * @author lengors
+   */
+  public interface Provider {
+    /**
+     * Gets the completed type set.
+     *
+     * @return The completed type set.
+     */
+    CompletedTypeSet getCompletedTypeSet();
+  }
+}
@@ -16,6 +16,9 @@ import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JMethod;
 
 import io.github.lengors.js2pets.annotators.AnnotatorUtils;
+import io.github.lengors.js2pets.annotators.DeferredAnnotationQueue;
+import io.github.lengors.js2pets.codemodel.CodeModelUtils;
+import io.github.lengors.js2pets.jfr.ConstructorRemovalEvent;
 import io.github.lengors.js2pets.rules.exceptions.ConfigurationPropertyMissingException;
 
 import java.util.ArrayList;
@@ -32,7 +35,8 @@ import java.lang.reflect.Modifier;
 
 /**
  * Constructor rule wrapper that removes the no-args constructor if the respective flag is enabled. This rule also
- * notifies the annotator if it supports constructor callbacks.
+ * notifies the annotator if it supports constructor callbacks, or enqueues the notification if the rule factory
+ * provides a {@link DeferredAnnotationQueue}.
  * <br />
  * <br />
  * This class extends the functionality provided by the jsonschema2pojo library by adding a customizable rule for
@@ -117,11 +121,21 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     final var clazz = superConstructorRule.apply(nodeName, node, parent, type, currentSchema);
 
     if (!isIncludeNoArgsConstructor(ruleFactory, includeNoArgsConstructorRef)) {
-      removeConstructors(clazz, ruleFactory);
+      final var event = new ConstructorRemovalEvent();
+      if (event.isEnabled()) {
+        final var previousCount = IteratorUtils.size(clazz.constructors());
+        event.begin();
+        removeConstructors(clazz, ruleFactory);
+        event.finish(clazz, previousCount);
+      } else {
+        removeConstructors(clazz, ruleFactory);
+      }
     }
 
-    final var annotator = ruleFactory.getAnnotator();
-    IteratorUtils.forEach(clazz.constructors(), constructor -> AnnotatorUtils.constructor(annotator, constructor));
+    final var annotatorDispatchPlan = AnnotatorUtils.dispatchPlan(ruleFactory);
+    if (!annotatorDispatchPlan.isEmpty() && !DeferredAnnotationQueue.enqueueConstructors(ruleFactory, clazz)) {
+      IteratorUtils.forEach(clazz.constructors(), annotatorDispatchPlan::constructor);
+    }
 
     return clazz;
   }
@@ -201,6 +215,10 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
   }
 
   private static void removeConstructors(final JDefinedClass clazz, final RuleFactory ruleFactory) {
+    if (CodeModelUtils.removeNoArgsConstructors(clazz)) {
+      return;
+    }
+
     final var knownConstructors = IteratorUtils.toList(clazz.constructors());
     for (final var field : FieldUtils.getAllFields(clazz.getClass())) {
       if (readFieldValue(clazz, field, ruleFactory) instanceof Collection<?> collection) {
@@ -9,10 +9,16 @@ import com.sun.codemodel.JClassContainer;
 import com.sun.codemodel.JType;
 
 import io.github.lengors.js2pets.annotators.AnnotatorUtils;
+import io.github.lengors.js2pets.annotators.DeferredAnnotationQueue;
+import io.github.lengors.js2pets.generation.StreamingTypeEmitter;
 
 /**
  * Enum rule wrapper providing support for notifying the annotator when the type is finished generating and if the
- * annotator supports the respective callback.
+ * annotator supports the respective callback. Once the type is done, it's handed to the rule factory's
+ * {@link StreamingTypeEmitter}, if streaming is enabled. If the rule factory provides a {@link StructuralTypeRegistry},
+ * an inline schema structurally identical to one already generated reuses its type. If the rule factory provides a
+ * {@link CompletedTypeSet}, the annotator is only notified the first time a type is returned. If the rule factory
+ * provides a {@link DeferredAnnotationQueue}, the notification is enqueued instead.
  *
  * @author lengors
  */
@@ -55,8 +61,20 @@ public class EnumRule implements Rule<JClassContainer, JType> {
       final JsonNode parent,
       final JClassContainer generatableType,
       final Schema currentSchema) {
+    final var key = StructuralTypeRegistry.createKey(ruleFactory, node, generatableType, currentSchema);
+    final var existingType = StructuralTypeRegistry.find(ruleFactory, key, nodeName, generatableType);
+    if (existingType != null) {
+      return existingType;
+    }
+
     final var newType = superEnumRule.apply(nodeName, node, parent, generatableType, currentSchema);
-    AnnotatorUtils.type(ruleFactory.getAnnotator(), newType);
+    if (CompletedTypeSet.complete(ruleFactory, newType) && !DeferredAnnotationQueue.enqueue(ruleFactory, newType)) {
+      AnnotatorUtils
+          .dispatchPlan(ruleFactory)
+          .type(newType);
+    }
+    StructuralTypeRegistry.register(ruleFactory, key, newType);
+    StreamingTypeEmitter.complete(ruleFactory, newType);
     return newType;
   }
 }
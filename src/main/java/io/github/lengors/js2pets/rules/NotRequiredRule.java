@@ -0,0 +1,87 @@
+package io.github.lengors.js2pets.rules;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.rules.Rule;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.JDocCommentable;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMethod;
+
+/**
+ * Not required rule wrapper annotating non-required fields and their non-void methods with {@link Nullable}. The
+ * required property names of each schema are looked up from a {@link RequiredPropertiesCache}, so they're only
+ * collected once per schema instead of once per property.
+ *
+ * @author lengors
+ */
+public class NotRequiredRule implements Rule<JDocCommentable, JDocCommentable> {
+  /**
+   * Name of the void type, whose methods are never annotated.
+   */
+  private static final String VOID_TYPE_NAME = "void";
+
+  /**
+   * The cache to look required property names up from, or null to compute them on every invocation.
+   */
+  private final @Nullable RequiredPropertiesCache requiredPropertiesCache;
+
+  /**
+   * The not required rule that must be obtained from the super rule's factory.
+   */
+  private final Rule<JDocCommentable, JDocCommentable> superNotRequiredRule;
+
+  /**
+   * Instantiates the rule with a required properties cache and a parent rule injected.
+   *
+   * @param requiredPropertiesCache The cache to look required property names up from, or null to compute them on every
+   *                                invocation.
+   * @param superNotRequiredRule    The parent rule injected.
+   */
+  public NotRequiredRule(
+      final @Nullable RequiredPropertiesCache requiredPropertiesCache,
+      final Rule<JDocCommentable, JDocCommentable> superNotRequiredRule) {
+    this.requiredPropertiesCache = requiredPropertiesCache;
+    this.superNotRequiredRule = superNotRequiredRule;
+  }
+
+  /**
+   * Applies this rule by annotating the given generatable with {@link Nullable} if it's either a non-required field or
+   * a non-void method of one.
+   *
+   * @param nodeName        The name of the JSON node being processed.
+   * @param node            The JSON node to which the rule is being applied.
+   * @param parent          The parent JSON node, or null if there isn't one.
+   * @param generatableType The property field, getter or setter that is being generated from the JSON schema.
+   * @param currentSchema   The current schema being processed.
+   * @return The property field, getter or setter after applying the rule.
+   */
+  @Override
+  public JDocCommentable apply(
+      final String nodeName,
+      final JsonNode node,
+      final JsonNode parent,
+      final JDocCommentable generatableType,
+      final Schema currentSchema) {
+    final var resultType = superNotRequiredRule.apply(nodeName, node, parent, generatableType, currentSchema);
+
+    final var requiredProperties = requiredPropertiesCache != null
+        ? requiredPropertiesCache.get(currentSchema)
+        : RequiredPropertiesCache.compute(currentSchema);
+    if (requiredProperties.contains(nodeName)) {
+      return resultType;
+    }
+
+    if (generatableType instanceof JFieldVar fieldVar) {
+      fieldVar.annotate(Nullable.class);
+    } else if (generatableType instanceof JMethod method && !method
+        .type()
+        .fullName()
+        .equals(VOID_TYPE_NAME)) {
+      method.annotate(Nullable.class);
+    }
+
+    return resultType;
+  }
+}
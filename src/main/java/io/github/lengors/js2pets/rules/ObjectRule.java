@@ -9,10 +9,18 @@ import com.sun.codemodel.JPackage;
 import com.sun.codemodel.JType;
 
 import io.github.lengors.js2pets.annotators.AnnotatorUtils;
+import io.github.lengors.js2pets.annotators.DeferredAnnotationQueue;
+import io.github.lengors.js2pets.generation.StreamingTypeEmitter;
 
 /**
  * Object rule wrapper providing support for notifying the annotator when the type is finished generating and if the
- * annotator supports the respective callback.
+ * annotator supports the respective callback. Once the type is done, the schema's entry in the rule factory's
+ * {@link RequiredPropertiesCache} is evicted, if the rule factory provides one, and the type is handed to the rule
+ * factory's {@link StreamingTypeEmitter}, if streaming is enabled. If the rule factory provides a
+ * {@link StructuralTypeRegistry}, an inline schema structurally identical to one already generated reuses its type. If
+ * the rule factory provides a {@link CompletedTypeSet}, the annotator is only notified the first time a type is
+ * returned. If the rule factory provides a {@link DeferredAnnotationQueue}, the notification is enqueued instead, and
+ * the queue is only flushed once the rule completes normally.
  *
  * @author lengors
  */
@@ -55,8 +63,39 @@ public class ObjectRule implements Rule<JPackage, JType> {
       final JsonNode parent,
       final JPackage generatableType,
       final Schema currentSchema) {
-    final var newType = superObjectRule.apply(nodeName, node, parent, generatableType, currentSchema);
-    AnnotatorUtils.type(ruleFactory.getAnnotator(), newType);
+    final var key = StructuralTypeRegistry.createKey(ruleFactory, node, generatableType, currentSchema);
+    final var existingType = StructuralTypeRegistry.find(ruleFactory, key, nodeName, generatableType);
+    if (existingType != null) {
+      return existingType;
+    }
+
+    final JType newType;
+    var applied = false;
+    StreamingTypeEmitter.open(ruleFactory, currentSchema);
+    DeferredAnnotationQueue.open(ruleFactory);
+    try {
+      newType = superObjectRule.apply(nodeName, node, parent, generatableType, currentSchema);
+      if (CompletedTypeSet.complete(ruleFactory, newType) && !DeferredAnnotationQueue.enqueue(ruleFactory, newType)) {
+        AnnotatorUtils
+            .dispatchPlan(ruleFactory)
+            .type(newType);
+      }
+      applied = true;
+    } finally {
+      if (applied) {
+        DeferredAnnotationQueue.close(ruleFactory);
+      } else {
+        DeferredAnnotationQueue.abort(ruleFactory);
+      }
+      StreamingTypeEmitter.close(ruleFactory, currentSchema);
+      if (ruleFactory instanceof RequiredPropertiesCache.Provider provider) {
+        provider
+            .getRequiredPropertiesCache()
+            .evict(currentSchema);
+      }
+    }
+    StructuralTypeRegistry.register(ruleFactory, key, newType);
+    StreamingTypeEmitter.complete(ruleFactory, newType);
     return newType;
   }
 }
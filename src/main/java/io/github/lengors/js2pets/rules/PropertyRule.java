@@ -0,0 +1,82 @@
+package io.github.lengors.js2pets.rules;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.rules.Rule;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.JDefinedClass;
+
+import io.github.lengors.js2pets.codemodel.CodeModelUtils;
+
+/**
+ * Property rule wrapper recording the JSON property name of each generated field, so that it can be later retrieved
+ * through {@link CodeModelUtils#getJsonPropertyValue(com.sun.codemodel.JVar)} without rendering the field's
+ * {@link JsonProperty} annotation.
+ *
+ * @author lengors
+ */
+public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
+  /**
+   * Field name used by jsonschema2pojo for properties with an empty name.
+   */
+  private static final String EMPTY_PROPERTY_NAME = "__EMPTY__";
+
+  /**
+   * Rule factory from where we get the name helper.
+   */
+  private final RuleFactory ruleFactory;
+
+  /**
+   * The property rule that must be obtained from the super rule's factory.
+   */
+  private final Rule<JDefinedClass, JDefinedClass> superPropertyRule;
+
+  /**
+   * Constructs a property rule with given configuration.
+   *
+   * @param ruleFactory       A rule factory to inject.
+   * @param superPropertyRule The parent property rule to inject.
+   */
+  public PropertyRule(final RuleFactory ruleFactory, final Rule<JDefinedClass, JDefinedClass> superPropertyRule) {
+    this.ruleFactory = ruleFactory;
+    this.superPropertyRule = superPropertyRule;
+  }
+
+  /**
+   * Applies this rule to the given {@link JDefinedClass}, recording the JSON property name of the generated field if
+   * it's annotated with {@link JsonProperty}.
+   *
+   * @param nodeName      The name of the JSON node being processed.
+   * @param node          The JSON node to which the rule is being applied.
+   * @param parent        The parent JSON node, or null if there isn't one.
+   * @param clazz         The Java class that is being generated from the JSON schema.
+   * @param currentSchema The current schema being processed.
+   * @return The {@link JDefinedClass} after applying the rule.
+   */
+  @Override
+  public JDefinedClass apply(
+      final String nodeName,
+      final JsonNode node,
+      final JsonNode parent,
+      final JDefinedClass clazz,
+      final Schema currentSchema) {
+    final var result = superPropertyRule.apply(nodeName, node, parent, clazz, currentSchema);
+
+    final var fieldName = StringUtils.isEmpty(nodeName)
+        ? EMPTY_PROPERTY_NAME
+        : ruleFactory
+            .getNameHelper()
+            .getPropertyName(nodeName, node);
+    final var field = clazz
+        .fields()
+        .get(fieldName);
+    if (field != null && CodeModelUtils.containsAnnotation(field, JsonProperty.class)) {
+      CodeModelUtils.setJsonPropertyValue(field, nodeName);
+    }
+
+    return result;
+  }
+}
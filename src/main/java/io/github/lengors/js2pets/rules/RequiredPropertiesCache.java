@@ -0,0 +1,103 @@
+package io.github.lengors.js2pets.rules;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsonschema2pojo.Schema;
+
+/**
+ * Cache of the names listed in each schema's {@code required} array, keyed by schema identity. Entries are meant to be
+ * evicted once the schema's object type is done generating, which {@link ObjectRule} does for rule factories
+ * implementing {@link RequiredPropertiesCache.Provider}.
+ *
+ * @author lengors
+ */
+public final class RequiredPropertiesCache {
+  /**
+   * Name of the schema keyword listing the required properties.
+   */
+  private static final String REQUIRED_KEYWORD = "required";
+
+  /**
+   * Required property names for each schema currently being processed.
+   */
+  private final Map<Schema, Set<String>> requiredProperties = Collections.synchronizedMap(new IdentityHashMap<>());
+
+  /**
+   * Creates an empty cache.
+   */
+  public RequiredPropertiesCache() {
+  }
+
+  /**
+   * Gets the required property names of the given schema, computing and caching them if needed.
+   *
+   * @param schema The schema whose required property names to get.
+   * @return An unmodifiable set with the required property names.
+   */
+  public Set<String> get(final Schema schema) {
+    final var names = requiredProperties.get(schema);
+    if (names != null) {
+      return names;
+    }
+    final var computedNames = compute(schema);
+    requiredProperties.put(schema, computedNames);
+    return computedNames;
+  }
+
+  /**
+   * Evicts the required property names of the given schema.
+   *
+   * @param schema The schema whose entry to evict.
+   */
+  public void evict(final Schema schema) {
+    requiredProperties.remove(schema);
+  }
+
+  /**
+   * Gets the number of schemas currently cached.
+   *
+   * @return The number of cached schemas.
+   */
+  public int size() {
+    return requiredProperties.size();
+  }
+
+  /**
+   * Computes the required property names of the given schema, without caching them.
+   *
+   * @param schema The schema whose required property names to compute.
+   * @return An unmodifiable set with the required property names.
+   */
+  public static Set<String> compute(final Schema schema) {
+    final var required = schema
+        .getContent()
+        .get(REQUIRED_KEYWORD);
+    if (required == null || required.isEmpty()) {
+      return Collections.emptySet();
+    }
+    final var names = new HashSet<String>();
+    required
+        .elements()
+        .forEachRemaining(element -> names.add(element.asText()));
+    return Collections.unmodifiableSet(names);
+  }
+
+  /**
+   * Provider of a {@link RequiredPropertiesCache}, typically implemented by rule factories so that the cache is shared
+   * by the rules they create.
+   *
+   * @author lengors
+   */
+  public interface Provider {
+    /**
+     * Gets the required properties cache.
+     *
+     * @return The required properties cache.
+     */
+    RequiredPropertiesCache getRequiredPropertiesCache();
+  }
+}
@@ -0,0 +1,403 @@
+package io.github.lengors.js2pets.rules;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.sun.codemodel.JClassContainer;
+import com.sun.codemodel.JType;
+
+/**
+ * Registry of the object and enum types generated for inline schemas, keyed by a canonical structural hash of the
+ * schema, so that an inline schema structurally identical to one already generated reuses its type instead of
+ * generating another, such as {@code Address__1}. Every reuse is logged and recorded as a {@link Merge}.
+ * <br />
+ * <br />
+ * The hash covers the whole schema, with object members in sorted order and without the documentation keywords, such
+ * as {@code description}, which only affect the generated JavaDoc. Documentation keywords are only left out of schemas,
+ * never out of the property and definition names of {@code properties} and alike, nor out of literal values, such as
+ * those of {@code enum} or {@code default}. Titles are only covered when they name the classes.
+ * Types are only reused within the same package, and schemas with {@code $ref}s are only merged with schemas of the
+ * same document, as their references might otherwise resolve to different types. Documents, named definitions and
+ * schemas naming their own Java type are never merged.
+ * <br />
+ * <br />
+ * Types are looked up and registered by the object and enum rule wrappers, for rule factories implementing
+ * {@link StructuralTypeRegistry.Provider}.
+ *
+ * @author lengors
+ */
+public final class StructuralTypeRegistry {
+  /**
+   * Keywords only affecting the generated JavaDoc, left out of the hash.
+   */
+  private static final Set<String> DOCUMENTATION_KEYWORDS = Set.of("$comment", "description", "examples", "title");
+
+  /**
+   * Keywords naming the schema's own Java type, which exclude the schema from merging.
+   */
+  private static final Set<String> JAVA_TYPE_KEYWORDS = Set.of("existingJavaType", "javaType");
+
+  /**
+   * Keywords holding the named definitions of a document.
+   */
+  private static final Set<String> DEFINITIONS_KEYWORDS = Set.of("$defs", "definitions");
+
+  /**
+   * Keywords holding maps of names to subschemas, such as property names.
+   */
+  private static final Set<String> SCHEMA_MAP_KEYWORDS = Set.of(
+      "$defs",
+      "definitions",
+      "dependencies",
+      "dependentSchemas",
+      "patternProperties",
+      "properties");
+
+  /**
+   * Keywords holding a subschema or an array of subschemas.
+   */
+  private static final Set<String> SUBSCHEMA_KEYWORDS = Set.of(
+      "additionalItems",
+      "additionalProperties",
+      "allOf",
+      "anyOf",
+      "contains",
+      "else",
+      "if",
+      "items",
+      "not",
+      "oneOf",
+      "prefixItems",
+      "propertyNames",
+      "then",
+      "unevaluatedItems",
+      "unevaluatedProperties");
+
+  /**
+   * Keyword of the schema's references.
+   */
+  private static final String REF_KEYWORD = "$ref";
+
+  /**
+   * Keyword of the schema's title.
+   */
+  private static final String TITLE_KEYWORD = "title";
+
+  /**
+   * Algorithm of the structural hash.
+   */
+  private static final String ALGORITHM = "SHA-256";
+
+  /**
+   * Registered types, by structural key.
+   */
+  private final Map<Key, JType> types = Collections.synchronizedMap(new HashMap<>());
+
+  /**
+   * Merges done so far, in merging order.
+   */
+  private final List<Merge> merges = Collections.synchronizedList(new ArrayList<>());
+
+  /**
+   * Whether titles are covered by the hash, as they name the generated classes.
+   */
+  private final boolean hashingTitles;
+
+  /**
+   * Constructs a registry.
+   *
+   * @param hashingTitles Whether titles are covered by the hash, as they name the generated classes.
+   */
+  public StructuralTypeRegistry(final boolean hashingTitles) {
+    this.hashingTitles = hashingTitles;
+  }
+
+  /**
+   * Computes the structural key of the given schema, if it can be merged.
+   *
+   * @param node          The schema of the type.
+   * @param container     The container the type is generated within.
+   * @param currentSchema The schema being processed when the type's rule was applied.
+   * @return The structural key, or null if the schema can't be merged.
+   */
+  public @Nullable Key createKey(final JsonNode node, final JClassContainer container, final Schema currentSchema) {
+    if (!node.isObject() || !isInline(node, currentSchema) || JAVA_TYPE_KEYWORDS
+        .stream()
+        .anyMatch(node::has)) {
+      return null;
+    }
+    final var canonicalForm = new StringBuilder();
+    final var referencing = canonicalize(node, Position.SCHEMA, canonicalForm);
+    final var id = currentSchema.getId();
+    return new Key(
+        container
+            .getPackage()
+            .name(),
+        referencing && id != null ? getDocument(id.toString()) : null,
+        hash(canonicalForm.toString()));
+  }
+
+  /**
+   * Gets the type registered with the given key within the given container's code model, recording the merge.
+   *
+   * @param key       The structural key of the schema.
+   * @param nodeName  The name of the schema's node.
+   * @param container The container the type would be generated within.
+   * @return The registered type, or null if there is none.
+   */
+  public @Nullable JType find(final Key key, final String nodeName, final JClassContainer container) {
+    final var type = types.get(key);
+    if (type == null || type.owner() != container.owner()) {
+      return null;
+    }
+    merges.add(new Merge(type.fullName(), nodeName, container
+        .getPackage()
+        .name()));
+    return type;
+  }
+
+  /**
+   * Registers the type generated for the schema with the given key, unless one is already registered.
+   *
+   * @param key  The structural key of the schema.
+   * @param type The generated type.
+   */
+  public void register(final Key key, final JType type) {
+    types.putIfAbsent(key, type);
+  }
+
+  /**
+   * Gets the merges done so far.
+   *
+   * @return An unmodifiable list with the merges, in merging order.
+   */
+  public List<Merge> getMerges() {
+    synchronized (merges) {
+      return List.copyOf(merges);
+    }
+  }
+
+  /**
+   * Computes the structural key of the given schema, if the rule factory provides a registry and the schema can be
+   * merged.
+   *
+   * @param ruleFactory   The rule factory the type is generated with.
+   * @param node          The schema of the type.
+   * @param container     The container the type is generated within.
+   * @param currentSchema The schema being processed when the type's rule was applied.
+   * @return The structural key, or null if there is no registry or the schema can't be merged.
+   */
+  public static @Nullable Key createKey(
+      final RuleFactory ruleFactory,
+      final JsonNode node,
+      final JClassContainer container,
+      final Schema currentSchema) {
+    final var registry = get(ruleFactory);
+    return registry == null ? null : registry.createKey(node, container, currentSchema);
+  }
+
+  /**
+   * Gets the type registered with the given key in the rule factory's registry, logging the merge.
+   *
+   * @param ruleFactory The rule factory the type would be generated with.
+   * @param key         The structural key of the schema, or null if it can't be merged.
+   * @param nodeName    The name of the schema's node.
+   * @param container   The container the type would be generated within.
+   * @return The registered type, or null if there is none.
+   */
+  public static @Nullable JType find(
+      final RuleFactory ruleFactory,
+      final @Nullable Key key,
+      final String nodeName,
+      final JClassContainer container) {
+    final var registry = get(ruleFactory);
+    if (registry == null || key == null) {
+      return null;
+    }
+    final var type = registry.find(key, nodeName, container);
+    if (type != null) {
+      ruleFactory
+          .getLogger()
+          .info("Reusing " + type.fullName() + " for structurally identical schema " + nodeName);
+    }
+    return type;
+  }
+
+  /**
+   * Registers the type generated for the schema with the given key in the rule factory's registry.
+   *
+   * @param ruleFactory The rule factory the type was generated with.
+   * @param key         The structural key of the schema, or null if it can't be merged.
+   * @param type        The generated type.
+   */
+  public static void register(final RuleFactory ruleFactory, final @Nullable Key key, final JType type) {
+    final var registry = get(ruleFactory);
+    if (registry != null && key != null) {
+      registry.register(key, type);
+    }
+  }
+
+  private static @Nullable StructuralTypeRegistry get(final RuleFactory ruleFactory) {
+    return ruleFactory instanceof Provider provider ? provider.getStructuralTypeRegistry() : null;
+  }
+
+  private boolean canonicalize(final JsonNode node, final Position position, final StringBuilder canonicalForm) {
+    var referencing = false;
+    if (node.isObject()) {
+      final var members = new TreeMap<String, JsonNode>();
+      node
+          .fields()
+          .forEachRemaining(field -> members.put(field.getKey(), field.getValue()));
+      canonicalForm.append('{');
+      for (final var member : members.entrySet()) {
+        final var name = member.getKey();
+        if (position == Position.SCHEMA && isDocumentation(name)) {
+          continue;
+        }
+        referencing |= position == Position.SCHEMA && REF_KEYWORD.equals(name);
+        canonicalForm
+            .append(quote(name))
+            .append(':');
+        referencing |= canonicalize(member.getValue(), getMemberPosition(position, name), canonicalForm);
+        canonicalForm.append(',');
+      }
+      canonicalForm.append('}');
+    } else if (node.isArray()) {
+      final var elementPosition = position == Position.VALUE ? Position.VALUE : Position.SCHEMA;
+      canonicalForm.append('[');
+      for (final var element : node) {
+        referencing |= canonicalize(element, elementPosition, canonicalForm);
+        canonicalForm.append(',');
+      }
+      canonicalForm.append(']');
+    } else {
+      canonicalForm.append(node.toString());
+    }
+    return referencing;
+  }
+
+  private boolean isDocumentation(final String keyword) {
+    return DOCUMENTATION_KEYWORDS.contains(keyword) && !(hashingTitles && TITLE_KEYWORD.equals(keyword));
+  }
+
+  private static Position getMemberPosition(final Position position, final String name) {
+    return switch (position) {
+      case SCHEMA -> SCHEMA_MAP_KEYWORDS.contains(name)
+          ? Position.SCHEMA_MAP
+          : SUBSCHEMA_KEYWORDS.contains(name) ? Position.SCHEMA : Position.VALUE;
+      case SCHEMA_MAP -> Position.SCHEMA;
+      case VALUE -> Position.VALUE;
+    };
+  }
+
+  private static boolean isInline(final JsonNode node, final Schema currentSchema) {
+    if (node != currentSchema.getContent()) {
+      return true;
+    }
+    final var id = currentSchema.getId();
+    final var fragment = id == null ? null : id.getFragment();
+    if (fragment == null || fragment.isEmpty() || "/".equals(fragment)) {
+      return false;
+    }
+    final var segments = fragment.split("/");
+    return segments.length < 2 || !DEFINITIONS_KEYWORDS.contains(segments[segments.length - 2]);
+  }
+
+  private static String quote(final String name) {
+    return TextNode
+        .valueOf(name)
+        .toString();
+  }
+
+  private static String getDocument(final String id) {
+    final var fragmentIndex = id.indexOf('#');
+    return fragmentIndex < 0 ? id : id.substring(0, fragmentIndex);
+  }
+
+  private static String hash(final String canonicalForm) {
+    try {
+      return HexFormat
+          .of()
+          .formatHex(MessageDigest
+              .getInstance(ALGORITHM)
+              .digest(canonicalForm.getBytes(StandardCharsets.UTF_8)));
+    } catch (final NoSuchAlgorithmException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Position of a node within the schema being canonicalized.
+   *
+   * @author lengors
+   */
+  private enum Position {
+    /**
+     * Schema, whose documentation keywords are left out.
+     */
+    SCHEMA,
+
+    /**
+     * Map of names to subschemas, such as the value of {@code properties}, whose names are all kept.
+     */
+    SCHEMA_MAP,
+
+    /**
+     * Literal value, or value of an unknown keyword, kept as is.
+     */
+    VALUE
+  }
+
+  /**
+   * Structural key of a schema.
+   *
+   * @param packageName The name of the package the type is generated within.
+   * @param document    The document of the schema, if it has references, or null otherwise.
+   * @param hash        The canonical structural hash of the schema.
+   * @author lengors
+   */
+  public record Key(String packageName, @Nullable String document, String hash) {
+  }
+
+  /**
+   * Reuse of a registered type for a structurally identical schema.
+   *
+   * @param typeName    The full name of the reused type.
+   * @param nodeName    The name of the schema's node that reused it.
+   * @param packageName The name of the package the schema's type would have been generated within.
+   * @author lengors
+   */
+  public record Merge(String typeName, String nodeName, String packageName) {
+  }
+
+  /**
+   * Provider of a {@link StructuralTypeRegistry}, typically implemented by rule factories so that the registry is
+   * shared by the rules they create.
+   *
+   * @author lengors
+   */
+  public interface Provider {
+    /**
+     * Gets the structural type registry.
+     *
+     * @return The structural type registry, or null if structural deduplication is disabled.
+     */
+    @Nullable
+    StructuralTypeRegistry getStructuralTypeRegistry();
+  }
+}
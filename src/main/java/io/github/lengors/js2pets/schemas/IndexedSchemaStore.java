@@ -0,0 +1,157 @@
+package io.github.lengors.js2pets.schemas;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.jsonschema2pojo.ContentResolver;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.jsonschema2pojo.RuleLogger;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.SchemaStore;
+
+/**
+ * Schema store resolving fragment references, such as {@code #/definitions/address} or {@code other.json#/$defs/line},
+ * through a {@link JsonPointerIndex} of their document. The index is built on the first fragment resolved within a
+ * document and shared by every schema created from it, so bundles referencing many fragments of the same document
+ * don't walk it again for each of them.
+ * <br />
+ * <br />
+ * Fragments that aren't indexed are resolved by jsonschema2pojo's {@link org.jsonschema2pojo.FragmentResolver}, as are
+ * self-references of schemas without a parent document.
+ *
+ * @author lengors
+ */
+public class IndexedSchemaStore extends SchemaStore {
+  /**
+   * Name of jsonschema2pojo's schema store field holding the content resolver.
+   */
+  private static final String CONTENT_RESOLVER_FIELD_NAME = "contentResolver";
+
+  /**
+   * Name of jsonschema2pojo's schema store field holding the logger.
+   */
+  private static final String LOGGER_FIELD_NAME = "logger";
+
+  /**
+   * Name of jsonschema2pojo's schema store field holding the created schemas.
+   */
+  private static final String SCHEMAS_FIELD_NAME = "schemas";
+
+  /**
+   * Pointer indexes of the documents whose fragments were resolved, by document URI.
+   */
+  private final Map<URI, JsonPointerIndex> indexes = new HashMap<>();
+
+  /**
+   * Creates a store parsing JSON documents with jsonschema2pojo's resolver.
+   */
+  public IndexedSchemaStore() {
+    this(new NoopRuleLogger());
+  }
+
+  /**
+   * Creates a store parsing JSON documents with jsonschema2pojo's resolver.
+   *
+   * @param logger The logger to report schema resolution to.
+   */
+  public IndexedSchemaStore(final RuleLogger logger) {
+    this(new ContentResolver(), logger);
+  }
+
+  /**
+   * Creates a store resolving documents with the given resolver.
+   *
+   * @param contentResolver The resolver to resolve the documents with.
+   * @param logger          The logger to report schema resolution to.
+   */
+  public IndexedSchemaStore(final ContentResolver contentResolver, final RuleLogger logger) {
+    super(contentResolver, logger);
+  }
+
+  /**
+   * Creates a store parsing documents in the format of the sources of the given configuration with jsonschema2pojo's
+   * resolver.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param logger           The logger to report schema resolution to.
+   * @return The created store.
+   */
+  public static IndexedSchemaStore create(final GenerationConfig generationConfig, final RuleLogger logger) {
+    final var jsonFactory = JsonFactoryUtils.createJsonFactory(generationConfig);
+    return new IndexedSchemaStore(new ContentResolver(jsonFactory), logger);
+  }
+
+  /**
+   * Gets a store indexing fragments in place of the given one. A plain jsonschema2pojo store that hasn't created any
+   * schema yet is replaced by an indexed store built from its content resolver and logger. Any other store, including
+   * a plain one whose fields can't be read, is kept, so that neither its resolver nor its schemas are discarded.
+   *
+   * @param schemaStore The store to index fragments in place of.
+   * @return The indexed store, or the given store if kept.
+   */
+  public static SchemaStore of(final SchemaStore schemaStore) {
+    if (schemaStore.getClass() != SchemaStore.class) {
+      return schemaStore;
+    }
+
+    final Object contentResolver;
+    final Object logger;
+    final Object schemas;
+    try {
+      contentResolver = FieldUtils.readField(schemaStore, CONTENT_RESOLVER_FIELD_NAME, true);
+      logger = FieldUtils.readField(schemaStore, LOGGER_FIELD_NAME, true);
+      schemas = FieldUtils.readField(schemaStore, SCHEMAS_FIELD_NAME, true);
+    } catch (final IllegalAccessException | IllegalArgumentException exception) {
+      return schemaStore;
+    }
+    return contentResolver instanceof ContentResolver resolver
+        && logger instanceof RuleLogger ruleLogger
+        && schemas instanceof Map<?, ?> createdSchemas
+        && createdSchemas.isEmpty()
+            ? new IndexedSchemaStore(resolver, ruleLogger)
+            : schemaStore;
+  }
+
+  /**
+   * Creates the schema with the given URI, or gets it if already created, resolving its fragment, if any, through the
+   * pointer index of its document.
+   *
+   * @param id                        The URI of the schema.
+   * @param refFragmentPathDelimiters The characters separating the segments of fragments.
+   * @return The schema.
+   */
+  @Override
+  public synchronized Schema create(final URI id, final String refFragmentPathDelimiters) {
+    final var normalizedId = id.normalize();
+    final var fragment = id.getFragment();
+    if (schemas.containsKey(normalizedId) || fragment == null || !normalizedId
+        .toString()
+        .contains("#")) {
+      return super.create(id, refFragmentPathDelimiters);
+    }
+
+    final var baseId = removeFragment(id).normalize();
+    final var baseSchema = super.create(baseId, refFragmentPathDelimiters);
+    final var path = '#' + fragment;
+    final var content = indexes
+        .computeIfAbsent(baseId, key -> new JsonPointerIndex(baseSchema.getContent()))
+        .get(path, refFragmentPathDelimiters);
+    final var schema = new Schema(normalizedId, content == null
+        ? fragmentResolver.resolve(baseSchema.getContent(), path, refFragmentPathDelimiters)
+        : content, baseSchema);
+    schemas.put(normalizedId, schema);
+    return schema;
+  }
+
+  /**
+   * Clears the created schemas along with the pointer indexes of their documents.
+   */
+  @Override
+  public synchronized void clearCache() {
+    super.clearCache();
+    indexes.clear();
+  }
+}
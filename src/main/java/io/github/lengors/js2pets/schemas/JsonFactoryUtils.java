@@ -0,0 +1,39 @@
+package io.github.lengors.js2pets.schemas;
+
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.SourceType;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+/**
+ * Utilities for the {@link JsonFactory} parsing schema documents.
+ *
+ * @author lengors
+ */
+public final class JsonFactoryUtils {
+  private JsonFactoryUtils() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Creates a factory parsing documents in the format of the sources of the given configuration.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @return A {@link YAMLFactory} if the sources are YAML, a {@link JsonFactory} otherwise.
+   */
+  public static JsonFactory createJsonFactory(final GenerationConfig generationConfig) {
+    return isYaml(generationConfig) ? new YAMLFactory() : new JsonFactory();
+  }
+
+  /**
+   * Checks whether the sources of the given configuration are YAML documents.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @return Whether the sources are YAML documents, either schemas or examples.
+   */
+  public static boolean isYaml(final GenerationConfig generationConfig) {
+    final var sourceType = generationConfig.getSourceType();
+    return sourceType == SourceType.YAMLSCHEMA || sourceType == SourceType.YAML;
+  }
+}
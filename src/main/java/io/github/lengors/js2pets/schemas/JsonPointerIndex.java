@@ -0,0 +1,101 @@
+package io.github.lengors.js2pets.schemas;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.JsonPointerUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Index of the object and array nodes of a document by their JSON pointer, so that resolving a fragment to a schema is
+ * a hash lookup instead of a walk down the document, one segment at a time. Scalar leaves, which make up most of a
+ * document, aren't indexed, since references point at schemas. Pointers are keyed in their RFC 6901 form, with
+ * {@code ~} and {@code /} escaped as {@code ~0} and {@code ~1} within each segment.
+ * <br />
+ * <br />
+ * Fragments are split and their segments decoded as jsonschema2pojo's {@link org.jsonschema2pojo.FragmentResolver}
+ * does, so a fragment found in the index resolves to the same node as the walk. Fragments that aren't found, such as
+ * missing paths, scalar leaves or array indexes not written in their canonical form, must be resolved by walking,
+ * which also reports any error as before.
+ *
+ * @author lengors
+ */
+public final class JsonPointerIndex {
+  /**
+   * Separator of the segments of the indexed pointers.
+   */
+  private static final char SEPARATOR = '/';
+
+  /**
+   * Object and array nodes of the document, by pointer.
+   */
+  private final Map<String, JsonNode> nodes = new HashMap<>();
+
+  /**
+   * Indexes the object and array nodes of the given document.
+   *
+   * @param document The root of the document.
+   */
+  public JsonPointerIndex(final JsonNode document) {
+    final var pendingPointers = new ArrayDeque<String>();
+    final var pendingNodes = new ArrayDeque<JsonNode>();
+    pendingPointers.add("");
+    pendingNodes.add(document);
+    while (!pendingNodes.isEmpty()) {
+      final var pointer = pendingPointers.remove();
+      final var node = pendingNodes.remove();
+      if (node.isContainerNode()) {
+        nodes.put(pointer, node);
+      }
+      if (node.isObject()) {
+        node
+            .fields()
+            .forEachRemaining(field -> {
+              pendingPointers.add(pointer + SEPARATOR + escape(field.getKey()));
+              pendingNodes.add(field.getValue());
+            });
+      } else if (node.isArray()) {
+        for (var index = 0; index < node.size(); ++index) {
+          pendingPointers.add(pointer + SEPARATOR + index);
+          pendingNodes.add(node.get(index));
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the node at the given fragment.
+   *
+   * @param fragment   The fragment, such as {@code #/definitions/address}.
+   * @param delimiters The characters separating the segments of the fragment.
+   * @return The node, or null if not indexed, in which case the fragment must be resolved by walking the document.
+   */
+  public @Nullable JsonNode get(final String fragment, final String delimiters) {
+    final var pointer = new StringBuilder(fragment.length());
+    for (final var segment : StringUtils.split(fragment, delimiters)) {
+      pointer
+          .append(SEPARATOR)
+          .append(escape(JsonPointerUtils.decodeReferenceToken(segment)));
+    }
+    return nodes.get(pointer.toString());
+  }
+
+  /**
+   * Gets the number of indexed nodes.
+   *
+   * @return The number of indexed nodes.
+   */
+  public int size() {
+    return nodes.size();
+  }
+
+  private static String escape(final String segment) {
+    return segment
+        .replace("~", "~0")
+        .replace("/", "~1");
+  }
+}
@@ -0,0 +1,208 @@
+package io.github.lengors.js2pets.schemas;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Set;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.ContentResolver;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+/**
+ * Content resolver memory-mapping large local JSON files and only parsing their definitions when reached. A single
+ * streaming pass over the mapped file parses every top-level member except {@code definitions} and {@code $defs}, of
+ * which only the byte range of each entry is recorded. An entry is parsed the first time it's looked up, such as when a
+ * {@code $ref} points to it, so definitions that are never referenced are never turned into nodes.
+ * <br />
+ * <br />
+ * Files smaller than the threshold, files in other formats and other URIs are resolved by the fallback resolver. The
+ * mapped files must not change while their documents are in use.
+ *
+ * @author lengors
+ */
+public class LazyContentResolver extends ContentResolver {
+  /**
+   * Default size from which local files are loaded lazily, in bytes.
+   */
+  public static final long DEFAULT_THRESHOLD_BYTES = 1024L * 1024;
+
+  /**
+   * System property overriding the size from which {@link LazySchemaStore#create} makes local files load lazily, in
+   * bytes.
+   */
+  public static final String THRESHOLD_BYTES_PROPERTY = "js2pets.lazySchemaThresholdBytes";
+
+  /**
+   * Scheme of the URIs of local files.
+   */
+  private static final String FILE_SCHEME = "file";
+
+  /**
+   * Top-level members whose entries are parsed lazily.
+   */
+  private static final Set<String> DEFINITIONS_KEYWORDS = Set.of("definitions", "$defs");
+
+  /**
+   * Mapper parsing the documents, configured as jsonschema2pojo's.
+   */
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Whether the documents are in JSON, which is the only format loaded lazily.
+   */
+  private final boolean json;
+
+  /**
+   * Resolver used for the documents that aren't loaded lazily.
+   */
+  private final ContentResolver fallbackResolver;
+
+  /**
+   * Size from which local files are loaded lazily, in bytes.
+   */
+  private final long thresholdBytes;
+
+  /**
+   * Creates a resolver lazily loading local JSON files of at least {@value #DEFAULT_THRESHOLD_BYTES} bytes.
+   */
+  public LazyContentResolver() {
+    this(new JsonFactory(), new ContentResolver(), DEFAULT_THRESHOLD_BYTES);
+  }
+
+  /**
+   * Creates a resolver lazily loading local files of at least the given size, if the given factory parses JSON.
+   *
+   * @param jsonFactory      The factory to parse the documents with.
+   * @param fallbackResolver The resolver to use for the documents that aren't loaded lazily.
+   * @param thresholdBytes   The size from which local files are loaded lazily, in bytes.
+   */
+  public LazyContentResolver(
+      final JsonFactory jsonFactory,
+      final ContentResolver fallbackResolver,
+      final long thresholdBytes) {
+    super(jsonFactory);
+    this.objectMapper = new ObjectMapper(jsonFactory)
+        .enable(JsonParser.Feature.ALLOW_COMMENTS)
+        .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    this.json = JsonFactory.FORMAT_NAME_JSON.equals(jsonFactory.getFormatName());
+    this.fallbackResolver = fallbackResolver;
+    this.thresholdBytes = thresholdBytes;
+  }
+
+  /**
+   * Resolves the document at the given URI, loading it lazily if it's a large enough local JSON file.
+   *
+   * @param uri The URI of the document.
+   * @return The parsed document.
+   */
+  @Override
+  public JsonNode resolve(final URI uri) {
+    if (!json || !FILE_SCHEME.equalsIgnoreCase(uri.getScheme()) || uri.getFragment() != null
+        || uri.getQuery() != null || uri.isOpaque() || uri.getAuthority() != null) {
+      return fallbackResolver.resolve(uri);
+    }
+    final var file = new File(uri);
+    final var size = file.length();
+    if (!file.isFile() || size < thresholdBytes || size > Integer.MAX_VALUE) {
+      return fallbackResolver.resolve(uri);
+    }
+
+    try {
+      final var content = load(file);
+      return content == null ? fallbackResolver.resolve(uri) : content;
+    } catch (final IOException exception) {
+      throw new IllegalArgumentException("Error parsing document: " + uri, exception);
+    }
+  }
+
+  private @Nullable JsonNode load(final File file) throws IOException {
+    final ByteBuffer buffer;
+    try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    try (var inputStream = new ByteBufferBackedInputStream(buffer.duplicate());
+        var parser = objectMapper.createParser(inputStream)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+      final var root = objectMapper.createObjectNode();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final var name = parser.currentName();
+        final var token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT && DEFINITIONS_KEYWORDS.contains(name)) {
+          final var definitions = index(parser, buffer);
+          if (definitions == null) {
+            return null;
+          }
+          root.set(name, definitions);
+        } else {
+          final JsonNode value = objectMapper.readTree(parser);
+          root.set(name, value == null ? NullNode.getInstance() : value);
+        }
+      }
+      return root;
+    }
+  }
+
+  private @Nullable ObjectNode index(final JsonParser parser, final ByteBuffer buffer) throws IOException {
+    final var locations = new LinkedHashMap<String, LazyObjectMembers.Location>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final var name = parser.currentName();
+      parser.nextToken();
+      final var start = parser
+          .currentTokenLocation()
+          .getByteOffset();
+      skip(parser);
+      final var end = parser
+          .currentLocation()
+          .getByteOffset();
+      if (start < 0 || end < start) {
+        return null;
+      }
+      locations.put(name, new LazyObjectMembers.Location((int) start, (int) (end - start)));
+    }
+    return new ObjectNode(objectMapper.getNodeFactory(), new LazyObjectMembers(locations, location -> parse(buffer,
+        location)));
+  }
+
+  private JsonNode parse(final ByteBuffer buffer, final LazyObjectMembers.Location location) {
+    try (var inputStream = new ByteBufferBackedInputStream(buffer.slice(location.offset(), location.length()))) {
+      return objectMapper.readTree(inputStream);
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  private static void skip(final JsonParser parser) throws IOException {
+    var depth = parser
+        .currentToken()
+        .isStructStart() ? 1 : 0;
+    while (depth > 0) {
+      final var token = parser.nextToken();
+      if (token == null) {
+        throw new IOException("Unexpected end of document");
+      }
+      if (token.isStructStart()) {
+        depth++;
+      } else if (token.isStructEnd()) {
+        depth--;
+      }
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package io.github.lengors.js2pets.schemas;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.checkerframework.checker.nullness.qual.KeyFor;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+/**
+ * Members of an object node whose values are only parsed when first looked up. Until then, each member holds the
+ * missing node as placeholder, while the location of its text within the document it was indexed from is kept aside.
+ * Looking a member up parses only that member, whereas iterating over the values parses every member left.
+ *
+ * @author lengors
+ */
+final class LazyObjectMembers extends LinkedHashMap<String, JsonNode> {
+  /**
+   * Serialization version of the members.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Locations of the members not parsed yet.
+   */
+  private final transient Map<String, Location> locations;
+
+  /**
+   * Function parsing the value at a location.
+   */
+  private final transient Function<Location, JsonNode> parser;
+
+  /**
+   * Creates the members of an object from the locations of their values.
+   *
+   * @param locations The locations of the values, in document order.
+   * @param parser    The function parsing the value at a location.
+   */
+  LazyObjectMembers(final Map<String, Location> locations, final Function<Location, JsonNode> parser) {
+    this.locations = new HashMap<>(locations);
+    this.parser = parser;
+    for (final var name : locations.keySet()) {
+      super.put(name, MissingNode.getInstance());
+    }
+  }
+
+  @Override
+  public synchronized @Nullable JsonNode get(final @Nullable Object key) {
+    if (!(key instanceof String name)) {
+      return null;
+    }
+    final var value = super.get(name);
+    final var location = locations.remove(name);
+    if (location == null || value != MissingNode.getInstance()) {
+      return value;
+    }
+    final var parsedValue = parser.apply(location);
+    super.put(name, parsedValue);
+    return parsedValue;
+  }
+
+  @Override
+  public JsonNode getOrDefault(final @Nullable Object key, final JsonNode defaultValue) {
+    final var value = get(key);
+    return value == null ? defaultValue : value;
+  }
+
+  @Override
+  public synchronized @Nullable JsonNode remove(final @Nullable Object key) {
+    final var previousValue = get(key);
+    if (key instanceof String name) {
+      super.remove(name);
+    }
+    return previousValue;
+  }
+
+  @Override
+  public synchronized void clear() {
+    locations.clear();
+    super.clear();
+  }
+
+  // The entries are the superclass' own, whose keys the checker only knows to be keys of "super".
+  @Override
+  @SuppressWarnings("keyfor")
+  public Set<Map.Entry<@KeyFor("this") String, JsonNode>> entrySet() {
+    parseAll();
+    return super.entrySet();
+  }
+
+  @Override
+  public Collection<JsonNode> values() {
+    parseAll();
+    return super.values();
+  }
+
+  @Override
+  public void forEach(final BiConsumer<? super String, ? super JsonNode> action) {
+    parseAll();
+    super.forEach(action);
+  }
+
+  @Override
+  public void replaceAll(final BiFunction<? super String, ? super JsonNode, ? extends JsonNode> function) {
+    parseAll();
+    super.replaceAll(function);
+  }
+
+  /**
+   * Gets the number of members whose value is still unparsed.
+   *
+   * @return The number of unparsed members.
+   */
+  synchronized int countUnparsed() {
+    return locations.size();
+  }
+
+  private synchronized void parseAll() {
+    for (final var name : Set.copyOf(locations.keySet())) {
+      get(name);
+    }
+  }
+
+  /**
+   * Location of a value's text within the document it was indexed from.
+   *
+   * @param offset The offset of the value's first byte.
+   * @param length The number of bytes of the value.
+   */
+  record Location(int offset, int length) {
+  }
+}
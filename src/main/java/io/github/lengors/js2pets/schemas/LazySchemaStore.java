@@ -0,0 +1,85 @@
+package io.github.lengors.js2pets.schemas;
+
+import org.jsonschema2pojo.ContentResolver;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.jsonschema2pojo.RuleLogger;
+import org.jsonschema2pojo.SchemaStore;
+
+/**
+ * Schema store resolving documents through a {@link LazyContentResolver}, so that only the definitions of large schema
+ * files that are actually referenced get parsed.
+ *
+ * @author lengors
+ */
+public class LazySchemaStore extends SchemaStore {
+  /**
+   * Whether small documents are shared through the process-wide {@link SchemaContentCache}.
+   */
+  private final boolean sharing;
+
+  /**
+   * Creates a store lazily loading large local JSON files and parsing the others with jsonschema2pojo's resolver.
+   */
+  public LazySchemaStore() {
+    this(new NoopRuleLogger());
+  }
+
+  /**
+   * Creates a store lazily loading large local JSON files and parsing the others with jsonschema2pojo's resolver.
+   *
+   * @param logger The logger to report schema resolution to.
+   */
+  public LazySchemaStore(final RuleLogger logger) {
+    this(new LazyContentResolver(), logger, false);
+  }
+
+  /**
+   * Creates a store resolving documents with the given resolver.
+   *
+   * @param contentResolver The resolver to resolve the documents with.
+   * @param logger          The logger to report schema resolution to.
+   * @param sharing         Whether the resolver's fallback shares documents through the process-wide cache.
+   */
+  public LazySchemaStore(final LazyContentResolver contentResolver, final RuleLogger logger, final boolean sharing) {
+    super(contentResolver, logger);
+    this.sharing = sharing;
+  }
+
+  /**
+   * Checks whether the documents that aren't loaded lazily are shared through the process-wide cache.
+   *
+   * @return Whether documents are shared.
+   */
+  public boolean isSharing() {
+    return sharing;
+  }
+
+  /**
+   * Creates a store parsing documents in the format of the sources of the given configuration. Local files at least as
+   * large as the {@value LazyContentResolver#THRESHOLD_BYTES_PROPERTY} system property, or
+   * {@value LazyContentResolver#DEFAULT_THRESHOLD_BYTES} bytes if not set, are loaded lazily if the sources are in
+   * JSON. The other documents are parsed by jsonschema2pojo's resolver or, if sharing, by a
+   * {@link SharedContentResolver}.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param logger           The logger to report schema resolution to.
+   * @param sharing          Whether to share the documents that aren't loaded lazily through the process-wide cache.
+   * @return The created store.
+   */
+  public static LazySchemaStore create(
+      final GenerationConfig generationConfig,
+      final RuleLogger logger,
+      final boolean sharing) {
+    final var jsonFactory = JsonFactoryUtils.createJsonFactory(generationConfig);
+    final ContentResolver fallbackResolver = sharing
+        ? new SharedContentResolver(jsonFactory)
+        : new ContentResolver(jsonFactory);
+    return new LazySchemaStore(
+        new LazyContentResolver(jsonFactory, fallbackResolver, Long.getLong(
+            LazyContentResolver.THRESHOLD_BYTES_PROPERTY,
+            LazyContentResolver.DEFAULT_THRESHOLD_BYTES)),
+        logger,
+        sharing);
+  }
+}
@@ -0,0 +1,206 @@
+package io.github.lengors.js2pets.schemas;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Least recently used cache of parsed schema documents, bounded by the total size of the files they were parsed from.
+ * Each document is keyed by its URI and format, and is only returned while the file's last modification time and size
+ * are the same as when it was parsed.
+ * <br />
+ * <br />
+ * The bound is a budget on the size of the source files, not on the heap used by the cache. A parsed document usually
+ * takes several times the size of its file on the heap, commonly five to ten times for JSON, so the cache can retain up
+ * to about ten times its budget.
+ * <br />
+ * <br />
+ * The process-wide instance returned by {@link #getShared()} is bounded by the {@value #MAX_FILE_BYTES_PROPERTY}
+ * system property, read when the instance is first used, or by {@value #DEFAULT_MAX_FILE_BYTES} bytes if not set.
+ *
+ * @author lengors
+ */
+public final class SchemaContentCache {
+  /**
+   * System property setting the maximum total file size of the documents kept by the shared cache, in bytes.
+   */
+  public static final String MAX_FILE_BYTES_PROPERTY = "js2pets.schemaCacheMaxFileBytes";
+
+  /**
+   * Default maximum total file size of the documents kept by the shared cache, in bytes.
+   */
+  public static final long DEFAULT_MAX_FILE_BYTES = 64L * 1024 * 1024;
+
+  /**
+   * Initial capacity of the map of cached documents.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * Load factor of the map of cached documents.
+   */
+  private static final float LOAD_FACTOR = 0.75f;
+
+  /**
+   * Maximum total file size of the documents kept, in bytes.
+   */
+  private final long maxFileBytes;
+
+  /**
+   * Cached documents, from least to most recently used.
+   */
+  private final Map<Key, Entry> entries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+
+  /**
+   * Total file size of the cached documents, in bytes.
+   */
+  private long fileBytes;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maxFileBytes The maximum total file size of the documents to keep, in bytes.
+   * @throws IllegalArgumentException If the maximum size is negative.
+   */
+  public SchemaContentCache(final long maxFileBytes) {
+    if (maxFileBytes < 0) {
+      throw new IllegalArgumentException("Maximum size must not be negative: " + maxFileBytes);
+    }
+    this.maxFileBytes = maxFileBytes;
+  }
+
+  /**
+   * Gets the process-wide cache.
+   *
+   * @return The shared cache.
+   */
+  public static SchemaContentCache getShared() {
+    return Shared.INSTANCE;
+  }
+
+  /**
+   * Gets the document parsed from the given file, if cached and the file didn't change since.
+   *
+   * @param uri          The URI of the file.
+   * @param format       The name of the format the file was parsed as.
+   * @param lastModified The current last modification time of the file.
+   * @param size         The current size of the file, in bytes.
+   * @return The cached document, which must not be modified, or null if there is none or it's stale.
+   */
+  public synchronized @Nullable JsonNode get(
+      final URI uri,
+      final String format,
+      final long lastModified,
+      final long size) {
+    final var key = new Key(uri, format);
+    final var entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.lastModified() != lastModified || entry.size() != size) {
+      entries.remove(key);
+      fileBytes -= entry.size();
+      return null;
+    }
+    return entry.content();
+  }
+
+  /**
+   * Caches the document parsed from the given file, evicting the least recently used documents if the cache becomes
+   * larger than allowed. Documents larger than the cache itself aren't cached.
+   *
+   * @param uri          The URI of the file.
+   * @param format       The name of the format the file was parsed as.
+   * @param lastModified The last modification time of the file when parsed.
+   * @param size         The size of the file when parsed, in bytes.
+   * @param content      The parsed document, which must not be modified afterwards.
+   */
+  public synchronized void put(
+      final URI uri,
+      final String format,
+      final long lastModified,
+      final long size,
+      final JsonNode content) {
+    final var key = new Key(uri, format);
+    final var previousEntry = entries.remove(key);
+    if (previousEntry != null) {
+      fileBytes -= previousEntry.size();
+    }
+    if (size > maxFileBytes) {
+      return;
+    }
+    entries.put(key, new Entry(lastModified, size, content));
+    fileBytes += size;
+    final Iterator<Entry> iterator = entries
+        .values()
+        .iterator();
+    while (fileBytes > maxFileBytes && iterator.hasNext()) {
+      fileBytes -= iterator
+          .next()
+          .size();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Removes every cached document.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    fileBytes = 0;
+  }
+
+  /**
+   * Gets the number of cached documents.
+   *
+   * @return The number of cached documents.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Gets the total file size of the cached documents.
+   *
+   * @return The total file size, in bytes.
+   */
+  public synchronized long getFileBytes() {
+    return fileBytes;
+  }
+
+  /**
+   * Key of a cached document.
+   *
+   * @param uri    The URI of the file.
+   * @param format The name of the format the file was parsed as.
+   */
+  private record Key(URI uri, String format) {
+  }
+
+  /**
+   * Cached document along with the state of its file when parsed.
+   *
+   * @param lastModified The last modification time of the file.
+   * @param size         The size of the file, in bytes.
+   * @param content      The parsed document.
+   */
+  private record Entry(long lastModified, long size, JsonNode content) {
+  }
+
+  /**
+   * Holder of the process-wide cache, created when first used.
+   */
+  private static final class Shared {
+    /**
+     * The process-wide cache.
+     */
+    private static final SchemaContentCache INSTANCE = new SchemaContentCache(Long.getLong(
+        MAX_FILE_BYTES_PROPERTY,
+        DEFAULT_MAX_FILE_BYTES));
+  }
+}
@@ -0,0 +1,93 @@
+package io.github.lengors.js2pets.schemas;
+
+import java.io.File;
+import java.net.URI;
+
+import org.jsonschema2pojo.ContentResolver;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Content resolver looking up local files in a {@link SchemaContentCache} before parsing them. Other URIs, such as
+ * classpath resources or remote documents, are always resolved by jsonschema2pojo's {@link ContentResolver}.
+ * <br />
+ * <br />
+ * Every resolved document is a copy of the cached one, so the schemas created from it can't change what's shared.
+ *
+ * @author lengors
+ */
+public class SharedContentResolver extends ContentResolver {
+  /**
+   * Scheme of the URIs of local files.
+   */
+  private static final String FILE_SCHEME = "file";
+
+  /**
+   * Cache the parsed documents are shared through.
+   */
+  private final SchemaContentCache cache;
+
+  /**
+   * Name of the format the documents are parsed as.
+   */
+  private final String format;
+
+  /**
+   * Creates a resolver parsing JSON documents and sharing them through the process-wide cache.
+   */
+  public SharedContentResolver() {
+    this(new JsonFactory());
+  }
+
+  /**
+   * Creates a resolver parsing documents with the given factory and sharing them through the process-wide cache.
+   *
+   * @param jsonFactory The factory to parse the documents with.
+   */
+  public SharedContentResolver(final JsonFactory jsonFactory) {
+    this(jsonFactory, SchemaContentCache.getShared());
+  }
+
+  /**
+   * Creates a resolver parsing documents with the given factory and sharing them through the given cache.
+   *
+   * @param jsonFactory The factory to parse the documents with.
+   * @param cache       The cache to share the parsed documents through.
+   */
+  public SharedContentResolver(final JsonFactory jsonFactory, final SchemaContentCache cache) {
+    super(jsonFactory);
+    this.cache = cache;
+    this.format = jsonFactory.getFormatName();
+  }
+
+  /**
+   * Resolves the document at the given URI, reusing the cached document if it's a local file that didn't change since
+   * it was cached.
+   *
+   * @param uri The URI of the document.
+   * @return The parsed document.
+   */
+  @Override
+  public JsonNode resolve(final URI uri) {
+    if (!FILE_SCHEME.equalsIgnoreCase(uri.getScheme()) || uri.getFragment() != null || uri.getQuery() != null
+        || uri.isOpaque() || uri.getAuthority() != null) {
+      return super.resolve(uri);
+    }
+
+    final var file = new File(uri);
+    final var lastModified = file.lastModified();
+    final var size = file.length();
+    if (!file.isFile()) {
+      return super.resolve(uri);
+    }
+
+    final var cachedContent = cache.get(uri, format, lastModified, size);
+    if (cachedContent != null) {
+      return cachedContent.deepCopy();
+    }
+    final var content = super.resolve(uri);
+    cache.put(uri, format, lastModified, size, content.deepCopy());
+    return content;
+  }
+}
@@ -0,0 +1,53 @@
+package io.github.lengors.js2pets.schemas;
+
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.jsonschema2pojo.RuleLogger;
+
+/**
+ * Schema store resolving documents through a {@link SharedContentResolver}, so that local schema files are only parsed
+ * once per process while unchanged, instead of once per store. The schemas themselves aren't shared, as they hold the
+ * types generated for them. Fragments are resolved through pointer indexes, as by an {@link IndexedSchemaStore}.
+ *
+ * @author lengors
+ */
+public class SharedSchemaStore extends IndexedSchemaStore {
+  /**
+   * Creates a store parsing JSON documents, sharing them through the process-wide cache.
+   */
+  public SharedSchemaStore() {
+    this(new NoopRuleLogger());
+  }
+
+  /**
+   * Creates a store parsing JSON documents, sharing them through the process-wide cache.
+   *
+   * @param logger The logger to report schema resolution to.
+   */
+  public SharedSchemaStore(final RuleLogger logger) {
+    this(new SharedContentResolver(), logger);
+  }
+
+  /**
+   * Creates a store resolving documents with the given resolver.
+   *
+   * @param contentResolver The resolver to resolve the documents with.
+   * @param logger          The logger to report schema resolution to.
+   */
+  public SharedSchemaStore(final SharedContentResolver contentResolver, final RuleLogger logger) {
+    super(contentResolver, logger);
+  }
+
+  /**
+   * Creates a store parsing documents in the format of the sources of the given configuration, sharing them through the
+   * process-wide cache.
+   *
+   * @param generationConfig The generation configuration settings.
+   * @param logger           The logger to report schema resolution to.
+   * @return The created store.
+   */
+  public static SharedSchemaStore create(final GenerationConfig generationConfig, final RuleLogger logger) {
+    final var jsonFactory = JsonFactoryUtils.createJsonFactory(generationConfig);
+    return new SharedSchemaStore(new SharedContentResolver(jsonFactory), logger);
+  }
+}
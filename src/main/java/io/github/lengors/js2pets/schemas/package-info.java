@@ -0,0 +1,12 @@
+/**
+ * This package contains a schema store sharing parsed schema documents across generation runs within the same process,
+ * such as the executions of a multi-module Maven build or the builds handled by a Gradle daemon, and a schema store
+ * memory-mapping large schema files to only parse the definitions that are referenced.
+ * <br />
+ * <br />
+ * Only the parsed content of each document is shared. Each store still creates its own schemas, as they hold the types
+ * generated for them within a single code model.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.schemas;
@@ -0,0 +1,89 @@
+package io.github.lengors.js2pets.annotators;
+
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.CompositeAnnotator;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JType;
+
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+
+@ExtendWith(MockitoExtension.class)
+class AnnotatorDispatchPlanTest {
+  @Test
+  void shouldDispatchToEnhancedAnnotatorsInOrder() {
+    final var testType = Mockito.mock(JType.class);
+    final var testConstructor = Mockito.mock(JMethod.class);
+    final var firstAnnotator = Mockito.mock(EnhancedAnnotator.class);
+    final var secondAnnotator = Mockito.mock(EnhancedAnnotator.class);
+    final var plainAnnotator = Mockito.mock(Annotator.class);
+    final var compositeAnnotator = new CompositeAnnotator(
+        firstAnnotator,
+        new CompositeAnnotator(plainAnnotator, secondAnnotator));
+
+    final var annotatorDispatchPlan = AnnotatorDispatchPlan.compile(compositeAnnotator);
+    annotatorDispatchPlan.type(testType);
+    annotatorDispatchPlan.constructor(testConstructor);
+
+    final var inOrder = Mockito.inOrder(firstAnnotator, secondAnnotator);
+    inOrder
+        .verify(firstAnnotator)
+        .type(testType);
+    inOrder
+        .verify(secondAnnotator)
+        .type(testType);
+    inOrder
+        .verify(firstAnnotator)
+        .constructor(testConstructor);
+    inOrder
+        .verify(secondAnnotator)
+        .constructor(testConstructor);
+    Mockito.verifyNoInteractions(plainAnnotator);
+  }
+
+  @Test
+  void shouldCompileEmptyPlanWithoutEnhancedAnnotators() {
+    final var annotatorDispatchPlan = AnnotatorDispatchPlan.compile(Mockito.mock(Annotator.class));
+
+    Assertions.assertSame(AnnotatorDispatchPlan.EMPTY, annotatorDispatchPlan);
+    Assertions.assertTrue(annotatorDispatchPlan.isEmpty());
+  }
+
+  @Test
+  void shouldCompilePlanForPlainRuleFactory() {
+    final var testType = Mockito.mock(JType.class);
+    final var enhancedAnnotator = Mockito.mock(EnhancedAnnotator.class);
+    final var ruleFactory = Mockito.mock(RuleFactory.class);
+    Mockito
+        .when(ruleFactory.getAnnotator())
+        .thenReturn(enhancedAnnotator);
+
+    AnnotatorUtils
+        .dispatchPlan(ruleFactory)
+        .type(testType);
+
+    Mockito
+        .verify(enhancedAnnotator, Mockito.only())
+        .type(testType);
+  }
+
+  @Test
+  void shouldReuseCachedPlanUntilAnnotatorIsSet() {
+    final var ruleFactory = new EnhancedRuleFactory();
+    final var annotatorDispatchPlan = AnnotatorUtils.dispatchPlan(ruleFactory);
+
+    Assertions.assertSame(annotatorDispatchPlan, AnnotatorUtils.dispatchPlan(ruleFactory));
+
+    ruleFactory.setAnnotator(Mockito.mock(EnhancedAnnotator.class));
+
+    final var recompiledAnnotatorDispatchPlan = AnnotatorUtils.dispatchPlan(ruleFactory);
+    Assertions.assertNotSame(annotatorDispatchPlan, recompiledAnnotatorDispatchPlan);
+    Assertions.assertFalse(recompiledAnnotatorDispatchPlan.isEmpty());
+  }
+}
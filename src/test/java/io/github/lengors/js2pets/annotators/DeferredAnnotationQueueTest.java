@@ -0,0 +1,74 @@
+package io.github.lengors.js2pets.annotators;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JMod;
+
+@ExtendWith(MockitoExtension.class)
+class DeferredAnnotationQueueTest {
+  /**
+   * Number of callbacks deferred by the ordering test.
+   */
+  private static final int DEFERRED_CALLBACK_COUNT = 4;
+
+  @Test
+  void shouldRunConstructorPassesBeforeTypePasses() throws JClassAlreadyExistsException {
+    final var annotator = Mockito.mock(EnhancedAnnotator.class);
+    final var codeModel = new JCodeModel();
+    final var innerClass = codeModel._class("io.github.lengors.js2pets.generated.Inner");
+    final var outerClass = codeModel._class("io.github.lengors.js2pets.generated.Outer");
+    final var innerConstructor = innerClass.constructor(JMod.PUBLIC);
+    final var outerConstructor = outerClass.constructor(JMod.PUBLIC);
+    final var queue = new DeferredAnnotationQueue();
+
+    queue.open();
+    queue.open();
+    queue.enqueueConstructors(innerClass);
+    queue.enqueue(innerClass);
+    queue.close();
+    Assertions.assertTrue(queue.isPending());
+    queue.enqueueConstructors(outerClass);
+    queue.enqueue(outerClass);
+    queue.close();
+    Assertions.assertFalse(queue.isPending());
+    Assertions.assertEquals(DEFERRED_CALLBACK_COUNT, queue.size());
+    Mockito.verifyNoInteractions(annotator);
+
+    queue.flush(AnnotatorDispatchPlan.compile(annotator));
+
+    Assertions.assertEquals(0, queue.size());
+    final var inOrder = Mockito.inOrder(annotator);
+    inOrder
+        .verify(annotator)
+        .constructor(innerConstructor);
+    inOrder
+        .verify(annotator)
+        .constructor(outerConstructor);
+    inOrder
+        .verify(annotator)
+        .type(innerClass);
+    inOrder
+        .verify(annotator)
+        .type(outerClass);
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  void shouldStayPendingWhileHeld() {
+    final var queue = new DeferredAnnotationQueue();
+
+    queue.hold();
+    queue.open();
+    queue.close();
+    Assertions.assertTrue(queue.isPending());
+
+    queue.flush(AnnotatorDispatchPlan.EMPTY);
+    Assertions.assertFalse(queue.isPending());
+  }
+}
@@ -0,0 +1,150 @@
+package io.github.lengors.js2pets.annotators;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jsonschema2pojo.AbstractAnnotator;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Jackson2Annotator;
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+import org.jsonschema2pojo.SchemaStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.writer.SingleStreamCodeWriter;
+
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+import io.github.lengors.js2pets.streams.StreamUtils;
+
+class ParallelAnnotationStageTest {
+  /**
+   * Package where the classes are generated.
+   */
+  private static final String PACKAGE_NAME = "io.github.lengors.js2pets.generated";
+
+  /**
+   * Number of top-level schemas generated.
+   */
+  private static final int SCHEMA_COUNT = 24;
+
+  /**
+   * Number of threads of the pool used to annotate the classes.
+   */
+  private static final int PARALLELISM = 4;
+
+  /**
+   * Number of times the parallel stage is run, each on a new code model.
+   */
+  private static final int REPETITIONS = 3;
+
+  /**
+   * Configuration used for the generation and annotation.
+   */
+  private final GenerationConfig generationConfig = new DefaultGenerationConfig() {
+    @Override
+    public boolean isIncludeConstructors() {
+      return true;
+    }
+
+    @Override
+    public boolean isIncludeJsr303Annotations() {
+      return true;
+    }
+  };
+
+  /**
+   * Directory where the schemas are written.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @Test
+  void shouldRenderSameOutputAsSequentialPass() throws IOException {
+    final var annotatorDispatchPlan = AnnotatorDispatchPlan.compile(new NullabilityAnnotator(generationConfig));
+    Assertions.assertNotNull(annotatorDispatchPlan.getAnnotationTypes());
+
+    final var sequentialCodeModel = generate();
+    listTypes(sequentialCodeModel).forEach(annotatorDispatchPlan::type);
+    final var expected = render(sequentialCodeModel);
+    Assertions.assertTrue(expected.contains("@Nullable"));
+
+    final var pool = new ForkJoinPool(PARALLELISM);
+    try {
+      for (var repetition = 0; repetition < REPETITIONS; ++repetition) {
+        final var parallelCodeModel = generate();
+        ParallelAnnotationStage.type(annotatorDispatchPlan, listTypes(parallelCodeModel), pool);
+        Assertions.assertEquals(expected, render(parallelCodeModel));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void shouldRunSequentiallyIfAnnotationTypesAreUnknown() {
+    final var annotatorDispatchPlan = AnnotatorDispatchPlan.compile(new UndeclaredAnnotator());
+    Assertions.assertNull(annotatorDispatchPlan.getAnnotationTypes());
+  }
+
+  private JCodeModel generate() throws IOException {
+    final var ruleFactory = new EnhancedRuleFactory.IncludeNoArgsConstructor(
+        generationConfig,
+        new Jackson2Annotator(generationConfig),
+        new SchemaStore());
+    final var schemaMapper = new SchemaMapper(ruleFactory, new SchemaGenerator());
+    final var codeModel = new JCodeModel();
+    for (var index = 0; index < SCHEMA_COUNT; ++index) {
+      final var path = directory.resolve("schema" + index + ".json");
+      Files.writeString(path, "{\"type\":\"object\",\"properties\":{"
+          + "\"name\":{\"type\":\"string\"},\"count\":{\"type\":\"integer\"},"
+          + "\"status\":{\"type\":\"string\",\"enum\":[\"on\",\"off\"]},"
+          + "\"detail\":{\"type\":\"object\",\"properties\":{\"note" + index + "\":{\"type\":\"string\"}},"
+          + "\"required\":[\"note" + index + "\"]}},\"required\":[\"name\",\"detail\"]}");
+      schemaMapper.generate(codeModel, "Schema" + index, PACKAGE_NAME, path
+          .toUri()
+          .toURL());
+    }
+    return codeModel;
+  }
+
+  private static List<JType> listTypes(final JCodeModel codeModel) {
+    final var types = new ArrayList<JType>();
+    StreamUtils
+        .stream(codeModel.packages())
+        .flatMap(pkg -> StreamUtils.stream(pkg.classes()))
+        .forEach(definedClass -> addTypes(definedClass, types));
+    return types;
+  }
+
+  private static void addTypes(final JDefinedClass definedClass, final List<JType> types) {
+    StreamUtils
+        .stream(definedClass.classes())
+        .forEach(innerClass -> addTypes(innerClass, types));
+    types.add(definedClass);
+  }
+
+  private static String render(final JCodeModel codeModel) throws IOException {
+    try (var outputStream = new ByteArrayOutputStream()) {
+      codeModel.build(new SingleStreamCodeWriter(outputStream));
+      return outputStream.toString(StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Enhanced annotator that doesn't declare the annotation types it references.
+   */
+  private static final class UndeclaredAnnotator extends AbstractAnnotator implements EnhancedAnnotator {
+  }
+}
@@ -0,0 +1,100 @@
+package io.github.lengors.js2pets.cds;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClassDataSharingTest {
+  /**
+   * Classpath given to the forked JVMs.
+   */
+  private static final String CLASSPATH = "js2pets.jar";
+
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @AfterEach
+  void clearArchiveProperty() {
+    System
+        .getProperties()
+        .remove(ClassDataSharing.ARCHIVE_PROPERTY);
+  }
+
+  @Test
+  void shouldDeriveArchivePathFromClasspath() {
+    final var archive = ClassDataSharing.getArchivePath(CLASSPATH);
+
+    Assertions.assertEquals(archive, ClassDataSharing.getArchivePath(CLASSPATH));
+    Assertions.assertNotEquals(archive, ClassDataSharing.getArchivePath(CLASSPATH + "-other"));
+    Assertions.assertTrue(archive
+        .toString()
+        .endsWith(".jsa"));
+
+    final var selectedArchive = directory.resolve("selected.jsa");
+    System.setProperty(ClassDataSharing.ARCHIVE_PROPERTY, selectedArchive.toString());
+    Assertions.assertEquals(selectedArchive, ClassDataSharing.getArchivePath(CLASSPATH));
+  }
+
+  @Test
+  void shouldOnlyMapExistingArchive() throws IOException {
+    final var archive = directory.resolve("generator.jsa");
+    System.setProperty(ClassDataSharing.ARCHIVE_PROPERTY, archive.toString());
+
+    Assertions.assertEquals(List.of(), ClassDataSharing.getJvmOptions(archive));
+    Assertions.assertFalse(ClassDataSharing
+        .fork(CLASSPATH, TrainingGeneration.class.getName(), List.of())
+        .command()
+        .stream()
+        .anyMatch(option -> option.contains(archive.toString())));
+
+    Files.createFile(archive);
+    Assertions.assertEquals(List.of("-XX:SharedArchiveFile=" + archive), ClassDataSharing.getJvmOptions(archive));
+    final var command = ClassDataSharing
+        .fork(CLASSPATH, TrainingGeneration.class.getName(), List.of("argument"))
+        .command();
+    Assertions.assertTrue(command.contains("-XX:SharedArchiveFile=" + archive));
+    final var arguments = List.of(CLASSPATH, TrainingGeneration.class.getName(), "argument");
+    Assertions.assertEquals(arguments, command.subList(command.size() - arguments.size(), command.size()));
+  }
+
+  @Test
+  void shouldNotMapArchivesWritableByOthers() throws IOException {
+    Assumptions.assumeTrue(FileSystems
+        .getDefault()
+        .supportedFileAttributeViews()
+        .contains("posix"));
+    final var sharedDirectory = Files.createDirectory(directory.resolve("shared"));
+    final var archive = Files.createFile(sharedDirectory.resolve("generator.jsa"));
+    Assertions.assertEquals(List.of("-XX:SharedArchiveFile=" + archive), ClassDataSharing.getJvmOptions(archive));
+
+    Files.setPosixFilePermissions(archive, PosixFilePermissions.fromString("rw-rw-rw-"));
+    Assertions.assertEquals(List.of(), ClassDataSharing.getJvmOptions(archive));
+
+    Files.setPosixFilePermissions(archive, PosixFilePermissions.fromString("rw-------"));
+    Files.setPosixFilePermissions(sharedDirectory, PosixFilePermissions.fromString("rwxrwxrwx"));
+    Assertions.assertEquals(List.of(), ClassDataSharing.getJvmOptions(archive));
+    Assertions.assertThrows(IOException.class, () -> ClassDataSharing.createArchive(archive, CLASSPATH));
+    Assertions.assertTrue(Files.exists(archive));
+  }
+
+  @Test
+  void shouldGenerateTrainingSchemas() throws IOException {
+    final var target = TrainingGeneration.generate(directory);
+
+    final var generatedPackage = target.resolve("io/github/lengors/js2pets/training");
+    Assertions.assertTrue(Files.isRegularFile(generatedPackage.resolve("Customer.java")));
+    Assertions.assertTrue(Files.isRegularFile(generatedPackage.resolve("Address.java")));
+  }
+}
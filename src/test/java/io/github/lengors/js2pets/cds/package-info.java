@@ -0,0 +1,6 @@
+/**
+ * Tests for the class-data sharing utilities.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.cds;
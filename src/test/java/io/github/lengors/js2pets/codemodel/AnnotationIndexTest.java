@@ -0,0 +1,57 @@
+package io.github.lengors.js2pets.codemodel;
+
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JMod;
+
+class AnnotationIndexTest {
+  @Test
+  void shouldIndexExistingAnnotations() throws JClassAlreadyExistsException {
+    final var codeModel = new JCodeModel();
+    final var clazz = codeModel._class("io.github.lengors.js2pets.codemodel.Test");
+    final var field = clazz.field(JMod.PRIVATE, String.class, "field");
+    field.annotate(JsonProperty.class);
+
+    final var annotationIndex = new AnnotationIndex();
+
+    Assertions.assertTrue(annotationIndex.contains(field, JsonProperty.class));
+    Assertions.assertFalse(annotationIndex.contains(field, Nullable.class));
+  }
+
+  @Test
+  void shouldKeepIndexUpToDateWhenAnnotating() throws JClassAlreadyExistsException {
+    final var codeModel = new JCodeModel();
+    final var clazz = codeModel._class("io.github.lengors.js2pets.codemodel.Test");
+    final var field = clazz.field(JMod.PRIVATE, String.class, "field");
+    final var annotationIndex = new AnnotationIndex();
+
+    Assertions.assertFalse(annotationIndex.contains(field, NonNull.class));
+    annotationIndex.annotate(field, NonNull.class);
+
+    Assertions.assertTrue(annotationIndex.contains(field, NonNull.class));
+    Assertions.assertTrue(CodeModelUtils.containsAnnotation(field, NonNull.class));
+  }
+
+  @Test
+  void shouldNotAnnotateTwiceWithSharedIndex() throws JClassAlreadyExistsException {
+    final var codeModel = new JCodeModel();
+    final var clazz = codeModel._class("io.github.lengors.js2pets.codemodel.Test");
+    final var field = clazz.field(JMod.PRIVATE, String.class, "field");
+    final var annotationIndex = new AnnotationIndex();
+
+    CodeModelUtils.safeAnnotate(annotationIndex, field, List.of(NonNull.class));
+    CodeModelUtils.safeAnnotate(annotationIndex, field, List.of(NonNull.class));
+
+    Assertions.assertEquals(1, CodeModelUtils
+        .getAnnotationUsages(field, NonNull.class)
+        .count());
+  }
+}
@@ -0,0 +1,25 @@
+package io.github.lengors.js2pets.codemodel;
+
+import org.apache.commons.collections4.IteratorUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JMod;
+
+class CodeModelUtilsTest {
+  @Test
+  void shouldRemoveNoArgsConstructorsOnly() throws JClassAlreadyExistsException {
+    final var clazz = new JCodeModel()._class("io.github.lengors.js2pets.codemodel.Test");
+    clazz.constructor(JMod.PUBLIC);
+    final var allArgsConstructor = clazz.constructor(JMod.PUBLIC);
+    allArgsConstructor.param(String.class, "field");
+
+    Assertions.assertTrue(CodeModelUtils.removeNoArgsConstructors(clazz));
+
+    Assertions.assertEquals(
+        IteratorUtils.toList(IteratorUtils.singletonIterator(allArgsConstructor)),
+        IteratorUtils.toList(clazz.constructors()));
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Tests for the code model utilities.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.codemodel;
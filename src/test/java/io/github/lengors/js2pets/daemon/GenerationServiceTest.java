@@ -0,0 +1,239 @@
+package io.github.lengors.js2pets.daemon;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+import io.github.lengors.js2pets.schemas.SchemaContentCache;
+
+class GenerationServiceTest {
+  /**
+   * Package of the generated classes.
+   */
+  private static final String PACKAGE_NAME = "io.github.lengors.js2pets.generated";
+
+  /**
+   * Size of the document cached by the eviction test.
+   */
+  private static final long DOCUMENT_BYTES = 4;
+
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @Test
+  void shouldGenerateSameOutputAsJsonschema2Pojo() throws IOException {
+    final var sources = writeSchemas();
+    final var expectedTarget = directory.resolve("expected");
+    final var actualTarget = directory.resolve("actual");
+
+    Jsonschema2Pojo.generate(new ExpectedGenerationConfig(sources, expectedTarget), new NoopRuleLogger());
+    final var result = new GenerationService().generate(new GenerationRequest(createConfiguration(
+        sources,
+        actualTarget)));
+
+    Assertions.assertTrue(result.successful(), String.valueOf(result.error()));
+    final var expectedFiles = readFiles(expectedTarget);
+    Assertions.assertFalse(expectedFiles.isEmpty());
+    Assertions.assertEquals(expectedFiles, readFiles(actualTarget));
+  }
+
+  @Test
+  void shouldReportInvalidConfiguration() {
+    final var configuration = JsonNodeFactory.instance
+        .objectNode()
+        .put("unknownOption", true);
+
+    final var result = new GenerationService().generate(new GenerationRequest(configuration));
+
+    Assertions.assertFalse(result.successful());
+    Assertions.assertTrue(String
+        .valueOf(result.error())
+        .contains("unknownOption"));
+  }
+
+  @Test
+  void shouldEvictCachedSchemasOnceIdle() {
+    final var cache = new SchemaContentCache(SchemaContentCache.DEFAULT_MAX_FILE_BYTES);
+    cache.put(directory.toUri(), "json", 0, DOCUMENT_BYTES, JsonNodeFactory.instance.objectNode());
+    final var service = new GenerationService(ForkJoinPool.commonPool(), cache);
+
+    Assertions.assertFalse(service.evictIfIdle(Duration.ofDays(1)));
+    Assertions.assertEquals(1, cache.size());
+    Assertions.assertTrue(service.evictIfIdle(Duration.ZERO));
+    Assertions.assertEquals(0, cache.size());
+  }
+
+  @Test
+  void shouldGenerateThroughDaemon() throws IOException {
+    final var sources = writeSchemas();
+    final var expectedTarget = directory.resolve("expected");
+    final var actualTarget = directory.resolve("actual");
+    final var service = new GenerationService();
+    service.generate(new GenerationRequest(createConfiguration(sources, expectedTarget)));
+
+    try (var daemon = GenerationDaemon.start(service, directory.resolve("daemon.json"), Duration.ofMinutes(1))) {
+      final var result = GenerationClient.generate(
+          daemon.getDescriptorPath(),
+          new GenerationRequest(createConfiguration(sources, actualTarget)));
+
+      Assertions.assertTrue(result.successful(), String.valueOf(result.error()));
+    }
+
+    Assertions.assertEquals(readFiles(expectedTarget), readFiles(actualTarget));
+    Assertions.assertFalse(Files.exists(directory.resolve("daemon.json")));
+  }
+
+  @Test
+  void shouldRejectRequestsWithInvalidToken() throws IOException {
+    final var sources = writeSchemas();
+    final var target = directory.resolve("target");
+
+    try (var daemon = GenerationDaemon.start(
+        new GenerationService(),
+        directory.resolve("daemon.json"),
+        Duration.ofMinutes(1))) {
+      final var result = GenerationClient.generate(
+          daemon.getPort(),
+          "invalid",
+          new GenerationRequest(createConfiguration(sources, target)));
+
+      Assertions.assertFalse(result.successful());
+    }
+
+    Assertions.assertFalse(Files.exists(target));
+  }
+
+  @Test
+  void shouldRefuseDescriptorDirectoriesWritableByOthers() throws IOException {
+    Assumptions.assumeTrue(FileSystems
+        .getDefault()
+        .supportedFileAttributeViews()
+        .contains("posix"));
+    final var sharedDirectory = Files.createDirectory(directory.resolve("shared"));
+    Files.setPosixFilePermissions(sharedDirectory, PosixFilePermissions.fromString("rwxrwxrwx"));
+    final var descriptorPath = sharedDirectory.resolve("daemon.json");
+
+    Assertions.assertThrows(IOException.class, () -> GenerationDaemon
+        .start(new GenerationService(), descriptorPath, Duration.ofMinutes(1))
+        .close());
+    Assertions.assertFalse(Files.exists(descriptorPath));
+
+    Files.writeString(descriptorPath, "{\"port\":1,\"token\":\"token\"}");
+    Assertions.assertThrows(IOException.class, () -> GenerationClient.generate(
+        descriptorPath,
+        new GenerationRequest(createConfiguration(writeSchemas(), directory.resolve("target")))));
+  }
+
+  private ObjectNode createConfiguration(final Path sources, final Path target) {
+    final var configuration = JsonNodeFactory.instance.objectNode();
+    configuration
+        .putArray("source")
+        .add(sources
+            .toUri()
+            .toString());
+    return configuration
+        .put("targetDirectory", target.toString())
+        .put("targetPackage", PACKAGE_NAME)
+        .put("includeConstructors", true)
+        .put("customRuleFactory", EnhancedRuleFactory.IncludeNoArgsConstructor.class.getName());
+  }
+
+  private Path writeSchemas() throws IOException {
+    final var sources = Files.createDirectories(directory.resolve("schemas"));
+    Files.writeString(sources.resolve("customer.json"), "{\"type\":\"object\",\"properties\":{"
+        + "\"name\":{\"type\":\"string\"},\"address\":{\"$ref\":\"address.json\"}}}");
+    Files.writeString(sources.resolve("address.json"), "{\"type\":\"object\",\"properties\":{"
+        + "\"street\":{\"type\":\"string\"}},\"required\":[\"street\"]}");
+    return sources;
+  }
+
+  private static Map<Path, String> readFiles(final Path root) throws IOException {
+    try (var paths = Files.walk(root)) {
+      return paths
+          .filter(Files::isRegularFile)
+          .collect(Collectors.toMap(root::relativize, path -> {
+            try {
+              return Files.readString(path);
+            } catch (final IOException exception) {
+              throw new IllegalStateException(exception);
+            }
+          }));
+    }
+  }
+
+  private static final class ExpectedGenerationConfig extends DefaultGenerationConfig {
+    /**
+     * Directory with the schemas to generate.
+     */
+    private final Path sources;
+
+    /**
+     * Directory to generate the code to.
+     */
+    private final Path target;
+
+    ExpectedGenerationConfig(final Path sources, final Path target) {
+      this.sources = sources;
+      this.target = target;
+    }
+
+    @Override
+    public Class<? extends RuleFactory> getCustomRuleFactory() {
+      return EnhancedRuleFactory.IncludeNoArgsConstructor.class;
+    }
+
+    @Override
+    public Iterator<URL> getSource() {
+      try {
+        return List
+            .of(sources
+                .toUri()
+                .toURL())
+            .iterator();
+      } catch (final IOException exception) {
+        throw new IllegalStateException(exception);
+      }
+    }
+
+    @Override
+    public File getTargetDirectory() {
+      return target.toFile();
+    }
+
+    @Override
+    public String getTargetPackage() {
+      return PACKAGE_NAME;
+    }
+
+    @Override
+    public boolean isIncludeConstructors() {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Tests for the generation service and daemon.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.daemon;
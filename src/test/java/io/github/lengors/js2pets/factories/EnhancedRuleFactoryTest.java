@@ -9,6 +9,7 @@ import org.jsonschema2pojo.GenerationConfig;
 import org.jsonschema2pojo.Jackson2Annotator;
 import org.jsonschema2pojo.SchemaStore;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -119,6 +120,33 @@ class EnhancedRuleFactoryTest {
         parameters.expectedIncludeNoArgsConstructor());
   }
 
+  @Test
+  void shouldMemoizeRules() {
+    final var enhancedRuleFactory = new EnhancedRuleFactory.IncludeNoArgsConstructor();
+
+    Assertions.assertSame(enhancedRuleFactory.getConstructorRule(), enhancedRuleFactory.getConstructorRule());
+    Assertions.assertSame(enhancedRuleFactory.getEnumRule(), enhancedRuleFactory.getEnumRule());
+    Assertions.assertSame(enhancedRuleFactory.getObjectRule(), enhancedRuleFactory.getObjectRule());
+    Assertions.assertSame(enhancedRuleFactory.getPropertyRule(), enhancedRuleFactory.getPropertyRule());
+  }
+
+  @Test
+  void shouldInvalidateMemoizedRules() {
+    final var enhancedRuleFactory = new EnhancedRuleFactory.IncludeNoArgsConstructor();
+
+    var constructorRule = enhancedRuleFactory.getConstructorRule();
+    enhancedRuleFactory.setGenerationConfig(new DefaultGenerationConfig());
+    Assertions.assertNotSame(constructorRule, enhancedRuleFactory.getConstructorRule());
+
+    constructorRule = enhancedRuleFactory.getConstructorRule();
+    enhancedRuleFactory.setAnnotator(enhancedRuleFactory.getAnnotator());
+    Assertions.assertNotSame(constructorRule, enhancedRuleFactory.getConstructorRule());
+
+    final var objectRule = enhancedRuleFactory.getObjectRule();
+    enhancedRuleFactory.setSchemaStore(new SchemaStore());
+    Assertions.assertNotSame(objectRule, enhancedRuleFactory.getObjectRule());
+  }
+
   private void testEnhancedRuleFactoryWithAllArguments(
       final TriFunction<GenerationConfig, Annotator, SchemaStore, ? extends EnhancedRuleFactory> ruleFactoryGenerator,
       final @Nullable Boolean expectedIncludeNoArgsConstructor,
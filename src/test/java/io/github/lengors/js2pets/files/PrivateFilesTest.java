@@ -0,0 +1,56 @@
+package io.github.lengors.js2pets.files;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PrivateFilesTest {
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @BeforeEach
+  void assumePosix() {
+    Assumptions.assumeTrue(FileSystems
+        .getDefault()
+        .supportedFileAttributeViews()
+        .contains("posix"));
+  }
+
+  @Test
+  void shouldCreateDirectoriesAndFilesOnlyAccessibleByOwner() throws IOException {
+    final var privateDirectory = directory.resolve("parent/private");
+    PrivateFiles.createDirectory(privateDirectory);
+    PrivateFiles.createDirectory(privateDirectory);
+    final var file = PrivateFiles.createTempFile(privateDirectory, "file", ".tmp");
+
+    Assertions.assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(
+        privateDirectory));
+    Assertions.assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(file));
+    Assertions.assertTrue(PrivateFiles.isPrivate(privateDirectory));
+    Assertions.assertTrue(PrivateFiles.isPrivate(file));
+  }
+
+  @Test
+  void shouldRefusePathsWritableByOthersOrLinked() throws IOException {
+    final var sharedDirectory = Files.createDirectory(directory.resolve("shared"));
+    Files.setPosixFilePermissions(sharedDirectory, PosixFilePermissions.fromString("rwxrwxrwx"));
+    final var link = Files.createSymbolicLink(directory.resolve("link"), Files.createDirectory(directory.resolve(
+        "target")));
+
+    Assertions.assertThrows(IOException.class, () -> PrivateFiles.createDirectory(sharedDirectory));
+    Assertions.assertThrows(IOException.class, () -> PrivateFiles.createDirectory(link));
+    Assertions.assertFalse(PrivateFiles.isPrivate(sharedDirectory));
+    Assertions.assertFalse(PrivateFiles.isPrivate(directory.resolve("missing")));
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Tests for the shared file utilities.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.files;
@@ -0,0 +1,123 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConcurrentFileWriterTest {
+  /**
+   * Maximum number of writes in flight.
+   */
+  private static final int MAX_OPEN_FILES = 2;
+
+  /**
+   * Number of writes submitted by each test.
+   */
+  private static final int WRITE_COUNT = 16;
+
+  /**
+   * Time each write of the bound test takes, in milliseconds.
+   */
+  private static final long WRITE_MILLIS = 10;
+
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @Test
+  void shouldWriteSamePathInSubmissionOrder() throws IOException {
+    final var path = directory.resolve("nested/file.txt");
+    final var writtenContents = Collections.synchronizedList(new ArrayList<String>());
+    final var writer = new ConcurrentFileWriter(MAX_OPEN_FILES);
+
+    for (var index = 0; index < WRITE_COUNT; ++index) {
+      final var content = String.valueOf(index);
+      writer.submit(path, () -> {
+        ConcurrentFileWriter.writeDurably(path, content.getBytes(StandardCharsets.UTF_8));
+        writtenContents.add(content);
+      });
+    }
+    writer.await();
+
+    Assertions.assertEquals(IntStream
+        .range(0, WRITE_COUNT)
+        .mapToObj(String::valueOf)
+        .toList(), writtenContents);
+    Assertions.assertEquals(String.valueOf(WRITE_COUNT - 1), Files.readString(path));
+  }
+
+  @Test
+  void shouldBoundWritesInFlight() throws IOException {
+    final var writesInFlight = new AtomicInteger();
+    final var maxWritesInFlight = new AtomicInteger();
+    final var writer = new ConcurrentFileWriter(MAX_OPEN_FILES);
+
+    for (var index = 0; index < WRITE_COUNT; ++index) {
+      final var path = directory.resolve(index + ".txt");
+      writer.submit(path, () -> {
+        maxWritesInFlight.accumulateAndGet(writesInFlight.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(WRITE_MILLIS);
+        } catch (final InterruptedException exception) {
+          throw new InterruptedIOException();
+        } finally {
+          writesInFlight.decrementAndGet();
+        }
+        ConcurrentFileWriter.writeDurably(path, new byte[0]);
+      });
+    }
+    writer.await();
+
+    Assertions.assertTrue(maxWritesInFlight.get() <= MAX_OPEN_FILES, String.valueOf(maxWritesInFlight.get()));
+    try (var files = Files.list(directory)) {
+      Assertions.assertEquals(WRITE_COUNT, files.count());
+    }
+  }
+
+  @Test
+  void shouldRethrowFailuresOnAwait() throws IOException {
+    final var checkedFailure = new IOException("checked");
+    final var uncheckedFailure = new UncheckedIOException(new IOException("unchecked"));
+    final var path = directory.resolve("file.txt");
+    final var writer = new ConcurrentFileWriter(MAX_OPEN_FILES);
+
+    writer.submit(path, () -> {
+      throw checkedFailure;
+    });
+    writer.submit(path, () -> {
+      throw uncheckedFailure;
+    });
+    writer.submit(path, () -> ConcurrentFileWriter.writeDurably(path, new byte[0]));
+
+    final var failure = Assertions.assertThrows(IOException.class, writer::await);
+    Assertions.assertSame(checkedFailure, failure);
+    Assertions.assertEquals(List.of(uncheckedFailure), Stream
+        .of(failure.getSuppressed())
+        .map(Throwable::getCause)
+        .toList());
+    Assertions.assertTrue(Files.exists(path));
+
+    writer.submit(path, () -> {
+      throw new IllegalStateException();
+    });
+    Assertions.assertInstanceOf(IllegalStateException.class, Assertions
+        .assertThrows(IOException.class, writer::await)
+        .getCause());
+    writer.await();
+  }
+}
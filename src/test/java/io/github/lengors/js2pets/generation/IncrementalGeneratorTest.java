@@ -0,0 +1,128 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+
+class IncrementalGeneratorTest {
+  /**
+   * Number of threads of the pool used to generate the partitions.
+   */
+  private static final int PARALLELISM = 4;
+
+  /**
+   * Comment appended to generated files to detect whether they're regenerated.
+   */
+  private static final String MARKER = "// untouched";
+
+  /**
+   * Directory of the generated package, relative to the target directory.
+   */
+  private static final String PACKAGE_PATH = "io/github/lengors/js2pets/generated/";
+
+  /**
+   * Pool used to generate the partitions.
+   */
+  private final ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @AfterEach
+  void shutdown() {
+    pool.shutdown();
+    System
+        .getProperties()
+        .remove(EnhancedRuleFactory.STRUCTURAL_DEDUPLICATION_PROPERTY);
+  }
+
+  @Test
+  void shouldGenerateSameOutputAsSequentialGeneration() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var sequentialTarget = directory.resolve("sequential");
+    final var config = new TestGenerationConfig(sources, directory.resolve("target/generated"));
+
+    Jsonschema2Pojo.generate(new TestGenerationConfig(sources, sequentialTarget), new NoopRuleLogger());
+    IncrementalGenerator.generate(config, new NoopRuleLogger(), pool);
+
+    Assertions.assertTrue(Files.isRegularFile(directory.resolve("target/" + IncrementalGenerator.MANIFEST_FILE_NAME)));
+    Assertions.assertEquals(
+        TestSchemas.readFiles(sequentialTarget),
+        TestSchemas.readFiles(directory.resolve("target/generated")));
+  }
+
+  @Test
+  void shouldOnlyRegenerateChangedPartitions() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var target = directory.resolve("target/generated");
+    final var config = new TestGenerationConfig(sources, target);
+    IncrementalGenerator.generate(config, new NoopRuleLogger(), pool);
+    mark(target.resolve(PACKAGE_PATH + "billing/Invoice.java"));
+    mark(target.resolve(PACKAGE_PATH + "Customer.java"));
+
+    IncrementalGenerator.generate(config, new NoopRuleLogger(), pool);
+    Assertions.assertTrue(isMarked(target.resolve(PACKAGE_PATH + "billing/Invoice.java")));
+    Assertions.assertTrue(isMarked(target.resolve(PACKAGE_PATH + "Customer.java")));
+
+    Files.writeString(sources.resolve("common/country.json"), "{\"type\":\"object\",\"properties\":{"
+        + "\"code\":{\"type\":\"string\"},\"name\":{\"type\":\"string\"}}}");
+    IncrementalGenerator.generate(config, new NoopRuleLogger(), pool);
+    Assertions.assertTrue(isMarked(target.resolve(PACKAGE_PATH + "billing/Invoice.java")));
+    Assertions.assertFalse(isMarked(target.resolve(PACKAGE_PATH + "Customer.java")));
+    Assertions.assertTrue(TestSchemas
+        .readFile(target.resolve(PACKAGE_PATH + "common/Country.java"))
+        .contains("getName"));
+  }
+
+  @Test
+  void shouldRegenerateWhenSystemPropertiesChange() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var target = directory.resolve("target/generated");
+    final var config = new TestGenerationConfig(sources, target);
+    IncrementalGenerator.generate(config, new NoopRuleLogger(), pool);
+    mark(target.resolve(PACKAGE_PATH + "Customer.java"));
+
+    System.setProperty(EnhancedRuleFactory.STRUCTURAL_DEDUPLICATION_PROPERTY, Boolean.TRUE.toString());
+    IncrementalGenerator.generate(config, new NoopRuleLogger(), pool);
+    Assertions.assertFalse(isMarked(target.resolve(PACKAGE_PATH + "Customer.java")));
+  }
+
+  @Test
+  void shouldRemoveStaleOutputs() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var target = directory.resolve("target/generated");
+    final var config = new TestGenerationConfig(sources, target);
+    IncrementalGenerator.generate(config, new NoopRuleLogger(), pool);
+    Assertions.assertTrue(Files.isRegularFile(target.resolve(PACKAGE_PATH + "Order.java")));
+
+    Files.delete(sources.resolve("order.json"));
+    IncrementalGenerator.generate(config, new NoopRuleLogger(), pool);
+
+    Assertions.assertFalse(Files.exists(target.resolve(PACKAGE_PATH + "Order.java")));
+    Assertions.assertFalse(Files.exists(target.resolve(PACKAGE_PATH + "Line.java")));
+    Assertions.assertTrue(Files.isRegularFile(target.resolve(PACKAGE_PATH + "Customer.java")));
+  }
+
+  private static boolean isMarked(final Path path) {
+    return TestSchemas
+        .readFile(path)
+        .endsWith(MARKER);
+  }
+
+  private static void mark(final Path path) throws IOException {
+    Files.writeString(path, TestSchemas.readFile(path) + MARKER);
+  }
+}
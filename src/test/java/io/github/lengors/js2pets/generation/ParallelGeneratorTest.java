@@ -0,0 +1,262 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.jsonschema2pojo.ContentResolver;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.jsonschema2pojo.SourceType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.lengors.js2pets.annotators.NullabilityAnnotator;
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+
+class ParallelGeneratorTest {
+  /**
+   * Number of threads of the pool used to generate the partitions.
+   */
+  private static final int PARALLELISM = 4;
+
+  /**
+   * Modification time set on generated files to detect whether they're rewritten.
+   */
+  private static final FileTime OLD_TIME = FileTime.fromMillis(0);
+
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @Test
+  void shouldPartitionSourcesByReferencedDocuments() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var config = new TestGenerationConfig(sources, directory.resolve("target"));
+
+    final var partitions = new SchemaPartitioner(new ContentResolver(), SourceType.JSONSCHEMA)
+        .partition(SchemaSource.collect(config));
+    final var partitionNames = partitions
+        .stream()
+        .map(partition -> partition
+            .stream()
+            .map(SchemaSource::nodeName)
+            .collect(Collectors.toSet()))
+        .collect(Collectors.toSet());
+
+    Assertions.assertEquals(
+        Set.of(Set.of("address", "country", "customer", "supplier"), Set.of("order"), Set.of("invoice")),
+        partitionNames);
+  }
+
+  @Test
+  void shouldGenerateSameOutputAsSequentialGeneration() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+
+    assertSameOutput(sources);
+  }
+
+  @Test
+  void shouldGenerateSameOutputWhenPartitionsCollide() throws IOException {
+    final var sources = Files.createDirectories(directory.resolve("schemas"));
+    final var schema = "{\"type\":\"object\",\"properties\":{\"item\":{\"type\":\"object\","
+        + "\"properties\":{\"name\":{\"type\":\"string\"}}}}}";
+    Files.writeString(sources.resolve("cart.json"), schema);
+    Files.writeString(sources.resolve("wishlist.json"), schema);
+
+    assertSameOutput(sources);
+  }
+
+  @Test
+  void shouldOnlyWriteChangedFiles() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var target = directory.resolve("target");
+    final var config = new TestGenerationConfig(sources, target, true);
+    final var pool = new ForkJoinPool(PARALLELISM);
+    try {
+      ParallelGenerator.generate(config, new NoopRuleLogger(), pool, OutputMode.CHANGED);
+      final var invoice = target.resolve("io/github/lengors/js2pets/generated/billing/Invoice.java");
+      final var customer = target.resolve("io/github/lengors/js2pets/generated/Customer.java");
+      final var orphan = Files.writeString(target.resolve("Orphan.java"), "class Orphan {}");
+      Files.setLastModifiedTime(invoice, OLD_TIME);
+      Files.setLastModifiedTime(customer, OLD_TIME);
+
+      Files.writeString(sources.resolve("billing/invoice.json"), "{\"type\":\"object\",\"properties\":{"
+          + "\"total\":{\"type\":\"number\"},\"currency\":{\"type\":\"string\"}}}");
+      ParallelGenerator.generate(config, new NoopRuleLogger(), pool, OutputMode.CHANGED);
+
+      Assertions.assertNotEquals(OLD_TIME, Files.getLastModifiedTime(invoice));
+      Assertions.assertEquals(OLD_TIME, Files.getLastModifiedTime(customer));
+      Assertions.assertFalse(Files.exists(orphan));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void shouldGenerateSameOutputWithDeferredAnnotation() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var immediateTarget = directory.resolve("immediate");
+    final var deferredTarget = directory.resolve("deferred");
+    final var pluginTarget = directory.resolve("plugin");
+
+    ParallelGenerator.generate(
+        new TestGenerationConfig(sources, immediateTarget, NullabilityAnnotator.class),
+        new NoopRuleLogger());
+    System.setProperty(EnhancedRuleFactory.DEFERRED_ANNOTATION_PROPERTY, Boolean.TRUE.toString());
+    try {
+      ParallelGenerator.generate(
+          new TestGenerationConfig(sources, deferredTarget, NullabilityAnnotator.class),
+          new NoopRuleLogger());
+      Jsonschema2Pojo.generate(
+          new TestGenerationConfig(sources, pluginTarget, NullabilityAnnotator.class),
+          new NoopRuleLogger());
+    } finally {
+      System
+          .getProperties()
+          .remove(EnhancedRuleFactory.DEFERRED_ANNOTATION_PROPERTY);
+    }
+
+    final var immediateFiles = TestSchemas.readFiles(immediateTarget);
+    Assertions.assertTrue(immediateFiles
+        .values()
+        .stream()
+        .anyMatch(content -> content.contains("@Nullable")));
+    Assertions.assertEquals(immediateFiles, TestSchemas.readFiles(deferredTarget));
+    Assertions.assertEquals(immediateFiles, TestSchemas.readFiles(pluginTarget));
+  }
+
+  @Test
+  void shouldGenerateSameOutputWithParallelAnnotation() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var sequentialTarget = directory.resolve("sequential");
+    final var parallelTarget = directory.resolve("parallel");
+
+    ParallelGenerator.generate(
+        new TestGenerationConfig(sources, sequentialTarget, NullabilityAnnotator.class),
+        new NoopRuleLogger());
+    System.setProperty(EnhancedRuleFactory.PARALLEL_ANNOTATION_PROPERTY, Boolean.TRUE.toString());
+    try {
+      ParallelGenerator.generate(
+          new TestGenerationConfig(sources, parallelTarget, NullabilityAnnotator.class),
+          new NoopRuleLogger());
+    } finally {
+      System
+          .getProperties()
+          .remove(EnhancedRuleFactory.PARALLEL_ANNOTATION_PROPERTY);
+    }
+
+    Assertions.assertEquals(TestSchemas.readFiles(sequentialTarget), TestSchemas.readFiles(parallelTarget));
+  }
+
+  @Test
+  void shouldGenerateSameOutputWithConcurrentIo() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var sequentialTarget = directory.resolve("sequential");
+    final var concurrentTarget = directory.resolve("concurrent");
+
+    Jsonschema2Pojo.generate(new TestGenerationConfig(sources, sequentialTarget), new NoopRuleLogger());
+    System.setProperty(ConcurrentIo.PROPERTY, Boolean.TRUE.toString());
+    System.setProperty(ConcurrentIo.MAX_OPEN_FILES_PROPERTY, Integer.toString(PARALLELISM));
+    final var pool = new ForkJoinPool(PARALLELISM);
+    try {
+      for (final var outputMode : OutputMode.values()) {
+        ParallelGenerator.generate(
+            new TestGenerationConfig(sources, concurrentTarget, true),
+            new NoopRuleLogger(),
+            pool,
+            outputMode);
+        Assertions.assertEquals(TestSchemas.readFiles(sequentialTarget), TestSchemas.readFiles(concurrentTarget));
+      }
+    } finally {
+      pool.shutdown();
+      System
+          .getProperties()
+          .remove(ConcurrentIo.PROPERTY);
+      System
+          .getProperties()
+          .remove(ConcurrentIo.MAX_OPEN_FILES_PROPERTY);
+    }
+  }
+
+  @Test
+  void shouldAggregateInstrumentationReportAcrossPartitions() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var sequentialConfig = new TestGenerationConfig(
+        sources,
+        directory.resolve("sequential/target/generated"),
+        NullabilityAnnotator.class);
+    final var parallelConfig = new TestGenerationConfig(
+        sources,
+        directory.resolve("parallel/target/generated"),
+        NullabilityAnnotator.class);
+
+    System.setProperty(EnhancedRuleFactory.INSTRUMENTATION_PROPERTY, Boolean.TRUE.toString());
+    System.setProperty(EnhancedRuleFactory.DEFERRED_ANNOTATION_PROPERTY, Boolean.TRUE.toString());
+    final var pool = new ForkJoinPool(PARALLELISM);
+    try {
+      ParallelGenerator.generate(sequentialConfig, new NoopRuleLogger(), SchemaSource.collect(sequentialConfig));
+      ParallelGenerator.generate(parallelConfig, new NoopRuleLogger(), pool);
+    } finally {
+      pool.shutdown();
+      System
+          .getProperties()
+          .remove(EnhancedRuleFactory.INSTRUMENTATION_PROPERTY);
+      System
+          .getProperties()
+          .remove(EnhancedRuleFactory.DEFERRED_ANNOTATION_PROPERTY);
+    }
+
+    final var sequentialReport = readInstrumentationCounts(sequentialConfig);
+    final var typeCallback = NullabilityAnnotator.class.getName() + "#type";
+    Assertions.assertTrue(sequentialReport.getOrDefault(typeCallback, 0L) > 0);
+    Assertions.assertEquals(sequentialReport, readInstrumentationCounts(parallelConfig));
+  }
+
+  private static Map<String, Long> readInstrumentationCounts(final TestGenerationConfig config) throws IOException {
+    final var report = new ObjectMapper().readTree(EnhancedRuleFactory
+        .getInstrumentationReportPath(config)
+        .toFile());
+    final var counts = new TreeMap<String, Long>();
+    for (final var section : List.of("rules", "annotators")) {
+      report
+          .get(section)
+          .fields()
+          .forEachRemaining(entry -> counts.put(entry.getKey(), entry
+              .getValue()
+              .get("count")
+              .asLong()));
+    }
+    return counts;
+  }
+
+  private void assertSameOutput(final Path sources) throws IOException {
+    final var sequentialTarget = directory.resolve("sequential");
+    final var parallelTarget = directory.resolve("parallel");
+
+    Jsonschema2Pojo.generate(new TestGenerationConfig(sources, sequentialTarget), new NoopRuleLogger());
+    final var pool = new ForkJoinPool(PARALLELISM);
+    try {
+      ParallelGenerator.generate(new TestGenerationConfig(sources, parallelTarget), new NoopRuleLogger(), pool);
+    } finally {
+      pool.shutdown();
+    }
+
+    final var sequentialFiles = TestSchemas.readFiles(sequentialTarget);
+    Assertions.assertFalse(sequentialFiles.isEmpty());
+    Assertions.assertEquals(sequentialFiles, TestSchemas.readFiles(parallelTarget));
+  }
+
+}
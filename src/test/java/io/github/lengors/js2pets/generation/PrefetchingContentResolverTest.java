@@ -0,0 +1,69 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.jsonschema2pojo.SourceType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+class PrefetchingContentResolverTest {
+  /**
+   * Maximum number of documents read at once.
+   */
+  private static final int MAX_OPEN_FILES = 2;
+
+  /**
+   * Number of documents referenced, directly or transitively, by the customer schema, including itself.
+   */
+  private static final int CUSTOMER_DOCUMENT_COUNT = 3;
+
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @Test
+  void shouldPrefetchReferencedDocuments() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var customer = sources.resolve("customer.json");
+    final var country = sources.resolve("common/country.json");
+    final var expectedCountry = new PrefetchingContentResolver(new JsonFactory(), SourceType.JSONSCHEMA, 1)
+        .resolve(country.toUri());
+
+    final var contentResolver = new PrefetchingContentResolver(
+        new JsonFactory(),
+        SourceType.JSONSCHEMA,
+        MAX_OPEN_FILES);
+    contentResolver.prefetch(List.of(customer.toUri()));
+    Assertions.assertEquals(CUSTOMER_DOCUMENT_COUNT, contentResolver.size());
+
+    Files.delete(country);
+    final var prefetchedCountry = contentResolver.resolve(country.toUri());
+    Assertions.assertEquals(expectedCountry, prefetchedCountry);
+    Assertions.assertNotSame(prefetchedCountry, contentResolver.resolve(country.toUri()));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> contentResolver.resolve(sources
+        .resolve("missing.json")
+        .toUri()));
+  }
+
+  @Test
+  void shouldNotFollowReferencesOfJsonExamples() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    final var contentResolver = new PrefetchingContentResolver(new JsonFactory(), SourceType.JSON, MAX_OPEN_FILES);
+    contentResolver.prefetch(List.of(
+        sources
+            .resolve("customer.json")
+            .toUri(),
+        sources
+            .resolve("missing.json")
+            .toUri()));
+    Assertions.assertEquals(1, contentResolver.size());
+  }
+}
@@ -0,0 +1,106 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+import io.github.lengors.js2pets.streams.StreamUtils;
+
+class StreamingTypeEmitterTest {
+  /**
+   * Number of threads of the pool used to generate the partitions.
+   */
+  private static final int PARALLELISM = 4;
+
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @AfterEach
+  void clearStreamingProperty() {
+    System
+        .getProperties()
+        .remove(EnhancedRuleFactory.STREAMING_PROPERTY);
+  }
+
+  @Test
+  void shouldStreamSameOutputAsBuiltCodeModel() throws IOException {
+    final var sources = writeSchemas();
+    final var builtTarget = directory.resolve("built");
+    final var streamedTarget = directory.resolve("streamed");
+
+    Jsonschema2Pojo.generate(new TestGenerationConfig(sources, builtTarget), new NoopRuleLogger());
+    System.setProperty(EnhancedRuleFactory.STREAMING_PROPERTY, Boolean.TRUE.toString());
+    Jsonschema2Pojo.generate(new TestGenerationConfig(sources, streamedTarget), new NoopRuleLogger());
+
+    final var builtFiles = TestSchemas.readFiles(builtTarget);
+    Assertions.assertFalse(builtFiles.isEmpty());
+    Assertions.assertEquals(builtFiles, TestSchemas.readFiles(streamedTarget));
+  }
+
+  @Test
+  void shouldReleaseStreamedTypes() throws IOException {
+    final var sources = writeSchemas();
+    final var target = directory.resolve("target");
+    final var config = new TestGenerationConfig(sources, target);
+
+    System.setProperty(EnhancedRuleFactory.STREAMING_PROPERTY, Boolean.TRUE.toString());
+    final var codeModel = ParallelGenerator.generate(config, new NoopRuleLogger(), SchemaSource.collect(config));
+
+    final var classes = StreamUtils
+        .stream(codeModel.packages())
+        .flatMap(pkg -> StreamUtils.stream(pkg.classes()))
+        .toList();
+    Assertions.assertFalse(classes.isEmpty());
+    Assertions.assertTrue(classes
+        .stream()
+        .allMatch(definedClass -> definedClass.isHidden()));
+    final var streamedFiles = ParallelGenerator.listStreamedFiles(List.of(codeModel));
+    Assertions.assertEquals(classes.size(), streamedFiles.size());
+    Assertions.assertTrue(streamedFiles
+        .stream()
+        .allMatch(file -> Files.isRegularFile(target.resolve(file))));
+  }
+
+  @Test
+  void shouldStreamSameOutputWhenPartitionsCollide() throws IOException {
+    final var sources = Files.createDirectories(directory.resolve("schemas"));
+    final var schema = "{\"type\":\"object\",\"properties\":{\"item\":{\"type\":\"object\","
+        + "\"properties\":{\"name\":{\"type\":\"string\"}}}}}";
+    Files.writeString(sources.resolve("cart.json"), schema);
+    Files.writeString(sources.resolve("wishlist.json"), schema);
+    final var builtTarget = directory.resolve("built");
+    final var streamedTarget = directory.resolve("streamed");
+
+    Jsonschema2Pojo.generate(new TestGenerationConfig(sources, builtTarget), new NoopRuleLogger());
+    System.setProperty(EnhancedRuleFactory.STREAMING_PROPERTY, Boolean.TRUE.toString());
+    final var pool = new ForkJoinPool(PARALLELISM);
+    try {
+      ParallelGenerator.generate(new TestGenerationConfig(sources, streamedTarget), new NoopRuleLogger(), pool);
+    } finally {
+      pool.shutdown();
+    }
+
+    Assertions.assertEquals(TestSchemas.readFiles(builtTarget), TestSchemas.readFiles(streamedTarget));
+  }
+
+  private Path writeSchemas() throws IOException {
+    final var sources = TestSchemas.writeReferencingSchemas(directory);
+    Files.writeString(sources.resolve("category.json"), "{\"type\":\"object\",\"properties\":{"
+        + "\"name\":{\"type\":\"string\"},\"status\":{\"type\":\"string\",\"enum\":[\"active\",\"archived\"]},"
+        + "\"parent\":{\"$ref\":\"#\"},\"children\":{\"type\":\"array\",\"items\":{\"$ref\":\"#\"}}}}");
+    return sources;
+  }
+}
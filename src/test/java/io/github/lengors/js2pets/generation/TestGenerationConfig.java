@@ -0,0 +1,108 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.NoopAnnotator;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+
+final class TestGenerationConfig extends DefaultGenerationConfig {
+  /**
+   * Package where the classes are generated.
+   */
+  private static final String PACKAGE_NAME = "io.github.lengors.js2pets.generated";
+
+  /**
+   * Directory containing the schema sources.
+   */
+  private final Path sources;
+
+  /**
+   * Directory where the code is written to.
+   */
+  private final Path target;
+
+  /**
+   * Whether old output is removed.
+   */
+  private final boolean removeOldOutput;
+
+  /**
+   * Custom annotator class.
+   */
+  private final Class<? extends Annotator> customAnnotator;
+
+  TestGenerationConfig(final Path sources, final Path target) {
+    this(sources, target, false);
+  }
+
+  TestGenerationConfig(final Path sources, final Path target, final boolean removeOldOutput) {
+    this(sources, target, removeOldOutput, NoopAnnotator.class);
+  }
+
+  TestGenerationConfig(final Path sources, final Path target, final Class<? extends Annotator> customAnnotator) {
+    this(sources, target, false, customAnnotator);
+  }
+
+  private TestGenerationConfig(
+      final Path sources,
+      final Path target,
+      final boolean removeOldOutput,
+      final Class<? extends Annotator> customAnnotator) {
+    this.sources = sources;
+    this.target = target;
+    this.removeOldOutput = removeOldOutput;
+    this.customAnnotator = customAnnotator;
+  }
+
+  @Override
+  public Class<? extends Annotator> getCustomAnnotator() {
+    return customAnnotator;
+  }
+
+  @Override
+  public Class<? extends RuleFactory> getCustomRuleFactory() {
+    return EnhancedRuleFactory.IncludeNoArgsConstructor.class;
+  }
+
+  @Override
+  public Iterator<URL> getSource() {
+    try {
+      return List
+          .of(sources
+              .toUri()
+              .toURL())
+          .iterator();
+    } catch (final IOException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  @Override
+  public File getTargetDirectory() {
+    return target.toFile();
+  }
+
+  @Override
+  public String getTargetPackage() {
+    return PACKAGE_NAME;
+  }
+
+  @Override
+  public boolean isRemoveOldOutput() {
+    return removeOldOutput;
+  }
+
+  @Override
+  public boolean isIncludeConstructors() {
+    return true;
+  }
+}
@@ -0,0 +1,49 @@
+package io.github.lengors.js2pets.generation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+final class TestSchemas {
+  private TestSchemas() {
+    throw new UnsupportedOperationException();
+  }
+
+  static Map<Path, String> readFiles(final Path root) throws IOException {
+    try (var paths = Files.walk(root)) {
+      return paths
+          .filter(Files::isRegularFile)
+          .collect(Collectors.toMap(root::relativize, TestSchemas::readFile));
+    }
+  }
+
+  static String readFile(final Path path) {
+    try {
+      return Files.readString(path);
+    } catch (final IOException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  static Path writeReferencingSchemas(final Path directory) throws IOException {
+    final var sources = Files.createDirectories(directory.resolve("schemas"));
+    final var common = Files.createDirectories(sources.resolve("common"));
+    Files.writeString(common.resolve("address.json"), "{\"type\":\"object\",\"properties\":{"
+        + "\"street\":{\"type\":\"string\"},\"country\":{\"$ref\":\"country.json\"}}}");
+    Files.writeString(common.resolve("country.json"), "{\"type\":\"object\",\"properties\":{"
+        + "\"code\":{\"type\":\"string\"}}}");
+    Files.writeString(sources.resolve("customer.json"), "{\"type\":\"object\",\"properties\":{"
+        + "\"name\":{\"type\":\"string\"},\"address\":{\"$ref\":\"common/address.json\"}}}");
+    Files.writeString(sources.resolve("supplier.json"), "{\"type\":\"object\",\"properties\":{"
+        + "\"name\":{\"type\":\"string\"},\"location\":{\"$ref\":\"common/country.json#\"}}}");
+    Files.writeString(sources.resolve("order.json"), "{\"type\":\"object\",\"properties\":{"
+        + "\"lines\":{\"type\":\"array\",\"items\":{\"$ref\":\"#/definitions/line\"}}},"
+        + "\"definitions\":{\"line\":{\"type\":\"object\",\"properties\":{\"amount\":{\"type\":\"number\"}}}}}");
+    final var billing = Files.createDirectories(sources.resolve("billing"));
+    Files.writeString(billing.resolve("invoice.json"), "{\"type\":\"object\",\"properties\":{"
+        + "\"total\":{\"type\":\"number\"}}}");
+    return sources;
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Tests for the parallel generation entry point.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.generation;
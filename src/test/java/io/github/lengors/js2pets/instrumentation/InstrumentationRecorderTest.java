@@ -0,0 +1,160 @@
+package io.github.lengors.js2pets.instrumentation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.CompositeAnnotator;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.rules.Rule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JType;
+
+import io.github.lengors.js2pets.annotators.AnnotatorUtils;
+import io.github.lengors.js2pets.annotators.EnhancedAnnotator;
+import io.github.lengors.js2pets.assertions.AssertionUtils;
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentationRecorderTest {
+  @Test
+  void shouldRecordNestedInvocations() {
+    final var recorder = new InstrumentationRecorder();
+
+    final var result = recorder.measureRule("outer", () -> {
+      Assertions.assertFalse(recorder.isIdle());
+      recorder.measureAnnotator("inner", () -> {
+      });
+      return "result";
+    });
+
+    Assertions.assertEquals("result", result);
+    Assertions.assertTrue(recorder.isIdle());
+
+    final var outer = recorder
+        .getRules()
+        .get("outer");
+    final var inner = recorder
+        .getAnnotators()
+        .get("inner");
+    AssertionUtils.assertNotNull(outer);
+    AssertionUtils.assertNotNull(inner);
+    Assertions.assertEquals(1, outer.getCount());
+    Assertions.assertEquals(1, inner.getCount());
+    Assertions.assertTrue(outer.getTotalNanos() >= inner.getTotalNanos());
+    Assertions.assertEquals(outer.getTotalNanos() - inner.getTotalNanos(), outer.getSelfNanos());
+    Assertions.assertEquals(outer.getTotalNanos(), outer.getMaxNanos());
+  }
+
+  @Test
+  void shouldNotifyCompletionOfOutermostRuleOnly() {
+    final var recorder = new InstrumentationRecorder();
+    final var completionListener = Mockito.mock(Runnable.class);
+    final Rule<String, String> innerRule = (nodeName, node, parent, generatable, schema) -> generatable;
+    final var instrumentedInnerRule = new InstrumentedRule<>(recorder, innerRule, completionListener);
+    final Rule<String, String> outerRule = (nodeName, node, parent, generatable, schema) -> instrumentedInnerRule
+        .apply(nodeName, node, parent, generatable, schema);
+    final var instrumentedOuterRule = new InstrumentedRule<>(recorder, outerRule, completionListener);
+    final var node = Mockito.mock(JsonNode.class);
+    final var schema = Mockito.mock(Schema.class);
+
+    Assertions.assertEquals("generatable", instrumentedOuterRule.apply("node", node, node, "generatable", schema));
+
+    Mockito
+        .verify(completionListener, Mockito.times(1))
+        .run();
+    Assertions.assertEquals(2, recorder
+        .getRules()
+        .size());
+  }
+
+  @Test
+  void shouldInstrumentLeafAnnotators() {
+    final var recorder = new InstrumentationRecorder();
+    final var enhancedAnnotator = Mockito.mock(EnhancedAnnotator.class);
+    final var annotator = Mockito.mock(Annotator.class);
+    final var type = new JCodeModel().BOOLEAN;
+
+    final var instrumentedAnnotator = InstrumentedAnnotator
+        .instrument(recorder, new CompositeAnnotator(enhancedAnnotator, annotator));
+    AnnotatorUtils.type(instrumentedAnnotator, type);
+
+    Mockito
+        .verify(enhancedAnnotator)
+        .type(type);
+    Assertions.assertTrue(AnnotatorUtils
+        .streamAnnotators(instrumentedAnnotator)
+        .allMatch(InstrumentedAnnotator.class::isInstance));
+    Assertions.assertEquals(1, recorder
+        .getAnnotators()
+        .size());
+  }
+
+  @Test
+  void shouldWriteReport(@TempDir final Path directory) throws IOException {
+    final var recorder = new InstrumentationRecorder();
+    final var reportPath = directory.resolve("target/report.json");
+    recorder.measureRule("rule", () -> JType.parse(new JCodeModel(), "int"));
+
+    recorder.writeReport(reportPath);
+
+    final var report = new ObjectMapper().readTree(reportPath.toFile());
+    Assertions.assertEquals(1, report
+        .path("rules")
+        .path("rule")
+        .path("count")
+        .asLong());
+    Assertions.assertTrue(report
+        .path("annotators")
+        .isObject());
+  }
+
+  @Test
+  void shouldInstrumentFactoryWhenEnabled(@TempDir final Path directory) {
+    final var targetDirectory = directory.resolve("target/generated-sources/jsonschema2pojo");
+    final var generationConfig = new DefaultGenerationConfig() {
+      @Override
+      public File getTargetDirectory() {
+        return targetDirectory.toFile();
+      }
+    };
+
+    System.setProperty(EnhancedRuleFactory.INSTRUMENTATION_PROPERTY, Boolean.TRUE.toString());
+    final EnhancedRuleFactory ruleFactory;
+    try {
+      ruleFactory = new EnhancedRuleFactory(generationConfig);
+    } finally {
+      System
+          .getProperties()
+          .remove(EnhancedRuleFactory.INSTRUMENTATION_PROPERTY);
+    }
+
+    Assertions.assertNotNull(ruleFactory.getInstrumentationRecorder());
+    Assertions.assertInstanceOf(InstrumentedRule.class, ruleFactory.getObjectRule());
+    Assertions.assertInstanceOf(InstrumentedRule.class, ruleFactory.getPropertyRule());
+    Assertions.assertInstanceOf(InstrumentedAnnotator.class, ruleFactory.getAnnotator());
+    Assertions.assertEquals(
+        directory.resolve("target/" + EnhancedRuleFactory.INSTRUMENTATION_REPORT_FILE_NAME),
+        ruleFactory.getInstrumentationReportPath());
+  }
+
+  @Test
+  void shouldNotInstrumentFactoryByDefault() {
+    final var ruleFactory = new EnhancedRuleFactory();
+
+    Assertions.assertNull(ruleFactory.getInstrumentationRecorder());
+    Assertions.assertFalse(ruleFactory.getPropertyRule() instanceof InstrumentedRule);
+    Assertions.assertFalse(ruleFactory.getAnnotator() instanceof InstrumentedAnnotator);
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Tests for the opt-in instrumentation of rules and annotators.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.instrumentation;
@@ -0,0 +1,218 @@
+package io.github.lengors.js2pets.jfr;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.lengors.js2pets.annotators.NullabilityAnnotator;
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+import io.github.lengors.js2pets.generation.ParallelGenerator;
+import io.github.lengors.js2pets.instrumentation.InstrumentedRule;
+import io.github.lengors.js2pets.rules.ObjectRule;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class GenerationEventsTest {
+  /**
+   * Package of the generated classes.
+   */
+  private static final String PACKAGE_NAME = "io.github.lengors.js2pets.generated";
+
+  /**
+   * Full name of the generated class.
+   */
+  private static final String CLASS_NAME = PACKAGE_NAME + ".Customer";
+
+  /**
+   * Mapper reading the instrumentation report.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @AfterEach
+  void clearInstrumentationProperty() {
+    System
+        .getProperties()
+        .remove(EnhancedRuleFactory.INSTRUMENTATION_PROPERTY);
+  }
+
+  @Test
+  void shouldEmitGenerationEvents() throws IOException {
+    final var events = recordGeneration();
+
+    Assertions.assertTrue(events
+        .stream()
+        .anyMatch(event -> isEvent(event, "RuleApplication")
+            && ObjectRule.class
+                .getName()
+                .equals(event.getString("rule"))
+            && "customer".equals(event.getString("nodeName"))
+            && event
+                .getString("schemaUri")
+                .endsWith("customer.json")));
+    Assertions.assertTrue(events
+        .stream()
+        .anyMatch(event -> isEvent(event, "AnnotatorPass")
+            && NullabilityAnnotator.class
+                .getName()
+                .equals(event.getString("annotator"))
+            && CLASS_NAME.equals(event.getString("type"))
+            && event.getInt("fieldCount") > 0
+            && event.getInt("methodCount") > 0));
+    Assertions.assertTrue(events
+        .stream()
+        .anyMatch(event -> isEvent(event, "ConstructorRemoval")
+            && CLASS_NAME.equals(event.getString("type"))
+            && event.getInt("removedCount") == 1));
+    Assertions.assertTrue(events
+        .stream()
+        .anyMatch(event -> isEvent(event, "OutputFile")
+            && "io/github/lengors/js2pets/generated/Customer.java".equals(event.getString("path"))
+            && event.getLong("size") > 0
+            && event.getBoolean("written")));
+  }
+
+  @Test
+  void shouldNameEventsAfterInstrumentedRulesAndAnnotators() throws IOException {
+    System.setProperty(EnhancedRuleFactory.INSTRUMENTATION_PROPERTY, Boolean.TRUE.toString());
+    final var events = recordGeneration();
+
+    Assertions.assertTrue(events
+        .stream()
+        .anyMatch(event -> isEvent(event, "RuleApplication")
+            && ObjectRule.class
+                .getName()
+                .equals(event.getString("rule"))));
+    Assertions.assertTrue(events
+        .stream()
+        .noneMatch(event -> isEvent(event, "RuleApplication")
+            && event
+                .getString("rule")
+                .startsWith(InstrumentedRule.class.getPackageName())));
+    final var annotatorNames = events
+        .stream()
+        .filter(event -> isEvent(event, "AnnotatorPass"))
+        .map(event -> event.getString("annotator"))
+        .collect(Collectors.toSet());
+    Assertions.assertEquals(Set.of(NullabilityAnnotator.class.getName()), annotatorNames);
+
+    final var report = OBJECT_MAPPER.readTree(directory
+        .resolve("target")
+        .resolve(EnhancedRuleFactory.INSTRUMENTATION_REPORT_FILE_NAME)
+        .toFile());
+    Assertions.assertTrue(report
+        .get("rules")
+        .has(ObjectRule.class.getName()));
+  }
+
+  private List<RecordedEvent> recordGeneration() throws IOException {
+    final var sources = Files.createDirectories(directory.resolve("schemas"));
+    Files.writeString(sources.resolve("customer.json"), "{\"type\":\"object\",\"properties\":{"
+        + "\"name\":{\"type\":\"string\"},\"age\":{\"type\":\"integer\"}},\"required\":[\"name\"]}");
+    final var recordingPath = directory.resolve("recording.jfr");
+
+    try (var recording = new Recording()) {
+      for (final var eventClass : List.of(
+          RuleApplicationEvent.class,
+          AnnotatorPassEvent.class,
+          ConstructorRemovalEvent.class,
+          OutputFileEvent.class)) {
+        recording
+            .enable(eventClass)
+            .withThreshold(Duration.ZERO);
+      }
+      recording.start();
+      final var config = new EventsGenerationConfig(sources, directory.resolve("target/generated"));
+      ParallelGenerator.generate(config, new NoopRuleLogger());
+      recording.stop();
+      recording.dump(recordingPath);
+    }
+    return RecordingFile.readAllEvents(recordingPath);
+  }
+
+  private static boolean isEvent(final RecordedEvent event, final String name) {
+    return ("io.github.lengors.js2pets." + name).equals(event
+        .getEventType()
+        .getName());
+  }
+
+  private static final class EventsGenerationConfig extends DefaultGenerationConfig {
+    /**
+     * Directory with the schemas to generate.
+     */
+    private final Path sources;
+
+    /**
+     * Directory to generate the code to.
+     */
+    private final Path target;
+
+    EventsGenerationConfig(final Path sources, final Path target) {
+      this.sources = sources;
+      this.target = target;
+    }
+
+    @Override
+    public Class<? extends Annotator> getCustomAnnotator() {
+      return NullabilityAnnotator.class;
+    }
+
+    @Override
+    public Class<? extends RuleFactory> getCustomRuleFactory() {
+      return EnhancedRuleFactory.ExcludeNoArgsConstructor.class;
+    }
+
+    @Override
+    public Iterator<URL> getSource() {
+      try {
+        return List
+            .of(sources
+                .toUri()
+                .toURL())
+            .iterator();
+      } catch (final IOException exception) {
+        throw new IllegalStateException(exception);
+      }
+    }
+
+    @Override
+    public File getTargetDirectory() {
+      return target.toFile();
+    }
+
+    @Override
+    public String getTargetPackage() {
+      return PACKAGE_NAME;
+    }
+
+    @Override
+    public boolean isIncludeConstructors() {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Tests for the Java Flight Recorder events.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.jfr;
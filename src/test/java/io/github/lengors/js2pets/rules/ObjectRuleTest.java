@@ -17,6 +17,7 @@ import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JPackage;
 import com.sun.codemodel.JType;
 
+import io.github.lengors.js2pets.annotators.DeferredAnnotationQueue;
 import io.github.lengors.js2pets.annotators.EnhancedAnnotator;
 import io.github.lengors.js2pets.assertions.AssertionUtils;
 
@@ -61,4 +62,91 @@ class ObjectRuleTest {
         .verify(annotator, Mockito.only())
         .type(type);
   }
+
+  @Test
+  void shouldNotifyAnnotatorOncePerType() {
+    AssertionUtils.assertNotNull(superObjectRule);
+    final var annotator = Mockito.mock(EnhancedAnnotator.class);
+    final var type = Mockito.mock(JType.class);
+    final var ruleFactory = Mockito.mock(RuleFactory.class, Mockito
+        .withSettings()
+        .extraInterfaces(CompletedTypeSet.Provider.class));
+    final var completedTypeSet = new CompletedTypeSet();
+    final var node = Mockito.mock(JsonNode.class);
+    final var currentSchema = Mockito.mock(Schema.class);
+
+    final var codeModel = new JCodeModel();
+    final var jPackage = codeModel._package("io.github.lengors.js2pets.rules");
+
+    Mockito
+        .when(superObjectRule.apply(NODE_NAME, node, node, jPackage, currentSchema))
+        .thenReturn(type);
+    Mockito
+        .when(ruleFactory.getAnnotator())
+        .thenReturn(annotator);
+    Mockito
+        .when(((CompletedTypeSet.Provider) ruleFactory).getCompletedTypeSet())
+        .thenReturn(completedTypeSet);
+
+    final var rule = new ObjectRule(ruleFactory, superObjectRule);
+    Assertions.assertEquals(type, rule.apply(NODE_NAME, node, node, jPackage, currentSchema));
+    Assertions.assertEquals(type, rule.apply(NODE_NAME, node, node, jPackage, currentSchema));
+
+    Assertions.assertTrue(completedTypeSet.isCompleted(type));
+    Mockito
+        .verify(annotator, Mockito.only())
+        .type(type);
+  }
+
+  @Test
+  void shouldOnlyFlushDeferredAnnotationsOnceApplied() {
+    AssertionUtils.assertNotNull(superObjectRule);
+    final var annotator = Mockito.mock(EnhancedAnnotator.class);
+    final var type = Mockito.mock(JType.class);
+    final var pendingType = Mockito.mock(JType.class);
+    final var ruleFactory = Mockito.mock(RuleFactory.class, Mockito
+        .withSettings()
+        .extraInterfaces(DeferredAnnotationQueue.Provider.class));
+    final var deferredAnnotationQueue = new DeferredAnnotationQueue();
+    final var node = Mockito.mock(JsonNode.class);
+    final var currentSchema = Mockito.mock(Schema.class);
+
+    final var codeModel = new JCodeModel();
+    final var jPackage = codeModel._package("io.github.lengors.js2pets.rules");
+
+    Mockito
+        .when(superObjectRule.apply(NODE_NAME, node, node, jPackage, currentSchema))
+        .thenThrow(new IllegalStateException())
+        .thenReturn(type);
+    Mockito
+        .when(ruleFactory.getAnnotator())
+        .thenReturn(annotator);
+    Mockito
+        .when(((DeferredAnnotationQueue.Provider) ruleFactory).getDeferredAnnotationQueue())
+        .thenReturn(deferredAnnotationQueue);
+
+    final var rule = new ObjectRule(ruleFactory, superObjectRule);
+    deferredAnnotationQueue.enqueue(pendingType);
+    Assertions.assertThrows(IllegalStateException.class, () -> rule.apply(
+        NODE_NAME,
+        node,
+        node,
+        jPackage,
+        currentSchema));
+
+    Assertions.assertFalse(deferredAnnotationQueue.isPending());
+    Assertions.assertEquals(1, deferredAnnotationQueue.size());
+    Mockito.verifyNoInteractions(annotator);
+
+    Assertions.assertEquals(type, rule.apply(NODE_NAME, node, node, jPackage, currentSchema));
+    Assertions.assertEquals(0, deferredAnnotationQueue.size());
+    final var inOrder = Mockito.inOrder(annotator);
+    inOrder
+        .verify(annotator)
+        .type(pendingType);
+    inOrder
+        .verify(annotator)
+        .type(type);
+    inOrder.verifyNoMoreInteractions();
+  }
 }
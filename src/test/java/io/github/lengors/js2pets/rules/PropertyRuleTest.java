@@ -0,0 +1,73 @@
+package io.github.lengors.js2pets.rules;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.rules.Rule;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.jsonschema2pojo.util.NameHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+
+import io.github.lengors.js2pets.assertions.AssertionUtils;
+import io.github.lengors.js2pets.codemodel.CodeModelUtils;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyRuleTest {
+  /**
+   * The JSON name of the property under test, which is not a valid Java identifier.
+   */
+  private static final String NODE_NAME = "pet-name";
+
+  /**
+   * The parent property rule generating the field.
+   */
+  @Mock
+  @MonotonicNonNull
+  private Rule<JDefinedClass, JDefinedClass> superPropertyRule;
+
+  @Test
+  void shouldRecordJsonPropertyValue() throws JClassAlreadyExistsException {
+    AssertionUtils.assertNotNull(superPropertyRule);
+    final var ruleFactory = Mockito.mock(RuleFactory.class);
+    final var currentSchema = Mockito.mock(Schema.class);
+    final var node = JsonNodeFactory.instance.objectNode();
+    final var nameHelper = new NameHelper(new DefaultGenerationConfig());
+    final var clazz = new JCodeModel()._class("io.github.lengors.js2pets.rules.Test");
+    final var fieldName = nameHelper.getPropertyName(NODE_NAME, node);
+
+    Mockito
+        .when(ruleFactory.getNameHelper())
+        .thenReturn(nameHelper);
+    Mockito
+        .when(superPropertyRule.apply(NODE_NAME, node, node, clazz, currentSchema))
+        .thenAnswer(invocation -> {
+          clazz
+              .field(JMod.PRIVATE, String.class, fieldName)
+              .annotate(JsonProperty.class)
+              .param("value", NODE_NAME);
+          return clazz;
+        });
+
+    final var rule = new PropertyRule(ruleFactory, superPropertyRule);
+    final var result = rule.apply(NODE_NAME, node, node, clazz, currentSchema);
+
+    final var field = clazz
+        .fields()
+        .get(fieldName);
+    AssertionUtils.assertNotNull(field);
+    Assertions.assertEquals(clazz, result);
+    Assertions.assertEquals(NODE_NAME, CodeModelUtils.getJsonPropertyValue(field));
+  }
+}
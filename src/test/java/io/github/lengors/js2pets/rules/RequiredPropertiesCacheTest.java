@@ -0,0 +1,137 @@
+package io.github.lengors.js2pets.rules;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.rules.Rule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDocCommentable;
+import com.sun.codemodel.JMod;
+
+import io.github.lengors.js2pets.assertions.AssertionUtils;
+
+@ExtendWith(MockitoExtension.class)
+class RequiredPropertiesCacheTest {
+  /**
+   * Index of the generatable type argument of {@link Rule#apply}.
+   */
+  private static final int GENERATABLE_TYPE_INDEX = 3;
+
+  /**
+   * Mock schema listing {@code field0} as required.
+   */
+  @Mock
+  @MonotonicNonNull
+  private Schema currentSchema;
+
+  /**
+   * Mock rule used to simulate the super not required rule behavior.
+   */
+  @Mock
+  @MonotonicNonNull
+  private Rule<JDocCommentable, JDocCommentable> superNotRequiredRule;
+
+  @Test
+  void shouldCacheRequiredPropertiesUntilEvicted() {
+    AssertionUtils.assertNotNull(currentSchema);
+    stubRequired(currentSchema);
+    final var cache = new RequiredPropertiesCache();
+
+    final var requiredProperties = cache.get(currentSchema);
+    Assertions.assertEquals(Set.of("field0"), requiredProperties);
+    Assertions.assertSame(requiredProperties, cache.get(currentSchema));
+    Assertions.assertEquals(1, cache.size());
+
+    cache.evict(currentSchema);
+    Assertions.assertEquals(0, cache.size());
+    Mockito
+        .verify(currentSchema, Mockito.times(1))
+        .getContent();
+  }
+
+  @Test
+  void shouldComputeNoRequiredPropertiesWhenMissing() {
+    AssertionUtils.assertNotNull(currentSchema);
+    Mockito
+        .when(currentSchema.getContent())
+        .thenReturn(JsonNodeFactory.instance.objectNode());
+
+    Assertions.assertTrue(RequiredPropertiesCache
+        .compute(currentSchema)
+        .isEmpty());
+  }
+
+  @Test
+  void shouldAnnotateNonRequiredFieldsAndNonVoidMethods() throws JClassAlreadyExistsException {
+    AssertionUtils.assertNotNull(currentSchema);
+    AssertionUtils.assertNotNull(superNotRequiredRule);
+    stubRequired(currentSchema);
+    final var node = JsonNodeFactory.instance.objectNode();
+    final var codeModel = new JCodeModel();
+    final var clazz = codeModel._class("io.github.lengors.js2pets.rules.Test");
+    final var requiredField = clazz.field(JMod.PRIVATE, String.class, "field0");
+    final var field = clazz.field(JMod.PRIVATE, String.class, "field1");
+    final var getter = clazz.method(JMod.PUBLIC, String.class, "getField1");
+    final var setter = clazz.method(JMod.PUBLIC, codeModel.VOID, "setField1");
+    final var cache = new RequiredPropertiesCache();
+    final var rule = new NotRequiredRule(cache, superNotRequiredRule);
+
+    Mockito
+        .when(superNotRequiredRule.apply(
+            Mockito.anyString(),
+            Mockito.any(),
+            Mockito.any(),
+            Mockito.any(),
+            Mockito.any()))
+        .thenAnswer(invocation -> invocation.getArgument(GENERATABLE_TYPE_INDEX));
+
+    rule.apply("field0", node, node, requiredField, currentSchema);
+    rule.apply("field1", node, node, field, currentSchema);
+    rule.apply("field1", node, node, getter, currentSchema);
+    rule.apply("field1", node, node, setter, currentSchema);
+
+    Assertions.assertTrue(requiredField
+        .annotations()
+        .isEmpty());
+    Assertions.assertTrue(isNullable(field.annotations()));
+    Assertions.assertTrue(isNullable(getter.annotations()));
+    Assertions.assertTrue(setter
+        .annotations()
+        .isEmpty());
+    Mockito
+        .verify(currentSchema, Mockito.times(1))
+        .getContent();
+  }
+
+  private static boolean isNullable(final Collection<JAnnotationUse> annotations) {
+    return annotations
+        .stream()
+        .anyMatch(annotation -> annotation
+            .getAnnotationClass()
+            .fullName()
+            .equals(Nullable.class.getName()));
+  }
+
+  private static void stubRequired(final Schema schema) {
+    final var content = JsonNodeFactory.instance.objectNode();
+    content
+        .putArray("required")
+        .add("field0");
+    Mockito
+        .when(schema.getContent())
+        .thenReturn(content);
+  }
+}
@@ -0,0 +1,171 @@
+package io.github.lengors.js2pets.rules;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+import io.github.lengors.js2pets.streams.StreamUtils;
+
+class StructuralTypeRegistryTest {
+  /**
+   * Package of the generated classes.
+   */
+  private static final String PACKAGE_NAME = "io.github.lengors.js2pets.generated";
+
+  /**
+   * Schema inlining structurally identical objects and enums, alongside a structurally different object.
+   */
+  private static final String SCHEMA = """
+      {
+        "type": "object",
+        "properties": {
+          "billingAddress": {
+            "type": "object",
+            "properties": {"street": {"type": "string"}, "city": {"type": "string"}},
+            "required": ["street"]
+          },
+          "shippingAddress": {
+            "type": "object",
+            "description": "Where to ship to.",
+            "required": ["street"],
+            "properties": {"city": {"type": "string"}, "street": {"type": "string"}}
+          },
+          "headquarters": {
+            "type": "object",
+            "properties": {"street": {"type": "string"}, "city": {"type": "string"}}
+          },
+          "status": {"type": "string", "enum": ["ACTIVE", "INACTIVE"]},
+          "previousStatus": {"type": "string", "enum": ["ACTIVE", "INACTIVE"]}
+        }
+      }
+      """;
+
+  /**
+   * Schema inlining objects that only differ by properties named after documentation keywords.
+   */
+  private static final String DOCUMENTATION_NAMED_PROPERTIES_SCHEMA = """
+      {
+        "type": "object",
+        "properties": {
+          "book": {
+            "type": "object",
+            "properties": {"title": {"type": "string"}, "name": {"type": "string"}}
+          },
+          "author": {
+            "type": "object",
+            "properties": {"name": {"type": "string"}}
+          },
+          "product": {
+            "type": "object",
+            "properties": {"description": {"type": "string"}}
+          },
+          "category": {
+            "type": "object",
+            "properties": {"description": {"type": "integer"}}
+          }
+        }
+      }
+      """;
+
+  @AfterEach
+  void clearStructuralDeduplicationProperty() {
+    System
+        .getProperties()
+        .remove(EnhancedRuleFactory.STRUCTURAL_DEDUPLICATION_PROPERTY);
+  }
+
+  @Test
+  void shouldReuseStructurallyIdenticalTypes() throws IOException {
+    System.setProperty(EnhancedRuleFactory.STRUCTURAL_DEDUPLICATION_PROPERTY, Boolean.TRUE.toString());
+    final var ruleFactory = new EnhancedRuleFactory.IncludeNoArgsConstructor(new DefaultGenerationConfig());
+    final var codeModel = generate(ruleFactory);
+
+    final var customer = codeModel._getClass(PACKAGE_NAME + ".Customer");
+    Assertions.assertNotNull(customer);
+    Assertions.assertEquals(
+        List.of("BillingAddress", "Customer", "Headquarters"),
+        listClassNames(codeModel));
+    Assertions.assertEquals(
+        getFieldType(customer, "billingAddress"),
+        getFieldType(customer, "shippingAddress"));
+    Assertions.assertEquals(
+        getFieldType(customer, "status"),
+        getFieldType(customer, "previousStatus"));
+
+    final var registry = ruleFactory.getStructuralTypeRegistry();
+    Assertions.assertNotNull(registry);
+    Assertions.assertEquals(
+        List.of(
+            new StructuralTypeRegistry.Merge(PACKAGE_NAME + ".BillingAddress", "shippingAddress", PACKAGE_NAME),
+            new StructuralTypeRegistry.Merge(PACKAGE_NAME + ".Customer.Status", "previousStatus", PACKAGE_NAME)),
+        registry.getMerges());
+  }
+
+  @Test
+  void shouldNotReuseTypesByDefault() throws IOException {
+    final var ruleFactory = new EnhancedRuleFactory.IncludeNoArgsConstructor(new DefaultGenerationConfig());
+    final var codeModel = generate(ruleFactory);
+
+    Assertions.assertNull(ruleFactory.getStructuralTypeRegistry());
+    Assertions.assertEquals(
+        List.of("BillingAddress", "Customer", "Headquarters", "ShippingAddress"),
+        listClassNames(codeModel));
+  }
+
+  @Test
+  void shouldNotReuseTypesDifferingByPropertiesNamedAfterDocumentationKeywords() throws IOException {
+    System.setProperty(EnhancedRuleFactory.STRUCTURAL_DEDUPLICATION_PROPERTY, Boolean.TRUE.toString());
+    final var ruleFactory = new EnhancedRuleFactory.IncludeNoArgsConstructor(new DefaultGenerationConfig());
+    final var codeModel = generate(ruleFactory, "Library", DOCUMENTATION_NAMED_PROPERTIES_SCHEMA);
+
+    Assertions.assertEquals(
+        List.of("Author", "Book", "Category", "Library", "Product"),
+        listClassNames(codeModel));
+    final var registry = ruleFactory.getStructuralTypeRegistry();
+    Assertions.assertNotNull(registry);
+    Assertions.assertEquals(List.of(), registry.getMerges());
+  }
+
+  private static JCodeModel generate(final EnhancedRuleFactory ruleFactory) throws IOException {
+    return generate(ruleFactory, "Customer", SCHEMA);
+  }
+
+  private static JCodeModel generate(
+      final EnhancedRuleFactory ruleFactory,
+      final String className,
+      final String schema) throws IOException {
+    final var codeModel = new JCodeModel();
+    new SchemaMapper(ruleFactory, new SchemaGenerator()).generate(codeModel, className, PACKAGE_NAME, schema);
+    return codeModel;
+  }
+
+  private static List<String> listClassNames(final JCodeModel codeModel) {
+    return StreamUtils
+        .stream(codeModel
+            ._package(PACKAGE_NAME)
+            .classes())
+        .map(JDefinedClass::name)
+        .sorted()
+        .toList();
+  }
+
+  private static String getFieldType(final JDefinedClass definedClass, final String fieldName) {
+    final var field = definedClass
+        .fields()
+        .get(fieldName);
+    Assertions.assertNotNull(field);
+    return field
+        .type()
+        .fullName();
+  }
+}
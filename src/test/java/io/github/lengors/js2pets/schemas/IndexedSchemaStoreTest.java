@@ -0,0 +1,126 @@
+package io.github.lengors.js2pets.schemas;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jsonschema2pojo.ContentResolver;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.Jackson2Annotator;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.jsonschema2pojo.SchemaStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+
+class IndexedSchemaStoreTest {
+  /**
+   * Delimiters of the fragment segments, as configured by default.
+   */
+  private static final String DELIMITERS = "#/.";
+
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @Test
+  void shouldResolveFragmentsAsSchemaStore() throws IOException {
+    final var file = Files.writeString(directory.resolve("bundle.json"), "{\"definitions\":{"
+        + "\"address\":{\"type\":\"object\",\"properties\":{\"street\":{\"type\":\"string\"}}},"
+        + "\"a/b\":{\"type\":\"string\"},\"c~d\":{\"type\":\"integer\"}},"
+        + "\"$defs\":{\"line\":{\"type\":\"number\"}},"
+        + "\"allOf\":[{\"type\":\"object\"},{\"title\":\"second\"}]}");
+    final var fragments = List.of(
+        "#",
+        "#/definitions/address",
+        "#/definitions/address/properties/street",
+        "#/definitions/a~1b",
+        "#/definitions/c~0d",
+        "#/$defs/line",
+        "#/allOf/1",
+        "#/allOf/01");
+
+    final var schemaStore = new SchemaStore();
+    final var indexedSchemaStore = new IndexedSchemaStore();
+    final var document = indexedSchemaStore
+        .create(file.toUri(), DELIMITERS)
+        .getContent();
+    for (final var fragment : fragments) {
+      final var id = file
+          .toUri()
+          .resolve(fragment);
+      final var schema = indexedSchemaStore.create(id, DELIMITERS);
+      Assertions.assertEquals(schemaStore
+          .create(id, DELIMITERS)
+          .getContent(), schema.getContent());
+      Assertions.assertSame(schema, indexedSchemaStore.create(id, DELIMITERS));
+      Assertions.assertSame(document, schema
+          .getParent()
+          .getContent());
+    }
+    Assertions.assertSame(document
+        .get("definitions")
+        .get("a/b"), indexedSchemaStore
+            .create(file
+                .toUri()
+                .resolve("#/definitions/a~1b"), DELIMITERS)
+            .getContent());
+
+    final var missing = file
+        .toUri()
+        .resolve("#/definitions/missing");
+    Assertions.assertThrows(IllegalArgumentException.class, () -> indexedSchemaStore.create(missing, DELIMITERS));
+  }
+
+  @Test
+  void shouldIndexPlainSchemaStoresSetOnEnhancedRuleFactory() {
+    final var generationConfig = new DefaultGenerationConfig();
+    Assertions.assertInstanceOf(IndexedSchemaStore.class, new EnhancedRuleFactory(generationConfig).getSchemaStore());
+
+    final var schemaStore = new SchemaStore();
+    final var ruleFactory = new EnhancedRuleFactory(
+        generationConfig,
+        new Jackson2Annotator(generationConfig),
+        schemaStore);
+    Assertions.assertSame(schemaStore, ruleFactory.getSchemaStore());
+
+    ruleFactory.setSchemaStore(new SchemaStore());
+    Assertions.assertInstanceOf(IndexedSchemaStore.class, ruleFactory.getSchemaStore());
+  }
+
+  @Test
+  void shouldKeepResolverAndSchemasOfSchemaStoresSetOnEnhancedRuleFactory() throws IOException {
+    final var file = Files.writeString(directory.resolve("schema.json"), "{\"type\":\"object\"}");
+    final var resolvedUris = new ArrayList<URI>();
+    final var contentResolver = new ContentResolver() {
+      @Override
+      public JsonNode resolve(final URI uri) {
+        resolvedUris.add(uri);
+        return super.resolve(uri);
+      }
+    };
+    final var generationConfig = new DefaultGenerationConfig();
+    final var ruleFactory = new EnhancedRuleFactory(generationConfig);
+
+    ruleFactory.setSchemaStore(new SchemaStore(contentResolver, new NoopRuleLogger()));
+    Assertions.assertInstanceOf(IndexedSchemaStore.class, ruleFactory.getSchemaStore());
+    ruleFactory
+        .getSchemaStore()
+        .create(file.toUri(), DELIMITERS);
+    Assertions.assertEquals(List.of(file.toUri()), resolvedUris);
+
+    final var schemaStore = new SchemaStore(contentResolver, new NoopRuleLogger());
+    schemaStore.create(file.toUri(), DELIMITERS);
+    ruleFactory.setSchemaStore(schemaStore);
+    Assertions.assertSame(schemaStore, ruleFactory.getSchemaStore());
+  }
+}
@@ -0,0 +1,35 @@
+package io.github.lengors.js2pets.schemas;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class JsonPointerIndexTest {
+  /**
+   * Number of object and array nodes of the indexed document.
+   */
+  private static final int NODE_COUNT = 4;
+
+  @Test
+  void shouldIndexContainerNodesByEscapedPointer() throws IOException {
+    final var document = new ObjectMapper().readTree("{\"definitions\":{\"a/b\":{\"type\":\"string\"},"
+        + "\"c~d\":[true,false]}}");
+    final var index = new JsonPointerIndex(document);
+
+    Assertions.assertEquals(NODE_COUNT, index.size());
+    Assertions.assertSame(document, index.get("#", "#/"));
+    Assertions.assertSame(document
+        .get("definitions")
+        .get("a/b"), index.get("#/definitions/a~1b", "#/"));
+    Assertions.assertSame(document
+        .get("definitions")
+        .get("c~d"), index.get("#.definitions.c~0d", "#/."));
+    Assertions.assertNull(index.get("#/definitions/c~0d/1", "#/"));
+    Assertions.assertNull(index.get("#/definitions/a~1b/type", "#/"));
+    Assertions.assertNull(index.get("#/definitions/a/b", "#/"));
+    Assertions.assertNull(index.get("#/definitions/c~0d/01", "#/"));
+  }
+}
@@ -0,0 +1,181 @@
+package io.github.lengors.js2pets.schemas;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.jsonschema2pojo.ContentResolver;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.jsonschema2pojo.NoopRuleLogger;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+
+class LazySchemaStoreTest {
+  /**
+   * Bundled schema referencing some of its definitions.
+   */
+  private static final String BUNDLE = "{\"type\":\"object\",\"properties\":{"
+      + "\"customer\":{\"$ref\":\"#/definitions/customer\"},\"total\":{\"type\":\"number\"}},"
+      + "\"definitions\":{"
+      + "\"customer\":{\"type\":\"object\",\"properties\":{\"name\":{\"type\":\"string\"},"
+      + "\"address\":{\"$ref\":\"#/$defs/address\"}}},"
+      + "\"unused\":{\"type\":\"object\",\"properties\":{\"note\":{\"type\":\"string\"}}},"
+      + "\"flag\":true},"
+      + "\"$defs\":{\"address\":{\"type\":\"object\",\"properties\":{\"street\":{\"type\":\"string\"}}}}}";
+
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @AfterEach
+  void clearProperties() {
+    System
+        .getProperties()
+        .remove(EnhancedRuleFactory.LAZY_SCHEMA_STORE_PROPERTY);
+    System
+        .getProperties()
+        .remove(LazyContentResolver.THRESHOLD_BYTES_PROPERTY);
+  }
+
+  @Test
+  void shouldResolveSameDocumentAsContentResolver() throws IOException {
+    final var file = Files.writeString(directory.resolve("bundle.json"), BUNDLE);
+    final var resolver = new LazyContentResolver(new JsonFactory(), new ContentResolver(), 0);
+
+    final var content = resolver.resolve(file.toUri());
+
+    Assertions.assertEquals("object", content
+        .get("definitions")
+        .get("customer")
+        .get("type")
+        .asText());
+    Assertions.assertTrue(content
+        .get("definitions")
+        .get("flag")
+        .asBoolean());
+    Assertions.assertEquals(new ContentResolver().resolve(file.toUri()), content);
+  }
+
+  @Test
+  void shouldOnlyParseMembersWhenLookedUp() {
+    final var parsed = new AtomicInteger();
+    final var members = new LazyObjectMembers(
+        Map.of("first", new LazyObjectMembers.Location(0, 1), "second", new LazyObjectMembers.Location(1, 1)),
+        location -> {
+          parsed.incrementAndGet();
+          return JsonNodeFactory.instance.numberNode(location.offset());
+        });
+
+    Assertions.assertTrue(members.containsKey("second"));
+    Assertions.assertEquals(JsonNodeFactory.instance.numberNode(1), members.get("second"));
+    Assertions.assertEquals(1, parsed.get());
+    Assertions.assertEquals(1, members.countUnparsed());
+
+    Assertions.assertEquals(List.of(0, 1), members
+        .values()
+        .stream()
+        .map(JsonNode::asInt)
+        .sorted()
+        .toList());
+    Assertions.assertEquals(2, parsed.get());
+    Assertions.assertEquals(0, members.countUnparsed());
+  }
+
+  @Test
+  void shouldGenerateSameOutputWhenLoadingLazily() throws IOException {
+    final var sources = Files.createDirectories(directory.resolve("schemas"));
+    Files.writeString(sources.resolve("order.json"), BUNDLE);
+    final var eagerTarget = directory.resolve("eager");
+    final var lazyTarget = directory.resolve("lazy");
+
+    Jsonschema2Pojo.generate(new BundleGenerationConfig(sources, eagerTarget), new NoopRuleLogger());
+    System.setProperty(EnhancedRuleFactory.LAZY_SCHEMA_STORE_PROPERTY, Boolean.TRUE.toString());
+    System.setProperty(LazyContentResolver.THRESHOLD_BYTES_PROPERTY, "0");
+    Jsonschema2Pojo.generate(new BundleGenerationConfig(sources, lazyTarget), new NoopRuleLogger());
+
+    final var eagerFiles = readFiles(eagerTarget);
+    Assertions.assertTrue(eagerFiles.containsKey(Path.of("io/github/lengors/js2pets/generated/Address.java")));
+    Assertions.assertEquals(eagerFiles, readFiles(lazyTarget));
+  }
+
+  private static Map<Path, String> readFiles(final Path root) throws IOException {
+    try (var paths = Files.walk(root)) {
+      return paths
+          .filter(Files::isRegularFile)
+          .collect(Collectors.toMap(root::relativize, path -> {
+            try {
+              return Files.readString(path);
+            } catch (final IOException exception) {
+              throw new IllegalStateException(exception);
+            }
+          }));
+    }
+  }
+
+  /**
+   * Generation configuration for the bundled schema.
+   */
+  private static final class BundleGenerationConfig extends DefaultGenerationConfig {
+    /**
+     * Directory with the schema files.
+     */
+    private final Path sources;
+
+    /**
+     * Directory to write the generated code to.
+     */
+    private final Path target;
+
+    private BundleGenerationConfig(final Path sources, final Path target) {
+      this.sources = sources;
+      this.target = target;
+    }
+
+    @Override
+    public Class<? extends RuleFactory> getCustomRuleFactory() {
+      return EnhancedRuleFactory.IncludeNoArgsConstructor.class;
+    }
+
+    @Override
+    public Iterator<URL> getSource() {
+      try {
+        return List
+            .of(sources
+                .toUri()
+                .toURL())
+            .iterator();
+      } catch (final IOException exception) {
+        throw new IllegalStateException(exception);
+      }
+    }
+
+    @Override
+    public File getTargetDirectory() {
+      return target.toFile();
+    }
+
+    @Override
+    public String getTargetPackage() {
+      return "io.github.lengors.js2pets.generated";
+    }
+  }
+}
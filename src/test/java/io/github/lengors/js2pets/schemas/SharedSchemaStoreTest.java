@@ -0,0 +1,98 @@
+package io.github.lengors.js2pets.schemas;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.Jackson2Annotator;
+import org.jsonschema2pojo.SchemaStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.github.lengors.js2pets.factories.EnhancedRuleFactory;
+
+class SharedSchemaStoreTest {
+  /**
+   * Maximum size of the caches used by the tests.
+   */
+  private static final long MAX_BYTES = 10;
+
+  /**
+   * Size of each document cached by the eviction test.
+   */
+  private static final long DOCUMENT_BYTES = 4;
+
+  /**
+   * Modification time set on rewritten files, so that the change is detected regardless of the clock resolution.
+   */
+  private static final long MODIFIED_TIME = 1_000_000L;
+
+  /**
+   * Directory used by each test.
+   */
+  @TempDir
+  private Path directory = Path.of("");
+
+  @Test
+  void shouldReuseUnchangedFilesAndReparseChangedOnes() throws IOException {
+    final var file = Files.writeString(directory.resolve("schema.json"), "{\"type\":\"object\"}");
+    final var cache = new SchemaContentCache(SchemaContentCache.DEFAULT_MAX_FILE_BYTES);
+    final var resolver = new SharedContentResolver(new JsonFactory(), cache);
+
+    final var first = resolver.resolve(file.toUri());
+    ((ObjectNode) first).put("title", "Modified");
+    final var second = resolver.resolve(file.toUri());
+
+    Assertions.assertEquals(1, cache.size());
+    Assertions.assertNotSame(first, second);
+    Assertions.assertFalse(second.has("title"));
+
+    Files.writeString(file, "{\"type\":\"string\"}");
+    Files.setLastModifiedTime(file, FileTime.fromMillis(MODIFIED_TIME));
+    Assertions.assertEquals("string", resolver
+        .resolve(file.toUri())
+        .get("type")
+        .asText());
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedDocuments() {
+    final var cache = new SchemaContentCache(MAX_BYTES);
+    final var content = JsonNodeFactory.instance.objectNode();
+    final var first = URI.create("file:/first.json");
+    final var second = URI.create("file:/second.json");
+    final var third = URI.create("file:/third.json");
+
+    cache.put(first, "JSON", 0, DOCUMENT_BYTES, content);
+    cache.put(second, "JSON", 0, DOCUMENT_BYTES, content);
+    Assertions.assertNotNull(cache.get(first, "JSON", 0, DOCUMENT_BYTES));
+    cache.put(third, "JSON", 0, DOCUMENT_BYTES, content);
+    cache.put(URI.create("file:/large.json"), "JSON", 0, MAX_BYTES + 1, content);
+
+    Assertions.assertNotNull(cache.get(first, "JSON", 0, DOCUMENT_BYTES));
+    Assertions.assertNull(cache.get(second, "JSON", 0, DOCUMENT_BYTES));
+    Assertions.assertNotNull(cache.get(third, "JSON", 0, DOCUMENT_BYTES));
+    Assertions.assertEquals(2 * DOCUMENT_BYTES, cache.getFileBytes());
+  }
+
+  @Test
+  void shouldKeepSharingWhenFactoryStoreIsReplaced() {
+    final var generationConfig = new DefaultGenerationConfig();
+    final var ruleFactory = new EnhancedRuleFactory(generationConfig, new Jackson2Annotator(generationConfig),
+        EnhancedRuleFactory.SHARED_SCHEMA_STORE_SUPPLIER.get());
+
+    ruleFactory.setSchemaStore(new SchemaStore());
+
+    Assertions.assertTrue(ruleFactory.isSharingSchemaStore());
+    Assertions.assertInstanceOf(SharedSchemaStore.class, ruleFactory.getSchemaStore());
+    Assertions.assertFalse(new EnhancedRuleFactory().isSharingSchemaStore());
+  }
+}
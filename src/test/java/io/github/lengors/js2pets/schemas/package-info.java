@@ -0,0 +1,6 @@
+/**
+ * Tests for the shared schema store.
+ *
+ * @author lengors
+ */
+package io.github.lengors.js2pets.schemas;